@@ -0,0 +1,31 @@
+// SPDX-License-Identifier: MIT
+pragma solidity ^0.8.20;
+
+interface IERC20Like {
+    function transferFrom(address from, address to, uint256 amount) external returns (bool);
+}
+
+interface IERC721Like {
+    function safeTransferFrom(address from, address to, uint256 tokenId) external;
+}
+
+/**
+ * 批量转账辅助合约
+ * 在一笔交易内代调用者完成多笔 ERC20/ERC721 转账；
+ * 调用前需对本合约 approve(ERC20) 或 setApprovalForAll(ERC721)，资产始终从 msg.sender 直接转给接收者
+ */
+contract BatchTransfer {
+    function transferERC20(address token, address[] calldata recipients, uint256[] calldata amounts) external {
+        require(recipients.length == amounts.length, "length mismatch");
+        for (uint256 i = 0; i < recipients.length; i++) {
+            require(IERC20Like(token).transferFrom(msg.sender, recipients[i], amounts[i]), "transfer failed");
+        }
+    }
+
+    function transferERC721(address token, address[] calldata recipients, uint256[] calldata tokenIds) external {
+        require(recipients.length == tokenIds.length, "length mismatch");
+        for (uint256 i = 0; i < recipients.length; i++) {
+            IERC721Like(token).safeTransferFrom(msg.sender, recipients[i], tokenIds[i]);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+// SPDX-License-Identifier: MIT
+pragma solidity ^0.8.20;
+
+/**
+ * 只读聚合调用合约
+ * 与 Multicall3（0xcA11bde05977b3631167028862bE2a173976CA11）的 aggregate3/getEthBalance ABI 一致，
+ * 已部署 Multicall3 的链可直接配置其地址；本地链部署本合约即可。
+ * 每个子调用使用 staticcall 执行，allowFailure 为 true 时单个子调用失败不影响其余结果
+ */
+contract Multicall3 {
+    struct Call3 {
+        address target;
+        bool allowFailure;
+        bytes callData;
+    }
+
+    struct Result {
+        bool success;
+        bytes returnData;
+    }
+
+    function aggregate3(Call3[] calldata calls) external view returns (Result[] memory returnData) {
+        uint256 length = calls.length;
+        returnData = new Result[](length);
+        for (uint256 i = 0; i < length; i++) {
+            Call3 calldata call = calls[i];
+            (bool success, bytes memory data) = call.target.staticcall(call.callData);
+            require(success || call.allowFailure, "Multicall3: call failed");
+            returnData[i] = Result(success, data);
+        }
+    }
+
+    function getEthBalance(address addr) external view returns (uint256 balance) {
+        balance = addr.balance;
+    }
+}
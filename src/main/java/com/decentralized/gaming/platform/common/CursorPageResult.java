@@ -0,0 +1,27 @@
+package com.decentralized.gaming.platform.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 游标分页结果
+ * nextCursor 为空表示没有更多数据
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResult<T> {
+
+    private List<T> records;
+    private String nextCursor;
+    private Integer size;
+
+    public static <T> CursorPageResult<T> of(List<T> records, String nextCursor, Integer size) {
+        return new CursorPageResult<>(records, nextCursor, size);
+    }
+}
@@ -1,18 +1,31 @@
 package com.decentralized.gaming.platform.config;
 
 import com.decentralized.gaming.platform.contracts.*;
+import com.decentralized.gaming.platform.service.blockchain.BlockchainMetricsService;
+import com.decentralized.gaming.platform.service.blockchain.FeeOracleService;
 import lombok.Data;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.web3j.crypto.Credentials;
 import org.web3j.protocol.Web3j;
-import org.web3j.protocol.http.HttpService;
+import org.web3j.protocol.websocket.WebSocketService;
 import org.web3j.tx.gas.ContractGasProvider;
 import org.web3j.tx.gas.DefaultGasProvider;
 
 import jakarta.annotation.PostConstruct;
 import java.math.BigInteger;
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -34,6 +47,9 @@ public class BlockchainConfig {
     private BigInteger gasLimit;
     private BigInteger gasPrice;
     private ContractAddresses contracts = new ContractAddresses();
+    private Transport transport = new Transport();
+    private Router router = new Router();
+    private BatchJob batchJob = new BatchJob();
 
     @Data
     public static class ContractAddresses {
@@ -42,6 +58,91 @@ public class BlockchainConfig {
         private String agentNft;
         private String marketplace;
         private String rewards;
+        /**
+         * 批量转账辅助合约（local-chain/contracts/BatchTransfer.sol），未配置时批量接口逐笔发送
+         */
+        private String batchTransfer;
+        /**
+         * Multicall3 聚合调用合约（local-chain/contracts/Multicall3.sol），未配置时批量只读接口使用JSON-RPC批量请求
+         */
+        private String multicall;
+    }
+
+    /**
+     * 节点连接配置
+     */
+    @Data
+    public static class Transport {
+        // 连接方式：http 或 websocket
+        private String mode = "http";
+        // websocket 模式下的节点地址
+        private String wsUrl;
+        // 连接池最大空闲连接数与保活时间
+        private int maxIdleConnections = 32;
+        private long keepAliveSeconds = 300;
+        // 全局与单节点最大并发请求数
+        private int maxRequests = 256;
+        private int maxRequestsPerHost = 128;
+        private long connectTimeoutMs = 5000;
+        private long readTimeoutMs = 30000;
+        private long writeTimeoutMs = 30000;
+        // 是否接受gzip压缩的响应
+        private boolean gzip = true;
+        // 是否启用HTTP/2（https通过ALPN协商，http使用明文prior knowledge）
+        private boolean http2 = false;
+    }
+
+    /**
+     * 多节点路由配置，networkUrl 为主节点
+     */
+    @Data
+    public static class Router {
+        // 其余只读节点
+        private List<String> endpoints = new ArrayList<>();
+        // 最优节点超过其p95延迟未返回时向次优节点发送对冲请求，延迟限制在[min, max]内
+        private boolean hedgeEnabled = true;
+        private long hedgeMinDelayMs = 50;
+        private long hedgeMaxDelayMs = 2000;
+        // 单次请求（含对冲）的最长等待时间
+        private long requestTimeoutMs = 30000;
+        // 连续失败该次数后剔除节点，之后按探测间隔尝试恢复
+        private int ejectAfterFailures = 3;
+        private long probeIntervalMs = 5000;
+    }
+
+    /**
+     * 批量操作任务引擎配置，工作项持久化在 batch_operation_items 表
+     */
+    @Data
+    public static class BatchJob {
+        private boolean enabled = true;
+        // 领取工作项的轮询间隔与单次领取上限
+        private long pollIntervalMs = 500;
+        private int claimSize = 20;
+        // 领取租约，超过该时间未结束的工作项可被其他实例重新领取，应大于交易收据等待时间
+        private long leaseMs = 900000;
+        // 单个工作项的最大执行次数与重试间隔（按次数线性增长）
+        private int maxAttempts = 3;
+        private long retryDelayMs = 5000;
+        // 进度计数合并写库的间隔
+        private long progressFlushMs = 1000;
+        // 签名私钥的加密口令，为空时私钥只保存在内存，重启后未完成的批量操作无法继续
+        private String secret = "";
+        // 按操作类型配置的并发与速率，未配置的类型使用默认值
+        private Map<String, JobType> types = new HashMap<>();
+    }
+
+    /**
+     * 单个操作类型的执行配置
+     */
+    @Data
+    public static class JobType {
+        // 提交交易的线程数
+        private int workers = 2;
+        // 已提交未结束的最大工作项数
+        private int maxInFlight = 64;
+        // 每秒最多提交的交易数，0 表示不限
+        private double ratePerSecond = 0;
     }
 
     /**
@@ -137,7 +238,7 @@ public class BlockchainConfig {
      * Web3j实例
      */
     @Bean
-    public Web3j web3j() {
+    public Web3j web3j(@Autowired(required = false) RpcEndpointRouter rpcEndpointRouter) {
         log.info("=== 区块链网络连接初始化开始 ===");
         
         // 检查是否启用区块链功能
@@ -155,12 +256,9 @@ public class BlockchainConfig {
         try {
             log.info("🔗 正在连接到区块链节点: {}", networkUrl);
             
-            // 创建带有超时配置的HttpService
-            HttpService httpService = new HttpService(networkUrl);
-            httpService.addHeader("Content-Type", "application/json");
-            httpService.addHeader("User-Agent", "DecentralizedGamingPlatform/1.0");
-            
-            Web3j web3j = Web3j.build(httpService);
+            Web3j web3j = "websocket".equalsIgnoreCase(transport.getMode())
+                ? buildWebSocketWeb3j()
+                : Web3j.build(rpcEndpointRouter);
             
             // 测试连接
             testBlockchainConnection(web3j);
@@ -181,6 +279,69 @@ public class BlockchainConfig {
         }
     }
     
+    /**
+     * 节点HTTP客户端：连接池、并发限制、超时与延迟统计
+     */
+    @Bean
+    public OkHttpClient blockchainHttpClient(BlockchainMetricsService metricsService) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(transport.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(transport.getMaxRequestsPerHost());
+
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+            .dispatcher(dispatcher)
+            .connectionPool(new ConnectionPool(transport.getMaxIdleConnections(), transport.getKeepAliveSeconds(), TimeUnit.SECONDS))
+            .connectTimeout(transport.getConnectTimeoutMs(), TimeUnit.MILLISECONDS)
+            .readTimeout(transport.getReadTimeoutMs(), TimeUnit.MILLISECONDS)
+            .writeTimeout(transport.getWriteTimeoutMs(), TimeUnit.MILLISECONDS)
+            .retryOnConnectionFailure(true)
+            .addInterceptor(new RpcMetricsInterceptor(metricsService));
+
+        if (!transport.isGzip()) {
+            // 显式声明identity后OkHttp不再自动协商gzip
+            builder.addInterceptor(chain -> chain.proceed(chain.request().newBuilder()
+                .header("Accept-Encoding", "identity")
+                .build()));
+        }
+
+        if (!transport.isHttp2()) {
+            builder.protocols(List.of(Protocol.HTTP_1_1));
+        } else if (networkUrl != null && networkUrl.trim().startsWith("http://")) {
+            builder.protocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE));
+        } else {
+            builder.protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1));
+        }
+
+        log.info("节点HTTP客户端: 最大空闲连接 {}, 单节点最大并发 {}, 读超时 {}ms, gzip: {}, HTTP/2: {}",
+            transport.getMaxIdleConnections(), transport.getMaxRequestsPerHost(), transport.getReadTimeoutMs(),
+            transport.isGzip(), transport.isHttp2());
+        return builder.build();
+    }
+
+    /**
+     * 多节点RPC路由：主节点为 networkUrl，其余节点来自 router.endpoints；websocket 模式下不创建
+     */
+    @Bean(destroyMethod = "close")
+    public RpcEndpointRouter rpcEndpointRouter(OkHttpClient blockchainHttpClient) {
+        if (!enabled || networkUrl == null || networkUrl.trim().isEmpty()
+                || "websocket".equalsIgnoreCase(transport.getMode())) {
+            return null;
+        }
+        log.info("RPC路由: 主节点 {}, 其余节点 {}, 对冲请求: {}", networkUrl, router.getEndpoints(), router.isHedgeEnabled());
+        return new RpcEndpointRouter(networkUrl, router.getEndpoints(), blockchainHttpClient, router);
+    }
+
+    private Web3j buildWebSocketWeb3j() throws ConnectException {
+        String wsUrl = transport.getWsUrl();
+        if (wsUrl == null || wsUrl.trim().isEmpty()) {
+            throw new IllegalStateException("websocket 模式需要配置 app.blockchain.transport.ws-url");
+        }
+        log.info("🔗 使用WebSocket连接节点: {}", wsUrl);
+        WebSocketService webSocketService = new WebSocketService(wsUrl, false);
+        webSocketService.connect();
+        return Web3j.build(webSocketService);
+    }
+
     /**
      * 测试区块链连接
      */
@@ -236,37 +397,12 @@ public class BlockchainConfig {
     }
 
     /**
-     * Gas提供者
+     * Gas提供者，费用来自手续费预言机；未配置 gasLimit 时默认上限沿用 DefaultGasProvider
      */
     @Bean
-    public ContractGasProvider gasProvider() {
-        // 使用默认的Gas提供者，如果配置了自定义值则使用自定义值
-        if (gasPrice != null && gasLimit != null) {
-            return new ContractGasProvider() {
-                @Override
-                public BigInteger getGasPrice(String contractFunc) {
-                    return gasPrice;
-                }
-
-                @Override
-                public BigInteger getGasPrice() {
-                    return gasPrice;
-                }
-
-                @Override
-                public BigInteger getGasLimit(String contractFunc) {
-                    return gasLimit;
-                }
-
-                @Override
-                public BigInteger getGasLimit() {
-                    return gasLimit;
-                }
-            };
-        } else {
-            // 使用默认值
-            return new DefaultGasProvider();
-        }
+    public ContractGasProvider gasProvider(FeeOracleService feeOracleService) {
+        BigInteger defaultGasLimit = gasLimit != null ? gasLimit : DefaultGasProvider.GAS_LIMIT;
+        return new DynamicGasProvider(feeOracleService, chainId != null ? chainId : 31337L, defaultGasLimit);
     }
 
     /**
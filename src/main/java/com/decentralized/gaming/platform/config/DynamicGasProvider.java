@@ -0,0 +1,67 @@
+package com.decentralized.gaming.platform.config;
+
+import com.decentralized.gaming.platform.service.blockchain.FeeOracleService;
+import com.decentralized.gaming.platform.service.blockchain.FeeOracleService.FeeTier;
+import org.web3j.tx.gas.ContractEIP1559GasProvider;
+
+import java.math.BigInteger;
+
+/**
+ * 动态Gas提供者
+ * 费用取自手续费预言机的标准档位，节点支持时合约包装类发送 EIP-1559 交易；
+ * Gas上限返回配置的默认值，经交易流水线发送时按调用数据重新估算
+ *
+ * @author DecentralizedGamingPlatform
+ */
+public class DynamicGasProvider implements ContractEIP1559GasProvider {
+
+    private final FeeOracleService feeOracleService;
+    private final long chainId;
+    private final BigInteger defaultGasLimit;
+
+    public DynamicGasProvider(FeeOracleService feeOracleService, long chainId, BigInteger defaultGasLimit) {
+        this.feeOracleService = feeOracleService;
+        this.chainId = chainId;
+        this.defaultGasLimit = defaultGasLimit;
+    }
+
+    @Override
+    public boolean isEIP1559Enabled() {
+        return feeOracleService.getFee(FeeTier.STANDARD).isEip1559();
+    }
+
+    @Override
+    public long getChainId() {
+        return chainId;
+    }
+
+    @Override
+    public BigInteger getMaxFeePerGas(String contractFunc) {
+        return feeOracleService.getFee(FeeTier.STANDARD).getMaxFeePerGas();
+    }
+
+    @Override
+    public BigInteger getMaxPriorityFeePerGas(String contractFunc) {
+        return feeOracleService.getFee(FeeTier.STANDARD).getMaxPriorityFeePerGas();
+    }
+
+    @Override
+    public BigInteger getGasPrice(String contractFunc) {
+        return getGasPrice();
+    }
+
+    @Override
+    public BigInteger getGasPrice() {
+        return feeOracleService.getFee(FeeTier.STANDARD).getGasPrice();
+    }
+
+    @Override
+    public BigInteger getGasLimit(String contractFunc) {
+        return defaultGasLimit;
+    }
+
+    @Override
+    public BigInteger getGasLimit() {
+        return defaultGasLimit;
+    }
+}
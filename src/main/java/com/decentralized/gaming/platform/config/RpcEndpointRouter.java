@@ -0,0 +1,404 @@
+package com.decentralized.gaming.platform.config;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.web3j.protocol.Service;
+import org.web3j.protocol.exceptions.ClientConnectionException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 多节点RPC路由
+ * 按延迟(EWMA)与错误率为每个节点打分，读请求发往得分最好的节点，超过该节点p95延迟仍未返回时向次优节点发送对冲请求，
+ * 先成功者返回；写请求与依赖节点状态的过滤器请求固定发往主节点。连续失败的节点被剔除，由后台探测恢复
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+public class RpcEndpointRouter extends Service {
+
+    private static final MediaType JSON_MEDIA_TYPE = MediaType.parse("application/json; charset=utf-8");
+
+    private static final String PROBE_PAYLOAD = "{\"jsonrpc\":\"2.0\",\"method\":\"eth_blockNumber\",\"params\":[],\"id\":0}";
+
+    /**
+     * 必须发往主节点的方法：交易广播、nonce与交易池查询（须与广播节点的交易池一致）与节点本地的过滤器
+     */
+    private static final Set<String> PINNED_METHODS = Set.of(
+        "\"eth_sendRawTransaction\"", "\"eth_sendTransaction\"", "\"eth_getTransactionCount\"",
+        "\"eth_getTransactionByHash\"",
+        "\"eth_newFilter\"", "\"eth_newBlockFilter\"", "\"eth_newPendingTransactionFilter\"",
+        "\"eth_getFilterChanges\"", "\"eth_getFilterLogs\"", "\"eth_uninstallFilter\"");
+
+    private final OkHttpClient httpClient;
+    private final BlockchainConfig.Router settings;
+    private final List<Endpoint> endpoints = new ArrayList<>();
+
+    private final ScheduledExecutorService probeScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "rpc-router-probe");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 节点状态：延迟与错误率的指数移动平均、最近延迟样本（计算p95）、连续失败次数
+     */
+    static final class Endpoint {
+        private static final int SAMPLE_SIZE = 256;
+        private static final double ALPHA = 0.2;
+
+        private final String url;
+        private final boolean primary;
+        private final long[] samples = new long[SAMPLE_SIZE];
+        private int sampleCount;
+        private int sampleIndex;
+        private long p95Micros;
+        private double ewmaLatencyMicros;
+        private double ewmaErrorRate;
+        private int consecutiveFailures;
+        private long requestCount;
+        private long failureCount;
+        private volatile boolean ejected;
+        private long ejectedAt;
+
+        private Endpoint(String url, boolean primary) {
+            this.url = url;
+            this.primary = primary;
+        }
+
+        synchronized void recordSuccess(long latencyNanos) {
+            long micros = latencyNanos / 1000;
+            ewmaLatencyMicros = requestCount == failureCount ? micros : ewmaLatencyMicros + ALPHA * (micros - ewmaLatencyMicros);
+            ewmaErrorRate = ewmaErrorRate * (1 - ALPHA);
+            consecutiveFailures = 0;
+            requestCount++;
+            samples[sampleIndex] = micros;
+            sampleIndex = (sampleIndex + 1) % SAMPLE_SIZE;
+            sampleCount = Math.min(SAMPLE_SIZE, sampleCount + 1);
+            if (sampleCount < 16 || sampleIndex % 16 == 0) {
+                long[] sorted = Arrays.copyOf(samples, sampleCount);
+                Arrays.sort(sorted);
+                p95Micros = sorted[Math.min(sampleCount - 1, (int) Math.ceil(sampleCount * 0.95) - 1)];
+            }
+        }
+
+        /**
+         * @return 是否因本次失败被剔除
+         */
+        synchronized boolean recordFailure(int ejectAfterFailures) {
+            ewmaErrorRate = ewmaErrorRate + ALPHA * (1 - ewmaErrorRate);
+            consecutiveFailures++;
+            requestCount++;
+            failureCount++;
+            if (!ejected && consecutiveFailures >= ejectAfterFailures) {
+                ejected = true;
+                ejectedAt = System.currentTimeMillis();
+                return true;
+            }
+            return false;
+        }
+
+        synchronized void reinstate() {
+            ejected = false;
+            consecutiveFailures = 0;
+            ewmaErrorRate = 0;
+        }
+
+        synchronized double score() {
+            // 还没有成功样本的节点按1ms计，保证新节点能分到流量
+            double latency = requestCount == failureCount ? 1000 : Math.max(1, ewmaLatencyMicros);
+            return latency * (1 + 10 * ewmaErrorRate);
+        }
+
+        synchronized long p95Millis() {
+            return p95Micros / 1000;
+        }
+
+        synchronized Map<String, Object> snapshot() {
+            Map<String, Object> state = new LinkedHashMap<>();
+            state.put("url", url);
+            state.put("primary", primary);
+            state.put("state", ejected ? "EJECTED" : "HEALTHY");
+            state.put("score", Math.round(score()));
+            state.put("avgLatencyMs", ewmaLatencyMicros / 1000.0);
+            state.put("p95LatencyMs", p95Micros / 1000.0);
+            state.put("errorRate", ewmaErrorRate);
+            state.put("consecutiveFailures", consecutiveFailures);
+            state.put("requestCount", requestCount);
+            state.put("failureCount", failureCount);
+            if (ejected) {
+                state.put("ejectedForMs", System.currentTimeMillis() - ejectedAt);
+            }
+            return state;
+        }
+
+        String url() {
+            return url;
+        }
+
+        boolean isEjected() {
+            return ejected;
+        }
+    }
+
+    public RpcEndpointRouter(String primaryUrl, List<String> secondaryUrls, OkHttpClient httpClient,
+                             BlockchainConfig.Router settings) {
+        super(false);
+        this.httpClient = httpClient;
+        this.settings = settings;
+        endpoints.add(new Endpoint(primaryUrl.trim(), true));
+        if (secondaryUrls != null) {
+            for (String url : secondaryUrls) {
+                if (url != null && !url.isBlank() && !url.trim().equals(primaryUrl.trim())) {
+                    endpoints.add(new Endpoint(url.trim(), false));
+                }
+            }
+        }
+        probeScheduler.scheduleWithFixedDelay(this::probeEjected, settings.getProbeIntervalMs(),
+            settings.getProbeIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected InputStream performIO(String payload) throws IOException {
+        boolean pinned = isPinned(payload);
+        List<Endpoint> candidates = candidates(pinned);
+        if (pinned || !settings.isHedgeEnabled() || candidates.size() == 1) {
+            return new ByteArrayInputStream(sequential(payload, candidates));
+        }
+        return new ByteArrayInputStream(hedged(payload, candidates));
+    }
+
+    @Override
+    public void close() throws IOException {
+        probeScheduler.shutdownNow();
+    }
+
+    /**
+     * 获取各节点状态
+     *
+     * @return 节点地址、健康状态、得分、延迟、错误率等
+     */
+    public List<Map<String, Object>> getEndpointStates() {
+        List<Map<String, Object>> states = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            states.add(endpoint.snapshot());
+        }
+        return states;
+    }
+
+    /**
+     * 写请求只用主节点（主节点被剔除时退到得分最好的节点）；读请求按得分排序；全部被剔除时仍尝试所有节点
+     */
+    private List<Endpoint> candidates(boolean pinned) {
+        Endpoint primary = endpoints.get(0);
+        if (pinned && !primary.isEjected()) {
+            return List.of(primary);
+        }
+        List<Endpoint> healthy = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            if (!endpoint.isEjected()) {
+                healthy.add(endpoint);
+            }
+        }
+        if (healthy.isEmpty()) {
+            healthy.addAll(endpoints);
+        }
+        healthy.sort(Comparator.comparingDouble(Endpoint::score));
+        return pinned ? List.of(healthy.get(0)) : healthy;
+    }
+
+    private byte[] sequential(String payload, List<Endpoint> candidates) throws IOException {
+        IOException lastError = null;
+        for (Endpoint endpoint : candidates) {
+            try {
+                return await(send(endpoint, payload), settings.getRequestTimeoutMs());
+            } catch (IOException e) {
+                lastError = e;
+                log.debug("RPC节点请求失败，尝试下一个节点: {}, 错误: {}", endpoint.url(), e.getMessage());
+            }
+        }
+        if (lastError != null) {
+            throw lastError;
+        }
+        throw new IOException("RPC节点请求全部失败");
+    }
+
+    /**
+     * 对冲读取：最优节点超过其p95延迟仍未返回（或已失败）时向次优节点发出同一请求，取先成功的结果；
+     * 两者都失败时依次尝试剩余节点
+     */
+    private byte[] hedged(String payload, List<Endpoint> candidates) throws IOException {
+        Endpoint first = candidates.get(0);
+        Endpoint second = candidates.get(1);
+        long hedgeDelayMs = Math.min(settings.getHedgeMaxDelayMs(),
+            Math.max(settings.getHedgeMinDelayMs(), first.p95Millis()));
+
+        CompletableFuture<byte[]> firstCall = send(first, payload);
+        CompletableFuture<byte[]> secondCall = null;
+        try {
+            try {
+                firstCall.get(hedgeDelayMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                // 超过对冲延迟或已失败，由下面统一处理
+            }
+            if (firstCall.isDone() && !firstCall.isCompletedExceptionally()) {
+                return firstCall.join();
+            }
+            secondCall = send(second, payload);
+            byte[] result = firstSuccessful(firstCall, secondCall, settings.getRequestTimeoutMs());
+            if (result != null) {
+                return result;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("RPC请求被中断");
+        } finally {
+            firstCall.cancel(true);
+            if (secondCall != null) {
+                secondCall.cancel(true);
+            }
+        }
+        return sequential(payload, candidates.subList(2, candidates.size()));
+    }
+
+    /**
+     * 等待两个请求中先成功的一个；都失败或超时时返回null
+     */
+    private byte[] firstSuccessful(CompletableFuture<byte[]> a, CompletableFuture<byte[]> b, long timeoutMs)
+            throws InterruptedException {
+        CompletableFuture<byte[]> winner = new CompletableFuture<>();
+        a.thenAccept(winner::complete);
+        b.thenAccept(winner::complete);
+        CompletableFuture.allOf(a, b).whenComplete((ignored, error) -> winner.complete(
+            !a.isCompletedExceptionally() ? a.getNow(null) : !b.isCompletedExceptionally() ? b.getNow(null) : null));
+        try {
+            return winner.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    private CompletableFuture<byte[]> send(Endpoint endpoint, String payload) {
+        Request request = new Request.Builder()
+            .url(endpoint.url())
+            .header("User-Agent", "DecentralizedGamingPlatform/1.0")
+            .post(RequestBody.create(payload, JSON_MEDIA_TYPE))
+            .build();
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        long start = System.nanoTime();
+        Call call = httpClient.newCall(request);
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call failedCall, IOException e) {
+                if (!failedCall.isCanceled()) {
+                    recordFailure(endpoint, e.getMessage());
+                }
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call completedCall, Response response) {
+                try (ResponseBody body = response.body()) {
+                    if (!response.isSuccessful() || body == null) {
+                        recordFailure(endpoint, "HTTP " + response.code());
+                        future.completeExceptionally(new ClientConnectionException(
+                            "Invalid response received: " + response.code() + "; " + endpoint.url()));
+                        return;
+                    }
+                    byte[] bytes = body.bytes();
+                    endpoint.recordSuccess(System.nanoTime() - start);
+                    future.complete(bytes);
+                } catch (IOException e) {
+                    if (!completedCall.isCanceled()) {
+                        recordFailure(endpoint, e.getMessage());
+                    }
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        return future;
+    }
+
+    private byte[] await(CompletableFuture<byte[]> future, long timeoutMs) throws IOException {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("RPC请求被中断");
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new InterruptedIOException("RPC请求超时(" + timeoutMs + "毫秒)");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ioException ? ioException : new IOException(cause);
+        }
+    }
+
+    private void recordFailure(Endpoint endpoint, String reason) {
+        if (endpoint.recordFailure(settings.getEjectAfterFailures())) {
+            log.warn("RPC节点连续失败{}次，暂时剔除: {}, 最后错误: {}",
+                settings.getEjectAfterFailures(), endpoint.url(), reason);
+        }
+    }
+
+    /**
+     * 探测被剔除的节点，eth_blockNumber 成功即恢复
+     */
+    private void probeEjected() {
+        for (Endpoint endpoint : endpoints) {
+            if (!endpoint.isEjected()) {
+                continue;
+            }
+            Request request = new Request.Builder()
+                .url(endpoint.url())
+                .post(RequestBody.create(PROBE_PAYLOAD, JSON_MEDIA_TYPE))
+                .build();
+            try (Response response = httpClient.newCall(request).execute()) {
+                if (response.isSuccessful()) {
+                    endpoint.reinstate();
+                    log.info("RPC节点探测成功，恢复使用: {}", endpoint.url());
+                }
+            } catch (Exception e) {
+                log.debug("RPC节点探测失败: {}, 错误: {}", endpoint.url(), e.getMessage());
+            }
+        }
+    }
+
+    private static boolean isPinned(String payload) {
+        for (String method : PINNED_METHODS) {
+            if (payload.contains(method)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,62 @@
+package com.decentralized.gaming.platform.config;
+
+import com.decentralized.gaming.platform.service.blockchain.BlockchainMetricsService;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.Buffer;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 节点RPC调用延迟统计拦截器
+ * 从JSON-RPC请求体中解析方法名，按方法名记录每次HTTP调用的耗时与成败；批量请求记为batch
+ *
+ * @author DecentralizedGamingPlatform
+ */
+public class RpcMetricsInterceptor implements Interceptor {
+
+    private static final Pattern METHOD_PATTERN = Pattern.compile("\"method\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final BlockchainMetricsService metricsService;
+
+    public RpcMetricsInterceptor(BlockchainMetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String method = resolveMethod(request.body());
+        long start = System.nanoTime();
+        try {
+            Response response = chain.proceed(request);
+            metricsService.recordRpcLatency(method, System.nanoTime() - start, response.isSuccessful());
+            return response;
+        } catch (IOException | RuntimeException e) {
+            metricsService.recordRpcLatency(method, System.nanoTime() - start, false);
+            throw e;
+        }
+    }
+
+    private String resolveMethod(RequestBody body) {
+        if (body == null) {
+            return "unknown";
+        }
+        try {
+            Buffer buffer = new Buffer();
+            body.writeTo(buffer);
+            String json = buffer.readUtf8();
+            if (json.stripLeading().startsWith("[")) {
+                return "batch";
+            }
+            Matcher matcher = METHOD_PATTERN.matcher(json);
+            return matcher.find() ? matcher.group(1) : "unknown";
+        } catch (IOException e) {
+            return "unknown";
+        }
+    }
+}
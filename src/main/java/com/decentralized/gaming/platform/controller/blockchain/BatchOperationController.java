@@ -16,8 +16,6 @@ import java.math.BigInteger;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * 批量操作控制器
@@ -46,11 +44,15 @@ public class BatchOperationController {
     @Autowired
     private BatchOperationService batchOperationService;
 
+    @Autowired
+    private BatchTransferService batchTransferService;
+
+    @Autowired
+    private BatchJobService batchJobService;
+
     // @Autowired
     // private RewardsService rewardsService;
 
-    private final ExecutorService executorService = Executors.newFixedThreadPool(10);
-
     // ==================== 代币批量操作 ====================
 
     @PostMapping("/token/transfer")
@@ -58,20 +60,34 @@ public class BatchOperationController {
     public Result<Object> batchTransferTokens(
             @Parameter(description = "接收地址列表") @RequestParam List<String> recipients,
             @Parameter(description = "转账数量列表") @RequestParam List<BigInteger> amounts,
-            @Parameter(description = "私钥") @RequestParam String privateKey) {
+            @Parameter(description = "私钥") @RequestParam String privateKey,
+            @Parameter(description = "费用档位：SLOW, STANDARD, FAST") @RequestParam(defaultValue = "STANDARD") String feeTier) {
         try {
             if (recipients.size() != amounts.size()) {
                 return Result.error("接收地址数量与转账数量不匹配");
             }
 
             Credentials credentials = getCredentialsFromPrivateKey(privateKey);
+            if (batchTransferService.isHelperAvailable()) {
+                // 打包为少量批量转账交易
+                List<BatchTransferService.ChunkResult> chunks = batchTransferService.transferTokens(credentials, recipients, amounts,
+                    FeeOracleService.FeeTier.parse(feeTier));
+                return Result.success(toBatchResult(recipients, amounts, "amount", chunks), "批量转账代币完成");
+            }
+
             List<Map<String, Object>> results = new ArrayList<>();
             List<String> txHashes = new ArrayList<>();
             int successCount = 0;
 
+            // 先连续广播全部转账（本地分配nonce），再统一等待收据，避免逐笔等待上链
+            List<CompletableFuture<TransactionReceipt>> submissions = new ArrayList<>();
+            for (int i = 0; i < recipients.size(); i++) {
+                submissions.add(platformTokenService.transferAsync(credentials, recipients.get(i), amounts.get(i)));
+            }
+
             for (int i = 0; i < recipients.size(); i++) {
                 try {
-                    TransactionReceipt receipt = platformTokenService.transfer(credentials, recipients.get(i), amounts.get(i));
+                    TransactionReceipt receipt = submissions.get(i).join();
                     txHashes.add(receipt.getTransactionHash());
                     successCount++;
 
@@ -122,9 +138,15 @@ public class BatchOperationController {
             List<String> txHashes = new ArrayList<>();
             int successCount = 0;
 
+            // 授权只能由持有者逐笔发起，先连续广播全部授权，再统一等待收据
+            List<CompletableFuture<TransactionReceipt>> submissions = new ArrayList<>();
+            for (int i = 0; i < spenders.size(); i++) {
+                submissions.add(platformTokenService.approveAsync(credentials, spenders.get(i), amounts.get(i)));
+            }
+
             for (int i = 0; i < spenders.size(); i++) {
                 try {
-                    TransactionReceipt receipt = platformTokenService.approve(credentials, spenders.get(i), amounts.get(i));
+                    TransactionReceipt receipt = submissions.get(i).join();
                     txHashes.add(receipt.getTransactionHash());
                     successCount++;
 
@@ -167,9 +189,20 @@ public class BatchOperationController {
             @Parameter(description = "发送方地址") @RequestParam String from,
             @Parameter(description = "接收方地址") @RequestParam String to,
             @Parameter(description = "NFT ID列表") @RequestParam List<BigInteger> tokenIds,
-            @Parameter(description = "私钥") @RequestParam String privateKey) {
+            @Parameter(description = "私钥") @RequestParam String privateKey,
+            @Parameter(description = "费用档位：SLOW, STANDARD, FAST") @RequestParam(defaultValue = "STANDARD") String feeTier) {
         try {
             Credentials credentials = getCredentialsFromPrivateKey(privateKey);
+            if (batchTransferService.isHelperAvailable() && from.equalsIgnoreCase(credentials.getAddress())) {
+                // 从签名者自己的地址转出时打包为少量批量转账交易
+                List<BatchTransferService.ChunkResult> chunks = batchTransferService.transferGameNfts(
+                    credentials, Collections.nCopies(tokenIds.size(), to), tokenIds, FeeOracleService.FeeTier.parse(feeTier));
+                Map<String, Object> batchResult = toBatchResult(Collections.nCopies(tokenIds.size(), to), tokenIds, "tokenId", chunks);
+                batchResult.put("from", from);
+                batchResult.put("to", to);
+                return Result.success(batchResult, "批量转账游戏NFT完成");
+            }
+
             List<Map<String, Object>> results = new ArrayList<>();
             List<String> txHashes = new ArrayList<>();
             int successCount = 0;
@@ -217,9 +250,20 @@ public class BatchOperationController {
             @Parameter(description = "发送方地址") @RequestParam String from,
             @Parameter(description = "接收方地址") @RequestParam String to,
             @Parameter(description = "NFT ID列表") @RequestParam List<BigInteger> tokenIds,
-            @Parameter(description = "私钥") @RequestParam String privateKey) {
+            @Parameter(description = "私钥") @RequestParam String privateKey,
+            @Parameter(description = "费用档位：SLOW, STANDARD, FAST") @RequestParam(defaultValue = "STANDARD") String feeTier) {
         try {
             Credentials credentials = getCredentialsFromPrivateKey(privateKey);
+            if (batchTransferService.isHelperAvailable() && from.equalsIgnoreCase(credentials.getAddress())) {
+                // 从签名者自己的地址转出时打包为少量批量转账交易
+                List<BatchTransferService.ChunkResult> chunks = batchTransferService.transferAgentNfts(
+                    credentials, Collections.nCopies(tokenIds.size(), to), tokenIds, FeeOracleService.FeeTier.parse(feeTier));
+                Map<String, Object> batchResult = toBatchResult(Collections.nCopies(tokenIds.size(), to), tokenIds, "tokenId", chunks);
+                batchResult.put("from", from);
+                batchResult.put("to", to);
+                return Result.success(batchResult, "批量转账智能体NFT完成");
+            }
+
             List<Map<String, Object>> results = new ArrayList<>();
             List<String> txHashes = new ArrayList<>();
             int successCount = 0;
@@ -589,72 +633,105 @@ public class BatchOperationController {
         }
     }
 
+    // ==================== 奖励批量发放 ====================
+
+    @PostMapping("/rewards/issue")
+    @Operation(summary = "批量发放奖励", description = "通过奖励合约 batchIssue 批量发放平台代币，按Gas估算拆分为少量交易")
+    public Result<Object> batchIssueRewards(
+            @Parameter(description = "接收地址列表") @RequestParam List<String> recipients,
+            @Parameter(description = "奖励数量列表") @RequestParam List<BigInteger> amounts,
+            @Parameter(description = "发放原因") @RequestParam(required = false) String reason,
+            @Parameter(description = "奖励合约拥有者私钥") @RequestParam String privateKey,
+            @Parameter(description = "费用档位：SLOW, STANDARD, FAST") @RequestParam(defaultValue = "STANDARD") String feeTier) {
+        try {
+            if (recipients.size() != amounts.size()) {
+                return Result.error("接收地址数量与奖励数量不匹配");
+            }
+
+            Credentials credentials = getCredentialsFromPrivateKey(privateKey);
+            List<BatchTransferService.ChunkResult> chunks = batchTransferService.issueRewards(credentials, recipients, amounts, reason,
+                FeeOracleService.FeeTier.parse(feeTier));
+            return Result.success(toBatchResult(recipients, amounts, "amount", chunks), "批量发放奖励完成");
+        } catch (Exception e) {
+            log.error("批量发放奖励失败", e);
+            return Result.error("批量发放奖励失败: " + e.getMessage());
+        }
+    }
+
     // ==================== 异步批量操作 ====================
 
     @PostMapping("/async/token/transfer")
-    @Operation(summary = "异步批量转账代币", description = "异步批量转账平台代币到多个地址")
+    @Operation(summary = "异步批量转账代币", description = "写入持久化任务后立即返回批量操作ID，由后台任务引擎执行，服务重启后继续")
     public Result<Object> asyncBatchTransferTokens(
             @Parameter(description = "接收地址列表") @RequestParam List<String> recipients,
             @Parameter(description = "转账数量列表") @RequestParam List<BigInteger> amounts,
-            @Parameter(description = "私钥") @RequestParam String privateKey) {
+            @Parameter(description = "私钥") @RequestParam String privateKey,
+            @Parameter(description = "创建者用户ID") @RequestParam(required = false) Long userId,
+            @Parameter(description = "费用档位：SLOW, STANDARD, FAST") @RequestParam(defaultValue = "STANDARD") String feeTier) {
         try {
             if (recipients.size() != amounts.size()) {
                 return Result.error("接收地址数量与转账数量不匹配");
             }
 
-            Credentials credentials = getCredentialsFromPrivateKey(privateKey);
-            List<CompletableFuture<Map<String, Object>>> futures = new ArrayList<>();
-
+            List<Map<String, Object>> items = new ArrayList<>();
             for (int i = 0; i < recipients.size(); i++) {
-                final int index = i;
-                CompletableFuture<Map<String, Object>> future = CompletableFuture.supplyAsync(() -> {
-                    Map<String, Object> result = new HashMap<>();
-                    try {
-                        TransactionReceipt receipt = platformTokenService.transfer(credentials, recipients.get(index), amounts.get(index));
-                        result.put("recipient", recipients.get(index));
-                        result.put("amount", amounts.get(index));
-                        result.put("txHash", receipt.getTransactionHash());
-                        result.put("success", true);
-                    } catch (Exception e) {
-                        log.error("异步批量转账代币失败，接收者: {}", recipients.get(index), e);
-                        result.put("recipient", recipients.get(index));
-                        result.put("amount", amounts.get(index));
-                        result.put("success", false);
-                        result.put("error", e.getMessage());
-                    }
-                    return result;
-                }, executorService);
-                futures.add(future);
+                Map<String, Object> item = new HashMap<>();
+                item.put("to", recipients.get(i));
+                item.put("amount", amounts.get(i).toString());
+                items.add(item);
             }
 
-            // 等待所有异步操作完成
-            CompletableFuture<Void> allFutures = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
-            allFutures.get(); // 等待完成
+            Credentials credentials = getCredentialsFromPrivateKey(privateKey);
+            String batchId = batchJobService.submit("TOKEN_TRANSFER", credentials, items, userId,
+                FeeOracleService.FeeTier.parse(feeTier));
 
-            List<Map<String, Object>> results = new ArrayList<>();
-            List<String> txHashes = new ArrayList<>();
-            int successCount = 0;
+            Map<String, Object> result = new HashMap<>();
+            result.put("batchId", batchId);
+            result.put("totalCount", recipients.size());
+            return Result.success(result, "异步批量转账代币已提交");
+        } catch (IllegalArgumentException e) {
+            return Result.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("异步批量转账代币失败", e);
+            return Result.error("异步批量转账代币失败: " + e.getMessage());
+        }
+    }
 
-            for (CompletableFuture<Map<String, Object>> future : futures) {
-                Map<String, Object> result = future.get();
-                results.add(result);
-                if ((Boolean) result.get("success")) {
-                    txHashes.add((String) result.get("txHash"));
-                    successCount++;
-                }
-            }
+    @PostMapping("/jobs/{operationType}")
+    @Operation(summary = "提交批量任务", description = "按操作类型提交持久化批量任务，请求体为每条操作的参数列表")
+    public Result<Object> submitBatchJob(
+            @Parameter(description = "操作类型：TOKEN_TRANSFER, TOKEN_APPROVE, GAME_NFT_TRANSFER, AGENT_NFT_TRANSFER, REWARD_ISSUE")
+            @PathVariable String operationType,
+            @RequestBody List<Map<String, Object>> items,
+            @Parameter(description = "私钥") @RequestParam String privateKey,
+            @Parameter(description = "创建者用户ID") @RequestParam(required = false) Long userId,
+            @Parameter(description = "费用档位：SLOW, STANDARD, FAST") @RequestParam(defaultValue = "STANDARD") String feeTier) {
+        try {
+            Credentials credentials = getCredentialsFromPrivateKey(privateKey);
+            String batchId = batchJobService.submit(operationType.toUpperCase(), credentials, items, userId,
+                FeeOracleService.FeeTier.parse(feeTier));
 
-            Map<String, Object> batchResult = new HashMap<>();
-            batchResult.put("totalCount", recipients.size());
-            batchResult.put("successCount", successCount);
-            batchResult.put("failureCount", recipients.size() - successCount);
-            batchResult.put("txHashes", txHashes);
-            batchResult.put("results", results);
+            Map<String, Object> result = new HashMap<>();
+            result.put("batchId", batchId);
+            result.put("operationType", operationType.toUpperCase());
+            result.put("totalCount", items.size());
+            return Result.success(result, "批量任务已提交");
+        } catch (IllegalArgumentException e) {
+            return Result.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("提交批量任务失败", e);
+            return Result.error("提交批量任务失败: " + e.getMessage());
+        }
+    }
 
-            return Result.success(batchResult, "异步批量转账代币完成");
+    @GetMapping("/jobs/status")
+    @Operation(summary = "批量任务引擎状态", description = "各操作类型的线程数、在途数量、速率限制与累计执行结果")
+    public Result<Object> getBatchJobStatus() {
+        try {
+            return Result.success(batchJobService.getStatus(), "获取批量任务引擎状态成功");
         } catch (Exception e) {
-            log.error("异步批量转账代币失败", e);
-            return Result.error("异步批量转账代币失败: " + e.getMessage());
+            log.error("获取批量任务引擎状态失败", e);
+            return Result.error("获取批量任务引擎状态失败: " + e.getMessage());
         }
     }
 
@@ -764,7 +841,7 @@ public class BatchOperationController {
     public Result<Object> cancelBatchOperation(
             @Parameter(description = "批量操作ID") @PathVariable String batchId) {
         try {
-            boolean cancelled = batchOperationService.cancelBatchOperation(batchId);
+            boolean cancelled = batchJobService.cancel(batchId);
             if (cancelled) {
                 return Result.success("批量操作已取消", "取消批量操作成功");
             } else {
@@ -776,6 +853,43 @@ public class BatchOperationController {
         }
     }
 
+    /**
+     * 将分片结果展开为逐条结果，同一分片内的条目共用一个交易哈希
+     */
+    private Map<String, Object> toBatchResult(List<String> recipients, List<BigInteger> values, String valueKey,
+                                              List<BatchTransferService.ChunkResult> chunks) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        List<String> txHashes = new ArrayList<>();
+        int successCount = 0;
+        for (BatchTransferService.ChunkResult chunk : chunks) {
+            if (chunk.getTxHash() != null) {
+                txHashes.add(chunk.getTxHash());
+            }
+            for (int i = chunk.getFromIndex(); i < chunk.getToIndex(); i++) {
+                Map<String, Object> result = new HashMap<>();
+                result.put("recipient", recipients.get(i));
+                result.put(valueKey, values.get(i));
+                result.put("txHash", chunk.getTxHash());
+                result.put("success", chunk.isSuccess());
+                if (chunk.isSuccess()) {
+                    successCount++;
+                } else {
+                    result.put("error", chunk.getError());
+                }
+                results.add(result);
+            }
+        }
+
+        Map<String, Object> batchResult = new HashMap<>();
+        batchResult.put("totalCount", recipients.size());
+        batchResult.put("successCount", successCount);
+        batchResult.put("failureCount", recipients.size() - successCount);
+        batchResult.put("transactionCount", chunks.size());
+        batchResult.put("txHashes", txHashes);
+        batchResult.put("results", results);
+        return batchResult;
+    }
+
     private Credentials getCredentialsFromPrivateKey(String privateKey) {
         if (privateKey.startsWith("0x")) {
             privateKey = privateKey.substring(2);
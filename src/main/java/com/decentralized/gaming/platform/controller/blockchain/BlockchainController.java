@@ -1,16 +1,19 @@
 package com.decentralized.gaming.platform.controller.blockchain;
 
 import com.decentralized.gaming.platform.common.Result;
+import com.decentralized.gaming.platform.config.RpcEndpointRouter;
 import com.decentralized.gaming.platform.service.blockchain.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.OkHttpClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigInteger;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -55,6 +58,30 @@ public class BlockchainController {
     @Autowired
     private BlockchainCacheService cacheService;
 
+    @Autowired
+    private RequestCoalescingService coalescingService;
+
+    @Autowired
+    private HeadTrackerService headTrackerService;
+
+    @Autowired
+    private TransactionPipelineService transactionPipelineService;
+
+    @Autowired
+    private FeeOracleService feeOracleService;
+
+    @Autowired
+    private BulkReadService bulkReadService;
+
+    @Autowired
+    private ContractHandleRegistry contractHandleRegistry;
+
+    @Autowired(required = false)
+    private OkHttpClient blockchainHttpClient;
+
+    @Autowired(required = false)
+    private RpcEndpointRouter rpcEndpointRouter;
+
     // ==================== 基础功能 ====================
 
     @GetMapping("/health")
@@ -72,6 +99,9 @@ public class BlockchainController {
             healthInfo.put("gasPrice", blockchainService.getGasPrice());
             healthInfo.put("cacheStats", cacheService.getCacheStats());
             healthInfo.put("metrics", metricsService.getHealthStatus());
+            if (rpcEndpointRouter != null) {
+                healthInfo.put("endpoints", rpcEndpointRouter.getEndpointStates());
+            }
             healthInfo.put("timestamp", System.currentTimeMillis());
             
             long responseTime = System.currentTimeMillis() - startTime;
@@ -117,6 +147,20 @@ public class BlockchainController {
         }
     }
 
+    @PostMapping("/accounts/balances")
+    @Operation(summary = "批量获取账户余额", description = "请求体为钱包地址列表，批量获取ETH余额(wei)")
+    public Result<Object> getAccountBalances(@RequestBody List<String> addresses) {
+        try {
+            if (addresses == null || addresses.isEmpty()) {
+                return Result.error("地址列表不能为空");
+            }
+            return Result.success(bulkReadService.getEthBalances(addresses), "批量获取余额成功");
+        } catch (Exception e) {
+            log.error("批量获取账户余额失败", e);
+            return Result.error("批量获取账户余额失败: " + e.getMessage());
+        }
+    }
+
     @PostMapping("/signature/verify")
     @Operation(summary = "验证签名", description = "验证钱包地址的签名")
     public Result<Boolean> verifySignature(
@@ -158,6 +202,44 @@ public class BlockchainController {
         }
     }
 
+    @PostMapping("/token/balances")
+    @Operation(summary = "批量获取代币余额", description = "请求体为钱包地址列表，批量获取平台代币余额（最小单位）")
+    public Result<Object> getTokenBalances(@RequestBody List<String> addresses) {
+        try {
+            if (addresses == null || addresses.isEmpty()) {
+                return Result.error("地址列表不能为空");
+            }
+            String tokenAddress = contractConfigService.getContractAddress("platform-token");
+            if (tokenAddress.isEmpty()) {
+                return Result.error("平台代币合约地址未配置");
+            }
+            return Result.success(bulkReadService.getBalances(tokenAddress, addresses), "批量获取代币余额成功");
+        } catch (Exception e) {
+            log.error("批量获取代币余额失败", e);
+            return Result.error("批量获取代币余额失败: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/token/allowances")
+    @Operation(summary = "批量获取代币授权额度", description = "请求体为被授权者地址列表，批量获取拥有者对各地址的平台代币授权额度")
+    public Result<Object> getTokenAllowances(
+            @Parameter(description = "拥有者地址") @RequestParam String owner,
+            @RequestBody List<String> spenders) {
+        try {
+            if (spenders == null || spenders.isEmpty()) {
+                return Result.error("被授权者地址列表不能为空");
+            }
+            String tokenAddress = contractConfigService.getContractAddress("platform-token");
+            if (tokenAddress.isEmpty()) {
+                return Result.error("平台代币合约地址未配置");
+            }
+            return Result.success(bulkReadService.getAllowances(tokenAddress, owner, spenders), "批量获取代币授权额度成功");
+        } catch (Exception e) {
+            log.error("批量获取代币授权额度失败", e);
+            return Result.error("批量获取代币授权额度失败: " + e.getMessage());
+        }
+    }
+
     // ==================== 游戏NFT功能 ====================
 
     @GetMapping("/game/info")
@@ -786,6 +868,61 @@ public class BlockchainController {
         }
     }
 
+    @GetMapping("/rpc/metrics")
+    @Operation(summary = "获取节点RPC指标", description = "获取按RPC方法名统计的延迟直方图以及HTTP连接池、并发请求状态")
+    public Result<Object> getRpcMetrics() {
+        try {
+            Map<String, Object> rpcMetrics = new HashMap<>();
+            rpcMetrics.put("latency", metricsService.getRpcLatencyHistograms());
+            if (blockchainHttpClient != null) {
+                Map<String, Object> transport = new HashMap<>();
+                transport.put("connectionCount", blockchainHttpClient.connectionPool().connectionCount());
+                transport.put("idleConnectionCount", blockchainHttpClient.connectionPool().idleConnectionCount());
+                transport.put("runningCalls", blockchainHttpClient.dispatcher().runningCallsCount());
+                transport.put("queuedCalls", blockchainHttpClient.dispatcher().queuedCallsCount());
+                transport.put("protocols", blockchainHttpClient.protocols().toString());
+                rpcMetrics.put("transport", transport);
+            }
+            return Result.success(rpcMetrics, "获取节点RPC指标成功");
+        } catch (Exception e) {
+            log.error("获取节点RPC指标失败", e);
+            return Result.error("获取节点RPC指标失败: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/tx-pipeline/status")
+    @Operation(summary = "获取交易流水线状态", description = "获取各签名者的本地nonce、待确认交易数以及替换与缺口填补次数")
+    public Result<Object> getTransactionPipelineStatus() {
+        try {
+            return Result.success(transactionPipelineService.getStatus(), "获取交易流水线状态成功");
+        } catch (Exception e) {
+            log.error("获取交易流水线状态失败", e);
+            return Result.error("获取交易流水线状态失败: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/fees")
+    @Operation(summary = "获取手续费档位", description = "获取各档位的EIP-1559费用、最近区块基础费用分位数以及Gas估算缓存命中情况")
+    public Result<Object> getFeeOracleStatus() {
+        try {
+            return Result.success(feeOracleService.getStatus(), "获取手续费档位成功");
+        } catch (Exception e) {
+            log.error("获取手续费档位失败", e);
+            return Result.error("获取手续费档位失败: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/multicall/status")
+    @Operation(summary = "获取批量只读调用状态", description = "获取聚合调用方式、Gas上限、批次Gas放大系数及累计调用次数")
+    public Result<Object> getBulkReadStatus() {
+        try {
+            return Result.success(bulkReadService.getStatus(), "获取批量只读调用状态成功");
+        } catch (Exception e) {
+            log.error("获取批量只读调用状态失败", e);
+            return Result.error("获取批量只读调用状态失败: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/cache/stats")
     @Operation(summary = "获取缓存统计", description = "获取区块链缓存的使用统计")
     public Result<Object> getCacheStats() {
@@ -798,11 +935,45 @@ public class BlockchainController {
         }
     }
 
+    @GetMapping("/contract-handles/stats")
+    @Operation(summary = "获取合约句柄统计", description = "获取已缓存的合约包装类数量及命中、未命中、淘汰次数")
+    public Result<Object> getContractHandleStats() {
+        try {
+            return Result.success(contractHandleRegistry.getStats(), "获取合约句柄统计成功");
+        } catch (Exception e) {
+            log.error("获取合约句柄统计失败", e);
+            return Result.error("获取合约句柄统计失败: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/coalescing/stats")
+    @Operation(summary = "获取请求合并统计", description = "获取只读请求合并、提前刷新的次数与在途请求数")
+    public Result<Object> getCoalescingStats() {
+        try {
+            return Result.success(coalescingService.getStats(), "获取请求合并统计成功");
+        } catch (Exception e) {
+            log.error("获取请求合并统计失败", e);
+            return Result.error("获取请求合并统计失败: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/head")
+    @Operation(summary = "获取最新区块", description = "获取最新区块跟踪状态：区块号、哈希、时间戳、基础费用及数据来源")
+    public Result<Object> getHeadStatus() {
+        try {
+            return Result.success(headTrackerService.getStatus(), "获取最新区块成功");
+        } catch (Exception e) {
+            log.error("获取最新区块失败", e);
+            return Result.error("获取最新区块失败: " + e.getMessage());
+        }
+    }
+
     @PostMapping("/cache/clear")
     @Operation(summary = "清除缓存", description = "清除所有区块链缓存")
     public Result<String> clearCache() {
         try {
             cacheService.clearAllCache();
+            coalescingService.invalidateAll();
             return Result.success("缓存清除成功", "所有区块链缓存已清除");
         } catch (Exception e) {
             log.error("清除缓存失败", e);
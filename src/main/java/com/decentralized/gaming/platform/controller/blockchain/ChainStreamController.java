@@ -0,0 +1,90 @@
+package com.decentralized.gaming.platform.controller.blockchain;
+
+import com.decentralized.gaming.platform.common.Result;
+import com.decentralized.gaming.platform.service.blockchain.ChainStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 链上数据推送控制器
+ * 通过SSE推送合约事件、交易收据与确认数变化，替代客户端轮询交易状态与事件接口
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/stream")
+@Tag(name = "链上数据推送", description = "基于SSE的合约事件与交易状态实时推送")
+public class ChainStreamController {
+
+    @Autowired
+    private ChainStreamService chainStreamService;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "订阅实时推送",
+        description = "按地址、交易哈希、合约或市场挂单订阅；推送事件名: connected、event、eventRemoved、receipt、confirmations、head")
+    public SseEmitter stream(
+            @Parameter(description = "钱包地址（作为事件索引参数出现）") @RequestParam(required = false) List<String> address,
+            @Parameter(description = "交易哈希") @RequestParam(required = false) List<String> txHash,
+            @Parameter(description = "合约地址") @RequestParam(required = false) List<String> contract,
+            @Parameter(description = "市场挂单ID") @RequestParam(required = false) List<String> listingId,
+            @Parameter(description = "是否推送新区块") @RequestParam(defaultValue = "false") boolean heads) {
+        Set<String> topics = new HashSet<>();
+        addTopics(topics, "address", address);
+        addTopics(topics, "tx", txHash);
+        addTopics(topics, "contract", contract);
+        addTopics(topics, "listing", listingId);
+        if (heads) {
+            topics.add("heads");
+        }
+
+        try {
+            return chainStreamService.subscribe(topics);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("建立推送连接失败: {}", e.getMessage());
+            SseEmitter rejected = new SseEmitter(0L);
+            try {
+                rejected.send(SseEmitter.event().name("error").data(Result.error(e.getMessage()), MediaType.APPLICATION_JSON));
+            } catch (IOException ignored) {
+                // 客户端已断开
+            }
+            rejected.complete();
+            return rejected;
+        }
+    }
+
+    @GetMapping("/status")
+    @Operation(summary = "获取推送服务状态", description = "获取连接数、主题数、跟踪中的交易数与慢速消费者断开次数")
+    public Result<Object> getStreamStatus() {
+        try {
+            return Result.success(chainStreamService.getStreamStatus(), "获取推送服务状态成功");
+        } catch (Exception e) {
+            log.error("获取推送服务状态失败", e);
+            return Result.error("获取推送服务状态失败: " + e.getMessage());
+        }
+    }
+
+    private void addTopics(Set<String> topics, String type, List<String> values) {
+        if (values != null) {
+            for (String value : values) {
+                if (value != null && !value.isBlank()) {
+                    topics.add(type + ":" + value.trim());
+                }
+            }
+        }
+    }
+}
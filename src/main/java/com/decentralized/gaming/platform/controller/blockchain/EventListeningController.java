@@ -1,9 +1,19 @@
 package com.decentralized.gaming.platform.controller.blockchain;
 
+import com.decentralized.gaming.platform.common.CursorPageResult;
 import com.decentralized.gaming.platform.common.Result;
+import com.decentralized.gaming.platform.contracts.AgentNFT;
+import com.decentralized.gaming.platform.contracts.GameNFT;
+import com.decentralized.gaming.platform.contracts.Marketplace;
+import com.decentralized.gaming.platform.contracts.Rewards;
+import com.decentralized.gaming.platform.entity.ChainEvent;
+import com.decentralized.gaming.platform.service.blockchain.BlockchainService;
 import com.decentralized.gaming.platform.service.blockchain.ContractConfigService;
 import com.decentralized.gaming.platform.service.blockchain.EventListeningService;
+import com.decentralized.gaming.platform.service.blockchain.EventProjectionService;
+import com.decentralized.gaming.platform.service.blockchain.EventStoreService;
 import com.decentralized.gaming.platform.service.blockchain.EventSubscriptionService;
+import com.decentralized.gaming.platform.service.blockchain.SubscriptionDispatchService;
 import com.decentralized.gaming.platform.entity.EventSubscription;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,6 +21,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.datatypes.Event;
 import org.web3j.protocol.core.methods.response.Log;
 
 import java.math.BigInteger;
@@ -41,6 +53,25 @@ public class EventListeningController {
     @Autowired
     private EventSubscriptionService eventSubscriptionService;
 
+    @Autowired
+    private EventStoreService eventStoreService;
+
+    @Autowired
+    private EventProjectionService eventProjectionService;
+
+    @Autowired
+    private BlockchainService blockchainService;
+
+    @Autowired
+    private SubscriptionDispatchService subscriptionDispatchService;
+
+    private static final String[] CONTRACT_TYPES = {"platform-token", "game-nft", "agent-nft", "marketplace", "rewards"};
+
+    /**
+     * 按12秒出块估算的每小时区块数
+     */
+    private static final long BLOCKS_PER_HOUR = 300;
+
     // ==================== 事件监听控制 ====================
 
     @PostMapping("/start")
@@ -341,64 +372,39 @@ public class EventListeningController {
     // ==================== 事件过滤和搜索 ====================
 
     @GetMapping("/search")
-    @Operation(summary = "搜索事件", description = "根据条件搜索事件")
+    @Operation(summary = "搜索事件", description = "根据条件从事件存储中搜索事件，按区块倒序游标分页")
     public Result<Object> searchEvents(
             @Parameter(description = "合约地址") @RequestParam(required = false) String contractAddress,
             @Parameter(description = "事件签名") @RequestParam(required = false) String eventSignature,
-            @Parameter(description = "起始区块") @RequestParam(defaultValue = "0") BigInteger fromBlock,
-            @Parameter(description = "结束区块") @RequestParam(defaultValue = "latest") BigInteger toBlock,
-            @Parameter(description = "主题过滤") @RequestParam(required = false) List<String> topics) {
+            @Parameter(description = "起始区块") @RequestParam(defaultValue = "0") long fromBlock,
+            @Parameter(description = "结束区块，默认不限") @RequestParam(required = false) Long toBlock,
+            @Parameter(description = "主题过滤（按位置，首个为事件签名）") @RequestParam(required = false) List<String> topics,
+            @Parameter(description = "分页游标") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页数量") @RequestParam(defaultValue = "100") int limit) {
         try {
+            List<String> topicFilters = topics != null ? new ArrayList<>(topics) : new ArrayList<>();
+            if (eventSignature != null && !eventSignature.isEmpty()) {
+                if (topicFilters.isEmpty()) {
+                    topicFilters.add(eventSignature);
+                } else {
+                    topicFilters.set(0, eventSignature);
+                }
+            }
+
+            CursorPageResult<ChainEvent> page = eventStoreService.searchEvents(contractAddress, topicFilters,
+                fromBlock, toBlock != null ? toBlock : Long.MAX_VALUE, cursor, limit);
+
             Map<String, Object> result = new HashMap<>();
             result.put("contractAddress", contractAddress);
             result.put("eventSignature", eventSignature);
             result.put("fromBlock", fromBlock);
             result.put("toBlock", toBlock);
-            result.put("topics", topics);
+            result.put("topics", topicFilters);
+            result.put("events", page.getRecords());
+            result.put("eventCount", page.getSize());
+            result.put("nextCursor", page.getNextCursor());
             result.put("timestamp", System.currentTimeMillis());
-            
-            // 如果提供了合约地址和事件签名，尝试搜索事件
-            if (contractAddress != null && !contractAddress.isEmpty() && 
-                eventSignature != null && !eventSignature.isEmpty()) {
-                try {
-                    List<Log> logs = eventListeningService.getHistoricalEvents(
-                        fromBlock.toString(), toBlock.toString());
-                    
-                    result.put("events", logs);
-                    result.put("eventCount", logs.size());
-                    result.put("searchSuccessful", true);
-                    
-                    // 如果有主题过滤，进行进一步过滤
-                    if (topics != null && !topics.isEmpty()) {
-                        List<Log> filteredLogs = new ArrayList<>();
-                        for (Log log : logs) {
-                            boolean matches = true;
-                            for (int i = 0; i < topics.size() && i < log.getTopics().size(); i++) {
-                                if (!log.getTopics().get(i).equals(topics.get(i))) {
-                                    matches = false;
-                                    break;
-                                }
-                            }
-                            if (matches) {
-                                filteredLogs.add(log);
-                            }
-                        }
-                        result.put("filteredEvents", filteredLogs);
-                        result.put("filteredCount", filteredLogs.size());
-                    }
-                    
-                } catch (Exception e) {
-                    log.warn("搜索事件失败: {}", e.getMessage());
-                    result.put("searchError", e.getMessage());
-                    result.put("searchSuccessful", false);
-                }
-            } else {
-                result.put("message", "请提供合约地址和事件签名进行搜索");
-                result.put("searchSuccessful", false);
-            }
-            
-            result.put("note", "可以通过Web3j的EthFilter实现复杂的事件过滤");
-            
+
             return Result.success(result, "搜索事件成功");
         } catch (Exception e) {
             log.error("搜索事件失败", e);
@@ -407,68 +413,26 @@ public class EventListeningController {
     }
 
     @GetMapping("/address/{address}/events")
-    @Operation(summary = "查询地址相关事件", description = "查询与指定地址相关的事件")
+    @Operation(summary = "查询地址相关事件", description = "查询指定地址作为索引参数的事件，按区块倒序游标分页")
     public Result<Object> getAddressEvents(
             @Parameter(description = "钱包地址") @PathVariable String address,
-            @Parameter(description = "起始区块") @RequestParam(defaultValue = "0") BigInteger fromBlock,
-            @Parameter(description = "结束区块") @RequestParam(defaultValue = "latest") BigInteger toBlock) {
+            @Parameter(description = "合约地址") @RequestParam(required = false) String contractAddress,
+            @Parameter(description = "起始区块") @RequestParam(defaultValue = "0") long fromBlock,
+            @Parameter(description = "分页游标") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页数量") @RequestParam(defaultValue = "100") int limit) {
         try {
+            CursorPageResult<ChainEvent> page = eventStoreService.getAddressEvents(address, contractAddress,
+                fromBlock, cursor, limit);
+
             Map<String, Object> result = new HashMap<>();
             result.put("address", address);
+            result.put("contractAddress", contractAddress);
             result.put("fromBlock", fromBlock);
-            result.put("toBlock", toBlock);
+            result.put("events", page.getRecords());
+            result.put("totalEvents", page.getSize());
+            result.put("nextCursor", page.getNextCursor());
             result.put("timestamp", System.currentTimeMillis());
-            
-            // 获取所有合约地址
-            String[] contractTypes = {"platform-token", "game-nft", "agent-nft", "marketplace", "rewards"};
-            Map<String, Object> allEvents = new HashMap<>();
-            int totalEvents = 0;
-            
-            for (String contractType : contractTypes) {
-                String contractAddress = contractConfigService.getContractAddress(contractType);
-                if (!contractAddress.isEmpty() && contractConfigService.isContractDeployed(contractType)) {
-                    try {
-                        // 获取Transfer事件
-                        String transferSignature = getEventSignature("transfer");
-                        if (!transferSignature.isEmpty()) {
-                            List<Log> transferLogs = eventListeningService.getHistoricalEvents(
-                                fromBlock.toString(), toBlock.toString());
-                            
-                            // 过滤与指定地址相关的事件
-                            List<Log> relevantTransferLogs = new ArrayList<>();
-                            for (Log log : transferLogs) {
-                                if (log.getTopics().size() >= 3) {
-                                    String from = "0x" + log.getTopics().get(1).substring(26);
-                                    String to = "0x" + log.getTopics().get(2).substring(26);
-                                    if (from.equalsIgnoreCase(address) || to.equalsIgnoreCase(address)) {
-                                        relevantTransferLogs.add(log);
-                                    }
-                                }
-                            }
-                            
-                            if (!relevantTransferLogs.isEmpty()) {
-                                Map<String, Object> contractEvents = new HashMap<>();
-                                contractEvents.put("contractType", getContractType(contractAddress));
-                                contractEvents.put("contractAddress", contractAddress);
-                                contractEvents.put("transferEvents", relevantTransferLogs);
-                                contractEvents.put("transferCount", relevantTransferLogs.size());
-                                
-                                allEvents.put(contractType, contractEvents);
-                                totalEvents += relevantTransferLogs.size();
-                            }
-                        }
-                    } catch (Exception e) {
-                        log.warn("获取{}合约地址事件失败: {}", contractType, e.getMessage());
-                    }
-                }
-            }
-            
-            result.put("allEvents", allEvents);
-            result.put("totalEvents", totalEvents);
-            result.put("contractsChecked", contractTypes.length);
-            result.put("message", "地址事件查询功能已实现地址过滤逻辑");
-            result.put("note", "通过事件日志的topics字段过滤相关地址");
-            
+
             return Result.success(result, "查询地址相关事件成功");
         } catch (Exception e) {
             log.error("查询地址相关事件失败", e);
@@ -476,10 +440,56 @@ public class EventListeningController {
         }
     }
 
+    @PostMapping("/backfill")
+    @Operation(summary = "回填事件", description = "从节点拉取区块范围内的合约事件写入事件存储")
+    public Result<Object> backfillEvents(
+            @Parameter(description = "合约地址，默认所有已部署合约") @RequestParam(required = false) String contractAddress,
+            @Parameter(description = "起始区块") @RequestParam long fromBlock,
+            @Parameter(description = "结束区块") @RequestParam long toBlock) {
+        try {
+            List<String> contractAddresses = new ArrayList<>();
+            if (contractAddress != null && !contractAddress.isEmpty()) {
+                contractAddresses.add(contractAddress);
+            } else {
+                for (String contractType : CONTRACT_TYPES) {
+                    if (contractConfigService.isContractDeployed(contractType)) {
+                        contractAddresses.add(contractConfigService.getContractAddress(contractType));
+                    }
+                }
+            }
+            if (contractAddresses.isEmpty()) {
+                return Result.error("没有可回填的合约地址");
+            }
+
+            long stored = eventStoreService.backfill(contractAddresses, fromBlock, toBlock);
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("contractAddresses", contractAddresses);
+            result.put("fromBlock", fromBlock);
+            result.put("toBlock", toBlock);
+            result.put("storedEvents", stored);
+            return Result.success(result, "回填事件成功");
+        } catch (Exception e) {
+            log.error("回填事件失败", e);
+            return Result.error("回填事件失败: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/projection/status")
+    @Operation(summary = "获取事件投影状态", description = "获取事件投影的进度、延迟与错误信息")
+    public Result<Object> getProjectionStatus() {
+        try {
+            return Result.success(eventProjectionService.getProjectionStatus(), "获取事件投影状态成功");
+        } catch (Exception e) {
+            log.error("获取事件投影状态失败", e);
+            return Result.error("获取事件投影状态失败: " + e.getMessage());
+        }
+    }
+
     // ==================== 事件统计和分析 ====================
 
     @GetMapping("/statistics")
-    @Operation(summary = "获取事件统计", description = "获取事件统计信息")
+    @Operation(summary = "获取事件统计", description = "按合约与事件类型统计事件存储中的事件数量")
     public Result<Object> getEventStatistics(
             @Parameter(description = "合约地址") @RequestParam(required = false) String contractAddress,
             @Parameter(description = "时间范围(小时)") @RequestParam(defaultValue = "24") int hours) {
@@ -487,53 +497,37 @@ public class EventListeningController {
             Map<String, Object> result = new HashMap<>();
             result.put("timeRange", hours + "小时");
             result.put("timestamp", System.currentTimeMillis());
-            
+
+            BigInteger currentBlock = blockchainService.getCurrentBlockNumber();
+            long fromBlock = Math.max(0, currentBlock.longValue() - (long) hours * BLOCKS_PER_HOUR);
+            result.put("fromBlock", fromBlock);
+            result.put("toBlock", currentBlock);
+
+            List<Map<String, Object>> counts = eventStoreService.countEvents(contractAddress, fromBlock);
+
             if (contractAddress != null && !contractAddress.isEmpty()) {
-                // 获取指定合约的统计信息
+                // 指定合约的统计信息
                 result.put("contractAddress", contractAddress);
                 result.put("contractType", getContractType(contractAddress));
-                
-                // 尝试获取最近的事件统计
-                try {
-                    BigInteger currentBlock = BigInteger.valueOf(System.currentTimeMillis() / 1000 / 12); // 估算当前区块
-                    BigInteger fromBlock = currentBlock.subtract(BigInteger.valueOf(hours * 300)); // 估算起始区块
-                    
-                    // 获取Transfer事件统计
-                    String transferSignature = getEventSignature("transfer");
-                    if (!transferSignature.isEmpty()) {
-                            List<Log> transferLogs = eventListeningService.getHistoricalEvents(
-                                fromBlock.toString(), currentBlock.toString());
-                        result.put("transferEvents", transferLogs.size());
-                    }
-                    
-                    // 获取Approval事件统计
-                    String approvalSignature = getEventSignature("approval");
-                    if (!approvalSignature.isEmpty()) {
-                        List<Log> approvalLogs = eventListeningService.getHistoricalEvents(
-                            fromBlock.toString(), currentBlock.toString());
-                        result.put("approvalEvents", approvalLogs.size());
-                    }
-                } catch (Exception e) {
-                    log.warn("获取合约事件统计失败: {}", e.getMessage());
-                    result.put("statisticsError", e.getMessage());
-                }
+                result.put("transferEvents", sumByTopic(counts, getEventSignature("transfer")));
+                result.put("approvalEvents", sumByTopic(counts, getEventSignature("approval")));
+                result.put("eventCounts", counts);
             } else {
-                // 获取所有合约的统计信息
+                // 所有合约的统计信息
                 Map<String, Object> allContractsStats = new HashMap<>();
-                String[] contractTypes = {"platform-token", "game-nft", "agent-nft", "marketplace", "rewards"};
-                
-                for (String contractType : contractTypes) {
+                for (String contractType : CONTRACT_TYPES) {
                     String address = contractConfigService.getContractAddress(contractType);
                     if (!address.isEmpty()) {
                         Map<String, Object> contractStats = new HashMap<>();
                         contractStats.put("address", address);
                         contractStats.put("deployed", contractConfigService.isContractDeployed(contractType));
+                        contractStats.put("eventCount", sumByContract(counts, address, null));
                         allContractsStats.put(contractType, contractStats);
                     }
                 }
                 result.put("allContracts", allContractsStats);
             }
-            
+
             return Result.success(result, "获取事件统计成功");
         } catch (Exception e) {
             log.error("获取事件统计失败", e);
@@ -542,66 +536,48 @@ public class EventListeningController {
     }
 
     @GetMapping("/analytics/volume")
-    @Operation(summary = "获取交易量分析", description = "获取交易量分析数据")
+    @Operation(summary = "获取交易量分析", description = "基于事件存储获取交易量分析数据")
     public Result<Object> getVolumeAnalytics(
             @Parameter(description = "时间范围(天)") @RequestParam(defaultValue = "7") int days) {
         try {
             Map<String, Object> result = new HashMap<>();
             result.put("timeRange", days + "天");
             result.put("timestamp", System.currentTimeMillis());
-            
+
+            BigInteger currentBlock = blockchainService.getCurrentBlockNumber();
+            long fromBlock = Math.max(0, currentBlock.longValue() - (long) days * 24 * BLOCKS_PER_HOUR);
+            List<Map<String, Object>> counts = eventStoreService.countEvents(null, fromBlock);
+            String transferSignature = getEventSignature("transfer");
+
             // 获取所有合约的交易量统计
             Map<String, Object> volumeStats = new HashMap<>();
             String[] contractTypes = {"platform-token", "game-nft", "agent-nft", "marketplace"};
-            
+
             for (String contractType : contractTypes) {
                 String address = contractConfigService.getContractAddress(contractType);
                 if (!address.isEmpty() && contractConfigService.isContractDeployed(contractType)) {
                     Map<String, Object> contractStats = new HashMap<>();
                     contractStats.put("address", address);
                     contractStats.put("type", getContractType(address));
-                    
-                    try {
-                        // 估算区块范围
-                        BigInteger currentBlock = BigInteger.valueOf(System.currentTimeMillis() / 1000 / 12);
-                        BigInteger fromBlock = currentBlock.subtract(BigInteger.valueOf(days * 24 * 300));
-                        
-                        // 获取Transfer事件统计
-                        String transferSignature = getEventSignature("transfer");
-                        if (!transferSignature.isEmpty()) {
-                            List<Log> transferLogs = eventListeningService.getHistoricalEvents(
-                                fromBlock.toString(), currentBlock.toString());
-                            contractStats.put("transferCount", transferLogs.size());
-                            contractStats.put("dailyAverage", transferLogs.size() / days);
-                        }
-                        
-                        // 获取其他相关事件统计
-                        if (contractType.equals("marketplace")) {
-                            String itemListedSignature = getEventSignature("itemlisted");
-                            String itemSoldSignature = getEventSignature("itemsold");
-                            if (!itemListedSignature.isEmpty()) {
-                                List<Log> listedLogs = eventListeningService.getHistoricalEvents(
-                                    fromBlock.toString(), currentBlock.toString());
-                                contractStats.put("itemsListed", listedLogs.size());
-                            }
-                            if (!itemSoldSignature.isEmpty()) {
-                                List<Log> soldLogs = eventListeningService.getHistoricalEvents(
-                                    fromBlock.toString(), currentBlock.toString());
-                                contractStats.put("itemsSold", soldLogs.size());
-                            }
-                        }
-                    } catch (Exception e) {
-                        log.warn("获取{}合约交易量统计失败: {}", contractType, e.getMessage());
-                        contractStats.put("error", e.getMessage());
+
+                    long transferCount = sumByContract(counts, address, transferSignature);
+                    contractStats.put("transferCount", transferCount);
+                    contractStats.put("dailyAverage", transferCount / days);
+                    contractStats.put("totalEvents", sumByContract(counts, address, null));
+                    if (contractType.equals("marketplace")) {
+                        contractStats.put("itemsListed", sumByContract(counts, address, getEventSignature("itemlisted")));
+                        contractStats.put("itemsSold", sumByContract(counts, address, getEventSignature("itemsold")));
                     }
-                    
+
                     volumeStats.put(contractType, contractStats);
                 }
             }
-            
+
+            result.put("fromBlock", fromBlock);
+            result.put("toBlock", currentBlock);
             result.put("volumeStats", volumeStats);
             result.put("totalContracts", volumeStats.size());
-            
+
             return Result.success(result, "获取交易量分析成功");
         } catch (Exception e) {
             log.error("获取交易量分析失败", e);
@@ -654,7 +630,7 @@ public class EventListeningController {
             result.put("status", "订阅已创建");
             result.put("message", "事件订阅已创建，开始监听指定合约事件");
             result.put("note", "订阅信息已保存到数据库，支持状态管理");
-            result.put("suggestion", "可以通过WebSocket连接接收实时事件通知");
+            result.put("suggestion", "可以通过 /api/events/subscriptions/" + subscriptionId + "/events 拉取订阅事件");
             
             return Result.success(result, "订阅事件成功");
         } catch (Exception e) {
@@ -735,6 +711,65 @@ public class EventListeningController {
         }
     }
 
+    @GetMapping("/subscriptions/{subscriptionId}/events")
+    @Operation(summary = "拉取订阅事件", description = "从上次投递位置之后拉取订阅的下一批事件；发起拉取即确认上一批已送达")
+    public Result<Object> pollSubscriptionEvents(
+            @Parameter(description = "订阅ID") @PathVariable String subscriptionId,
+            @Parameter(description = "最大数量") @RequestParam(defaultValue = "100") int limit) {
+        try {
+            var subscription = eventSubscriptionService.getSubscriptionById(subscriptionId);
+            if (subscription.isEmpty()) {
+                return Result.error("订阅不存在");
+            }
+
+            List<ChainEvent> events = subscriptionDispatchService.pollEvents(subscriptionId, limit);
+            Map<String, Object> result = new HashMap<>();
+            result.put("subscriptionId", subscriptionId);
+            result.put("status", subscription.get().getStatus());
+            result.put("events", events);
+            result.put("size", events.size());
+            if (!events.isEmpty()) {
+                ChainEvent last = events.get(events.size() - 1);
+                result.put("deliveredOffset", last.getBlockNumber() + ":" + last.getLogIndex());
+            }
+            result.put("timestamp", System.currentTimeMillis());
+            return Result.success(result, "拉取订阅事件成功");
+        } catch (Exception e) {
+            log.error("拉取订阅事件失败", e);
+            return Result.error("拉取订阅事件失败: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/subscriptions/{subscriptionId}/ack")
+    @Operation(summary = "确认订阅事件", description = "确认已处理到指定位置，服务重启后从该位置之后重新投递")
+    public Result<Object> acknowledgeSubscriptionEvents(
+            @Parameter(description = "订阅ID") @PathVariable String subscriptionId,
+            @Parameter(description = "区块号") @RequestParam long blockNumber,
+            @Parameter(description = "日志序号") @RequestParam int logIndex) {
+        try {
+            boolean advanced = subscriptionDispatchService.acknowledge(subscriptionId, blockNumber, logIndex);
+            Map<String, Object> result = new HashMap<>();
+            result.put("subscriptionId", subscriptionId);
+            result.put("advanced", advanced);
+            result.put("ackedOffset", blockNumber + ":" + logIndex);
+            return Result.success(result, advanced ? "确认订阅事件成功" : "确认位置未推进");
+        } catch (Exception e) {
+            log.error("确认订阅事件失败", e);
+            return Result.error("确认订阅事件失败: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/subscriptions/dispatch/status")
+    @Operation(summary = "获取订阅分发状态", description = "获取订阅匹配索引、缓冲区深度与投递位置")
+    public Result<Object> getSubscriptionDispatchStatus() {
+        try {
+            return Result.success(subscriptionDispatchService.getDispatchStatus(), "获取订阅分发状态成功");
+        } catch (Exception e) {
+            log.error("获取订阅分发状态失败", e);
+            return Result.error("获取订阅分发状态失败: " + e.getMessage());
+        }
+    }
+
     @PutMapping("/subscriptions/{subscriptionId}/pause")
     @Operation(summary = "暂停订阅", description = "暂停指定的事件订阅")
     public Result<Object> pauseSubscription(
@@ -769,6 +804,33 @@ public class EventListeningController {
         }
     }
 
+    /**
+     * 汇总指定事件签名的事件数量
+     */
+    private long sumByTopic(List<Map<String, Object>> counts, String topic0) {
+        long total = 0;
+        for (Map<String, Object> count : counts) {
+            if (topic0.equalsIgnoreCase(String.valueOf(count.get("topic0")))) {
+                total += (Long) count.get("eventCount");
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 汇总指定合约（及可选事件签名）的事件数量
+     */
+    private long sumByContract(List<Map<String, Object>> counts, String contractAddress, String topic0) {
+        long total = 0;
+        for (Map<String, Object> count : counts) {
+            if (contractAddress.equalsIgnoreCase(String.valueOf(count.get("contractAddress")))
+                    && (topic0 == null || topic0.equalsIgnoreCase(String.valueOf(count.get("topic0"))))) {
+                total += (Long) count.get("eventCount");
+            }
+        }
+        return total;
+    }
+
     /**
      * 根据事件签名获取事件类型
      */
@@ -786,29 +848,22 @@ public class EventListeningController {
     }
 
     /**
-     * 获取事件签名
+     * 获取事件签名（topic0），由合约包装类的事件定义计算；未知类型返回空串
      */
     private String getEventSignature(String eventType) {
-        switch (eventType.toLowerCase()) {
-            case "transfer":
-                return "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
-            case "approval":
-                return "0x8c5be1e5ebec7d5bd14f71427d1e84f3dd0314c0f7b2291e5b200ac8c7c3b925";
-            case "approvalforall":
-                return "0x17307eab39ab6107e8899845ad3d59bd9653f200f220920489ca2b5937696c31";
-            case "gamecreated":
-                return "0x..."; // 需要根据实际合约定义
-            case "agentcreated":
-                return "0x..."; // 需要根据实际合约定义
-            case "itemlisted":
-                return "0x..."; // 需要根据实际合约定义
-            case "itemsold":
-                return "0x..."; // 需要根据实际合约定义
-            case "rewardissued":
-                return "0x..."; // 需要根据实际合约定义
-            default:
-                return "";
-        }
+        Event event = switch (eventType.toLowerCase()) {
+            case "transfer" -> GameNFT.TRANSFER_EVENT;
+            case "approval" -> GameNFT.APPROVAL_EVENT;
+            case "approvalforall" -> GameNFT.APPROVALFORALL_EVENT;
+            case "gamecreated" -> GameNFT.GAMECREATED_EVENT;
+            case "agentcreated" -> AgentNFT.AGENTCREATED_EVENT;
+            case "itemlisted" -> Marketplace.ITEMLISTED_EVENT;
+            case "itemsold" -> Marketplace.ITEMSOLD_EVENT;
+            case "itemcancelled" -> Marketplace.ITEMCANCELLED_EVENT;
+            case "rewardissued" -> Rewards.REWARDISSUED_EVENT;
+            default -> null;
+        };
+        return event != null ? EventEncoder.encode(event) : "";
     }
 
     /**
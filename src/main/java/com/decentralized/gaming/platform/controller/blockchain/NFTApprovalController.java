@@ -2,6 +2,8 @@ package com.decentralized.gaming.platform.controller.blockchain;
 
 import com.decentralized.gaming.platform.common.Result;
 import com.decentralized.gaming.platform.service.blockchain.AgentNFTService;
+import com.decentralized.gaming.platform.service.blockchain.BulkReadService;
+import com.decentralized.gaming.platform.service.blockchain.BulkReadService.ReadCall;
 import com.decentralized.gaming.platform.service.blockchain.ContractConfigService;
 import com.decentralized.gaming.platform.service.blockchain.GameNFTService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,7 +16,10 @@ import org.web3j.crypto.Credentials;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -29,6 +34,11 @@ import java.util.Map;
 @Tag(name = "NFT授权", description = "NFT授权相关的API接口")
 public class NFTApprovalController {
 
+    /**
+     * 批量查询接口单次请求的最大条目数
+     */
+    private static final int MAX_BULK_ITEMS = 1000;
+
     @Autowired
     private GameNFTService gameNFTService;
 
@@ -38,6 +48,9 @@ public class NFTApprovalController {
     @Autowired
     private ContractConfigService contractConfigService;
 
+    @Autowired
+    private BulkReadService bulkReadService;
+
     // ==================== 游戏NFT授权 ====================
 
     @PostMapping("/game/approve")
@@ -382,6 +395,138 @@ public class NFTApprovalController {
         }
     }
 
+    // ==================== 批量授权查询 ====================
+
+    @PostMapping("/game/approvals")
+    @Operation(summary = "批量查询游戏NFT授权地址", description = "请求体为NFT ID列表，聚合为少量链上调用；不存在的NFT对应null")
+    public Result<Object> getGameNFTApprovals(@RequestBody List<BigInteger> tokenIds) {
+        return bulkApprovals("game-nft", tokenIds, "批量查询游戏NFT授权地址");
+    }
+
+    @PostMapping("/game/approved-for-all")
+    @Operation(summary = "批量查询游戏NFT全部授权状态", description = "请求体为操作者地址列表，查询各操作者是否被授权使用拥有者的所有游戏NFT")
+    public Result<Object> getGameNFTApprovalsForAll(
+            @Parameter(description = "拥有者地址") @RequestParam String owner,
+            @RequestBody List<String> operators) {
+        return bulkApprovalsForAll("game-nft", owner, operators, "批量查询游戏NFT全部授权状态");
+    }
+
+    @PostMapping("/game/approval-status")
+    @Operation(summary = "批量查询游戏NFT授权状态", description = "请求体为钱包地址列表，返回每个地址的NFT余额及对操作者（默认市场合约）的全部授权状态")
+    public Result<Object> getGameNFTApprovalStatuses(
+            @RequestBody List<String> addresses,
+            @Parameter(description = "操作者地址，默认市场合约") @RequestParam(required = false) String operator) {
+        return bulkApprovalStatus("game-nft", addresses, operator, "批量查询游戏NFT授权状态");
+    }
+
+    @PostMapping("/agent/approvals")
+    @Operation(summary = "批量查询智能体NFT授权地址", description = "请求体为NFT ID列表，聚合为少量链上调用；不存在的NFT对应null")
+    public Result<Object> getAgentNFTApprovals(@RequestBody List<BigInteger> tokenIds) {
+        return bulkApprovals("agent-nft", tokenIds, "批量查询智能体NFT授权地址");
+    }
+
+    @PostMapping("/agent/approved-for-all")
+    @Operation(summary = "批量查询智能体NFT全部授权状态", description = "请求体为操作者地址列表，查询各操作者是否被授权使用拥有者的所有智能体NFT")
+    public Result<Object> getAgentNFTApprovalsForAll(
+            @Parameter(description = "拥有者地址") @RequestParam String owner,
+            @RequestBody List<String> operators) {
+        return bulkApprovalsForAll("agent-nft", owner, operators, "批量查询智能体NFT全部授权状态");
+    }
+
+    @PostMapping("/agent/approval-status")
+    @Operation(summary = "批量查询智能体NFT授权状态", description = "请求体为钱包地址列表，返回每个地址的NFT余额及对操作者（默认市场合约）的全部授权状态")
+    public Result<Object> getAgentNFTApprovalStatuses(
+            @RequestBody List<String> addresses,
+            @Parameter(description = "操作者地址，默认市场合约") @RequestParam(required = false) String operator) {
+        return bulkApprovalStatus("agent-nft", addresses, operator, "批量查询智能体NFT授权状态");
+    }
+
+    private Result<Object> bulkApprovals(String contractName, List<BigInteger> tokenIds, String operation) {
+        try {
+            if (tokenIds == null || tokenIds.isEmpty() || tokenIds.size() > MAX_BULK_ITEMS) {
+                return Result.error("NFT ID列表不能为空且不能超过" + MAX_BULK_ITEMS + "个");
+            }
+            String contractAddress = contractConfigService.getContractAddress(contractName);
+            if (contractAddress.isEmpty()) {
+                return Result.error("NFT合约地址未配置");
+            }
+            Map<String, Object> result = new HashMap<>();
+            result.put("contractAddress", contractAddress);
+            result.put("approvals", bulkReadService.getApproved(contractAddress, tokenIds));
+            return Result.success(result, operation + "成功");
+        } catch (Exception e) {
+            log.error(operation + "失败", e);
+            return Result.error(operation + "失败: " + e.getMessage());
+        }
+    }
+
+    private Result<Object> bulkApprovalsForAll(String contractName, String owner, List<String> operators, String operation) {
+        try {
+            if (operators == null || operators.isEmpty() || operators.size() > MAX_BULK_ITEMS) {
+                return Result.error("操作者地址列表不能为空且不能超过" + MAX_BULK_ITEMS + "个");
+            }
+            String contractAddress = contractConfigService.getContractAddress(contractName);
+            if (contractAddress.isEmpty()) {
+                return Result.error("NFT合约地址未配置");
+            }
+            Map<String, Object> result = new HashMap<>();
+            result.put("contractAddress", contractAddress);
+            result.put("owner", owner);
+            result.put("approvals", bulkReadService.getApprovalsForAll(contractAddress, owner, operators));
+            return Result.success(result, operation + "成功");
+        } catch (Exception e) {
+            log.error(operation + "失败", e);
+            return Result.error(operation + "失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 每个地址的 balanceOf 与 isApprovedForAll 放在同一次批量读取中
+     */
+    private Result<Object> bulkApprovalStatus(String contractName, List<String> addresses, String operator, String operation) {
+        try {
+            if (addresses == null || addresses.isEmpty() || addresses.size() > MAX_BULK_ITEMS) {
+                return Result.error("地址列表不能为空且不能超过" + MAX_BULK_ITEMS + "个");
+            }
+            String contractAddress = contractConfigService.getContractAddress(contractName);
+            if (contractAddress.isEmpty()) {
+                return Result.error("NFT合约地址未配置");
+            }
+            String operatorAddress = operator != null && !operator.isBlank()
+                ? operator : contractConfigService.getContractAddress("marketplace");
+            boolean withOperator = operatorAddress != null && !operatorAddress.isEmpty();
+
+            List<ReadCall> calls = new ArrayList<>(addresses.size() * 2);
+            for (String address : addresses) {
+                calls.add(ReadCall.balanceOf(contractAddress, address));
+                if (withOperator) {
+                    calls.add(ReadCall.isApprovedForAll(contractAddress, address, operatorAddress));
+                }
+            }
+            List<Object> values = bulkReadService.read(calls);
+
+            Map<String, Object> statuses = new LinkedHashMap<>();
+            int stride = withOperator ? 2 : 1;
+            for (int i = 0; i < addresses.size(); i++) {
+                Map<String, Object> status = new HashMap<>();
+                status.put("nftBalance", values.get(i * stride));
+                if (withOperator) {
+                    status.put("approvedForAll", values.get(i * stride + 1));
+                }
+                statuses.put(addresses.get(i), status);
+            }
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("contractAddress", contractAddress);
+            result.put("operator", withOperator ? operatorAddress : null);
+            result.put("statuses", statuses);
+            return Result.success(result, operation + "成功");
+        } catch (Exception e) {
+            log.error(operation + "失败", e);
+            return Result.error(operation + "失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 将私钥字符串转换为Credentials对象
      */
@@ -2,9 +2,12 @@ package com.decentralized.gaming.platform.controller.blockchain;
 
 import com.decentralized.gaming.platform.common.Result;
 import com.decentralized.gaming.platform.service.blockchain.AgentNFTService;
+import com.decentralized.gaming.platform.service.blockchain.BulkReadService;
 import com.decentralized.gaming.platform.service.blockchain.ContractConfigService;
 import com.decentralized.gaming.platform.service.blockchain.EventListeningService;
+import com.decentralized.gaming.platform.service.blockchain.EventProjectionService;
 import com.decentralized.gaming.platform.service.blockchain.GameNFTService;
+import com.decentralized.gaming.platform.service.blockchain.HeadTrackerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -16,7 +19,9 @@ import org.web3j.protocol.core.methods.response.TransactionReceipt;
 
 import java.math.BigInteger;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
 
 /**
  * NFT转账控制器
@@ -30,6 +35,11 @@ import java.util.Map;
 @Tag(name = "NFT转账", description = "NFT转账相关的API接口")
 public class NFTTransferController {
 
+    /**
+     * 批量查询接口单次请求的最大条目数
+     */
+    private static final int MAX_BULK_ITEMS = 1000;
+
     @Autowired
     private GameNFTService gameNFTService;
 
@@ -42,6 +52,15 @@ public class NFTTransferController {
     @Autowired
     private ContractConfigService contractConfigService;
 
+    @Autowired
+    private EventProjectionService eventProjectionService;
+
+    @Autowired
+    private HeadTrackerService headTrackerService;
+
+    @Autowired
+    private BulkReadService bulkReadService;
+
     // ==================== 游戏NFT转账 ====================
 
     @PostMapping("/game/transfer")
@@ -104,7 +123,12 @@ public class NFTTransferController {
     public Result<String> getGameNFTOwner(
             @Parameter(description = "NFT ID") @PathVariable BigInteger tokenId) {
         try {
-            String owner = gameNFTService.getOwnerOf(tokenId);
+            // 优先使用事件投影，投影未就绪或无记录时回退到链上查询
+            String owner = eventProjectionService.getProjectedOwner(
+                contractConfigService.getContractAddress("game-nft"), tokenId);
+            if (owner == null) {
+                owner = gameNFTService.getOwnerOf(tokenId);
+            }
             return Result.success(owner, "查询游戏NFT拥有者成功");
         } catch (Exception e) {
             log.error("查询游戏NFT拥有者失败", e);
@@ -117,11 +141,16 @@ public class NFTTransferController {
     public Result<Object> getGameNFTBalance(
             @Parameter(description = "钱包地址") @PathVariable String address) {
         try {
-            BigInteger balance = gameNFTService.getBalanceOf(address);
+            Long projectedBalance = eventProjectionService.getProjectedBalance(
+                contractConfigService.getContractAddress("game-nft"), address);
+            BigInteger balance = projectedBalance != null
+                ? BigInteger.valueOf(projectedBalance)
+                : gameNFTService.getBalanceOf(address);
             Map<String, Object> result = new HashMap<>();
             result.put("address", address);
             result.put("balance", balance);
             result.put("balanceString", balance.toString());
+            result.put("source", projectedBalance != null ? "projection" : "chain");
             
             return Result.success(result, "查询游戏NFT余额成功");
         } catch (Exception e) {
@@ -192,7 +221,12 @@ public class NFTTransferController {
     public Result<String> getAgentNFTOwner(
             @Parameter(description = "NFT ID") @PathVariable BigInteger tokenId) {
         try {
-            String owner = agentNFTService.getOwnerOf(tokenId);
+            // 优先使用事件投影，投影未就绪或无记录时回退到链上查询
+            String owner = eventProjectionService.getProjectedOwner(
+                contractConfigService.getContractAddress("agent-nft"), tokenId);
+            if (owner == null) {
+                owner = agentNFTService.getOwnerOf(tokenId);
+            }
             return Result.success(owner, "查询智能体NFT拥有者成功");
         } catch (Exception e) {
             log.error("查询智能体NFT拥有者失败", e);
@@ -205,11 +239,16 @@ public class NFTTransferController {
     public Result<Object> getAgentNFTBalance(
             @Parameter(description = "钱包地址") @PathVariable String address) {
         try {
-            BigInteger balance = agentNFTService.getBalanceOf(address);
+            Long projectedBalance = eventProjectionService.getProjectedBalance(
+                contractConfigService.getContractAddress("agent-nft"), address);
+            BigInteger balance = projectedBalance != null
+                ? BigInteger.valueOf(projectedBalance)
+                : agentNFTService.getBalanceOf(address);
             Map<String, Object> result = new HashMap<>();
             result.put("address", address);
             result.put("balance", balance);
             result.put("balanceString", balance.toString());
+            result.put("source", projectedBalance != null ? "projection" : "chain");
             
             return Result.success(result, "查询智能体NFT余额成功");
         } catch (Exception e) {
@@ -218,6 +257,89 @@ public class NFTTransferController {
         }
     }
 
+    // ==================== 批量查询 ====================
+
+    @PostMapping("/game/owners")
+    @Operation(summary = "批量查询游戏NFT拥有者", description = "请求体为NFT ID列表，聚合为少量链上调用；不存在的NFT对应null")
+    public Result<Object> getGameNFTOwners(@RequestBody List<BigInteger> tokenIds) {
+        return bulkTokenRead("game-nft", tokenIds, "owners", bulkReadService::getOwners, "批量查询游戏NFT拥有者");
+    }
+
+    @PostMapping("/game/token-uris")
+    @Operation(summary = "批量查询游戏NFT元数据URI", description = "请求体为NFT ID列表，聚合为少量链上调用；不存在的NFT对应null")
+    public Result<Object> getGameNFTTokenUris(@RequestBody List<BigInteger> tokenIds) {
+        return bulkTokenRead("game-nft", tokenIds, "tokenUris", bulkReadService::getTokenUris, "批量查询游戏NFT元数据URI");
+    }
+
+    @PostMapping("/game/balances")
+    @Operation(summary = "批量查询游戏NFT余额", description = "请求体为钱包地址列表，聚合为少量链上调用")
+    public Result<Object> getGameNFTBalances(@RequestBody List<String> addresses) {
+        return bulkBalanceRead("game-nft", addresses, "批量查询游戏NFT余额");
+    }
+
+    @PostMapping("/agent/owners")
+    @Operation(summary = "批量查询智能体NFT拥有者", description = "请求体为NFT ID列表，聚合为少量链上调用；不存在的NFT对应null")
+    public Result<Object> getAgentNFTOwners(@RequestBody List<BigInteger> tokenIds) {
+        return bulkTokenRead("agent-nft", tokenIds, "owners", bulkReadService::getOwners, "批量查询智能体NFT拥有者");
+    }
+
+    @PostMapping("/agent/token-uris")
+    @Operation(summary = "批量查询智能体NFT元数据URI", description = "请求体为NFT ID列表，聚合为少量链上调用；不存在的NFT对应null")
+    public Result<Object> getAgentNFTTokenUris(@RequestBody List<BigInteger> tokenIds) {
+        return bulkTokenRead("agent-nft", tokenIds, "tokenUris", bulkReadService::getTokenUris, "批量查询智能体NFT元数据URI");
+    }
+
+    @PostMapping("/agent/balances")
+    @Operation(summary = "批量查询智能体NFT余额", description = "请求体为钱包地址列表，聚合为少量链上调用")
+    public Result<Object> getAgentNFTBalances(@RequestBody List<String> addresses) {
+        return bulkBalanceRead("agent-nft", addresses, "批量查询智能体NFT余额");
+    }
+
+    private Result<Object> bulkTokenRead(String contractName, List<BigInteger> tokenIds, String key,
+                                         BiFunction<String, List<BigInteger>, Map<BigInteger, String>> reader,
+                                         String operation) {
+        try {
+            if (tokenIds == null || tokenIds.isEmpty() || tokenIds.size() > MAX_BULK_ITEMS) {
+                return Result.error("NFT ID列表不能为空且不能超过" + MAX_BULK_ITEMS + "个");
+            }
+            String contractAddress = contractConfigService.getContractAddress(contractName);
+            if (contractAddress.isEmpty()) {
+                return Result.error("NFT合约地址未配置");
+            }
+            Map<BigInteger, String> values = reader.apply(contractAddress, tokenIds);
+            Map<String, Object> result = new HashMap<>();
+            result.put("contractAddress", contractAddress);
+            result.put("count", values.size());
+            result.put(key, values);
+            return Result.success(result, operation + "成功");
+        } catch (Exception e) {
+            log.error(operation + "失败", e);
+            return Result.error(operation + "失败: " + e.getMessage());
+        }
+    }
+
+    private Result<Object> bulkBalanceRead(String contractName, List<String> addresses, String operation) {
+        try {
+            if (addresses == null || addresses.isEmpty() || addresses.size() > MAX_BULK_ITEMS) {
+                return Result.error("地址列表不能为空且不能超过" + MAX_BULK_ITEMS + "个");
+            }
+            String contractAddress = contractConfigService.getContractAddress(contractName);
+            if (contractAddress.isEmpty()) {
+                return Result.error("NFT合约地址未配置");
+            }
+            Map<String, BigInteger> balances = bulkReadService.getBalances(contractAddress, addresses);
+            Map<String, Object> result = new HashMap<>();
+            result.put("contractAddress", contractAddress);
+            result.put("count", balances.size());
+            result.put("balances", balances);
+            result.put("source", "chain");
+            return Result.success(result, operation + "成功");
+        } catch (Exception e) {
+            log.error(operation + "失败", e);
+            return Result.error(operation + "失败: " + e.getMessage());
+        }
+    }
+
     // ==================== 批量转账功能 ====================
 
     @PostMapping("/game/batch-transfer")
@@ -348,9 +470,9 @@ public class NFTTransferController {
             
             // 尝试获取历史转账事件
             try {
-                // 估算区块范围（最近1000个区块）
-                BigInteger currentBlock = BigInteger.valueOf(System.currentTimeMillis() / 1000 / 12);
-                BigInteger fromBlock = currentBlock.subtract(BigInteger.valueOf(1000));
+                // 区块范围：最新区块往前1000个区块
+                BigInteger currentBlock = BigInteger.valueOf(headTrackerService.getHeadNumber());
+                BigInteger fromBlock = currentBlock.subtract(BigInteger.valueOf(1000)).max(BigInteger.ZERO);
                 
                 String transferSignature = "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
                 java.util.List<org.web3j.protocol.core.methods.response.Log> logs = 
@@ -423,9 +545,9 @@ public class NFTTransferController {
             
             // 尝试获取历史转账事件
             try {
-                // 估算区块范围（最近1000个区块）
-                BigInteger currentBlock = BigInteger.valueOf(System.currentTimeMillis() / 1000 / 12);
-                BigInteger fromBlock = currentBlock.subtract(BigInteger.valueOf(1000));
+                // 区块范围：最新区块往前1000个区块
+                BigInteger currentBlock = BigInteger.valueOf(headTrackerService.getHeadNumber());
+                BigInteger fromBlock = currentBlock.subtract(BigInteger.valueOf(1000)).max(BigInteger.ZERO);
                 
                 String transferSignature = "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
                 java.util.List<org.web3j.protocol.core.methods.response.Log> logs = 
@@ -1,8 +1,12 @@
 package com.decentralized.gaming.platform.controller.blockchain;
 
+import com.decentralized.gaming.platform.common.PageResult;
 import com.decentralized.gaming.platform.common.Result;
+import com.decentralized.gaming.platform.entity.ChainTransaction;
 import com.decentralized.gaming.platform.service.blockchain.BlockchainService;
+import com.decentralized.gaming.platform.service.blockchain.ChainIndexerService;
 import com.decentralized.gaming.platform.service.blockchain.TransactionMonitoringService;
+import com.decentralized.gaming.platform.service.blockchain.TransactionReceiptService;
 import com.decentralized.gaming.platform.service.blockchain.TransactionHistoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,6 +14,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.web3j.protocol.core.methods.response.Transaction;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 
@@ -18,6 +23,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 交易状态监控控制器
@@ -31,6 +37,11 @@ import java.util.concurrent.CompletableFuture;
 @Tag(name = "交易状态监控", description = "交易状态查询和监控相关的API接口")
 public class TransactionStatusController {
 
+    /**
+     * 异步等待在监控服务超时之外额外保留的时间
+     */
+    private static final long WAIT_TIMEOUT_MARGIN_MS = 10_000;
+
     @Autowired
     private BlockchainService blockchainService;
 
@@ -40,6 +51,12 @@ public class TransactionStatusController {
     @Autowired
     private TransactionHistoryService transactionHistoryService;
 
+    @Autowired
+    private ChainIndexerService chainIndexerService;
+
+    @Autowired
+    private TransactionReceiptService transactionReceiptService;
+
     // ==================== 交易状态查询 ====================
 
     @GetMapping("/status/{txHash}")
@@ -150,131 +167,108 @@ public class TransactionStatusController {
     }
 
     @PostMapping("/wait-confirmation/{txHash}")
-    @Operation(summary = "等待交易确认", description = "等待指定交易达到指定确认数")
-    public Result<Object> waitForTransactionConfirmation(
+    @Operation(summary = "等待交易确认", description = "异步等待指定交易达到指定确认数，由新区块驱动完成，等待期间不占用请求线程")
+    public DeferredResult<Result<Object>> waitForTransactionConfirmation(
             @Parameter(description = "交易哈希") @PathVariable String txHash,
             @Parameter(description = "目标确认数") @RequestParam(defaultValue = "1") int targetConfirmations,
             @Parameter(description = "最大等待时间(秒)") @RequestParam(defaultValue = "300") int maxWaitTime) {
+        long timeoutMillis = TimeUnit.SECONDS.toMillis(Math.max(1, maxWaitTime));
+        // 监控服务在截止时间后的下一个区块周期给出超时结果，这里多留出余量作为兜底
+        DeferredResult<Result<Object>> deferredResult = new DeferredResult<>(timeoutMillis + WAIT_TIMEOUT_MARGIN_MS);
         try {
-            CompletableFuture<Map<String, Object>> future = CompletableFuture.supplyAsync(() -> {
-                Map<String, Object> result = new HashMap<>();
-                long startTime = System.currentTimeMillis();
-                
-                while (System.currentTimeMillis() - startTime < maxWaitTime * 1000) {
-                    try {
-                        TransactionReceipt receipt = blockchainService.waitForTransactionReceipt(txHash, 5);
-                        if (receipt != null) {
-                            BigInteger currentBlockNumber = blockchainService.getCurrentBlockNumber();
-                            BigInteger confirmations = currentBlockNumber.subtract(receipt.getBlockNumber());
-                            
-                            result.put("txHash", txHash);
-                            result.put("blockNumber", receipt.getBlockNumber());
-                            result.put("currentBlockNumber", currentBlockNumber);
-                            result.put("confirmations", confirmations);
-                            result.put("targetConfirmations", targetConfirmations);
-                            result.put("isConfirmed", confirmations.compareTo(BigInteger.valueOf(targetConfirmations)) >= 0);
-                            result.put("waitTime", System.currentTimeMillis() - startTime);
-                            
-                            if (confirmations.compareTo(BigInteger.valueOf(targetConfirmations)) >= 0) {
-                                result.put("status", "交易已确认");
-                                return result;
-                            }
-                        }
-                        
-                        Thread.sleep(5000); // 等待5秒后重试
-                    } catch (Exception e) {
-                        log.error("等待交易确认时出错", e);
-                        result.put("error", e.getMessage());
-                        return result;
-                    }
+            CompletableFuture<Map<String, Object>> future =
+                transactionMonitoringService.awaitConfirmation(txHash, targetConfirmations, timeoutMillis);
+            future.whenComplete((result, e) -> {
+                if (e == null) {
+                    deferredResult.setResult(Result.success(result, "等待交易确认完成"));
+                } else if (!future.isCancelled()) {
+                    log.error("等待交易确认失败，交易哈希: {}", txHash, e);
+                    deferredResult.setResult(Result.error("等待交易确认失败: " + e.getMessage()));
                 }
-                
-                result.put("status", "等待超时");
-                result.put("waitTime", maxWaitTime * 1000);
-                return result;
             });
-            
-            Map<String, Object> result = future.get();
-            return Result.success(result, "等待交易确认完成");
+            deferredResult.onTimeout(() -> {
+                future.cancel(false);
+                deferredResult.setResult(Result.error("等待交易确认超时"));
+            });
+            deferredResult.onCompletion(() -> future.cancel(false));
         } catch (Exception e) {
             log.error("等待交易确认失败", e);
-            return Result.error("等待交易确认失败: " + e.getMessage());
+            deferredResult.setResult(Result.error("等待交易确认失败: " + e.getMessage()));
         }
+        return deferredResult;
     }
 
     // ==================== 批量交易状态查询 ====================
 
     @PostMapping("/batch/status")
-    @Operation(summary = "批量查询交易状态", description = "批量查询多个交易的状态")
+    @Operation(summary = "批量查询交易状态", description = "批量查询多个交易的状态，哈希去重后按JSON-RPC批量请求拉取收据，已最终确认的收据走缓存")
     public Result<Object> getBatchTransactionStatus(
             @Parameter(description = "交易哈希列表") @RequestParam java.util.List<String> txHashes) {
         try {
-            java.util.List<Map<String, Object>> results = new java.util.ArrayList<>();
+            Map<String, TransactionReceipt> receipts = transactionReceiptService.getReceipts(txHashes);
+
+            java.util.List<Map<String, Object>> results = new java.util.ArrayList<>(txHashes.size());
             int successCount = 0;
-            
             for (String txHash : txHashes) {
-                try {
-                    boolean isSuccessful = blockchainService.isTransactionSuccessful(txHash);
-                    TransactionReceipt receipt = blockchainService.waitForTransactionReceipt(txHash, 10);
-                    
-                    Map<String, Object> status = new HashMap<>();
-                    status.put("txHash", txHash);
-                    status.put("isSuccessful", isSuccessful);
-                    status.put("blockNumber", receipt != null ? receipt.getBlockNumber() : null);
-                    status.put("gasUsed", receipt != null ? receipt.getGasUsed() : null);
-                    status.put("status", receipt != null ? receipt.getStatus() : null);
-                    status.put("found", receipt != null);
-                    
-                    results.add(status);
-                    if (isSuccessful) successCount++;
-                } catch (Exception e) {
-                    log.error("查询交易状态失败，交易哈希: {}", txHash, e);
-                    Map<String, Object> status = new HashMap<>();
-                    status.put("txHash", txHash);
-                    status.put("error", e.getMessage());
-                    status.put("found", false);
-                    results.add(status);
-                }
+                TransactionReceipt receipt = txHash != null ? receipts.get(txHash.trim().toLowerCase()) : null;
+                boolean isSuccessful = receipt != null && receipt.isStatusOK();
+
+                Map<String, Object> status = new HashMap<>();
+                status.put("txHash", txHash);
+                status.put("isSuccessful", isSuccessful);
+                status.put("blockNumber", receipt != null ? receipt.getBlockNumber() : null);
+                status.put("gasUsed", receipt != null ? receipt.getGasUsed() : null);
+                status.put("status", receipt != null ? receipt.getStatus() : null);
+                status.put("found", receipt != null);
+                status.put("finalized", transactionReceiptService.isFinalized(receipt));
+
+                results.add(status);
+                if (isSuccessful) successCount++;
             }
-            
+
             Map<String, Object> batchResult = new HashMap<>();
             batchResult.put("totalCount", txHashes.size());
             batchResult.put("successCount", successCount);
             batchResult.put("failureCount", txHashes.size() - successCount);
             batchResult.put("results", results);
-            
+
             return Result.success(batchResult, "批量查询交易状态完成");
+        } catch (IllegalArgumentException e) {
+            return Result.error(e.getMessage());
         } catch (Exception e) {
             log.error("批量查询交易状态失败", e);
             return Result.error("批量查询交易状态失败: " + e.getMessage());
         }
     }
 
+    @GetMapping("/batch/cache-stats")
+    @Operation(summary = "获取收据缓存统计", description = "获取最终确认收据缓存的大小与命中情况")
+    public Result<Object> getReceiptCacheStats() {
+        try {
+            return Result.success(transactionReceiptService.getCacheStats(), "获取收据缓存统计成功");
+        } catch (Exception e) {
+            log.error("获取收据缓存统计失败", e);
+            return Result.error("获取收据缓存统计失败: " + e.getMessage());
+        }
+    }
+
     // ==================== 交易历史查询 ====================
 
     @GetMapping("/history/{address}")
-    @Operation(summary = "查询地址交易历史", description = "查询指定地址的交易历史")
+    @Operation(summary = "查询地址交易历史", description = "从本地链上索引分页查询指定地址的交易历史")
     public Result<Object> getAddressTransactionHistory(
             @Parameter(description = "钱包地址") @PathVariable String address,
             @Parameter(description = "页码") @RequestParam(defaultValue = "1") int page,
             @Parameter(description = "每页大小") @RequestParam(defaultValue = "10") int size) {
         try {
-            // 计算区块范围
-            BigInteger currentBlock = BigInteger.valueOf(System.currentTimeMillis() / 1000 / 12);
-            BigInteger fromBlock = currentBlock.subtract(BigInteger.valueOf(1000));
-            
-            List<Transaction> transactions = transactionHistoryService.getAddressTransactionHistory(address, fromBlock.longValue(), currentBlock.longValue());
-            
-            // 分页处理
-            int startIndex = (page - 1) * size;
-            int endIndex = Math.min(startIndex + size, transactions.size());
-            List<Transaction> pagedTransactions = transactions.subList(startIndex, endIndex);
+            PageResult<ChainTransaction> pageResult = transactionHistoryService.getIndexedAddressTransactions(address, page, size);
             
             Map<String, Object> result = new HashMap<>();
-            result.put("transactions", pagedTransactions);
-            result.put("total", transactions.size());
+            result.put("transactions", pageResult.getRecords());
+            result.put("total", pageResult.getTotal());
             result.put("page", page);
             result.put("size", size);
+            result.put("indexedBlock", chainIndexerService.getIndexedBlockNumber());
             
             return Result.success(result, "查询地址交易历史成功");
         } catch (Exception e) {
@@ -284,22 +278,20 @@ public class TransactionStatusController {
     }
 
     @GetMapping("/history/{address}/contract/{contractAddress}")
-    @Operation(summary = "查询地址与合约的交互历史", description = "查询指定地址与特定合约的交互历史")
+    @Operation(summary = "查询地址与合约的交互历史", description = "从本地链上索引查询指定地址与特定合约的交互历史")
     public Result<Object> getContractInteractionHistory(
             @Parameter(description = "钱包地址") @PathVariable String address,
-            @Parameter(description = "合约地址") @PathVariable String contractAddress) {
+            @Parameter(description = "合约地址") @PathVariable String contractAddress,
+            @Parameter(description = "最大返回数量") @RequestParam(defaultValue = "100") int limit) {
         try {
-            // 计算区块范围
-            BigInteger currentBlock = BigInteger.valueOf(System.currentTimeMillis() / 1000 / 12);
-            BigInteger fromBlock = currentBlock.subtract(BigInteger.valueOf(1000));
-            
-            List<Transaction> transactions = transactionHistoryService.getContractInteractionHistory(contractAddress, fromBlock.longValue(), currentBlock.longValue());
+            List<ChainTransaction> transactions = transactionHistoryService.getIndexedContractInteractions(address, contractAddress, limit);
             
             Map<String, Object> result = new HashMap<>();
             result.put("transactions", transactions);
             result.put("total", transactions.size());
             result.put("contractAddress", contractAddress);
             result.put("address", address);
+            result.put("indexedBlock", chainIndexerService.getIndexedBlockNumber());
             
             return Result.success(result, "查询合约交互历史成功");
         } catch (Exception e) {
@@ -308,6 +300,17 @@ public class TransactionStatusController {
         }
     }
 
+    @GetMapping("/history/indexer/status")
+    @Operation(summary = "查询链上索引状态", description = "查询后台链上索引的进度、延迟和重组次数")
+    public Result<Object> getIndexerStatus() {
+        try {
+            return Result.success(chainIndexerService.getIndexerStatus(), "查询链上索引状态成功");
+        } catch (Exception e) {
+            log.error("查询链上索引状态失败", e);
+            return Result.error("查询链上索引状态失败: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/history/{address}/nft")
     @Operation(summary = "查询地址的NFT交易历史", description = "查询指定地址的NFT相关交易历史")
     public Result<Object> getNFTTransactionHistory(
@@ -334,10 +337,10 @@ public class TransactionStatusController {
     @Operation(summary = "开始交易监控", description = "开始监控指定交易的状态变化")
     public Result<Object> startTransactionMonitoring(
             @Parameter(description = "交易哈希") @RequestParam String txHash,
-            @Parameter(description = "监控间隔(秒)") @RequestParam(defaultValue = "10") int interval) {
+            @Parameter(description = "需要的确认数") @RequestParam(defaultValue = "1") int confirmations) {
         try {
-            // 开始监控交易
-            transactionMonitoringService.startMonitoring(txHash, new TransactionMonitoringService.MonitoringCallback() {
+            // 开始监控交易，由新区块驱动检查
+            transactionMonitoringService.startMonitoring(txHash, confirmations, new TransactionMonitoringService.MonitoringCallback() {
                 @Override
                 public void onConfirmed(String transactionHash, long blockNumber) {
                     log.info("交易 {} 已确认，区块号: {}", transactionHash, blockNumber);
@@ -356,10 +359,10 @@ public class TransactionStatusController {
 
             Map<String, Object> result = new HashMap<>();
             result.put("txHash", txHash);
-            result.put("interval", interval);
+            result.put("confirmations", confirmations);
             result.put("status", "监控已启动");
             result.put("timestamp", System.currentTimeMillis());
-            result.put("message", "交易监控已启动，将定期检查交易状态");
+            result.put("message", "交易监控已启动，每个新区块检查一次交易状态");
             
             return Result.success(result, "开始交易监控成功");
         } catch (Exception e) {
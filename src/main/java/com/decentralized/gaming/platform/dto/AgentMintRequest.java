@@ -52,4 +52,7 @@ public class AgentMintRequest {
 
     @Schema(description = "元数据URI", example = "https://ipfs.io/ipfs/QmXXX...")
     private String metadataUri;
+
+    @Schema(description = "关联的平台智能体ID，铸造成功后记录其NFT Token ID", example = "1")
+    private Long agentId;
 }
@@ -65,6 +65,12 @@ public class Agent {
     @TableField("contract_address")
     private String contractAddress;
 
+    /**
+     * 链上NFT Token ID
+     */
+    @TableField("nft_token_id")
+    private String nftTokenId;
+
     /**
      * 价格
      */
@@ -0,0 +1,37 @@
+package com.decentralized.gaming.platform.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * 智能体统计计数实体
+ * 物化的智能体统计计数器，由增量写入与定期SQL聚合对账共同维护
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@TableName("agent_statistics")
+public class AgentStatistic {
+
+    /**
+     * 计数器名称
+     */
+    @TableId(type = IdType.INPUT)
+    private String statKey;
+
+    /**
+     * 计数值
+     */
+    private Long statValue;
+
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updatedAt;
+}
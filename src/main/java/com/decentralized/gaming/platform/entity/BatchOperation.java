@@ -3,6 +3,7 @@ package com.decentralized.gaming.platform.entity;
 import com.baomidou.mybatisplus.annotation.IdType;
 import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.annotation.TableName;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
@@ -84,6 +85,12 @@ public class BatchOperation {
      */
     private String operationDetails;
 
+    /**
+     * 加密的签名私钥，仅任务引擎恢复执行时使用，不对外返回
+     */
+    @JsonIgnore
+    private String signerSecret;
+
     /**
      * 创建者用户ID
      */
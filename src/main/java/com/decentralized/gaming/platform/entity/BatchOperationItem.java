@@ -0,0 +1,96 @@
+package com.decentralized.gaming.platform.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * 批量操作工作项实体
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@TableName("batch_operation_items")
+public class BatchOperationItem {
+
+    /**
+     * 工作项ID
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 批量操作ID
+     */
+    private String batchId;
+
+    /**
+     * 在批量操作中的序号
+     */
+    private Integer itemIndex;
+
+    /**
+     * 操作类型：TOKEN_TRANSFER, TOKEN_APPROVE, GAME_NFT_TRANSFER, AGENT_NFT_TRANSFER, REWARD_ISSUE
+     */
+    private String operationType;
+
+    /**
+     * 操作参数（JSON格式）
+     */
+    private String payload;
+
+    /**
+     * 状态：PENDING, RUNNING, SUCCEEDED, FAILED, CANCELLED
+     */
+    private String status;
+
+    /**
+     * 已执行次数
+     */
+    private Integer attempts;
+
+    /**
+     * 最早可执行时间
+     */
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * 领取的实例
+     */
+    private String lockedBy;
+
+    /**
+     * 租约到期时间
+     */
+    private LocalDateTime lockedUntil;
+
+    /**
+     * 已广播的交易哈希
+     */
+    private String txHash;
+
+    /**
+     * 已广播交易的nonce
+     */
+    private Long txNonce;
+
+    /**
+     * 错误信息
+     */
+    private String errorMessage;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updatedAt;
+}
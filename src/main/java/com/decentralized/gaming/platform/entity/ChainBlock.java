@@ -0,0 +1,51 @@
+package com.decentralized.gaming.platform.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * 链上区块索引实体
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@TableName("chain_blocks")
+public class ChainBlock {
+
+    /**
+     * 区块号
+     */
+    @TableId(type = IdType.INPUT)
+    private Long blockNumber;
+
+    /**
+     * 区块哈希
+     */
+    private String blockHash;
+
+    /**
+     * 父区块哈希
+     */
+    private String parentHash;
+
+    /**
+     * 区块时间戳(秒)
+     */
+    private Long blockTimestamp;
+
+    /**
+     * 交易数量
+     */
+    private Integer txCount;
+
+    /**
+     * 索引时间
+     */
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,79 @@
+package com.decentralized.gaming.platform.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * 链上事件日志实体
+ * 以 (区块号, 日志序号) 唯一标识，地址与主题统一以小写存储
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@TableName("chain_events")
+public class ChainEvent {
+
+    /**
+     * 区块号
+     */
+    private Long blockNumber;
+
+    /**
+     * 区块内日志序号
+     */
+    private Integer logIndex;
+
+    /**
+     * 区块哈希
+     */
+    private String blockHash;
+
+    /**
+     * 交易哈希
+     */
+    private String txHash;
+
+    /**
+     * 区块内交易序号
+     */
+    private Integer txIndex;
+
+    /**
+     * 合约地址
+     */
+    private String contractAddress;
+
+    /**
+     * 事件签名哈希
+     */
+    private String topic0;
+
+    /**
+     * 第一个索引参数
+     */
+    private String topic1;
+
+    /**
+     * 第二个索引参数
+     */
+    private String topic2;
+
+    /**
+     * 第三个索引参数
+     */
+    private String topic3;
+
+    /**
+     * 非索引参数数据
+     */
+    private String data;
+
+    /**
+     * 写入时间
+     */
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,87 @@
+package com.decentralized.gaming.platform.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.math.BigDecimal;
+
+/**
+ * 链上交易索引实体
+ * 地址字段统一以小写存储
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@TableName("chain_transactions")
+public class ChainTransaction {
+
+    /**
+     * 交易哈希
+     */
+    @TableId(type = IdType.INPUT)
+    private String txHash;
+
+    /**
+     * 区块号
+     */
+    private Long blockNumber;
+
+    /**
+     * 区块哈希
+     */
+    private String blockHash;
+
+    /**
+     * 区块内交易序号
+     */
+    private Integer txIndex;
+
+    /**
+     * 发送方地址
+     */
+    private String fromAddress;
+
+    /**
+     * 接收方地址，合约创建时为空
+     */
+    private String toAddress;
+
+    /**
+     * 新建合约地址
+     */
+    private String contractAddress;
+
+    /**
+     * 转账金额(wei)
+     */
+    private BigDecimal value;
+
+    /**
+     * Gas上限
+     */
+    private Long gas;
+
+    /**
+     * Gas价格(wei)
+     */
+    private BigDecimal gasPrice;
+
+    /**
+     * 发送方nonce
+     */
+    private Long nonce;
+
+    /**
+     * 调用方法选择器
+     */
+    private String methodId;
+
+    /**
+     * 区块时间戳(秒)
+     */
+    private Long blockTimestamp;
+}
@@ -68,4 +68,14 @@ public class EventSubscription {
      * 事件计数
      */
     private Long eventCount;
+
+    /**
+     * 已投递到的区块号
+     */
+    private Long deliveredBlock;
+
+    /**
+     * 已投递到的日志序号（-1 表示该区块的日志尚未投递）
+     */
+    private Integer deliveredLogIndex;
 }
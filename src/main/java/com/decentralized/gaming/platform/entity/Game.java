@@ -59,6 +59,12 @@ public class Game {
     @TableField("contract_address")
     private String contractAddress;
 
+    /**
+     * 链上NFT Token ID
+     */
+    @TableField("nft_token_id")
+    private String nftTokenId;
+
     /**
      * 游戏状态
      */
@@ -23,6 +23,12 @@ public class MarketplaceItem {
     @TableId(value = "id", type = IdType.AUTO)
     private Long id;
 
+    /**
+     * 链上挂单ID，链下上架时为空
+     */
+    @TableField("listing_id")
+    private Long listingId;
+
     /**
      * 卖家ID
      */
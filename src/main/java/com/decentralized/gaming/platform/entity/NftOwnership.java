@@ -0,0 +1,49 @@
+package com.decentralized.gaming.platform.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * NFT所有权投影实体
+ * 由链上Transfer事件维护，地址统一以小写存储
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@TableName("nft_ownership")
+public class NftOwnership {
+
+    /**
+     * NFT合约地址
+     */
+    private String contractAddress;
+
+    /**
+     * NFT Token ID
+     */
+    private String tokenId;
+
+    /**
+     * 持有者地址
+     */
+    private String ownerAddress;
+
+    /**
+     * 最后一次转移所在区块
+     */
+    private Long blockNumber;
+
+    /**
+     * 最后一次转移的日志序号
+     */
+    private Integer logIndex;
+
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updatedAt;
+}
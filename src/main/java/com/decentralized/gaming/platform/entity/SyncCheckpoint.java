@@ -0,0 +1,42 @@
+package com.decentralized.gaming.platform.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * 同步检查点实体
+ * 记录各后台同步任务已处理到的区块
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@TableName("sync_checkpoints")
+public class SyncCheckpoint {
+
+    /**
+     * 检查点名称
+     */
+    @TableId(type = IdType.INPUT)
+    private String name;
+
+    /**
+     * 已处理的最高区块号
+     */
+    private Long blockNumber;
+
+    /**
+     * 已处理的最高区块哈希
+     */
+    private String blockHash;
+
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updatedAt;
+}
@@ -47,5 +47,6 @@ public class BlockchainException extends RuntimeException {
         public static final String CONTRACT_NOT_AVAILABLE = "BLOCKCHAIN_CONTRACT_NOT_AVAILABLE";
         public static final String SIGNATURE_VERIFICATION_FAILED = "BLOCKCHAIN_SIGNATURE_VERIFICATION_FAILED";
         public static final String TIMEOUT = "BLOCKCHAIN_TIMEOUT";
+        public static final String CIRCUIT_OPEN = "BLOCKCHAIN_CIRCUIT_OPEN";
     }
 }
\ No newline at end of file
@@ -8,8 +8,10 @@ import com.decentralized.gaming.platform.vo.AgentVO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 智能体数据访问层
@@ -20,5 +22,35 @@ import java.util.List;
 public interface AgentMapper extends BaseMapper<Agent> {
 
     // 所有查询方法已迁移到 AgentServiceImpl 中使用 MyBatis-Plus 的 LambdaQueryWrapper
+
+    /**
+     * 按链上NFT查询智能体ID
+     *
+     * @param contractAddress AgentNFT合约地址
+     * @param tokenId Token ID
+     * @return 智能体ID，未关联时为null
+     */
+    @Select("SELECT id FROM agents WHERE contract_address = #{contractAddress} AND nft_token_id = #{tokenId}")
+    Long selectIdByNftToken(@Param("contractAddress") String contractAddress, @Param("tokenId") String tokenId);
+
+    /**
+     * 关联智能体与铸造出的NFT
+     *
+     * @param id 智能体ID
+     * @param contractAddress AgentNFT合约地址
+     * @param tokenId Token ID
+     * @return 影响行数
+     */
+    @Update("UPDATE agents SET contract_address = #{contractAddress}, nft_token_id = #{tokenId} WHERE id = #{id}")
+    int bindNftToken(@Param("id") Long id, @Param("contractAddress") String contractAddress, @Param("tokenId") String tokenId);
+
+    /**
+     * 按类型与状态聚合智能体数量与使用次数，仅供统计计数器后台对账使用
+     *
+     * @return 每行包含 agent_type, status, agent_count, usage_total
+     */
+    @Select("SELECT agent_type, status, COUNT(*) AS agent_count, COALESCE(SUM(usage_count), 0) AS usage_total " +
+            "FROM agents GROUP BY agent_type, status")
+    List<Map<String, Object>> aggregateStatistics();
 }
 
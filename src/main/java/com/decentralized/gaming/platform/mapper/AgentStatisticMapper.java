@@ -0,0 +1,38 @@
+package com.decentralized.gaming.platform.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.decentralized.gaming.platform.entity.AgentStatistic;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 智能体统计计数Mapper
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Mapper
+public interface AgentStatisticMapper extends BaseMapper<AgentStatistic> {
+
+    /**
+     * 在计数器上累加增量，多实例各自刷写时互不覆盖
+     *
+     * @param statKey 计数器名称
+     * @param delta 增量
+     * @return 影响行数
+     */
+    @Insert("INSERT INTO agent_statistics (stat_key, stat_value, updated_at) VALUES (#{statKey}, #{delta}, NOW()) " +
+            "ON DUPLICATE KEY UPDATE stat_value = stat_value + VALUES(stat_value), updated_at = NOW()")
+    int addDelta(@Param("statKey") String statKey, @Param("delta") long delta);
+
+    /**
+     * 以对账结果覆盖计数器
+     *
+     * @param statKey 计数器名称
+     * @param value 计数值
+     * @return 影响行数
+     */
+    @Insert("INSERT INTO agent_statistics (stat_key, stat_value, updated_at) VALUES (#{statKey}, #{value}, NOW()) " +
+            "ON DUPLICATE KEY UPDATE stat_value = VALUES(stat_value), updated_at = NOW()")
+    int overwrite(@Param("statKey") String statKey, @Param("value") long value);
+}
@@ -0,0 +1,126 @@
+package com.decentralized.gaming.platform.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.decentralized.gaming.platform.entity.BatchOperationItem;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
+
+/**
+ * 批量操作工作项Mapper
+ * 状态更新都带 locked_by 条件：租约过期被其他实例重新领取后，原实例的迟到结果不会覆盖新的执行
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Mapper
+public interface BatchOperationItemMapper extends BaseMapper<BatchOperationItem> {
+
+    /**
+     * 批量写入待执行的工作项
+     *
+     * @param items 工作项列表
+     * @return 影响行数
+     */
+    @Insert("<script>" +
+            "INSERT INTO batch_operation_items (batch_id, item_index, operation_type, payload, status, attempts, " +
+            "next_attempt_at, created_at, updated_at) VALUES " +
+            "<foreach collection='list' item='i' separator=','>" +
+            "(#{i.batchId}, #{i.itemIndex}, #{i.operationType}, #{i.payload}, 'PENDING', 0, NOW(), NOW(), NOW())" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("list") List<BatchOperationItem> items);
+
+    /**
+     * 锁定可领取的工作项（待执行且已到执行时间，或执行中但租约已过期），跳过其他实例已锁定的行；须在事务内调用
+     *
+     * @param operationType 操作类型
+     * @param limit 数量
+     * @return 工作项ID列表
+     */
+    @Select("SELECT id FROM batch_operation_items WHERE operation_type = #{operationType} " +
+            "AND ((status = 'PENDING' AND next_attempt_at <= NOW()) OR (status = 'RUNNING' AND locked_until < NOW())) " +
+            "ORDER BY id LIMIT #{limit} FOR UPDATE SKIP LOCKED")
+    List<Long> selectClaimable(@Param("operationType") String operationType, @Param("limit") int limit);
+
+    /**
+     * 标记为执行中并设置租约
+     *
+     * @param ids 工作项ID列表
+     * @param lockedBy 实例标识
+     * @param leaseSeconds 租约秒数
+     * @return 影响行数
+     */
+    @Update("<script>" +
+            "UPDATE batch_operation_items SET status = 'RUNNING', locked_by = #{lockedBy}, " +
+            "locked_until = DATE_ADD(NOW(), INTERVAL #{leaseSeconds} SECOND), attempts = attempts + 1 " +
+            "WHERE id IN <foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int markClaimed(@Param("ids") List<Long> ids, @Param("lockedBy") String lockedBy, @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * 记录已广播的交易哈希与nonce
+     *
+     * @param id 工作项ID
+     * @param lockedBy 实例标识
+     * @param txHash 交易哈希
+     * @param txNonce 交易nonce
+     * @return 影响行数
+     */
+    @Update("UPDATE batch_operation_items SET tx_hash = #{txHash}, tx_nonce = #{txNonce} WHERE id = #{id} AND locked_by = #{lockedBy}")
+    int markSubmitted(@Param("id") long id, @Param("lockedBy") String lockedBy, @Param("txHash") String txHash,
+                      @Param("txNonce") Long txNonce);
+
+    /**
+     * 标记执行结束
+     *
+     * @param id 工作项ID
+     * @param lockedBy 实例标识
+     * @param status SUCCEEDED 或 FAILED
+     * @param txHash 交易哈希
+     * @param errorMessage 错误信息
+     * @return 影响行数
+     */
+    @Update("UPDATE batch_operation_items SET status = #{status}, tx_hash = #{txHash}, error_message = #{errorMessage}, " +
+            "locked_by = NULL, locked_until = NULL WHERE id = #{id} AND locked_by = #{lockedBy}")
+    int markFinished(@Param("id") long id, @Param("lockedBy") String lockedBy, @Param("status") String status,
+                     @Param("txHash") String txHash, @Param("errorMessage") String errorMessage);
+
+    /**
+     * 释放工作项并在延迟后重试
+     *
+     * @param id 工作项ID
+     * @param lockedBy 实例标识
+     * @param txHash 已广播但结果未知时保留交易哈希，下次执行先核对链上状态；未广播时为null
+     * @param txNonce 与交易哈希一同保留的nonce
+     * @param errorMessage 错误信息
+     * @param delaySeconds 延迟秒数
+     * @return 影响行数
+     */
+    @Update("UPDATE batch_operation_items SET status = 'PENDING', tx_hash = #{txHash}, tx_nonce = #{txNonce}, error_message = #{errorMessage}, " +
+            "next_attempt_at = DATE_ADD(NOW(), INTERVAL #{delaySeconds} SECOND), locked_by = NULL, locked_until = NULL " +
+            "WHERE id = #{id} AND locked_by = #{lockedBy}")
+    int markRetry(@Param("id") long id, @Param("lockedBy") String lockedBy, @Param("txHash") String txHash,
+                  @Param("txNonce") Long txNonce, @Param("errorMessage") String errorMessage, @Param("delaySeconds") long delaySeconds);
+
+    /**
+     * 取消批量操作中尚未执行的工作项
+     *
+     * @param batchId 批量操作ID
+     * @return 影响行数
+     */
+    @Update("UPDATE batch_operation_items SET status = 'CANCELLED' WHERE batch_id = #{batchId} AND status = 'PENDING'")
+    int cancelPending(@Param("batchId") String batchId);
+
+    /**
+     * 统计批量操作中未结束的工作项数
+     *
+     * @param batchId 批量操作ID
+     * @return 待执行与执行中的数量
+     */
+    @Select("SELECT COUNT(*) FROM batch_operation_items WHERE batch_id = #{batchId} AND status IN ('PENDING', 'RUNNING')")
+    long countOpen(@Param("batchId") String batchId);
+}
@@ -3,6 +3,10 @@ package com.decentralized.gaming.platform.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.decentralized.gaming.platform.entity.BatchOperation;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
 
 /**
  * 批量操作Mapper
@@ -11,4 +15,28 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface BatchOperationMapper extends BaseMapper<BatchOperation> {
+
+    /**
+     * 批量累加完成/失败计数并重新计算进度，一条语句更新多个批量操作；待执行的批量操作同时转为执行中
+     * MySQL 按从左到右的顺序赋值，progress 使用的是累加后的计数
+     *
+     * @param deltas 每项的 completedOperations、failedOperations 为计数增量
+     * @return 影响行数
+     */
+    @Update("<script>" +
+            "UPDATE batch_operations SET " +
+            "completed_operations = IFNULL(completed_operations, 0) + CASE batch_id " +
+            "<foreach collection='list' item='b'>WHEN #{b.batchId} THEN #{b.completedOperations} </foreach>" +
+            "ELSE 0 END, " +
+            "failed_operations = IFNULL(failed_operations, 0) + CASE batch_id " +
+            "<foreach collection='list' item='b'>WHEN #{b.batchId} THEN #{b.failedOperations} </foreach>" +
+            "ELSE 0 END, " +
+            "progress = LEAST(100, ROUND((completed_operations + failed_operations) * 100 / GREATEST(total_operations, 1))), " +
+            "status = IF(status = 'PENDING', 'PROCESSING', status), " +
+            "start_time = IFNULL(start_time, NOW()), " +
+            "updated_at = NOW() " +
+            "WHERE batch_id IN " +
+            "<foreach collection='list' item='b' open='(' separator=',' close=')'>#{b.batchId}</foreach>" +
+            "</script>")
+    int flushProgress(@Param("list") List<BatchOperation> deltas);
 }
@@ -0,0 +1,35 @@
+package com.decentralized.gaming.platform.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.decentralized.gaming.platform.entity.ChainBlock;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+/**
+ * 链上区块索引Mapper
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Mapper
+public interface ChainBlockMapper extends BaseMapper<ChainBlock> {
+
+    /**
+     * 查询已索引区块的哈希
+     *
+     * @param blockNumber 区块号
+     * @return 区块哈希，未索引时为null
+     */
+    @Select("SELECT block_hash FROM chain_blocks WHERE block_number = #{blockNumber}")
+    String selectHashByNumber(@Param("blockNumber") long blockNumber);
+
+    /**
+     * 删除指定区块之后的所有区块（用于回滚分叉）
+     *
+     * @param blockNumber 保留的最高区块号
+     * @return 影响行数
+     */
+    @Delete("DELETE FROM chain_blocks WHERE block_number > #{blockNumber}")
+    int deleteAbove(@Param("blockNumber") long blockNumber);
+}
@@ -0,0 +1,160 @@
+package com.decentralized.gaming.platform.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.decentralized.gaming.platform.entity.ChainEvent;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 链上事件日志Mapper
+ * 地址与主题参数须为小写；游标查询按 (区块号, 日志序号) 倒序，返回严格小于游标位置的记录
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Mapper
+public interface ChainEventMapper extends BaseMapper<ChainEvent> {
+
+    /**
+     * 批量写入事件日志，同一位置的日志被覆盖（分叉后位置可能被新区块的日志占用）
+     *
+     * @param events 事件列表
+     * @return 影响行数
+     */
+    @Insert("<script>" +
+            "INSERT INTO chain_events (block_number, log_index, block_hash, tx_hash, tx_index, contract_address, " +
+            "topic0, topic1, topic2, topic3, data) VALUES " +
+            "<foreach collection='list' item='e' separator=','>" +
+            "(#{e.blockNumber}, #{e.logIndex}, #{e.blockHash}, #{e.txHash}, #{e.txIndex}, #{e.contractAddress}, " +
+            "#{e.topic0}, #{e.topic1}, #{e.topic2}, #{e.topic3}, #{e.data})" +
+            "</foreach> " +
+            "ON DUPLICATE KEY UPDATE block_hash = VALUES(block_hash), tx_hash = VALUES(tx_hash), tx_index = VALUES(tx_index), " +
+            "contract_address = VALUES(contract_address), topic0 = VALUES(topic0), topic1 = VALUES(topic1), " +
+            "topic2 = VALUES(topic2), topic3 = VALUES(topic3), data = VALUES(data)" +
+            "</script>")
+    int upsertBatch(@Param("list") List<ChainEvent> events);
+
+    /**
+     * 删除被节点标记为移除的日志
+     *
+     * @param blockNumber 区块号
+     * @param logIndex 日志序号
+     * @param blockHash 区块哈希
+     * @return 影响行数
+     */
+    @Delete("DELETE FROM chain_events WHERE block_number = #{blockNumber} AND log_index = #{logIndex} AND block_hash = #{blockHash}")
+    int deleteRemoved(@Param("blockNumber") long blockNumber,
+                      @Param("logIndex") int logIndex,
+                      @Param("blockHash") String blockHash);
+
+    /**
+     * 删除指定区块之后的所有事件（用于回滚分叉）
+     *
+     * @param blockNumber 保留的最高区块号
+     * @return 影响行数
+     */
+    @Delete("DELETE FROM chain_events WHERE block_number > #{blockNumber}")
+    int deleteAbove(@Param("blockNumber") long blockNumber);
+
+    /**
+     * 游标查询地址作为第一或第二个索引参数的事件
+     *
+     * @param addressTopic 补齐为32字节的地址主题
+     * @param contractAddress 合约地址，为空时不过滤
+     * @param fromBlock 起始区块
+     * @param cursorBlock 游标区块号
+     * @param cursorLogIndex 游标日志序号
+     * @param limit 数量
+     * @return 事件列表
+     */
+    @Select("<script>" +
+            "(SELECT * FROM chain_events WHERE topic1 = #{addressTopic} " +
+            "<if test='contractAddress != null'>AND contract_address = #{contractAddress} </if>" +
+            "AND block_number &gt;= #{fromBlock} " +
+            "AND (block_number &lt; #{cursorBlock} OR (block_number = #{cursorBlock} AND log_index &lt; #{cursorLogIndex})) " +
+            "ORDER BY block_number DESC, log_index DESC LIMIT #{limit}) " +
+            "UNION ALL " +
+            "(SELECT * FROM chain_events WHERE topic2 = #{addressTopic} AND NOT (topic1 &lt;=&gt; #{addressTopic}) " +
+            "<if test='contractAddress != null'>AND contract_address = #{contractAddress} </if>" +
+            "AND block_number &gt;= #{fromBlock} " +
+            "AND (block_number &lt; #{cursorBlock} OR (block_number = #{cursorBlock} AND log_index &lt; #{cursorLogIndex})) " +
+            "ORDER BY block_number DESC, log_index DESC LIMIT #{limit}) " +
+            "ORDER BY block_number DESC, log_index DESC LIMIT #{limit}" +
+            "</script>")
+    List<ChainEvent> selectByAddressTopic(@Param("addressTopic") String addressTopic,
+                                          @Param("contractAddress") String contractAddress,
+                                          @Param("fromBlock") long fromBlock,
+                                          @Param("cursorBlock") long cursorBlock,
+                                          @Param("cursorLogIndex") int cursorLogIndex,
+                                          @Param("limit") int limit);
+
+    /**
+     * 按条件游标查询事件
+     *
+     * @param contractAddress 合约地址，为空时不过滤
+     * @param topics 按位置的主题过滤（topic0..topic3），元素为空表示该位置不过滤
+     * @param fromBlock 起始区块
+     * @param toBlock 结束区块
+     * @param cursorBlock 游标区块号
+     * @param cursorLogIndex 游标日志序号
+     * @param limit 数量
+     * @return 事件列表
+     */
+    @Select("<script>" +
+            "SELECT * FROM chain_events WHERE block_number BETWEEN #{fromBlock} AND #{toBlock} " +
+            "<if test='contractAddress != null'>AND contract_address = #{contractAddress} </if>" +
+            "<if test='topics.size() &gt; 0 and topics[0] != null'>AND topic0 = #{topics[0]} </if>" +
+            "<if test='topics.size() &gt; 1 and topics[1] != null'>AND topic1 = #{topics[1]} </if>" +
+            "<if test='topics.size() &gt; 2 and topics[2] != null'>AND topic2 = #{topics[2]} </if>" +
+            "<if test='topics.size() &gt; 3 and topics[3] != null'>AND topic3 = #{topics[3]} </if>" +
+            "AND (block_number &lt; #{cursorBlock} OR (block_number = #{cursorBlock} AND log_index &lt; #{cursorLogIndex})) " +
+            "ORDER BY block_number DESC, log_index DESC LIMIT #{limit}" +
+            "</script>")
+    List<ChainEvent> search(@Param("contractAddress") String contractAddress,
+                            @Param("topics") List<String> topics,
+                            @Param("fromBlock") long fromBlock,
+                            @Param("toBlock") long toBlock,
+                            @Param("cursorBlock") long cursorBlock,
+                            @Param("cursorLogIndex") int cursorLogIndex,
+                            @Param("limit") int limit);
+
+    /**
+     * 按 (区块号, 日志序号) 升序查询指定位置之后的事件，用于订阅补齐投递
+     *
+     * @param contractAddress 合约地址
+     * @param topic0 事件签名哈希
+     * @param afterBlock 起始位置区块号（不包含该位置）
+     * @param afterLogIndex 起始位置日志序号
+     * @param limit 数量
+     * @return 事件列表
+     */
+    @Select("SELECT * FROM chain_events WHERE contract_address = #{contractAddress} AND topic0 = #{topic0} " +
+            "AND (block_number > #{afterBlock} OR (block_number = #{afterBlock} AND log_index > #{afterLogIndex})) " +
+            "ORDER BY block_number, log_index LIMIT #{limit}")
+    List<ChainEvent> selectAfter(@Param("contractAddress") String contractAddress,
+                                 @Param("topic0") String topic0,
+                                 @Param("afterBlock") long afterBlock,
+                                 @Param("afterLogIndex") int afterLogIndex,
+                                 @Param("limit") int limit);
+
+    /**
+     * 按合约与事件签名统计指定区块之后的事件数量
+     *
+     * @param contractAddress 合约地址，为空时统计所有合约
+     * @param fromBlock 起始区块
+     * @return 每行包含 contract_address、topic0、event_count
+     */
+    @Select("<script>" +
+            "SELECT contract_address, topic0, COUNT(*) AS event_count FROM chain_events " +
+            "WHERE block_number &gt;= #{fromBlock} " +
+            "<if test='contractAddress != null'>AND contract_address = #{contractAddress} </if>" +
+            "GROUP BY contract_address, topic0" +
+            "</script>")
+    List<Map<String, Object>> countByContractAndTopic(@Param("contractAddress") String contractAddress,
+                                                      @Param("fromBlock") long fromBlock);
+}
@@ -0,0 +1,117 @@
+package com.decentralized.gaming.platform.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.decentralized.gaming.platform.entity.ChainTransaction;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+/**
+ * 链上交易索引Mapper
+ * 地址参数须为小写
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Mapper
+public interface ChainTransactionMapper extends BaseMapper<ChainTransaction> {
+
+    /**
+     * 批量写入交易索引
+     *
+     * @param transactions 交易列表
+     * @return 影响行数
+     */
+    @Insert("<script>" +
+            "INSERT IGNORE INTO chain_transactions (tx_hash, block_number, block_hash, tx_index, from_address, to_address, " +
+            "contract_address, value, gas, gas_price, nonce, method_id, block_timestamp) VALUES " +
+            "<foreach collection='list' item='t' separator=','>" +
+            "(#{t.txHash}, #{t.blockNumber}, #{t.blockHash}, #{t.txIndex}, #{t.fromAddress}, #{t.toAddress}, " +
+            "#{t.contractAddress}, #{t.value}, #{t.gas}, #{t.gasPrice}, #{t.nonce}, #{t.methodId}, #{t.blockTimestamp})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("list") List<ChainTransaction> transactions);
+
+    /**
+     * 删除指定区块之后的所有交易（用于回滚分叉）
+     *
+     * @param blockNumber 保留的最高区块号
+     * @return 影响行数
+     */
+    @Delete("DELETE FROM chain_transactions WHERE block_number > #{blockNumber}")
+    int deleteAbove(@Param("blockNumber") long blockNumber);
+
+    /**
+     * 分页查询地址作为发送方或接收方的交易，按区块倒序
+     *
+     * @param address 地址
+     * @param offset 偏移量
+     * @param limit 数量
+     * @return 交易列表
+     */
+    @Select("(SELECT * FROM chain_transactions WHERE from_address = #{address}) " +
+            "UNION ALL " +
+            "(SELECT * FROM chain_transactions WHERE to_address = #{address} AND from_address <> #{address}) " +
+            "ORDER BY block_number DESC, tx_index DESC LIMIT #{offset}, #{limit}")
+    List<ChainTransaction> selectByAddress(@Param("address") String address,
+                                           @Param("offset") long offset,
+                                           @Param("limit") int limit);
+
+    /**
+     * 统计地址相关的交易数量
+     *
+     * @param address 地址
+     * @return 交易数量
+     */
+    @Select("SELECT (SELECT COUNT(*) FROM chain_transactions WHERE from_address = #{address}) + " +
+            "(SELECT COUNT(*) FROM chain_transactions WHERE to_address = #{address} AND from_address <> #{address})")
+    long countByAddress(@Param("address") String address);
+
+    /**
+     * 查询区块范围内地址作为发送方或接收方的交易，按区块正序
+     *
+     * @param address 地址
+     * @param fromBlock 起始区块
+     * @param toBlock 结束区块
+     * @return 交易列表
+     */
+    @Select("(SELECT * FROM chain_transactions WHERE from_address = #{address} AND block_number BETWEEN #{fromBlock} AND #{toBlock}) " +
+            "UNION ALL " +
+            "(SELECT * FROM chain_transactions WHERE to_address = #{address} AND from_address <> #{address} " +
+            "AND block_number BETWEEN #{fromBlock} AND #{toBlock}) " +
+            "ORDER BY block_number, tx_index")
+    List<ChainTransaction> selectByAddressInRange(@Param("address") String address,
+                                                  @Param("fromBlock") long fromBlock,
+                                                  @Param("toBlock") long toBlock);
+
+    /**
+     * 查询区块范围内调用指定合约的交易，按区块正序
+     *
+     * @param contractAddress 合约地址
+     * @param fromBlock 起始区块
+     * @param toBlock 结束区块
+     * @return 交易列表
+     */
+    @Select("SELECT * FROM chain_transactions WHERE to_address = #{contractAddress} " +
+            "AND block_number BETWEEN #{fromBlock} AND #{toBlock} ORDER BY block_number, tx_index")
+    List<ChainTransaction> selectByToAddressInRange(@Param("contractAddress") String contractAddress,
+                                                    @Param("fromBlock") long fromBlock,
+                                                    @Param("toBlock") long toBlock);
+
+    /**
+     * 查询地址与指定合约的交互记录，按区块倒序
+     *
+     * @param address 地址
+     * @param contractAddress 合约地址
+     * @param limit 数量
+     * @return 交易列表
+     */
+    @Select("SELECT * FROM chain_transactions WHERE from_address = #{address} AND to_address = #{contractAddress} " +
+            "ORDER BY block_number DESC, tx_index DESC LIMIT #{limit}")
+    List<ChainTransaction> selectByAddressAndContract(@Param("address") String address,
+                                                      @Param("contractAddress") String contractAddress,
+                                                      @Param("limit") int limit);
+}
@@ -3,6 +3,10 @@ package com.decentralized.gaming.platform.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.decentralized.gaming.platform.entity.EventSubscription;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
 
 /**
  * 事件订阅Mapper
@@ -11,4 +15,29 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface EventSubscriptionMapper extends BaseMapper<EventSubscription> {
+
+    /**
+     * 批量累加事件计数并更新投递位置，一条语句更新多个订阅
+     *
+     * @param deltas 每项的 eventCount 为计数增量；lastEventTime、deliveredBlock、deliveredLogIndex 为空时保持原值
+     * @return 影响行数
+     */
+    @Update("<script>" +
+            "UPDATE event_subscriptions SET " +
+            "event_count = IFNULL(event_count, 0) + CASE subscription_id " +
+            "<foreach collection='list' item='s'>WHEN #{s.subscriptionId} THEN #{s.eventCount} </foreach>" +
+            "ELSE 0 END, " +
+            "last_event_time = CASE subscription_id " +
+            "<foreach collection='list' item='s'>WHEN #{s.subscriptionId} THEN IFNULL(#{s.lastEventTime,jdbcType=TIMESTAMP}, last_event_time) </foreach>" +
+            "ELSE last_event_time END, " +
+            "delivered_block = CASE subscription_id " +
+            "<foreach collection='list' item='s'>WHEN #{s.subscriptionId} THEN IFNULL(#{s.deliveredBlock,jdbcType=BIGINT}, delivered_block) </foreach>" +
+            "ELSE delivered_block END, " +
+            "delivered_log_index = CASE subscription_id " +
+            "<foreach collection='list' item='s'>WHEN #{s.subscriptionId} THEN IFNULL(#{s.deliveredLogIndex,jdbcType=INTEGER}, delivered_log_index) </foreach>" +
+            "ELSE delivered_log_index END " +
+            "WHERE subscription_id IN " +
+            "<foreach collection='list' item='s' open='(' separator=',' close=')'>#{s.subscriptionId}</foreach>" +
+            "</script>")
+    int flushCounters(@Param("list") List<EventSubscription> deltas);
 }
@@ -3,6 +3,8 @@ package com.decentralized.gaming.platform.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.decentralized.gaming.platform.entity.GameItem;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
 
 /**
  * 游戏道具Mapper接口
@@ -11,5 +13,15 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface GameItemMapper extends BaseMapper<GameItem> {
+
+    /**
+     * 按链上NFT查询游戏道具ID
+     *
+     * @param contractAddress 道具合约地址
+     * @param tokenId Token ID
+     * @return 道具ID，不存在时为null
+     */
+    @Select("SELECT id FROM game_items WHERE contract_address = #{contractAddress} AND token_id = #{tokenId} LIMIT 1")
+    Long selectIdByToken(@Param("contractAddress") String contractAddress, @Param("tokenId") String tokenId);
 }
 
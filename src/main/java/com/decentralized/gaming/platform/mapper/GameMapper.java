@@ -3,9 +3,33 @@ package com.decentralized.gaming.platform.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.decentralized.gaming.platform.entity.Game;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
 
 @Mapper
 public interface GameMapper extends BaseMapper<Game> {
+
+    /**
+     * 按链上NFT查询游戏ID
+     *
+     * @param contractAddress GameNFT合约地址
+     * @param tokenId Token ID
+     * @return 游戏ID，未关联时为null
+     */
+    @Select("SELECT id FROM games WHERE contract_address = #{contractAddress} AND nft_token_id = #{tokenId}")
+    Long selectIdByNftToken(@Param("contractAddress") String contractAddress, @Param("tokenId") String tokenId);
+
+    /**
+     * 关联游戏与铸造出的NFT
+     *
+     * @param id 游戏ID
+     * @param contractAddress GameNFT合约地址
+     * @param tokenId Token ID
+     * @return 影响行数
+     */
+    @Update("UPDATE games SET contract_address = #{contractAddress}, nft_token_id = #{tokenId} WHERE id = #{id}")
+    int bindNftToken(@Param("id") Long id, @Param("contractAddress") String contractAddress, @Param("tokenId") String tokenId);
 }
 
 
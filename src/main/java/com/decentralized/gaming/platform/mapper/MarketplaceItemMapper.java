@@ -2,10 +2,13 @@ package com.decentralized.gaming.platform.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.decentralized.gaming.platform.entity.MarketplaceItem;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Update;
 
+import java.math.BigDecimal;
+
 /**
  * 市场商品 Mapper
  */
@@ -33,6 +36,36 @@ public interface MarketplaceItemMapper extends BaseMapper<MarketplaceItem> {
     @Update("UPDATE marketplace_items SET status = 'CANCELLED', updated_at = NOW() " +
             "WHERE id = #{id} AND status = 'ACTIVE'")
     int markCancelledIfActive(@Param("id") Long id);
-}
 
+    /**
+     * 按链上挂单ID写入或更新上架记录
+     *
+     * @param listingId 链上挂单ID
+     * @param sellerId 卖家ID
+     * @param itemType 商品类型
+     * @param itemId 商品ID
+     * @param price 价格
+     * @param currency 货币类型
+     * @return 影响行数
+     */
+    @Insert("INSERT INTO marketplace_items (listing_id, seller_id, item_type, item_id, price, currency, status) " +
+            "VALUES (#{listingId}, #{sellerId}, #{itemType}, #{itemId}, #{price}, #{currency}, 'ACTIVE') " +
+            "ON DUPLICATE KEY UPDATE seller_id = VALUES(seller_id), item_type = VALUES(item_type), " +
+            "item_id = VALUES(item_id), price = VALUES(price), currency = VALUES(currency)")
+    int upsertListing(@Param("listingId") Long listingId,
+                      @Param("sellerId") Long sellerId,
+                      @Param("itemType") MarketplaceItem.ItemType itemType,
+                      @Param("itemId") Long itemId,
+                      @Param("price") BigDecimal price,
+                      @Param("currency") String currency);
 
+    /**
+     * 按链上挂单ID更新状态
+     *
+     * @param listingId 链上挂单ID
+     * @param status 状态
+     * @return 更新的行数
+     */
+    @Update("UPDATE marketplace_items SET status = #{status}, updated_at = NOW() WHERE listing_id = #{listingId}")
+    int updateStatusByListingId(@Param("listingId") Long listingId, @Param("status") MarketplaceItem.ItemStatus status);
+}
@@ -0,0 +1,69 @@
+package com.decentralized.gaming.platform.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.decentralized.gaming.platform.entity.NftOwnership;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+/**
+ * NFT所有权投影Mapper
+ * 地址参数须为小写
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Mapper
+public interface NftOwnershipMapper extends BaseMapper<NftOwnership> {
+
+    /**
+     * 写入或更新持有者
+     *
+     * @param contractAddress 合约地址
+     * @param tokenId Token ID
+     * @param ownerAddress 持有者地址
+     * @param blockNumber 区块号
+     * @param logIndex 日志序号
+     * @return 影响行数
+     */
+    @Insert("INSERT INTO nft_ownership (contract_address, token_id, owner_address, block_number, log_index) " +
+            "VALUES (#{contractAddress}, #{tokenId}, #{ownerAddress}, #{blockNumber}, #{logIndex}) " +
+            "ON DUPLICATE KEY UPDATE owner_address = VALUES(owner_address), block_number = VALUES(block_number), " +
+            "log_index = VALUES(log_index)")
+    int upsert(@Param("contractAddress") String contractAddress,
+               @Param("tokenId") String tokenId,
+               @Param("ownerAddress") String ownerAddress,
+               @Param("blockNumber") long blockNumber,
+               @Param("logIndex") int logIndex);
+
+    /**
+     * 删除已销毁的NFT
+     *
+     * @param contractAddress 合约地址
+     * @param tokenId Token ID
+     * @return 影响行数
+     */
+    @Delete("DELETE FROM nft_ownership WHERE contract_address = #{contractAddress} AND token_id = #{tokenId}")
+    int deleteByToken(@Param("contractAddress") String contractAddress, @Param("tokenId") String tokenId);
+
+    /**
+     * 查询NFT持有者
+     *
+     * @param contractAddress 合约地址
+     * @param tokenId Token ID
+     * @return 持有者地址，不存在时为null
+     */
+    @Select("SELECT owner_address FROM nft_ownership WHERE contract_address = #{contractAddress} AND token_id = #{tokenId}")
+    String selectOwner(@Param("contractAddress") String contractAddress, @Param("tokenId") String tokenId);
+
+    /**
+     * 统计地址在指定合约下持有的NFT数量
+     *
+     * @param contractAddress 合约地址
+     * @param ownerAddress 持有者地址
+     * @return 持有数量
+     */
+    @Select("SELECT COUNT(*) FROM nft_ownership WHERE owner_address = #{ownerAddress} AND contract_address = #{contractAddress}")
+    long countByOwner(@Param("contractAddress") String contractAddress, @Param("ownerAddress") String ownerAddress);
+}
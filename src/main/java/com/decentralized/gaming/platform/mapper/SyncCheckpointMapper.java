@@ -0,0 +1,29 @@
+package com.decentralized.gaming.platform.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.decentralized.gaming.platform.entity.SyncCheckpoint;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 同步检查点Mapper
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Mapper
+public interface SyncCheckpointMapper extends BaseMapper<SyncCheckpoint> {
+
+    /**
+     * 写入或更新检查点
+     *
+     * @param name 检查点名称
+     * @param blockNumber 区块号
+     * @param blockHash 区块哈希
+     * @return 影响行数
+     */
+    @Insert("INSERT INTO sync_checkpoints (name, block_number, block_hash, updated_at) " +
+            "VALUES (#{name}, #{blockNumber}, #{blockHash}, NOW()) " +
+            "ON DUPLICATE KEY UPDATE block_number = VALUES(block_number), block_hash = VALUES(block_hash), updated_at = NOW()")
+    int upsert(@Param("name") String name, @Param("blockNumber") long blockNumber, @Param("blockHash") String blockHash);
+}
@@ -2,11 +2,30 @@ package com.decentralized.gaming.platform.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.decentralized.gaming.platform.entity.Transaction;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+
+import java.math.BigDecimal;
 
 /**
  * 交易记录 Mapper
  */
 public interface TransactionMapper extends BaseMapper<Transaction> {
-}
-
 
+    /**
+     * 按链上挂单ID写入成交记录，同一交易哈希对同一商品只写入一次
+     *
+     * @param listingId 链上挂单ID
+     * @param buyerId 买家ID
+     * @param amount 成交金额
+     * @param txHash 交易哈希
+     * @return 影响行数，挂单不存在或已写入时为0
+     */
+    @Insert("INSERT IGNORE INTO transactions (buyer_id, seller_id, marketplace_item_id, amount, currency, tx_hash, status) " +
+            "SELECT #{buyerId}, seller_id, id, #{amount}, currency, #{txHash}, 'COMPLETED' " +
+            "FROM marketplace_items WHERE listing_id = #{listingId}")
+    int insertSaleByListingId(@Param("listingId") Long listingId,
+                              @Param("buyerId") Long buyerId,
+                              @Param("amount") BigDecimal amount,
+                              @Param("txHash") String txHash);
+}
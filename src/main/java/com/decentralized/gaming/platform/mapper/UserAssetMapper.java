@@ -2,7 +2,14 @@ package com.decentralized.gaming.platform.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.decentralized.gaming.platform.entity.UserAsset;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * 用户资产Mapper接口
@@ -11,5 +18,62 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface UserAssetMapper extends BaseMapper<UserAsset> {
-}
 
+    /**
+     * 按 (合约地址, Token ID) 写入或更新链上资产持有人
+     * 持有人不变时保留原获得时间与获得方式，重复执行结果一致
+     *
+     * @param userId 用户ID
+     * @param assetType 资产类型
+     * @param assetId 资产ID（games / agents 主键）
+     * @param contractAddress 合约地址
+     * @param tokenId Token ID
+     * @param acquisitionType 获得方式
+     * @return 影响行数
+     */
+    @Insert("INSERT INTO user_assets (user_id, asset_type, asset_id, contract_address, token_id, acquired_at, " +
+            "acquisition_type, is_tradeable) " +
+            "VALUES (#{userId}, #{assetType}, #{assetId}, #{contractAddress}, #{tokenId}, NOW(), #{acquisitionType}, TRUE) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "acquired_at = IF(user_id = VALUES(user_id), acquired_at, VALUES(acquired_at)), " +
+            "acquisition_type = IF(user_id = VALUES(user_id), acquisition_type, VALUES(acquisition_type)), " +
+            "is_tradeable = IF(user_id = VALUES(user_id), is_tradeable, TRUE), " +
+            "user_id = VALUES(user_id), asset_id = VALUES(asset_id)")
+    int upsertByToken(@Param("userId") Long userId,
+                      @Param("assetType") UserAsset.AssetType assetType,
+                      @Param("assetId") Long assetId,
+                      @Param("contractAddress") String contractAddress,
+                      @Param("tokenId") String tokenId,
+                      @Param("acquisitionType") UserAsset.AcquisitionType acquisitionType);
+
+    /**
+     * 删除链上资产记录（NFT销毁或转给非平台用户）
+     *
+     * @param contractAddress 合约地址
+     * @param tokenId Token ID
+     * @return 影响行数
+     */
+    @Delete("DELETE FROM user_assets WHERE contract_address = #{contractAddress} AND token_id = #{tokenId}")
+    int deleteByToken(@Param("contractAddress") String contractAddress, @Param("tokenId") String tokenId);
+
+    /**
+     * 查询链上资产对应的资产ID
+     *
+     * @param contractAddress 合约地址
+     * @param tokenId Token ID
+     * @return 资产ID，不存在时为null
+     */
+    @Select("SELECT asset_id FROM user_assets WHERE contract_address = #{contractAddress} AND token_id = #{tokenId}")
+    Long selectAssetIdByToken(@Param("contractAddress") String contractAddress, @Param("tokenId") String tokenId);
+
+    /**
+     * 按资产类型分组统计用户资产数量与可交易数量，一次查询得到资产面板所需的全部计数
+     *
+     * @param userId 用户ID
+     * @return 每行包含 asset_type、asset_count、tradeable_count
+     */
+    @Select("SELECT asset_type, COUNT(*) AS asset_count, " +
+            "COALESCE(SUM(is_tradeable = TRUE), 0) AS tradeable_count " +
+            "FROM user_assets WHERE user_id = #{userId} GROUP BY asset_type")
+    List<Map<String, Object>> countByType(@Param("userId") Long userId);
+}
@@ -0,0 +1,38 @@
+package com.decentralized.gaming.platform.service;
+
+import com.decentralized.gaming.platform.entity.Agent;
+import com.decentralized.gaming.platform.vo.AgentStatistics;
+
+/**
+ * 智能体统计服务接口
+ * 在内存中增量维护总数、活跃数、各类型活跃数与总使用次数，定期刷写到 agent_statistics 表，
+ * 并由后台SQL聚合定期对账纠正偏差；读取统计为常数时间，不访问数据库
+ *
+ * @author DecentralizedGamingPlatform
+ */
+public interface AgentStatisticsService {
+
+    /**
+     * 获取当前统计
+     *
+     * @return 智能体统计
+     */
+    AgentStatistics getStatistics();
+
+    /**
+     * 智能体创建事件；事务内发布时在提交后计数
+     *
+     * @param agentType 智能体类型
+     * @param status 初始状态
+     */
+    record AgentCreatedEvent(String agentType, Agent.AgentStatus status) {
+    }
+
+    /**
+     * 智能体使用事件；事务内发布时在提交后计数
+     *
+     * @param agentId 智能体ID
+     */
+    record AgentUsedEvent(Long agentId) {
+    }
+}
@@ -135,6 +135,14 @@ public interface AssetService {
      */
     AssetStatistics getAssetStatistics(Long userId);
     
+    /**
+     * 用户资产或余额变更事件；事务内发布时在提交后处理，处理后该用户的资产面板快照失效
+     *
+     * @param userId 用户ID
+     */
+    record AssetChangedEvent(Long userId) {
+    }
+
     /**
      * 资产统计信息
      */
@@ -0,0 +1,51 @@
+package com.decentralized.gaming.platform.service.blockchain;
+
+import org.web3j.crypto.Credentials;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 批量操作任务引擎接口
+ * 每条操作作为工作项持久化，由后台按操作类型领取执行；进度定期合并写库，实例重启或宕机后未完成的工作项由任一实例继续执行
+ *
+ * @author DecentralizedGamingPlatform
+ */
+public interface BatchJobService {
+
+    /**
+     * 提交批量操作，写入工作项后立即返回
+     *
+     * @param operationType 操作类型，见 {@link #getSupportedTypes()}
+     * @param credentials 签名者凭证
+     * @param items 每条操作的参数，如 TOKEN_TRANSFER 为 {to, amount}
+     * @param createdBy 创建者用户ID，可为null
+     * @param tier 费用档位
+     * @return 批量操作ID
+     */
+    String submit(String operationType, Credentials credentials, List<Map<String, Object>> items, Long createdBy,
+                  FeeOracleService.FeeTier tier);
+
+    /**
+     * 取消批量操作，已领取的工作项执行完毕，未领取的不再执行
+     *
+     * @param batchId 批量操作ID
+     * @return 是否成功
+     */
+    boolean cancel(String batchId);
+
+    /**
+     * 支持的操作类型
+     *
+     * @return 操作类型集合
+     */
+    Set<String> getSupportedTypes();
+
+    /**
+     * 获取任务引擎状态
+     *
+     * @return 各操作类型的执行中数量、累计成功/失败/重试次数等
+     */
+    Map<String, Object> getStatus();
+}
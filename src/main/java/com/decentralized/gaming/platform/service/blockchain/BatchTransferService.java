@@ -0,0 +1,100 @@
+package com.decentralized.gaming.platform.service.blockchain;
+
+import org.web3j.crypto.Credentials;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * 批量转账执行服务接口
+ * 将逐笔转账打包为少量交易：代币发放使用 Rewards.batchIssue，ERC20/ERC721 转账使用批量转账辅助合约；
+ * 每笔交易包含的条数按Gas估算确定，各分片交易经交易流水线连续广播后统一等待收据
+ *
+ * @author DecentralizedGamingPlatform
+ */
+public interface BatchTransferService {
+
+    /**
+     * 批量转账辅助合约是否已配置
+     *
+     * @return 是否可用
+     */
+    boolean isHelperAvailable();
+
+    /**
+     * 批量转账平台代币（从签名者余额转出，授权额度不足时先授权辅助合约）
+     *
+     * @param credentials 发送者凭证
+     * @param recipients 接收地址列表
+     * @param amounts 转账数量列表
+     * @param tier 费用档位
+     * @return 各分片的执行结果
+     */
+    List<ChunkResult> transferTokens(Credentials credentials, List<String> recipients, List<BigInteger> amounts,
+                                     FeeOracleService.FeeTier tier);
+
+    /**
+     * 批量转账游戏NFT（从签名者转出，未授权时先 setApprovalForAll 给辅助合约）
+     *
+     * @param credentials 持有者凭证
+     * @param recipients 接收地址列表
+     * @param tokenIds NFT ID列表
+     * @param tier 费用档位
+     * @return 各分片的执行结果
+     */
+    List<ChunkResult> transferGameNfts(Credentials credentials, List<String> recipients, List<BigInteger> tokenIds,
+                                       FeeOracleService.FeeTier tier);
+
+    /**
+     * 批量转账智能体NFT（从签名者转出，未授权时先 setApprovalForAll 给辅助合约）
+     *
+     * @param credentials 持有者凭证
+     * @param recipients 接收地址列表
+     * @param tokenIds NFT ID列表
+     * @param tier 费用档位
+     * @return 各分片的执行结果
+     */
+    List<ChunkResult> transferAgentNfts(Credentials credentials, List<String> recipients, List<BigInteger> tokenIds,
+                                        FeeOracleService.FeeTier tier);
+
+    /**
+     * 批量发放代币奖励（Rewards.batchIssue，需奖励合约拥有者签名）
+     *
+     * @param credentials 奖励合约拥有者凭证
+     * @param recipients 接收地址列表
+     * @param amounts 奖励数量列表
+     * @param reason 发放原因
+     * @param tier 费用档位
+     * @return 各分片的执行结果
+     */
+    List<ChunkResult> issueRewards(Credentials credentials, List<String> recipients, List<BigInteger> amounts, String reason,
+                                   FeeOracleService.FeeTier tier);
+
+    /**
+     * 分片执行结果，覆盖输入列表的 [fromIndex, toIndex) 区间
+     */
+    class ChunkResult {
+        private final int fromIndex;
+        private final int toIndex;
+        private final String txHash;
+        private final boolean success;
+        private final BigInteger gasUsed;
+        private final String error;
+
+        public ChunkResult(int fromIndex, int toIndex, String txHash, boolean success, BigInteger gasUsed, String error) {
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.txHash = txHash;
+            this.success = success;
+            this.gasUsed = gasUsed;
+            this.error = error;
+        }
+
+        public int getFromIndex() { return fromIndex; }
+        public int getToIndex() { return toIndex; }
+        public String getTxHash() { return txHash; }
+        public boolean isSuccess() { return success; }
+        public BigInteger getGasUsed() { return gasUsed; }
+        public String getError() { return error; }
+    }
+}
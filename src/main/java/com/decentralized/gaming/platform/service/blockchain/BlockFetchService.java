@@ -0,0 +1,62 @@
+package com.decentralized.gaming.platform.service.blockchain;
+
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 区块拉取服务接口
+ * 以JSON-RPC批量请求流水线方式拉取区块和交易收据，保持固定数量的在途请求，
+ * 结果按区块顺序回调，内存占用受在途窗口约束
+ *
+ * @author DecentralizedGamingPlatform
+ */
+public interface BlockFetchService {
+
+    /**
+     * 按默认窗口顺序拉取区块
+     *
+     * @param fromBlock 起始区块（包含）
+     * @param toBlock 结束区块（包含）
+     * @param fullTransactions 是否包含完整交易
+     * @param handler 区块处理函数，按区块号升序调用，返回false时停止拉取
+     */
+    void fetchBlocks(long fromBlock, long toBlock, boolean fullTransactions, Predicate<EthBlock.Block> handler);
+
+    /**
+     * 按指定窗口顺序拉取区块
+     *
+     * @param fromBlock 起始区块（包含）
+     * @param toBlock 结束区块（包含）
+     * @param fullTransactions 是否包含完整交易
+     * @param window 在途批量请求数
+     * @param handler 区块处理函数，按区块号升序调用，返回false时停止拉取
+     */
+    void fetchBlocks(long fromBlock, long toBlock, boolean fullTransactions, int window, Predicate<EthBlock.Block> handler);
+
+    /**
+     * 批量拉取交易收据
+     *
+     * @param txHashes 交易哈希列表
+     * @return 与输入顺序一致的收据列表，未找到的交易对应null
+     */
+    List<TransactionReceipt> fetchReceipts(List<String> txHashes);
+
+    /**
+     * 按指定批量大小拉取交易收据
+     *
+     * @param txHashes 交易哈希列表
+     * @param batchSize 每个JSON-RPC批量请求包含的收据数
+     * @return 与输入顺序一致的收据列表，未找到的交易对应null
+     */
+    List<TransactionReceipt> fetchReceipts(List<String> txHashes, int batchSize);
+
+    /**
+     * 获取默认在途窗口大小
+     *
+     * @return 默认窗口大小
+     */
+    int getDefaultWindow();
+}
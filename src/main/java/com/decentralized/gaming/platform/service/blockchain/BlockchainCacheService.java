@@ -1,11 +1,15 @@
 package com.decentralized.gaming.platform.service.blockchain;
 
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
 /**
  * 区块链缓存服务接口
- * 提供区块链数据的本地缓存功能
+ * 提供区块链数据的本地缓存功能；交易收据、区块与NFT只读调用结果存放在按权重限制容量的缓存层，
+ * 低于最终确认深度的区块数据视为不可变，其余数据只在读取时的最新区块内有效
  *
  * @author DecentralizedGamingPlatform
  */
@@ -55,6 +59,73 @@ public interface BlockchainCacheService {
      */
     BigInteger getCachedBlockNumber();
 
+    /**
+     * 缓存交易收据
+     *
+     * @param receipt 交易收据
+     */
+    void cacheReceipt(TransactionReceipt receipt);
+
+    /**
+     * 获取缓存的交易收据
+     *
+     * @param transactionHash 交易哈希
+     * @return 缓存的交易收据，未命中或已失效时返回null
+     */
+    TransactionReceipt getCachedReceipt(String transactionHash);
+
+    /**
+     * 缓存区块
+     *
+     * @param block 区块
+     * @param fullTransactions 是否包含完整交易
+     */
+    void cacheBlock(EthBlock.Block block, boolean fullTransactions);
+
+    /**
+     * 获取缓存的区块
+     *
+     * @param blockNumber 区块号
+     * @param fullTransactions 是否包含完整交易
+     * @return 缓存的区块，未命中或已失效时返回null
+     */
+    EthBlock.Block getCachedBlock(long blockNumber, boolean fullTransactions);
+
+    /**
+     * 缓存NFT只读调用结果（ownerOf、tokenURI等），只在当前最新区块内有效
+     *
+     * @param contractAddress 合约地址
+     * @param method 方法名
+     * @param tokenId 代币ID
+     * @param value 调用结果
+     */
+    void cacheTokenCall(String contractAddress, String method, BigInteger tokenId, String value);
+
+    /**
+     * 获取缓存的NFT只读调用结果
+     *
+     * @param contractAddress 合约地址
+     * @param method 方法名
+     * @param tokenId 代币ID
+     * @return 缓存的调用结果，未命中或已失效时返回null
+     */
+    String getCachedTokenCall(String contractAddress, String method, BigInteger tokenId);
+
+    /**
+     * 判断区块是否已达到最终确认深度
+     *
+     * @param blockNumber 区块号
+     * @return 是否已最终确认
+     */
+    boolean isFinalized(long blockNumber);
+
+    /**
+     * 链重组时清除指定区块及之后的区块数据缓存
+     *
+     * @param fromBlock 起始区块号（包含）
+     */
+    void invalidateFromBlock(long fromBlock);
+
     /**
      * 清除地址相关的缓存
      *
@@ -81,16 +152,40 @@ public interface BlockchainCacheService {
         private final int balanceCacheSize;
         private final int gasPriceCacheSize;
         private final int blockNumberCacheSize;
+        private final int objectCacheSize;
+        private final long objectCacheWeight;
+        private final long objectCacheMaxWeight;
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final long invalidationCount;
 
-        public CacheStats(int balanceCacheSize, int gasPriceCacheSize, int blockNumberCacheSize) {
+        public CacheStats(int balanceCacheSize, int gasPriceCacheSize, int blockNumberCacheSize,
+                          int objectCacheSize, long objectCacheWeight, long objectCacheMaxWeight,
+                          long hitCount, long missCount, long evictionCount, long invalidationCount) {
             this.balanceCacheSize = balanceCacheSize;
             this.gasPriceCacheSize = gasPriceCacheSize;
             this.blockNumberCacheSize = blockNumberCacheSize;
+            this.objectCacheSize = objectCacheSize;
+            this.objectCacheWeight = objectCacheWeight;
+            this.objectCacheMaxWeight = objectCacheMaxWeight;
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.invalidationCount = invalidationCount;
         }
 
         public int getBalanceCacheSize() { return balanceCacheSize; }
         public int getGasPriceCacheSize() { return gasPriceCacheSize; }
         public int getBlockNumberCacheSize() { return blockNumberCacheSize; }
-        public int getTotalCacheSize() { return balanceCacheSize + gasPriceCacheSize + blockNumberCacheSize; }
+        public int getObjectCacheSize() { return objectCacheSize; }
+        public long getObjectCacheWeight() { return objectCacheWeight; }
+        public long getObjectCacheMaxWeight() { return objectCacheMaxWeight; }
+        public long getHitCount() { return hitCount; }
+        public long getMissCount() { return missCount; }
+        public long getEvictionCount() { return evictionCount; }
+        public long getInvalidationCount() { return invalidationCount; }
+        public double getHitRate() { return hitCount + missCount == 0 ? 0 : (double) hitCount / (hitCount + missCount); }
+        public int getTotalCacheSize() { return balanceCacheSize + gasPriceCacheSize + blockNumberCacheSize + objectCacheSize; }
     }
 }
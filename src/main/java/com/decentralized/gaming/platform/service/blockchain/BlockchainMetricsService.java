@@ -43,6 +43,38 @@ public interface BlockchainMetricsService {
      */
     void recordGasUsage(String operation, BigInteger gasUsed);
 
+    /**
+     * 记录一次节点RPC调用的延迟
+     *
+     * @param method JSON-RPC方法名，批量请求为batch
+     * @param latencyNanos 延迟(纳秒)
+     * @param success 是否成功
+     */
+    void recordRpcLatency(String method, long latencyNanos, boolean success);
+
+    /**
+     * 获取按RPC方法名统计的延迟直方图
+     *
+     * @return 方法名 -> 调用次数、平均/最大延迟、分位数与桶计数
+     */
+    Map<String, Map<String, Object>> getRpcLatencyHistograms();
+
+    /**
+     * 记录熔断器状态变化
+     *
+     * @param operation 操作名称
+     * @param fromState 原状态
+     * @param toState 新状态（CLOSED/OPEN/HALF_OPEN）
+     */
+    void recordCircuitBreakerTransition(String operation, String fromState, String toState);
+
+    /**
+     * 获取各操作的熔断器状态
+     *
+     * @return 操作名称 -> 当前状态、打开次数、最近变化时间
+     */
+    Map<String, Map<String, Object>> getCircuitBreakerStates();
+
     /**
      * 获取指标数据
      *
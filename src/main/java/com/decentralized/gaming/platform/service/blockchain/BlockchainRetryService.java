@@ -1,41 +1,22 @@
 package com.decentralized.gaming.platform.service.blockchain;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 /**
  * 区块链重试服务接口
- * 提供区块链操作的重试机制和降级策略
+ * 提供区块链操作的异步重试机制；按操作名熔断，节点故障期间快速失败
  *
  * @author DecentralizedGamingPlatform
  */
 public interface BlockchainRetryService {
 
     /**
-     * 执行带重试的区块链操作
+     * 异步执行带重试的区块链操作：重试由定时器调度，等待退避期间不占用线程
      *
-     * @param operation 操作函数
-     * @param operationName 操作名称（用于日志）
-     * @return 操作结果
+     * @param operation 发起一次异步调用的函数，如 web3j 请求的 sendAsync()
+     * @param operationName 操作名称（用于日志与熔断）
+     * @return 最终结果；重试耗尽、不可重试的错误或熔断打开时以 BlockchainException 异常完成
      */
-    <T> T executeWithRetry(Supplier<T> operation, String operationName);
-
-    /**
-     * 执行带重试的区块链操作（无返回值）
-     *
-     * @param operation 操作函数
-     * @param operationName 操作名称（用于日志）
-     */
-    void executeWithRetry(Runnable operation, String operationName);
-
-    /**
-     * 执行带降级策略的操作
-     *
-     * @param primaryOperation 主要操作
-     * @param fallbackOperation 降级操作
-     * @param operationName 操作名称
-     * @return 操作结果
-     */
-    <T> T executeWithFallback(Supplier<T> primaryOperation, 
-                             Supplier<T> fallbackOperation, 
-                             String operationName);
+    <T> CompletableFuture<T> executeWithRetryAsync(Supplier<CompletableFuture<T>> operation, String operationName);
 }
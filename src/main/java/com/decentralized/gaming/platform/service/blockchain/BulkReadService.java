@@ -0,0 +1,194 @@
+package com.decentralized.gaming.platform.service.blockchain;
+
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.abi.datatypes.generated.Uint8;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 批量只读调用服务接口
+ * 将大量 ownerOf/tokenURI/balanceOf/getApproved/isApprovedForAll/allowance 等只读调用打包为 Multicall3 aggregate3 调用，
+ * 按节点的 eth_call Gas上限切分批次并行执行，同一次查询的所有批次固定在同一区块读取；
+ * 未配置 Multicall3 合约地址时退化为 JSON-RPC 批量 eth_call。单个调用失败（如 tokenId 不存在）时对应结果为 null
+ *
+ * @author DecentralizedGamingPlatform
+ */
+public interface BulkReadService {
+
+    /**
+     * 批量执行只读调用
+     *
+     * @param calls 调用列表
+     * @return 与调用列表一一对应的解码结果，失败的调用为 null
+     */
+    List<Object> read(List<ReadCall> calls);
+
+    /**
+     * 异步批量执行只读调用，调用线程可在等待链上结果的同时处理其他查询
+     *
+     * @param calls 调用列表
+     * @return 与调用列表一一对应的解码结果；超时或失败时以 BlockchainException 异常完成
+     */
+    CompletableFuture<List<Object>> readAsync(List<ReadCall> calls);
+
+    /**
+     * 批量查询 ERC721 拥有者
+     *
+     * @param contractAddress NFT合约地址
+     * @param tokenIds NFT ID列表
+     * @return tokenId 到拥有者地址的映射（按输入顺序），不存在的 tokenId 对应 null
+     */
+    Map<BigInteger, String> getOwners(String contractAddress, List<BigInteger> tokenIds);
+
+    /**
+     * 批量查询 ERC721 元数据URI
+     *
+     * @param contractAddress NFT合约地址
+     * @param tokenIds NFT ID列表
+     * @return tokenId 到URI的映射（按输入顺序）
+     */
+    Map<BigInteger, String> getTokenUris(String contractAddress, List<BigInteger> tokenIds);
+
+    /**
+     * 批量查询 ERC721 单个NFT的授权地址
+     *
+     * @param contractAddress NFT合约地址
+     * @param tokenIds NFT ID列表
+     * @return tokenId 到被授权地址的映射（按输入顺序）
+     */
+    Map<BigInteger, String> getApproved(String contractAddress, List<BigInteger> tokenIds);
+
+    /**
+     * 批量查询 ERC20/ERC721 余额
+     *
+     * @param contractAddress 代币或NFT合约地址
+     * @param owners 持有者地址列表
+     * @return 地址到余额的映射（按输入顺序）
+     */
+    Map<String, BigInteger> getBalances(String contractAddress, List<String> owners);
+
+    /**
+     * 批量查询 ERC721 全部授权状态
+     *
+     * @param contractAddress NFT合约地址
+     * @param owner 持有者地址
+     * @param operators 操作者地址列表
+     * @return 操作者地址到是否已授权的映射（按输入顺序）
+     */
+    Map<String, Boolean> getApprovalsForAll(String contractAddress, String owner, List<String> operators);
+
+    /**
+     * 批量查询 ERC20 授权额度
+     *
+     * @param tokenAddress 代币合约地址
+     * @param owner 持有者地址
+     * @param spenders 被授权者地址列表
+     * @return 被授权者地址到额度的映射（按输入顺序）
+     */
+    Map<String, BigInteger> getAllowances(String tokenAddress, String owner, List<String> spenders);
+
+    /**
+     * 批量查询ETH余额
+     *
+     * @param addresses 地址列表
+     * @return 地址到余额(wei)的映射（按输入顺序）
+     */
+    Map<String, BigInteger> getEthBalances(List<String> addresses);
+
+    /**
+     * 获取批量读取状态
+     *
+     * @return 读取方式、Gas上限、当前批次Gas放大系数及累计调用次数等
+     */
+    Map<String, Object> getStatus();
+
+    /**
+     * 单个只读调用；target 为 null 时表示查询 ETH 余额
+     */
+    class ReadCall {
+        private final String target;
+        private final Function function;
+        private final String account;
+        private final long gasHint;
+
+        private ReadCall(String target, Function function, String account, long gasHint) {
+            this.target = target;
+            this.function = function;
+            this.account = account;
+            this.gasHint = gasHint;
+        }
+
+        /**
+         * 通用合约只读调用
+         *
+         * @param target 合约地址
+         * @param function 函数，输出参数需为单个值
+         * @param gasHint 单次调用的预估Gas，用于切分批次
+         * @return 调用
+         */
+        public static ReadCall of(String target, Function function, long gasHint) {
+            return new ReadCall(target, function, null, gasHint);
+        }
+
+        public static ReadCall ethBalance(String account) {
+            return new ReadCall(null, null, account, 0);
+        }
+
+        public static ReadCall ownerOf(String target, BigInteger tokenId) {
+            return of(target, new Function("ownerOf", Collections.<Type>singletonList(new Uint256(tokenId)),
+                Collections.<TypeReference<?>>singletonList(new TypeReference<Address>() {})), 0);
+        }
+
+        public static ReadCall tokenUri(String target, BigInteger tokenId) {
+            return of(target, new Function("tokenURI", Collections.<Type>singletonList(new Uint256(tokenId)),
+                Collections.<TypeReference<?>>singletonList(new TypeReference<Utf8String>() {})), -1);
+        }
+
+        public static ReadCall getApproved(String target, BigInteger tokenId) {
+            return of(target, new Function("getApproved", Collections.<Type>singletonList(new Uint256(tokenId)),
+                Collections.<TypeReference<?>>singletonList(new TypeReference<Address>() {})), 0);
+        }
+
+        public static ReadCall balanceOf(String target, String owner) {
+            return of(target, new Function("balanceOf", Collections.<Type>singletonList(new Address(160, owner)),
+                Collections.<TypeReference<?>>singletonList(new TypeReference<Uint256>() {})), 0);
+        }
+
+        public static ReadCall isApprovedForAll(String target, String owner, String operator) {
+            return of(target, new Function("isApprovedForAll",
+                List.<Type>of(new Address(160, owner), new Address(160, operator)),
+                Collections.<TypeReference<?>>singletonList(new TypeReference<Bool>() {})), 0);
+        }
+
+        public static ReadCall allowance(String target, String owner, String spender) {
+            return of(target, new Function("allowance",
+                List.<Type>of(new Address(160, owner), new Address(160, spender)),
+                Collections.<TypeReference<?>>singletonList(new TypeReference<Uint256>() {})), 0);
+        }
+
+        public static ReadCall decimals(String target) {
+            return of(target, new Function("decimals", Collections.<Type>emptyList(),
+                Collections.<TypeReference<?>>singletonList(new TypeReference<Uint8>() {})), 0);
+        }
+
+        public String getTarget() { return target; }
+        public Function getFunction() { return function; }
+        public String getAccount() { return account; }
+        public boolean isEthBalance() { return function == null; }
+
+        /**
+         * 预估Gas：0 表示使用默认单次调用Gas，-1 表示使用返回字符串类调用的Gas
+         */
+        public long getGasHint() { return gasHint; }
+    }
+}
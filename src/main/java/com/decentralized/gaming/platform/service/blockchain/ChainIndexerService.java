@@ -0,0 +1,52 @@
+package com.decentralized.gaming.platform.service.blockchain;
+
+import java.util.Map;
+
+/**
+ * 链上索引服务接口
+ * 后台按顺序摄取区块并写入本地索引表，支持断点续传和分叉回滚
+ *
+ * @author DecentralizedGamingPlatform
+ */
+public interface ChainIndexerService {
+
+    /**
+     * 启动后台索引
+     */
+    void start();
+
+    /**
+     * 停止后台索引
+     */
+    void stop();
+
+    /**
+     * 是否正在运行
+     *
+     * @return 是否正在运行
+     */
+    boolean isRunning();
+
+    /**
+     * 获取已索引的最高区块号
+     *
+     * @return 已索引的最高区块号，尚未索引任何区块时为起始区块减一
+     */
+    long getIndexedBlockNumber();
+
+    /**
+     * 判断区块范围是否已完整索引
+     *
+     * @param fromBlock 起始区块
+     * @param toBlock 结束区块
+     * @return 是否已完整索引
+     */
+    boolean isRangeIndexed(long fromBlock, long toBlock);
+
+    /**
+     * 获取索引状态
+     *
+     * @return 索引状态
+     */
+    Map<String, Object> getIndexerStatus();
+}
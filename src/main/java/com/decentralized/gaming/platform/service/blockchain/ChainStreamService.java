@@ -0,0 +1,52 @@
+package com.decentralized.gaming.platform.service.blockchain;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.web3j.protocol.core.methods.response.Log;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 链上数据推送服务接口
+ * 客户端通过SSE订阅主题，服务端在新区块到达时推送事件、交易收据与确认数变化
+ *
+ * 主题格式：
+ * address:0x... 地址作为事件索引参数出现
+ * tx:0x...      交易收据与确认数
+ * contract:0x... 合约发出的所有事件
+ * listing:123   市场挂单相关事件
+ * heads         新区块通知
+ *
+ * @author DecentralizedGamingPlatform
+ */
+public interface ChainStreamService {
+
+    /**
+     * 建立推送连接
+     *
+     * @param topics 订阅主题集合
+     * @return SSE连接
+     */
+    SseEmitter subscribe(Set<String> topics);
+
+    /**
+     * 推送一条合约事件到订阅了相关主题的连接
+     *
+     * @param eventLog 事件日志
+     */
+    void publishEvent(Log eventLog);
+
+    /**
+     * 新区块到达：推送新区块通知并刷新被订阅交易的收据与确认数
+     *
+     * @param blockNumber 最新区块号
+     */
+    void onNewHead(long blockNumber);
+
+    /**
+     * 获取推送服务状态
+     *
+     * @return 连接数、主题数、跟踪中的交易数等
+     */
+    Map<String, Object> getStreamStatus();
+}
@@ -0,0 +1,57 @@
+package com.decentralized.gaming.platform.service.blockchain;
+
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.Web3j;
+import org.web3j.tx.Contract;
+import org.web3j.tx.TransactionManager;
+import org.web3j.tx.gas.ContractGasProvider;
+
+import java.util.Map;
+
+/**
+ * 合约句柄注册表接口
+ * 按（合约类型、合约地址、签名者地址）缓存已加载的合约包装类，避免每次写操作重新执行 Contract.load
+ *
+ * @author DecentralizedGamingPlatform
+ */
+public interface ContractHandleRegistry {
+
+    /**
+     * 获取签名者的合约句柄，未缓存时使用交易流水线的交易管理器加载
+     *
+     * @param type 合约包装类
+     * @param contractAddress 合约地址
+     * @param credentials 签名者凭证
+     * @param loader 加载函数，通常为 XXX::load
+     * @return 合约句柄
+     */
+    <T extends Contract> T get(Class<T> type, String contractAddress, Credentials credentials, ContractLoader<T> loader);
+
+    /**
+     * 移除指定合约地址的全部句柄（合约地址变更时调用）
+     *
+     * @param contractAddress 合约地址
+     * @return 移除的句柄数
+     */
+    int invalidateAddress(String contractAddress);
+
+    /**
+     * 清空全部句柄
+     */
+    void invalidateAll();
+
+    /**
+     * 获取注册表统计
+     *
+     * @return 句柄数、命中/未命中/淘汰次数
+     */
+    Map<String, Object> getStats();
+
+    /**
+     * 合约加载函数，与生成的包装类 load(String, Web3j, TransactionManager, ContractGasProvider) 签名一致
+     */
+    @FunctionalInterface
+    interface ContractLoader<T extends Contract> {
+        T load(String contractAddress, Web3j web3j, TransactionManager transactionManager, ContractGasProvider gasProvider);
+    }
+}
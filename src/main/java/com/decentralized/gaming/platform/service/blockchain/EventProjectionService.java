@@ -0,0 +1,62 @@
+package com.decentralized.gaming.platform.service.blockchain;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+/**
+ * 事件投影服务接口
+ * 解码GameNFT/AgentNFT/Marketplace/Rewards合约事件，按区块将结果写入业务表
+ *
+ * @author DecentralizedGamingPlatform
+ */
+public interface EventProjectionService {
+
+    /**
+     * 启动后台投影
+     */
+    void start();
+
+    /**
+     * 停止后台投影
+     */
+    void stop();
+
+    /**
+     * 是否正在运行
+     *
+     * @return 是否正在运行
+     */
+    boolean isRunning();
+
+    /**
+     * 获取已投影的最高区块号
+     *
+     * @return 已投影的最高区块号
+     */
+    long getProjectedBlockNumber();
+
+    /**
+     * 从投影中查询NFT持有者
+     *
+     * @param contractAddress NFT合约地址
+     * @param tokenId Token ID
+     * @return 持有者地址；投影未运行或无记录时为null
+     */
+    String getProjectedOwner(String contractAddress, BigInteger tokenId);
+
+    /**
+     * 从投影中统计地址持有的NFT数量
+     *
+     * @param contractAddress NFT合约地址
+     * @param ownerAddress 持有者地址
+     * @return 持有数量；投影未运行时为null
+     */
+    Long getProjectedBalance(String contractAddress, String ownerAddress);
+
+    /**
+     * 获取投影状态
+     *
+     * @return 投影状态
+     */
+    Map<String, Object> getProjectionStatus();
+}
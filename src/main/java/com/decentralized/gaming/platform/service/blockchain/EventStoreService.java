@@ -0,0 +1,78 @@
+package com.decentralized.gaming.platform.service.blockchain;
+
+import com.decentralized.gaming.platform.common.CursorPageResult;
+import com.decentralized.gaming.platform.entity.ChainEvent;
+import org.web3j.protocol.core.methods.response.Log;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 事件存储服务接口
+ * 持久化实时订阅与回填得到的事件日志，并提供基于索引的查询
+ *
+ * @author DecentralizedGamingPlatform
+ */
+public interface EventStoreService {
+
+    /**
+     * 保存单条日志；被节点标记为移除的日志会从存储中删除
+     *
+     * @param eventLog 事件日志
+     */
+    void store(Log eventLog);
+
+    /**
+     * 批量保存日志
+     *
+     * @param eventLogs 事件日志列表
+     * @return 写入的日志数量
+     */
+    int storeAll(List<Log> eventLogs);
+
+    /**
+     * 从节点回填区块范围内的事件日志
+     *
+     * @param contractAddresses 合约地址列表，为空表示不限合约
+     * @param fromBlock 起始区块（包含）
+     * @param toBlock 结束区块（包含）
+     * @return 写入的日志数量
+     */
+    long backfill(List<String> contractAddresses, long fromBlock, long toBlock);
+
+    /**
+     * 游标查询地址相关事件（地址为第一或第二个索引参数），按 (区块号, 日志序号) 倒序
+     *
+     * @param address 钱包地址
+     * @param contractAddress 合约地址，为空表示不限合约
+     * @param fromBlock 起始区块
+     * @param cursor 上一页返回的游标，为空表示从最新开始
+     * @param limit 每页数量
+     * @return 游标分页结果
+     */
+    CursorPageResult<ChainEvent> getAddressEvents(String address, String contractAddress, long fromBlock,
+                                                  String cursor, int limit);
+
+    /**
+     * 按条件游标查询事件，按 (区块号, 日志序号) 倒序
+     *
+     * @param contractAddress 合约地址，为空表示不限合约
+     * @param topics 按位置的主题过滤（topic0..topic3），空字符串表示该位置不过滤
+     * @param fromBlock 起始区块
+     * @param toBlock 结束区块
+     * @param cursor 上一页返回的游标，为空表示从最新开始
+     * @param limit 每页数量
+     * @return 游标分页结果
+     */
+    CursorPageResult<ChainEvent> searchEvents(String contractAddress, List<String> topics, long fromBlock, long toBlock,
+                                              String cursor, int limit);
+
+    /**
+     * 按合约与事件签名统计指定区块之后的事件数量
+     *
+     * @param contractAddress 合约地址，为空表示所有合约
+     * @param fromBlock 起始区块
+     * @return 每项包含 contractAddress、topic0、eventCount
+     */
+    List<Map<String, Object>> countEvents(String contractAddress, long fromBlock);
+}
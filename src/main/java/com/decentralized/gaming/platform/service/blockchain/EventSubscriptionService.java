@@ -80,7 +80,7 @@ public interface EventSubscriptionService {
     boolean updateSubscriptionStatus(String subscriptionId, String status);
 
     /**
-     * 更新事件计数
+     * 更新事件计数（内存中累加，定期批量写库）
      *
      * @param subscriptionId 订阅ID
      * @return 是否成功
@@ -0,0 +1,135 @@
+package com.decentralized.gaming.platform.service.blockchain;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+/**
+ * 手续费预言机服务接口
+ * 基于 eth_feeHistory 维护最近若干区块的基础费用与小费分位数滑动窗口，按档位给出 EIP-1559 费用；
+ * 节点不支持 EIP-1559 时退化为 eth_gasPrice 按档位缩放。另按（合约、函数选择器、调用数据长度）缓存 eth_estimateGas 结果
+ *
+ * @author DecentralizedGamingPlatform
+ */
+public interface FeeOracleService {
+
+    /**
+     * 获取指定档位的费用
+     *
+     * @param tier 费用档位
+     * @return 费用报价
+     */
+    FeeQuote getFee(FeeTier tier);
+
+    /**
+     * 估算交易的Gas上限：命中缓存时直接返回，否则调用 eth_estimateGas；结果已乘以安全系数
+     *
+     * @param from 发送者地址
+     * @param to 合约地址
+     * @param data 调用数据
+     * @param value 转账金额(wei)，可为null
+     * @return Gas上限
+     */
+    BigInteger estimateGasLimit(String from, String to, String data, BigInteger value);
+
+    /**
+     * 移除调用对应的估算缓存，用于交易因Gas不足失败后重新估算
+     *
+     * @param to 合约地址
+     * @param data 调用数据
+     */
+    void invalidateEstimate(String to, String data);
+
+    /**
+     * 获取预言机状态
+     *
+     * @return 窗口区块范围、下一区块基础费用、各档位费用、估算缓存命中率等
+     */
+    Map<String, Object> getStatus();
+
+    /**
+     * 费用档位，依次对应 reward-percentiles 中的三个分位数
+     */
+    enum FeeTier {
+        SLOW, STANDARD, FAST;
+
+        /**
+         * 解析档位名称，为空或无法识别时返回 STANDARD
+         *
+         * @param name 档位名称
+         * @return 费用档位
+         */
+        public static FeeTier parse(String name) {
+            if (name == null || name.isBlank()) {
+                return STANDARD;
+            }
+            try {
+                return FeeTier.valueOf(name.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return STANDARD;
+            }
+        }
+    }
+
+    /**
+     * 费用报价；预言机给出的 EIP-1559 报价中 gasPrice 为下一区块预计的实际单价（基础费用 + 小费），其余来源为 maxFeePerGas
+     */
+    class FeeQuote {
+        private final FeeTier tier;
+        private final boolean eip1559;
+        private final BigInteger baseFeePerGas;
+        private final BigInteger maxPriorityFeePerGas;
+        private final BigInteger maxFeePerGas;
+        private final BigInteger gasPrice;
+
+        public FeeQuote(FeeTier tier, boolean eip1559, BigInteger baseFeePerGas, BigInteger maxPriorityFeePerGas,
+                        BigInteger maxFeePerGas, BigInteger gasPrice) {
+            this.tier = tier;
+            this.eip1559 = eip1559;
+            this.baseFeePerGas = baseFeePerGas;
+            this.maxPriorityFeePerGas = maxPriorityFeePerGas;
+            this.maxFeePerGas = maxFeePerGas;
+            this.gasPrice = gasPrice;
+        }
+
+        public static FeeQuote legacy(FeeTier tier, BigInteger gasPrice) {
+            return new FeeQuote(tier, false, null, null, null, gasPrice);
+        }
+
+        public static FeeQuote eip1559(FeeTier tier, BigInteger maxPriorityFeePerGas, BigInteger maxFeePerGas) {
+            return new FeeQuote(tier, true, null, maxPriorityFeePerGas, maxFeePerGas, maxFeePerGas);
+        }
+
+        /**
+         * 按比例提价，用于替换卡住的交易；不低于 floor 对应的字段
+         *
+         * @param percent 涨幅百分比
+         * @param floor 当前报价，可为null
+         * @return 提价后的报价
+         */
+        public FeeQuote bump(int percent, FeeQuote floor) {
+            BigInteger factor = BigInteger.valueOf(100L + percent);
+            BigInteger hundred = BigInteger.valueOf(100);
+            if (!eip1559) {
+                BigInteger bumped = gasPrice.multiply(factor).divide(hundred);
+                if (floor != null && !floor.eip1559) {
+                    bumped = bumped.max(floor.gasPrice);
+                }
+                return legacy(tier, bumped);
+            }
+            BigInteger priority = maxPriorityFeePerGas.multiply(factor).divide(hundred);
+            BigInteger maxFee = maxFeePerGas.multiply(factor).divide(hundred);
+            if (floor != null && floor.eip1559) {
+                priority = priority.max(floor.maxPriorityFeePerGas);
+                maxFee = maxFee.max(floor.maxFeePerGas);
+            }
+            return eip1559(tier, priority, maxFee.max(priority));
+        }
+
+        public FeeTier getTier() { return tier; }
+        public boolean isEip1559() { return eip1559; }
+        public BigInteger getBaseFeePerGas() { return baseFeePerGas; }
+        public BigInteger getMaxPriorityFeePerGas() { return maxPriorityFeePerGas; }
+        public BigInteger getMaxFeePerGas() { return maxFeePerGas; }
+        public BigInteger getGasPrice() { return gasPrice; }
+    }
+}
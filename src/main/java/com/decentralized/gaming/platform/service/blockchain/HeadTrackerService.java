@@ -0,0 +1,91 @@
+package com.decentralized.gaming.platform.service.blockchain;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+/**
+ * 最新区块跟踪服务接口
+ * 全局只有一个跟踪任务（WebSocket newHeads 订阅或单个轮询器）获取最新区块，
+ * 结果发布到原子引用中供所有调用方无锁读取，并通知注册的监听器
+ *
+ * @author DecentralizedGamingPlatform
+ */
+public interface HeadTrackerService {
+
+    /**
+     * 获取最新区块；尚未获取到或已过期时返回null
+     *
+     * @return 最新区块
+     */
+    ChainHead getLatestHead();
+
+    /**
+     * 获取最新区块号；尚未获取到最新区块时同步拉取一次
+     *
+     * @return 最新区块号
+     */
+    long getHeadNumber();
+
+    /**
+     * 注册新区块监听器；监听器在跟踪线程上调用，应尽快返回
+     *
+     * @param listener 监听器
+     */
+    void addListener(HeadListener listener);
+
+    /**
+     * 移除新区块监听器
+     *
+     * @param listener 监听器
+     */
+    void removeListener(HeadListener listener);
+
+    /**
+     * 获取跟踪状态
+     *
+     * @return 最新区块、数据来源、轮询次数等
+     */
+    Map<String, Object> getStatus();
+
+    /**
+     * 新区块监听器
+     */
+    interface HeadListener {
+
+        /**
+         * 最新区块变化（区块号前进或同高度区块哈希变化）
+         *
+         * @param head 最新区块
+         */
+        void onNewHead(ChainHead head);
+    }
+
+    /**
+     * 最新区块信息
+     */
+    class ChainHead {
+        private final long number;
+        private final String hash;
+        private final String parentHash;
+        private final long timestamp;
+        private final BigInteger baseFeePerGas;
+        private final long receivedAt;
+
+        public ChainHead(long number, String hash, String parentHash, long timestamp,
+                         BigInteger baseFeePerGas, long receivedAt) {
+            this.number = number;
+            this.hash = hash;
+            this.parentHash = parentHash;
+            this.timestamp = timestamp;
+            this.baseFeePerGas = baseFeePerGas;
+            this.receivedAt = receivedAt;
+        }
+
+        public long getNumber() { return number; }
+        public String getHash() { return hash; }
+        public String getParentHash() { return parentHash; }
+        public long getTimestamp() { return timestamp; }
+        public BigInteger getBaseFeePerGas() { return baseFeePerGas; }
+        public long getReceivedAt() { return receivedAt; }
+    }
+}
@@ -0,0 +1,38 @@
+package com.decentralized.gaming.platform.service.blockchain;
+
+import org.web3j.protocol.core.methods.response.Log;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 日志拉取服务接口
+ * 将 eth_getLogs 区间切分为自适应大小的分片并行拉取，结果按 (区块号, 日志序号) 顺序返回
+ *
+ * @author DecentralizedGamingPlatform
+ */
+public interface LogFetchService {
+
+    /**
+     * 流式拉取日志
+     *
+     * @param addresses 合约地址列表，为空表示不限合约
+     * @param topics 各位置的主题条件，null或空列表表示该位置不限，多个值表示任一匹配
+     * @param fromBlock 起始区块（包含）
+     * @param toBlock 结束区块（包含）
+     * @param handler 日志处理函数，按 (区块号, 日志序号) 升序调用，返回false时停止拉取
+     */
+    void fetchLogs(List<String> addresses, List<List<String>> topics, long fromBlock, long toBlock,
+                   Predicate<Log> handler);
+
+    /**
+     * 拉取日志到列表
+     *
+     * @param addresses 合约地址列表，为空表示不限合约
+     * @param topics 各位置的主题条件，null或空列表表示该位置不限，多个值表示任一匹配
+     * @param fromBlock 起始区块（包含）
+     * @param toBlock 结束区块（包含）
+     * @return 按 (区块号, 日志序号) 排序的日志列表
+     */
+    List<Log> fetchLogs(List<String> addresses, List<List<String>> topics, long fromBlock, long toBlock);
+}
@@ -0,0 +1,52 @@
+package com.decentralized.gaming.platform.service.blockchain;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+/**
+ * 交易nonce管理服务接口
+ * 每个签名地址在本地分配nonce，首次使用或失效后从 eth_getTransactionCount(pending) 同步，
+ * 使同一签名者可以连续发送多笔交易而无需等待上一笔上链
+ *
+ * @author DecentralizedGamingPlatform
+ */
+public interface NonceManagerService {
+
+    /**
+     * 分配下一个nonce；调用方应在同一签名者的发送锁内调用，保证分配与广播顺序一致
+     *
+     * @param address 签名地址
+     * @return nonce
+     */
+    BigInteger allocate(String address);
+
+    /**
+     * 归还未被节点接受的nonce（签名或广播被拒绝）；只有最后分配的nonce可直接回退，否则标记为需要重新同步
+     *
+     * @param address 签名地址
+     * @param nonce 归还的nonce
+     */
+    void release(String address, BigInteger nonce);
+
+    /**
+     * 标记本地nonce失效，下次分配时重新从节点同步（nonce过低、广播结果未知、发现缺口等）
+     *
+     * @param address 签名地址
+     */
+    void invalidate(String address);
+
+    /**
+     * 查询节点上已上链的nonce（eth_getTransactionCount(latest)）
+     *
+     * @param address 签名地址
+     * @return 已上链交易数
+     */
+    BigInteger getConfirmedNonce(String address);
+
+    /**
+     * 获取各签名地址的nonce状态
+     *
+     * @return 地址 -> 下一个nonce、是否已同步、同步次数
+     */
+    Map<String, Object> getStatus();
+}
@@ -145,6 +145,7 @@ public interface PlatformTokenService {
 
     /**
      * 异步转账
+     * 广播完成后立即返回，交易上链后完成；同一签名者的多笔转账可在同一区块内上链
      *
      * @param credentials 发送者凭证
      * @param to 接收者地址
@@ -0,0 +1,51 @@
+package com.decentralized.gaming.platform.service.blockchain;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 请求合并服务接口
+ * 相同键（方法名+参数）的并发只读请求共享同一次RPC调用；热点读取可在过期前由后台提前刷新
+ *
+ * @author DecentralizedGamingPlatform
+ */
+public interface RequestCoalescingService {
+
+    /**
+     * 合并并发的相同请求：同一时刻只有一个调用方执行加载，其余调用方等待并共享其结果或异常
+     *
+     * @param key 请求键，建议格式 方法名:参数
+     * @param loader 加载函数
+     * @return 加载结果
+     */
+    <T> T execute(String key, Supplier<T> loader);
+
+    /**
+     * 合并请求并缓存结果：有效期内直接返回，超过刷新阈值后由后台提前刷新，过期后同步加载（仍合并并发请求）
+     *
+     * @param key 请求键，建议格式 方法名:参数
+     * @param ttlMillis 结果有效期（毫秒）
+     * @param loader 加载函数
+     * @return 缓存或加载的结果
+     */
+    <T> T executeWithRefresh(String key, long ttlMillis, Supplier<T> loader);
+
+    /**
+     * 移除指定键的缓存结果
+     *
+     * @param key 请求键
+     */
+    void invalidate(String key);
+
+    /**
+     * 移除所有缓存结果
+     */
+    void invalidateAll();
+
+    /**
+     * 获取统计信息
+     *
+     * @return 加载次数、合并次数、后台刷新次数、缓存条目数等
+     */
+    Map<String, Object> getStats();
+}
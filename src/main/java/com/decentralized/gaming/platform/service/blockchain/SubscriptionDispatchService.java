@@ -0,0 +1,95 @@
+package com.decentralized.gaming.platform.service.blockchain;
+
+import com.decentralized.gaming.platform.entity.ChainEvent;
+import com.decentralized.gaming.platform.entity.EventSubscription;
+import org.web3j.protocol.core.methods.response.Log;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 订阅事件分发服务接口
+ * 将监听到的合约事件按 (合约地址, 事件签名) 匹配到活跃订阅，并按订阅维护投递位置
+ *
+ * @author DecentralizedGamingPlatform
+ */
+public interface SubscriptionDispatchService {
+
+    /**
+     * 分发一条事件日志到匹配的活跃订阅（不阻塞调用线程）
+     *
+     * @param eventLog 事件日志
+     */
+    void publish(Log eventLog);
+
+    /**
+     * 注册或刷新订阅；ACTIVE 状态的订阅加入匹配索引
+     *
+     * @param subscription 订阅记录
+     */
+    void register(EventSubscription subscription);
+
+    /**
+     * 暂停订阅：移出匹配索引，保留投递位置
+     *
+     * @param subscriptionId 订阅ID
+     */
+    void pause(String subscriptionId);
+
+    /**
+     * 恢复订阅：从保留的投递位置继续投递，暂停期间的事件从事件存储补齐
+     *
+     * @param subscriptionId 订阅ID
+     */
+    void resume(String subscriptionId);
+
+    /**
+     * 注销订阅
+     *
+     * @param subscriptionId 订阅ID
+     */
+    void unregister(String subscriptionId);
+
+    /**
+     * 拉取订阅的下一批事件；发起拉取即确认上一批已送达，已确认位置才会写库
+     *
+     * @param subscriptionId 订阅ID
+     * @param maxEvents 最大数量
+     * @return 按 (区块号, 日志序号) 升序的事件列表
+     */
+    List<ChainEvent> pollEvents(String subscriptionId, int maxEvents);
+
+    /**
+     * 确认订阅事件已处理到指定位置，重启后从该位置之后重新投递
+     *
+     * @param subscriptionId 订阅ID
+     * @param blockNumber 区块号
+     * @param logIndex 日志序号
+     * @return 位置是否被推进（位置不在已确认与已投递之间时不推进）
+     */
+    boolean acknowledge(String subscriptionId, long blockNumber, int logIndex);
+
+    /**
+     * 获取未取消订阅涉及的合约地址，事件轮询据此拉取这些合约的日志
+     *
+     * @return 小写合约地址集合
+     */
+    Set<String> getSubscribedContracts();
+
+    /**
+     * 累加订阅事件计数，由后台任务合并后批量写入数据库
+     *
+     * @param subscriptionId 订阅ID
+     * @param count 增量
+     * @return 订阅是否存在
+     */
+    boolean recordEvents(String subscriptionId, long count);
+
+    /**
+     * 获取分发状态：索引规模、各订阅缓冲深度与投递位置
+     *
+     * @return 状态信息
+     */
+    Map<String, Object> getDispatchStatus();
+}
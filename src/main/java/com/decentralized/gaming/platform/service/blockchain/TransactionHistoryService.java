@@ -1,5 +1,7 @@
 package com.decentralized.gaming.platform.service.blockchain;
 
+import com.decentralized.gaming.platform.common.PageResult;
+import com.decentralized.gaming.platform.entity.ChainTransaction;
 import org.web3j.protocol.core.methods.response.Transaction;
 
 import java.util.List;
@@ -48,4 +50,24 @@ public interface TransactionHistoryService {
      * @return 交易列表
      */
     List<Transaction> getNFTTransactionHistory(String nftContract, String tokenId);
+
+    /**
+     * 从本地索引分页查询地址交易历史（按区块倒序）
+     *
+     * @param address 地址
+     * @param page 页码
+     * @param size 每页大小
+     * @return 分页交易列表
+     */
+    PageResult<ChainTransaction> getIndexedAddressTransactions(String address, int page, int size);
+
+    /**
+     * 从本地索引查询地址与合约的交互历史（按区块倒序）
+     *
+     * @param address 地址
+     * @param contractAddress 合约地址
+     * @param limit 限制数量
+     * @return 交易列表
+     */
+    List<ChainTransaction> getIndexedContractInteractions(String address, String contractAddress, int limit);
 }
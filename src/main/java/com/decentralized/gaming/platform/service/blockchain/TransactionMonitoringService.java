@@ -2,6 +2,7 @@ package com.decentralized.gaming.platform.service.blockchain;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 交易监控服务接口
@@ -19,6 +20,26 @@ public interface TransactionMonitoringService {
      */
     void startMonitoring(String transactionHash, MonitoringCallback callback);
 
+    /**
+     * 开始监控交易，达到指定确认数后回调
+     *
+     * @param transactionHash 交易哈希
+     * @param requiredConfirmations 需要的确认数（交易所在区块计为1）
+     * @param callback 回调函数
+     */
+    void startMonitoring(String transactionHash, int requiredConfirmations, MonitoringCallback callback);
+
+    /**
+     * 异步等待交易达到指定确认数，等待期间不占用线程
+     *
+     * @param transactionHash 交易哈希
+     * @param requiredConfirmations 需要的确认数（交易所在区块计为1）
+     * @param timeoutMillis 最长等待时间（毫秒）
+     * @return 确认、失败或超时时完成，结果包含 txHash、blockNumber、confirmations、isConfirmed、status 等
+     */
+    CompletableFuture<Map<String, Object>> awaitConfirmation(String transactionHash, int requiredConfirmations,
+                                                              long timeoutMillis);
+
     /**
      * 停止监控交易
      *
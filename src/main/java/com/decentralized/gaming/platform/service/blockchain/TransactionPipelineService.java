@@ -0,0 +1,87 @@
+package com.decentralized.gaming.platform.service.blockchain;
+
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.tx.TransactionManager;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 交易提交流水线服务接口
+ * 同一签名者的交易使用本地分配的nonce连续签名、广播，不等待上一笔上链；
+ * 收据由共享的交易跟踪器交付，长时间未上链的交易自动提价替换，nonce缺口自动填补
+ *
+ * @author DecentralizedGamingPlatform
+ */
+public interface TransactionPipelineService {
+
+    /**
+     * 获取签名者的交易管理器，用于 Contract.load；send() 仍返回收据，但同一签名者的并发调用可在同一区块内上链
+     *
+     * @param credentials 签名者凭证
+     * @return 交易管理器
+     */
+    TransactionManager getTransactionManager(Credentials credentials);
+
+    /**
+     * 签名并广播一笔交易，广播成功后立即返回，不等待收据
+     *
+     * @param credentials 签名者凭证
+     * @param to 目标合约地址
+     * @param data 调用数据
+     * @param value 转账金额(wei)，可为null
+     * @param gasLimit Gas上限，为null时按调用数据估算
+     * @return 已广播的交易
+     */
+    Submission submit(Credentials credentials, String to, String data, BigInteger value, BigInteger gasLimit);
+
+    /**
+     * 按指定费用档位签名并广播一笔交易
+     *
+     * @param credentials 签名者凭证
+     * @param to 目标合约地址
+     * @param data 调用数据
+     * @param value 转账金额(wei)，可为null
+     * @param gasLimit Gas上限，为null时按调用数据估算
+     * @param tier 费用档位
+     * @return 已广播的交易
+     */
+    Submission submit(Credentials credentials, String to, String data, BigInteger value, BigInteger gasLimit,
+                      FeeOracleService.FeeTier tier);
+
+    /**
+     * 等待交易收据；交易被替换时返回实际上链交易的收据
+     *
+     * @param txHash 交易哈希
+     * @return 收据
+     */
+    CompletableFuture<TransactionReceipt> awaitReceipt(String txHash);
+
+    /**
+     * 获取流水线状态
+     *
+     * @return 各签名者待确认交易数、替换次数、缺口填补次数等
+     */
+    Map<String, Object> getStatus();
+
+    /**
+     * 已广播的交易
+     */
+    class Submission {
+        private final String txHash;
+        private final BigInteger nonce;
+        private final CompletableFuture<TransactionReceipt> receipt;
+
+        public Submission(String txHash, BigInteger nonce, CompletableFuture<TransactionReceipt> receipt) {
+            this.txHash = txHash;
+            this.nonce = nonce;
+            this.receipt = receipt;
+        }
+
+        public String getTxHash() { return txHash; }
+        public BigInteger getNonce() { return nonce; }
+        public CompletableFuture<TransactionReceipt> getReceipt() { return receipt; }
+    }
+}
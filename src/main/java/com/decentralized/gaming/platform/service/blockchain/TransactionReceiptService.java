@@ -0,0 +1,39 @@
+package com.decentralized.gaming.platform.service.blockchain;
+
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 交易收据服务接口
+ * 批量查询交易收据：去重后按JSON-RPC批量请求拉取，已达到最终确认深度的收据不会再变化，缓存后直接返回
+ *
+ * @author DecentralizedGamingPlatform
+ */
+public interface TransactionReceiptService {
+
+    /**
+     * 批量获取交易收据
+     *
+     * @param txHashes 交易哈希集合，可包含重复值与大小写差异
+     * @return 小写交易哈希 -> 收据，未上链的交易不在结果中
+     * @throws IllegalArgumentException 去重后的哈希数超过单次上限
+     */
+    Map<String, TransactionReceipt> getReceipts(Collection<String> txHashes);
+
+    /**
+     * 判断收据所在区块是否已达到最终确认深度
+     *
+     * @param receipt 交易收据
+     * @return 是否已最终确认
+     */
+    boolean isFinalized(TransactionReceipt receipt);
+
+    /**
+     * 获取收据缓存统计
+     *
+     * @return 缓存大小、命中数、未命中数、RPC拉取数等
+     */
+    Map<String, Object> getCacheStats();
+}
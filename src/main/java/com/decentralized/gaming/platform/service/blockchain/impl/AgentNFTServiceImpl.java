@@ -3,16 +3,21 @@ package com.decentralized.gaming.platform.service.blockchain.impl;
 import com.decentralized.gaming.platform.contracts.AgentNFT;
 import com.decentralized.gaming.platform.exception.BlockchainException;
 import com.decentralized.gaming.platform.service.blockchain.AgentNFTService;
+import com.decentralized.gaming.platform.service.blockchain.BlockchainCacheService;
 import com.decentralized.gaming.platform.service.blockchain.BlockchainService;
+import com.decentralized.gaming.platform.service.blockchain.ContractHandleRegistry;
+import com.decentralized.gaming.platform.service.blockchain.RequestCoalescingService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.web3j.crypto.Credentials;
+import org.web3j.protocol.core.RemoteFunctionCall;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.tx.gas.ContractGasProvider;
 
 import java.math.BigInteger;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * 智能体NFT服务实现类
@@ -33,13 +38,22 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     @Autowired
     private ContractGasProvider gasProvider;
 
+    @Autowired
+    private ContractHandleRegistry contractHandleRegistry;
+
+    @Autowired
+    private BlockchainCacheService cacheService;
+
     @Autowired
     private org.web3j.protocol.Web3j web3j;
 
+    @Autowired
+    private RequestCoalescingService coalescingService;
+
     @Override
     public String getName() {
         try {
-            return agentNftContract.name().send();
+            return call(agentNftContract.name(), "name");
         } catch (Exception e) {
             log.error("获取NFT名称失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "getName", "获取NFT名称失败", e);
@@ -49,7 +63,7 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     @Override
     public String getSymbol() {
         try {
-            return agentNftContract.symbol().send();
+            return call(agentNftContract.symbol(), "symbol");
         } catch (Exception e) {
             log.error("获取NFT符号失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "getSymbol", "获取NFT符号失败", e);
@@ -59,7 +73,13 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     @Override
     public String getOwnerOf(BigInteger tokenId) {
         try {
-            return agentNftContract.ownerOf(tokenId).send();
+            String contractAddress = agentNftContract.getContractAddress();
+            String owner = cacheService.getCachedTokenCall(contractAddress, "ownerOf", tokenId);
+            if (owner == null) {
+                owner = call(agentNftContract.ownerOf(tokenId), "ownerOf", tokenId);
+                cacheService.cacheTokenCall(contractAddress, "ownerOf", tokenId, owner);
+            }
+            return owner;
         } catch (Exception e) {
             log.error("获取NFT拥有者失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "getOwner", "获取NFT拥有者失败", e);
@@ -69,7 +89,7 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     @Override
     public BigInteger getBalanceOf(String address) {
         try {
-            return agentNftContract.balanceOf(address).send();
+            return call(agentNftContract.balanceOf(address), "balanceOf", address);
         } catch (Exception e) {
             log.error("获取账户NFT余额失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "balanceOf", "获取账户NFT余额失败", e);
@@ -79,7 +99,13 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     @Override
     public String getTokenURI(BigInteger tokenId) {
         try {
-            return agentNftContract.tokenURI(tokenId).send();
+            String contractAddress = agentNftContract.getContractAddress();
+            String tokenURI = cacheService.getCachedTokenCall(contractAddress, "tokenURI", tokenId);
+            if (tokenURI == null) {
+                tokenURI = call(agentNftContract.tokenURI(tokenId), "tokenURI", tokenId);
+                cacheService.cacheTokenCall(contractAddress, "tokenURI", tokenId, tokenURI);
+            }
+            return tokenURI;
         } catch (Exception e) {
             log.error("获取代币URI失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "tokenURI", "获取代币URI失败", e);
@@ -89,7 +115,7 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     @Override
     public String getApproved(BigInteger tokenId) {
         try {
-            return agentNftContract.getApproved(tokenId).send();
+            return call(agentNftContract.getApproved(tokenId), "getApproved", tokenId);
         } catch (Exception e) {
             log.error("获取授权地址失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "getApproved", "获取授权地址失败", e);
@@ -99,7 +125,7 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     @Override
     public boolean isApprovedForAll(String owner, String operator) {
         try {
-            return agentNftContract.isApprovedForAll(owner, operator).send();
+            return call(agentNftContract.isApprovedForAll(owner, operator), "isApprovedForAll", owner, operator);
         } catch (Exception e) {
             log.error("检查授权状态失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "isApprovedForAll", "检查授权状态失败", e);
@@ -110,12 +136,7 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     public TransactionReceipt createAgent(Credentials credentials, String agentName, String agentDescription, 
                                         String agentImageUrl, String agentUrl, BigInteger uploadFee) {
         try {
-            AgentNFT contract = AgentNFT.load(
-                agentNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            AgentNFT contract = contractHandleRegistry.get(AgentNFT.class, agentNftContract.getContractAddress(), credentials, AgentNFT::load);
             
             TransactionReceipt receipt = contract.createAgent(
                 agentName, agentDescription, "AI_AGENT", agentImageUrl, agentUrl, uploadFee, ""
@@ -133,12 +154,7 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     @Override
     public TransactionReceipt approve(Credentials credentials, String to, BigInteger tokenId) {
         try {
-            AgentNFT contract = AgentNFT.load(
-                agentNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            AgentNFT contract = contractHandleRegistry.get(AgentNFT.class, agentNftContract.getContractAddress(), credentials, AgentNFT::load);
             
             TransactionReceipt receipt = contract.approve(to, tokenId).send();
             log.info("授权NFT成功: 代币ID: {}, 被授权者: {}, 交易哈希: {}", 
@@ -153,12 +169,7 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     @Override
     public TransactionReceipt setApprovalForAll(Credentials credentials, String operator, boolean approved) {
         try {
-            AgentNFT contract = AgentNFT.load(
-                agentNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            AgentNFT contract = contractHandleRegistry.get(AgentNFT.class, agentNftContract.getContractAddress(), credentials, AgentNFT::load);
             
             TransactionReceipt receipt = contract.setApprovalForAll(operator, approved).send();
             log.info("设置操作者授权成功: 操作者: {}, 授权状态: {}, 交易哈希: {}", 
@@ -173,12 +184,7 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     @Override
     public TransactionReceipt transferFrom(Credentials credentials, String from, String to, BigInteger tokenId) {
         try {
-            AgentNFT contract = AgentNFT.load(
-                agentNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            AgentNFT contract = contractHandleRegistry.get(AgentNFT.class, agentNftContract.getContractAddress(), credentials, AgentNFT::load);
             
             TransactionReceipt receipt = contract.transferFrom(from, to, tokenId).send();
             log.info("转移NFT成功: 代币ID: {}, {} -> {}, 交易哈希: {}", 
@@ -194,12 +200,7 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     public TransactionReceipt safeTransferFrom(Credentials credentials, String from, String to, 
                                              BigInteger tokenId, byte[] data) {
         try {
-            AgentNFT contract = AgentNFT.load(
-                agentNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            AgentNFT contract = contractHandleRegistry.get(AgentNFT.class, agentNftContract.getContractAddress(), credentials, AgentNFT::load);
             
             TransactionReceipt receipt = contract.safeTransferFrom(from, to, tokenId, data).send();
             log.info("安全转移NFT成功: 代币ID: {}, {} -> {}, 交易哈希: {}", 
@@ -215,12 +216,7 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     public TransactionReceipt adminMintAgent(Credentials credentials, String to, String agentName, String agentDescription, 
                                             String agentImageUrl, String agentUrl) {
         try {
-            AgentNFT contract = AgentNFT.load(
-                agentNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            AgentNFT contract = contractHandleRegistry.get(AgentNFT.class, agentNftContract.getContractAddress(), credentials, AgentNFT::load);
             
             TransactionReceipt receipt = contract.adminMintAgent(to, agentName, agentDescription, "AI_AGENT", agentImageUrl, agentUrl, BigInteger.ZERO, "").send();
             log.info("管理员铸造智能体NFT成功: 接收者: {}, 交易哈希: {}", 
@@ -235,12 +231,7 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     @Override
     public TransactionReceipt setUploadFee(Credentials credentials, BigInteger newUploadFee) {
         try {
-            AgentNFT contract = AgentNFT.load(
-                agentNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            AgentNFT contract = contractHandleRegistry.get(AgentNFT.class, agentNftContract.getContractAddress(), credentials, AgentNFT::load);
             
             TransactionReceipt receipt = contract.setUploadFee(newUploadFee).send();
             log.info("设置上传费用成功: 新费用: {}, 交易哈希: {}", 
@@ -255,12 +246,7 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     @Override
     public TransactionReceipt setFeeRecipient(Credentials credentials, String newFeeRecipient) {
         try {
-            AgentNFT contract = AgentNFT.load(
-                agentNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            AgentNFT contract = contractHandleRegistry.get(AgentNFT.class, agentNftContract.getContractAddress(), credentials, AgentNFT::load);
             
             TransactionReceipt receipt = contract.setFeeRecipient(newFeeRecipient).send();
             log.info("设置费用接收者成功: 新接收者: {}, 交易哈希: {}", 
@@ -275,12 +261,7 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     @Override
     public TransactionReceipt setPlatformToken(Credentials credentials, String newPlatformToken) {
         try {
-            AgentNFT contract = AgentNFT.load(
-                agentNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            AgentNFT contract = contractHandleRegistry.get(AgentNFT.class, agentNftContract.getContractAddress(), credentials, AgentNFT::load);
             
             TransactionReceipt receipt = contract.setPlatformToken(newPlatformToken).send();
             log.info("设置平台代币成功: 新代币地址: {}, 交易哈希: {}", 
@@ -295,12 +276,7 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     @Override
     public TransactionReceipt transferOwnership(Credentials credentials, String newOwner) {
         try {
-            AgentNFT contract = AgentNFT.load(
-                agentNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            AgentNFT contract = contractHandleRegistry.get(AgentNFT.class, agentNftContract.getContractAddress(), credentials, AgentNFT::load);
             
             TransactionReceipt receipt = contract.transferOwnership(newOwner).send();
             log.info("转移所有权成功: {} -> {}, 交易哈希: {}", 
@@ -315,12 +291,7 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     @Override
     public TransactionReceipt renounceOwnership(Credentials credentials) {
         try {
-            AgentNFT contract = AgentNFT.load(
-                agentNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            AgentNFT contract = contractHandleRegistry.get(AgentNFT.class, agentNftContract.getContractAddress(), credentials, AgentNFT::load);
             
             TransactionReceipt receipt = contract.renounceOwnership().send();
             log.info("放弃所有权成功: 操作者: {}, 交易哈希: {}", 
@@ -335,7 +306,7 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     @Override
     public String getOwner() {
         try {
-            return agentNftContract.owner().send();
+            return call(agentNftContract.owner(), "owner");
         } catch (Exception e) {
             log.error("获取合约拥有者失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "owner", "获取合约拥有者失败", e);
@@ -345,7 +316,7 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     @Override
     public BigInteger getUploadFee() {
         try {
-            return agentNftContract.uploadFee().send();
+            return call(agentNftContract.uploadFee(), "uploadFee");
         } catch (Exception e) {
             log.error("获取上传费用失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "uploadFee", "获取上传费用失败", e);
@@ -355,7 +326,7 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     @Override
     public String getFeeRecipient() {
         try {
-            return agentNftContract.feeRecipient().send();
+            return call(agentNftContract.feeRecipient(), "feeRecipient");
         } catch (Exception e) {
             log.error("获取费用接收者失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "feeRecipient", "获取费用接收者失败", e);
@@ -365,7 +336,7 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     @Override
     public String getPlatformToken() {
         try {
-            return agentNftContract.platformToken().send();
+            return call(agentNftContract.platformToken(), "platformToken");
         } catch (Exception e) {
             log.error("获取平台代币地址失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "platformToken", "获取平台代币地址失败", e);
@@ -399,4 +370,21 @@ public class AgentNFTServiceImpl implements AgentNFTService {
     public TransactionReceipt waitForTransactionReceipt(String transactionHash, int maxWaitTime) {
         return blockchainService.waitForTransactionReceipt(transactionHash, maxWaitTime);
     }
+
+    /**
+     * 只读合约调用：按 合约地址:方法:参数 合并并发的相同调用
+     */
+    private <T> T call(RemoteFunctionCall<T> function, String method, Object... params) {
+        StringBuilder key = new StringBuilder(agentNftContract.getContractAddress().toLowerCase()).append(':').append(method);
+        for (Object param : params) {
+            key.append(':').append(String.valueOf(param).toLowerCase());
+        }
+        return coalescingService.execute(key.toString(), () -> {
+            try {
+                return function.send();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
 }
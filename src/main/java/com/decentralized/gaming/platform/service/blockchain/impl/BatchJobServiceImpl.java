@@ -0,0 +1,734 @@
+package com.decentralized.gaming.platform.service.blockchain.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.decentralized.gaming.platform.config.BlockchainConfig;
+import com.decentralized.gaming.platform.contracts.AgentNFT;
+import com.decentralized.gaming.platform.contracts.GameNFT;
+import com.decentralized.gaming.platform.contracts.PlatformToken;
+import com.decentralized.gaming.platform.contracts.Rewards;
+import com.decentralized.gaming.platform.entity.BatchOperation;
+import com.decentralized.gaming.platform.entity.BatchOperationItem;
+import com.decentralized.gaming.platform.exception.BlockchainException;
+import com.decentralized.gaming.platform.mapper.BatchOperationItemMapper;
+import com.decentralized.gaming.platform.mapper.BatchOperationMapper;
+import com.decentralized.gaming.platform.service.blockchain.BatchJobService;
+import com.decentralized.gaming.platform.service.blockchain.BatchOperationService;
+import com.decentralized.gaming.platform.service.blockchain.ContractHandleRegistry;
+import com.decentralized.gaming.platform.service.blockchain.FeeOracleService.FeeTier;
+import com.decentralized.gaming.platform.service.blockchain.NonceManagerService;
+import com.decentralized.gaming.platform.service.blockchain.TransactionPipelineService;
+import com.decentralized.gaming.platform.service.blockchain.TransactionReceiptService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.encrypt.Encryptors;
+import org.springframework.security.crypto.keygen.KeyGenerators;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.WalletUtils;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.tx.Contract;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 批量操作任务引擎实现类
+ * 轮询线程在事务内用 FOR UPDATE SKIP LOCKED 领取工作项并写入租约，多实例之间互不阻塞；
+ * 每个操作类型有独立的提交线程池、在途上限与提交速率。交易广播后先记录交易哈希与nonce再等待收据，
+ * 租约过期被重新领取的工作项据此核对链上状态：只有nonce仍未被占用且交易已不在主节点交易池中时才重新发送
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+@Service
+public class BatchJobServiceImpl implements BatchJobService {
+
+    private static final int INSERT_CHUNK_SIZE = 500;
+    private static final String FEE_TIER_KEY = "feeTier";
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    @Autowired(required = false)
+    private Web3j web3j;
+
+    @Autowired(required = false)
+    private PlatformToken platformTokenContract;
+
+    @Autowired(required = false)
+    private GameNFT gameNftContract;
+
+    @Autowired(required = false)
+    private AgentNFT agentNftContract;
+
+    @Autowired(required = false)
+    private Rewards rewardsContract;
+
+    @Autowired
+    private TransactionPipelineService transactionPipelineService;
+
+    @Autowired
+    private NonceManagerService nonceManagerService;
+
+    @Autowired
+    private TransactionReceiptService transactionReceiptService;
+
+    @Autowired
+    private ContractHandleRegistry contractHandleRegistry;
+
+    @Autowired
+    private BatchOperationService batchOperationService;
+
+    @Autowired
+    private BatchOperationMapper batchOperationMapper;
+
+    @Autowired
+    private BatchOperationItemMapper batchOperationItemMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BlockchainConfig blockchainConfig;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 本实例标识，写入工作项的 locked_by
+     */
+    private final String workerId = "worker-" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+
+    private final Map<String, Encoder> encoders = new LinkedHashMap<>();
+    private final Map<String, TypeRunner> runners = new ConcurrentHashMap<>();
+
+    /**
+     * 批量操作ID -> 签名者凭证
+     */
+    private final Map<String, Credentials> signers = new ConcurrentHashMap<>();
+
+    /**
+     * 批量操作ID -> [成功增量, 失败增量]，按 progress-flush-ms 合并为一条UPDATE
+     */
+    private final Map<String, int[]> progressDeltas = new HashMap<>();
+
+    private final AtomicLong succeededCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong resumedCount = new AtomicLong();
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, r -> {
+        Thread thread = new Thread(r, "batch-job-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 将一条操作参数编码为合约调用
+     */
+    @FunctionalInterface
+    private interface Encoder {
+        Call encode(Credentials credentials, Map<String, Object> payload);
+    }
+
+    private record Call(String to, String data) {
+    }
+
+    /**
+     * 单个操作类型的执行器：提交线程池（队列容量为单次领取上限）、在途计数与平滑限速
+     */
+    private static final class TypeRunner {
+        private final String type;
+        private final BlockchainConfig.JobType config;
+        private final ThreadPoolExecutor pool;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final long intervalNanos;
+        private long nextSlot;
+
+        private TypeRunner(String type, BlockchainConfig.JobType config, int queueCapacity) {
+            this.type = type;
+            this.config = config;
+            int workers = Math.max(1, config.getWorkers());
+            AtomicInteger threadIndex = new AtomicInteger();
+            this.pool = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), r -> {
+                    Thread thread = new Thread(r, "batch-job-" + type.toLowerCase() + "-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            this.intervalNanos = config.getRatePerSecond() > 0 ? (long) (1_000_000_000L / config.getRatePerSecond()) : 0;
+            this.nextSlot = System.nanoTime();
+        }
+
+        /**
+         * 为本次提交预留一个时间槽，返回需等待的纳秒数
+         */
+        private synchronized long reserve() {
+            if (intervalNanos == 0) {
+                return 0;
+            }
+            long now = System.nanoTime();
+            long slot = now - nextSlot > 0 ? now : nextSlot;
+            nextSlot = slot + intervalNanos;
+            return slot - now;
+        }
+
+        private void acquire() throws InterruptedException {
+            long wait = reserve();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        encoders.put("TOKEN_TRANSFER", (credentials, payload) -> {
+            String address = require(platformTokenContract, "平台代币合约").getContractAddress();
+            PlatformToken contract = contractHandleRegistry.get(PlatformToken.class, address, credentials, PlatformToken::load);
+            return new Call(address, contract.transfer(address(payload, "to"), number(payload, "amount")).encodeFunctionCall());
+        });
+        encoders.put("TOKEN_APPROVE", (credentials, payload) -> {
+            String address = require(platformTokenContract, "平台代币合约").getContractAddress();
+            PlatformToken contract = contractHandleRegistry.get(PlatformToken.class, address, credentials, PlatformToken::load);
+            return new Call(address, contract.approve(address(payload, "spender"), number(payload, "amount")).encodeFunctionCall());
+        });
+        encoders.put("GAME_NFT_TRANSFER", (credentials, payload) -> {
+            String address = require(gameNftContract, "游戏NFT合约").getContractAddress();
+            GameNFT contract = contractHandleRegistry.get(GameNFT.class, address, credentials, GameNFT::load);
+            String from = payload.get("from") != null ? address(payload, "from") : credentials.getAddress();
+            return new Call(address, contract.transferFrom(from, address(payload, "to"), number(payload, "tokenId")).encodeFunctionCall());
+        });
+        encoders.put("AGENT_NFT_TRANSFER", (credentials, payload) -> {
+            String address = require(agentNftContract, "智能体NFT合约").getContractAddress();
+            AgentNFT contract = contractHandleRegistry.get(AgentNFT.class, address, credentials, AgentNFT::load);
+            String from = payload.get("from") != null ? address(payload, "from") : credentials.getAddress();
+            return new Call(address, contract.transferFrom(from, address(payload, "to"), number(payload, "tokenId")).encodeFunctionCall());
+        });
+        encoders.put("REWARD_ISSUE", (credentials, payload) -> {
+            String address = require(rewardsContract, "奖励合约").getContractAddress();
+            Rewards contract = contractHandleRegistry.get(Rewards.class, address, credentials, Rewards::load);
+            String reason = payload.get("reason") != null ? payload.get("reason").toString() : "Platform reward";
+            return new Call(address, contract.issueReward(address(payload, "to"), number(payload, "amount"), reason).encodeFunctionCall());
+        });
+
+        BlockchainConfig.BatchJob config = blockchainConfig.getBatchJob();
+        for (String type : encoders.keySet()) {
+            BlockchainConfig.JobType typeConfig = config.getTypes().getOrDefault(type, new BlockchainConfig.JobType());
+            runners.put(type, new TypeRunner(type, typeConfig, config.getClaimSize()));
+        }
+        if (!config.isEnabled()) {
+            log.warn("批量操作任务引擎已禁用，只接收提交不执行");
+            return;
+        }
+
+        scheduler.schedule(this::recoverBatches, 0, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::poll, config.getPollIntervalMs(), config.getPollIntervalMs(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::flushProgress, config.getProgressFlushMs(), config.getProgressFlushMs(), TimeUnit.MILLISECONDS);
+        log.info("批量操作任务引擎初始化完成，实例: {}, 操作类型: {}, 签名私钥持久化: {}",
+            workerId, encoders.keySet(), hasSecret());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        scheduler.shutdownNow();
+        runners.values().forEach(runner -> runner.pool.shutdownNow());
+        // 未结束的工作项保持执行中，租约到期后由任一实例接管
+        flushProgress();
+    }
+
+    @Override
+    public String submit(String operationType, Credentials credentials, List<Map<String, Object>> items, Long createdBy,
+                         FeeTier tier) {
+        Encoder encoder = encoders.get(operationType);
+        if (encoder == null) {
+            throw new IllegalArgumentException("不支持的批量操作类型: " + operationType);
+        }
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("批量操作列表为空");
+        }
+
+        List<String> payloads = new ArrayList<>(items.size());
+        try {
+            for (Map<String, Object> item : items) {
+                // 提交时先编码一次，参数错误直接拒绝而不是在执行时失败
+                encoder.encode(credentials, item);
+                Map<String, Object> payload = new LinkedHashMap<>(item);
+                payload.put(FEE_TIER_KEY, tier.name());
+                payloads.add(objectMapper.writeValueAsString(payload));
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("操作参数序列化失败: " + e.getMessage(), e);
+        }
+
+        Map<String, Object> details = new HashMap<>();
+        details.put("signer", credentials.getAddress());
+        details.put("itemCount", items.size());
+        details.put(FEE_TIER_KEY, tier.name());
+        String operationDetails;
+        try {
+            operationDetails = objectMapper.writeValueAsString(details);
+        } catch (IOException e) {
+            operationDetails = null;
+        }
+
+        final String detailsJson = operationDetails;
+        String[] created = new String[1];
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                String batchId = batchOperationService.createBatchOperation(operationType, items.size(), detailsJson, createdBy);
+                if (batchId == null) {
+                    throw new IllegalStateException("创建批量操作失败");
+                }
+                created[0] = batchId;
+                if (hasSecret()) {
+                    batchOperationMapper.update(null, new LambdaUpdateWrapper<BatchOperation>()
+                        .eq(BatchOperation::getBatchId, batchId)
+                        .set(BatchOperation::getSignerSecret, encryptSigner(credentials)));
+                }
+
+                List<BatchOperationItem> rows = new ArrayList<>(INSERT_CHUNK_SIZE);
+                for (int i = 0; i < payloads.size(); i++) {
+                    BatchOperationItem row = new BatchOperationItem();
+                    row.setBatchId(batchId);
+                    row.setItemIndex(i);
+                    row.setOperationType(operationType);
+                    row.setPayload(payloads.get(i));
+                    rows.add(row);
+                    if (rows.size() == INSERT_CHUNK_SIZE || i == payloads.size() - 1) {
+                        batchOperationItemMapper.insertBatch(rows);
+                        rows = new ArrayList<>(INSERT_CHUNK_SIZE);
+                    }
+                }
+                // 事务提交前放入凭证，轮询线程只能领取到已提交的工作项
+                signers.put(batchId, credentials);
+            });
+        } catch (RuntimeException e) {
+            if (created[0] != null) {
+                signers.remove(created[0]);
+            }
+            throw e;
+        }
+
+        log.info("提交批量操作: {}, 类型: {}, 条数: {}, 签名者: {}", created[0], operationType, items.size(), credentials.getAddress());
+        return created[0];
+    }
+
+    @Override
+    public boolean cancel(String batchId) {
+        boolean cancelled = batchOperationService.cancelBatchOperation(batchId);
+        if (cancelled) {
+            clearSigner(batchId);
+        }
+        return cancelled;
+    }
+
+    @Override
+    public Set<String> getSupportedTypes() {
+        return encoders.keySet();
+    }
+
+    @Override
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        Map<String, Object> types = new HashMap<>();
+        runners.forEach((type, runner) -> {
+            Map<String, Object> state = new HashMap<>();
+            state.put("workers", runner.pool.getMaximumPoolSize());
+            state.put("inFlight", runner.inFlight.get());
+            state.put("maxInFlight", runner.config.getMaxInFlight());
+            state.put("queued", runner.pool.getQueue().size());
+            state.put("ratePerSecond", runner.config.getRatePerSecond());
+            types.put(type, state);
+        });
+        status.put("workerId", workerId);
+        status.put("enabled", blockchainConfig.getBatchJob().isEnabled());
+        status.put("types", types);
+        status.put("cachedSigners", signers.size());
+        synchronized (progressDeltas) {
+            status.put("pendingProgressBatches", progressDeltas.size());
+        }
+        status.put("succeededCount", succeededCount.get());
+        status.put("failedCount", failedCount.get());
+        status.put("retryCount", retryCount.get());
+        status.put("resumedCount", resumedCount.get());
+        return status;
+    }
+
+    private void poll() {
+        for (TypeRunner runner : runners.values()) {
+            try {
+                claim(runner);
+            } catch (Exception e) {
+                log.warn("领取批量操作工作项失败，类型: {}, 错误: {}", runner.type, e.getMessage());
+            }
+        }
+    }
+
+    private void claim(TypeRunner runner) {
+        BlockchainConfig.BatchJob config = blockchainConfig.getBatchJob();
+        int capacity = Math.min(Math.min(config.getClaimSize(), runner.pool.getQueue().remainingCapacity()),
+            runner.config.getMaxInFlight() - runner.inFlight.get());
+        if (capacity <= 0) {
+            return;
+        }
+        long leaseSeconds = Math.max(1, config.getLeaseMs() / 1000);
+        List<Long> ids = transactionTemplate.execute(status -> {
+            List<Long> claimable = batchOperationItemMapper.selectClaimable(runner.type, capacity);
+            if (!claimable.isEmpty()) {
+                batchOperationItemMapper.markClaimed(claimable, workerId, leaseSeconds);
+            }
+            return claimable;
+        });
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+
+        for (BatchOperationItem item : batchOperationItemMapper.selectBatchIds(ids)) {
+            runner.inFlight.incrementAndGet();
+            try {
+                runner.pool.execute(() -> execute(runner, item));
+            } catch (RejectedExecutionException e) {
+                // 队列已满或正在停机：工作项保持执行中，租约到期后重新领取
+                runner.inFlight.decrementAndGet();
+                log.warn("提交线程池已满，工作项等待租约到期后重新领取: {}, 类型: {}", item.getId(), runner.type);
+            }
+        }
+        log.debug("领取批量操作工作项，类型: {}, 数量: {}", runner.type, ids.size());
+    }
+
+    private void execute(TypeRunner runner, BatchOperationItem item) {
+        Credentials credentials = resolveSigner(item.getBatchId());
+        if (credentials == null) {
+            finish(runner, item, "FAILED", null, "签名者凭证不可用，请配置 app.blockchain.batch-job.secret 以便重启后继续执行");
+            return;
+        }
+
+        CompletableFuture<TransactionReceipt> receipt;
+        try {
+            receipt = item.getTxHash() != null ? resume(item, credentials) : null;
+        } catch (BlockchainException e) {
+            // nonce已被占用但记录的交易没有收据，结果无法确认，重新发送可能重复执行
+            finish(runner, item, "FAILED", item.getTxHash(), e.getMessage());
+            return;
+        } catch (Exception e) {
+            retry(runner, item, item.getTxHash(), "核对已广播交易失败: " + e.getMessage());
+            return;
+        }
+
+        if (receipt == null) {
+            Call call;
+            FeeTier tier;
+            try {
+                Map<String, Object> payload = objectMapper.readValue(item.getPayload(), PAYLOAD_TYPE);
+                tier = FeeTier.parse(payload.get(FEE_TIER_KEY) != null ? payload.get(FEE_TIER_KEY).toString() : null);
+                call = encoders.get(item.getOperationType()).encode(credentials, payload);
+            } catch (IllegalArgumentException | IOException e) {
+                finish(runner, item, "FAILED", null, "操作参数无效: " + e.getMessage());
+                return;
+            }
+
+            TransactionPipelineService.Submission submission;
+            try {
+                runner.acquire();
+                submission = transactionPipelineService.submit(credentials, call.to(), call.data(), BigInteger.ZERO, null, tier);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                retry(runner, item, null, "提交被中断");
+                return;
+            } catch (Exception e) {
+                retry(runner, item, null, e.getMessage());
+                return;
+            }
+
+            item.setTxHash(submission.getTxHash());
+            item.setTxNonce(submission.getNonce() != null ? submission.getNonce().longValue() : null);
+            try {
+                // 先记录交易哈希与nonce再等待收据，宕机后重新领取时据此判断是否已广播
+                batchOperationItemMapper.markSubmitted(item.getId(), workerId, submission.getTxHash(), item.getTxNonce());
+            } catch (Exception e) {
+                log.warn("记录工作项交易哈希失败: {}, 交易: {}, 错误: {}", item.getId(), submission.getTxHash(), e.getMessage());
+            }
+            receipt = submission.getReceipt();
+        }
+
+        // 收据等待超时由交易流水线按 receipt-timeout-ms 控制
+        receipt.whenComplete((result, error) -> {
+            if (error == null) {
+                if (result.isStatusOK()) {
+                    finish(runner, item, "SUCCEEDED", result.getTransactionHash(), null);
+                } else {
+                    // 交易回滚是确定性失败，不再重试
+                    finish(runner, item, "FAILED", result.getTransactionHash(), "交易执行失败");
+                }
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            // 交易已广播，结果未知：保留哈希与nonce，下次执行先核对
+            retry(runner, item, item.getTxHash(), cause instanceof TimeoutException ? "等待交易收据超时" : cause.getMessage());
+        });
+    }
+
+    /**
+     * 重新领取的工作项已有交易哈希：已有收据或仍在主节点交易池中时继续等待；
+     * 只有签名者已上链nonce仍不超过记录的nonce（未被提价替换交易占用）且交易已不在交易池中时返回null重新发送。
+     * nonce与交易池均向主节点查询，避免落后的备用节点返回空结果
+     */
+    private CompletableFuture<TransactionReceipt> resume(BatchOperationItem item, Credentials credentials) throws IOException {
+        if (web3j == null) {
+            throw new IllegalStateException("Web3j实例未初始化");
+        }
+        TransactionReceipt found = transactionReceiptService.getReceipts(List.of(item.getTxHash()))
+            .get(item.getTxHash().toLowerCase());
+        if (found != null) {
+            resumedCount.incrementAndGet();
+            log.info("工作项的交易已上链: {}, 交易: {}", item.getId(), item.getTxHash());
+            return CompletableFuture.completedFuture(found);
+        }
+
+        if (item.getTxNonce() != null) {
+            BigInteger confirmed = nonceManagerService.getConfirmedNonce(credentials.getAddress());
+            if (confirmed.compareTo(BigInteger.valueOf(item.getTxNonce())) > 0) {
+                throw new BlockchainException(BlockchainException.ErrorCodes.TRANSACTION_FAILED, "batchJob",
+                    "nonce " + item.getTxNonce() + " 已上链但交易 " + item.getTxHash() + " 无收据（可能已被替换交易取代），不再重新发送，请人工核对");
+            }
+        }
+
+        if (web3j.ethGetTransactionByHash(item.getTxHash()).send().getTransaction().isEmpty()) {
+            log.info("工作项的交易已被丢弃，重新发送: {}, 交易: {}", item.getId(), item.getTxHash());
+            return null;
+        }
+        resumedCount.incrementAndGet();
+        log.info("工作项的交易已广播，继续等待收据: {}, 交易: {}", item.getId(), item.getTxHash());
+        return transactionPipelineService.awaitReceipt(item.getTxHash());
+    }
+
+    private void retry(TypeRunner runner, BatchOperationItem item, String txHash, String error) {
+        BlockchainConfig.BatchJob config = blockchainConfig.getBatchJob();
+        int attempts = item.getAttempts() != null ? item.getAttempts() : 1;
+        if (attempts >= config.getMaxAttempts()) {
+            finish(runner, item, "FAILED", txHash, error);
+            return;
+        }
+        try {
+            long delaySeconds = Math.max(1, config.getRetryDelayMs() * attempts / 1000);
+            batchOperationItemMapper.markRetry(item.getId(), workerId, txHash, txHash != null ? item.getTxNonce() : null,
+                error, delaySeconds);
+            retryCount.incrementAndGet();
+            log.warn("批量操作工作项将重试: {}, 批量操作: {}, 第{}次, 错误: {}", item.getId(), item.getBatchId(), attempts, error);
+        } catch (Exception e) {
+            log.error("更新工作项重试状态失败: {}", item.getId(), e);
+        } finally {
+            runner.inFlight.decrementAndGet();
+        }
+    }
+
+    private void finish(TypeRunner runner, BatchOperationItem item, String status, String txHash, String error) {
+        try {
+            int updated = batchOperationItemMapper.markFinished(item.getId(), workerId, status, txHash, error);
+            if (updated == 0) {
+                // 租约已过期并被重新领取，结果以接管的实例为准
+                log.warn("工作项已被其他实例接管，忽略本次结果: {}, 状态: {}", item.getId(), status);
+                return;
+            }
+            boolean succeeded = "SUCCEEDED".equals(status);
+            (succeeded ? succeededCount : failedCount).incrementAndGet();
+            synchronized (progressDeltas) {
+                progressDeltas.computeIfAbsent(item.getBatchId(), key -> new int[2])[succeeded ? 0 : 1]++;
+            }
+        } catch (Exception e) {
+            // 状态未写入时工作项保持执行中，租约到期后按交易哈希核对
+            log.error("更新工作项结束状态失败: {}", item.getId(), e);
+        } finally {
+            runner.inFlight.decrementAndGet();
+        }
+    }
+
+    private void flushProgress() {
+        Map<String, int[]> snapshot;
+        synchronized (progressDeltas) {
+            if (progressDeltas.isEmpty()) {
+                return;
+            }
+            snapshot = new HashMap<>(progressDeltas);
+            progressDeltas.clear();
+        }
+
+        List<BatchOperation> deltas = new ArrayList<>(snapshot.size());
+        snapshot.forEach((batchId, delta) -> {
+            BatchOperation operation = new BatchOperation();
+            operation.setBatchId(batchId);
+            operation.setCompletedOperations(delta[0]);
+            operation.setFailedOperations(delta[1]);
+            deltas.add(operation);
+        });
+        try {
+            batchOperationMapper.flushProgress(deltas);
+        } catch (Exception e) {
+            log.warn("写入批量操作进度失败，下次合并重试: {}", e.getMessage());
+            synchronized (progressDeltas) {
+                snapshot.forEach((batchId, delta) -> {
+                    int[] current = progressDeltas.computeIfAbsent(batchId, key -> new int[2]);
+                    current[0] += delta[0];
+                    current[1] += delta[1];
+                });
+            }
+            return;
+        }
+
+        for (String batchId : snapshot.keySet()) {
+            try {
+                finalizeIfDone(batchId);
+            } catch (Exception e) {
+                log.warn("结束批量操作失败: {}, 错误: {}", batchId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 启动时检查进行中的批量操作，处理宕机前工作项已全部结束但未收尾的批量操作
+     */
+    private void recoverBatches() {
+        try {
+            for (BatchOperation operation : batchOperationService.getActiveBatchOperations()) {
+                finalizeIfDone(operation.getBatchId());
+            }
+        } catch (Exception e) {
+            log.warn("恢复批量操作状态失败: {}", e.getMessage());
+        }
+    }
+
+    private void finalizeIfDone(String batchId) {
+        if (batchOperationItemMapper.countOpen(batchId) > 0) {
+            return;
+        }
+        long total = countItems(batchId, null);
+        if (total == 0) {
+            // 未使用任务引擎的批量操作
+            return;
+        }
+        BatchOperation operation = batchOperationMapper.selectById(batchId);
+        if (operation == null || !("PENDING".equals(operation.getStatus()) || "PROCESSING".equals(operation.getStatus()))) {
+            clearSigner(batchId);
+            return;
+        }
+
+        // 以工作项表的计数为准，覆盖宕机时未写入的进度增量
+        long succeeded = countItems(batchId, "SUCCEEDED");
+        long failed = countItems(batchId, "FAILED");
+        batchOperationService.updateBatchProgress(batchId, (int) succeeded, (int) failed);
+        if (succeeded == 0 && failed > 0) {
+            batchOperationService.failBatchOperation(batchId, "全部操作执行失败");
+        } else {
+            batchOperationService.completeBatchOperation(batchId);
+        }
+        clearSigner(batchId);
+        log.info("批量操作执行结束: {}, 成功: {}, 失败: {}", batchId, succeeded, failed);
+    }
+
+    private long countItems(String batchId, String status) {
+        LambdaQueryWrapper<BatchOperationItem> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.eq(BatchOperationItem::getBatchId, batchId)
+                    .eq(status != null, BatchOperationItem::getStatus, status);
+        return batchOperationItemMapper.selectCount(queryWrapper);
+    }
+
+    /**
+     * 优先使用内存中的凭证，重启后从 batch_operations.signer_secret 解密
+     */
+    private Credentials resolveSigner(String batchId) {
+        Credentials cached = signers.get(batchId);
+        if (cached != null || !hasSecret()) {
+            return cached;
+        }
+        try {
+            BatchOperation operation = batchOperationMapper.selectById(batchId);
+            if (operation == null || operation.getSignerSecret() == null) {
+                return null;
+            }
+            String[] parts = operation.getSignerSecret().split(":", 2);
+            String privateKey = Encryptors.delux(blockchainConfig.getBatchJob().getSecret(), parts[0]).decrypt(parts[1]);
+            Credentials credentials = Credentials.create(privateKey);
+            Credentials existing = signers.putIfAbsent(batchId, credentials);
+            return existing != null ? existing : credentials;
+        } catch (Exception e) {
+            log.error("解密批量操作签名私钥失败: {}, 错误: {}", batchId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 加密结果格式为 "盐:密文"
+     */
+    private String encryptSigner(Credentials credentials) {
+        String salt = KeyGenerators.string().generateKey();
+        String privateKey = credentials.getEcKeyPair().getPrivateKey().toString(16);
+        return salt + ":" + Encryptors.delux(blockchainConfig.getBatchJob().getSecret(), salt).encrypt(privateKey);
+    }
+
+    private void clearSigner(String batchId) {
+        signers.remove(batchId);
+        if (hasSecret()) {
+            batchOperationMapper.update(null, new LambdaUpdateWrapper<BatchOperation>()
+                .eq(BatchOperation::getBatchId, batchId)
+                .set(BatchOperation::getSignerSecret, null));
+        }
+    }
+
+    private boolean hasSecret() {
+        String secret = blockchainConfig.getBatchJob().getSecret();
+        return secret != null && !secret.isEmpty();
+    }
+
+    private static <T extends Contract> T require(T contract, String name) {
+        if (contract == null) {
+            throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_NOT_AVAILABLE, "batchJob", name + "不可用");
+        }
+        return contract;
+    }
+
+    private static String address(Map<String, Object> payload, String key) {
+        Object value = payload.get(key);
+        if (value == null || !WalletUtils.isValidAddress(value.toString())) {
+            throw new IllegalArgumentException("参数 " + key + " 不是有效地址: " + value);
+        }
+        return value.toString();
+    }
+
+    private static BigInteger number(Map<String, Object> payload, String key) {
+        Object value = payload.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("缺少参数: " + key);
+        }
+        try {
+            return new BigInteger(value.toString());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("参数 " + key + " 不是有效数值: " + value);
+        }
+    }
+}
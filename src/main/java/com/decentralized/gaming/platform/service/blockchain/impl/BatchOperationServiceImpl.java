@@ -3,6 +3,7 @@ package com.decentralized.gaming.platform.service.blockchain.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.decentralized.gaming.platform.entity.BatchOperation;
+import com.decentralized.gaming.platform.mapper.BatchOperationItemMapper;
 import com.decentralized.gaming.platform.mapper.BatchOperationMapper;
 import com.decentralized.gaming.platform.service.blockchain.BatchOperationService;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +28,9 @@ public class BatchOperationServiceImpl implements BatchOperationService {
     @Autowired
     private BatchOperationMapper batchOperationMapper;
 
+    @Autowired
+    private BatchOperationItemMapper batchOperationItemMapper;
+
     @Override
     @Transactional
     public String createBatchOperation(String operationType, Integer totalOperations, String operationDetails, Long createdBy) {
@@ -92,30 +96,18 @@ public class BatchOperationServiceImpl implements BatchOperationService {
     @Transactional
     public boolean updateBatchProgress(String batchId, Integer completedOperations, Integer failedOperations) {
         try {
-            // 获取当前批量操作信息
-            Optional<BatchOperation> optional = getBatchOperationById(batchId);
-            if (!optional.isPresent()) {
-                log.warn("批量操作不存在，批量操作ID: {}", batchId);
-                return false;
-            }
-
-            BatchOperation batchOperation = optional.get();
-            Integer totalOperations = batchOperation.getTotalOperations();
-            
-            // 计算进度
-            int progress = (int) Math.round((double) (completedOperations + failedOperations) / totalOperations * 100);
-            progress = Math.min(progress, 100); // 确保不超过100%
-
+            // 进度在SQL中按 total_operations 计算，单条UPDATE完成，无需先查询
+            int processed = completedOperations + failedOperations;
             LambdaUpdateWrapper<BatchOperation> updateWrapper = new LambdaUpdateWrapper<>();
             updateWrapper.eq(BatchOperation::getBatchId, batchId)
                         .set(BatchOperation::getCompletedOperations, completedOperations)
                         .set(BatchOperation::getFailedOperations, failedOperations)
-                        .set(BatchOperation::getProgress, progress)
+                        .setSql("progress = LEAST(100, ROUND(" + processed + " * 100 / GREATEST(total_operations, 1)))")
                         .set(BatchOperation::getUpdatedAt, LocalDateTime.now());
 
             int result = batchOperationMapper.update(null, updateWrapper);
             if (result > 0) {
-                log.debug("更新批量操作进度成功，批量操作ID: {}, 进度: {}%", batchId, progress);
+                log.debug("更新批量操作进度成功，批量操作ID: {}, 已处理: {}", batchId, processed);
                 return true;
             } else {
                 log.warn("更新批量操作进度失败，批量操作ID: {}", batchId);
@@ -189,7 +181,8 @@ public class BatchOperationServiceImpl implements BatchOperationService {
 
             int result = batchOperationMapper.update(null, updateWrapper);
             if (result > 0) {
-                log.info("取消批量操作成功，批量操作ID: {}", batchId);
+                int cancelledItems = batchOperationItemMapper.cancelPending(batchId);
+                log.info("取消批量操作成功，批量操作ID: {}, 取消工作项: {}", batchId, cancelledItems);
                 return true;
             } else {
                 log.warn("取消批量操作失败，批量操作ID: {}", batchId);
@@ -0,0 +1,318 @@
+package com.decentralized.gaming.platform.service.blockchain.impl;
+
+import com.decentralized.gaming.platform.contracts.AgentNFT;
+import com.decentralized.gaming.platform.contracts.BatchTransfer;
+import com.decentralized.gaming.platform.contracts.GameNFT;
+import com.decentralized.gaming.platform.contracts.PlatformToken;
+import com.decentralized.gaming.platform.contracts.Rewards;
+import com.decentralized.gaming.platform.exception.BlockchainException;
+import com.decentralized.gaming.platform.service.blockchain.BatchTransferService;
+import com.decentralized.gaming.platform.service.blockchain.ContractHandleRegistry;
+import com.decentralized.gaming.platform.service.blockchain.FeeOracleService.FeeTier;
+import com.decentralized.gaming.platform.service.blockchain.TransactionPipelineService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthEstimateGas;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量转账执行服务实现类
+ * 先用前 probe-size 条估算单条Gas，按 max-gas-per-tx 计算分片大小；每个分片广播前单独估算Gas并加上余量，
+ * 估算失败（如余额不足导致回滚）的分片不上链，直接记为失败
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+@Service
+public class BatchTransferServiceImpl implements BatchTransferService {
+
+    @Autowired(required = false)
+    private Web3j web3j;
+
+    @Autowired(required = false)
+    private PlatformToken platformTokenContract;
+
+    @Autowired(required = false)
+    private GameNFT gameNftContract;
+
+    @Autowired(required = false)
+    private AgentNFT agentNftContract;
+
+    @Autowired(required = false)
+    private Rewards rewardsContract;
+
+    @Autowired
+    private TransactionPipelineService transactionPipelineService;
+
+    @Autowired
+    private ContractHandleRegistry contractHandleRegistry;
+
+    @Value("${app.blockchain.contracts.batchTransfer:}")
+    private String helperAddress;
+
+    @Value("${app.blockchain.batch-transfer.max-gas-per-tx:8000000}")
+    private long maxGasPerTx;
+
+    @Value("${app.blockchain.batch-transfer.max-items-per-tx:500}")
+    private int maxItemsPerTx;
+
+    @Value("${app.blockchain.batch-transfer.probe-size:10}")
+    private int probeSize;
+
+    @Value("${app.blockchain.batch-transfer.gas-margin-percent:20}")
+    private int gasMarginPercent;
+
+    @Value("${app.blockchain.tx-pipeline.receipt-timeout-ms:600000}")
+    private long receiptTimeoutMs;
+
+    /**
+     * 按输入区间 [from, to) 编码一个分片的调用数据
+     */
+    @FunctionalInterface
+    private interface ChunkEncoder {
+        String encode(int from, int to);
+    }
+
+    @Override
+    public boolean isHelperAvailable() {
+        return helperAddress != null && !helperAddress.trim().isEmpty();
+    }
+
+    @Override
+    public List<ChunkResult> transferTokens(Credentials credentials, List<String> recipients, List<BigInteger> amounts,
+                                            FeeTier tier) {
+        checkLengths(recipients, amounts);
+        checkHelper();
+        if (platformTokenContract == null) {
+            throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_NOT_AVAILABLE, "batchTransferTokens", "平台代币合约不可用");
+        }
+        String token = platformTokenContract.getContractAddress();
+        BigInteger total = amounts.stream().reduce(BigInteger.ZERO, BigInteger::add);
+        try {
+            BigInteger allowance = platformTokenContract.allowance(credentials.getAddress(), helperAddress).send();
+            if (allowance.compareTo(total) < 0) {
+                log.info("批量转账授权额度不足，先授权辅助合约: {}, 额度: {}", credentials.getAddress(), total);
+                PlatformToken contract = contractHandleRegistry.get(PlatformToken.class, token, credentials, PlatformToken::load);
+                awaitSetup(credentials, token, contract.approve(helperAddress, total).encodeFunctionCall(),
+                    "batchTransferApprove", tier);
+            }
+        } catch (BlockchainException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "batchTransferTokens",
+                "检查授权额度失败: " + e.getMessage(), e);
+        }
+
+        BatchTransfer helper = contractHandleRegistry.get(BatchTransfer.class, helperAddress, credentials, BatchTransfer::load);
+        return execute("batchTransferTokens", credentials, helperAddress, recipients.size(), tier,
+            (from, to) -> helper.transferERC20(token, recipients.subList(from, to), amounts.subList(from, to)).encodeFunctionCall());
+    }
+
+    @Override
+    public List<ChunkResult> transferGameNfts(Credentials credentials, List<String> recipients, List<BigInteger> tokenIds,
+                                              FeeTier tier) {
+        checkLengths(recipients, tokenIds);
+        checkHelper();
+        if (gameNftContract == null) {
+            throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_NOT_AVAILABLE, "batchTransferGameNfts", "游戏NFT合约不可用");
+        }
+        String token = gameNftContract.getContractAddress();
+        try {
+            if (!Boolean.TRUE.equals(gameNftContract.isApprovedForAll(credentials.getAddress(), helperAddress).send())) {
+                GameNFT contract = contractHandleRegistry.get(GameNFT.class, token, credentials, GameNFT::load);
+                awaitSetup(credentials, token, contract.setApprovalForAll(helperAddress, true).encodeFunctionCall(),
+                    "batchTransferApproveAll", tier);
+            }
+        } catch (BlockchainException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "batchTransferGameNfts",
+                "检查NFT授权失败: " + e.getMessage(), e);
+        }
+        return transferNfts("batchTransferGameNfts", credentials, token, recipients, tokenIds, tier);
+    }
+
+    @Override
+    public List<ChunkResult> transferAgentNfts(Credentials credentials, List<String> recipients, List<BigInteger> tokenIds,
+                                               FeeTier tier) {
+        checkLengths(recipients, tokenIds);
+        checkHelper();
+        if (agentNftContract == null) {
+            throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_NOT_AVAILABLE, "batchTransferAgentNfts", "智能体NFT合约不可用");
+        }
+        String token = agentNftContract.getContractAddress();
+        try {
+            if (!Boolean.TRUE.equals(agentNftContract.isApprovedForAll(credentials.getAddress(), helperAddress).send())) {
+                AgentNFT contract = contractHandleRegistry.get(AgentNFT.class, token, credentials, AgentNFT::load);
+                awaitSetup(credentials, token, contract.setApprovalForAll(helperAddress, true).encodeFunctionCall(),
+                    "batchTransferApproveAll", tier);
+            }
+        } catch (BlockchainException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "batchTransferAgentNfts",
+                "检查NFT授权失败: " + e.getMessage(), e);
+        }
+        return transferNfts("batchTransferAgentNfts", credentials, token, recipients, tokenIds, tier);
+    }
+
+    @Override
+    public List<ChunkResult> issueRewards(Credentials credentials, List<String> recipients, List<BigInteger> amounts, String reason,
+                                          FeeTier tier) {
+        checkLengths(recipients, amounts);
+        if (rewardsContract == null) {
+            throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_NOT_AVAILABLE, "batchIssueRewards", "奖励合约不可用");
+        }
+        String rewardsAddress = rewardsContract.getContractAddress();
+        Rewards contract = contractHandleRegistry.get(Rewards.class, rewardsAddress, credentials, Rewards::load);
+        String batchReason = reason != null ? reason : "Batch platform reward";
+        return execute("batchIssueRewards", credentials, rewardsAddress, recipients.size(), tier,
+            (from, to) -> contract.batchIssue(recipients.subList(from, to), amounts.subList(from, to), batchReason).encodeFunctionCall());
+    }
+
+    private List<ChunkResult> transferNfts(String operation, Credentials credentials, String token,
+                                           List<String> recipients, List<BigInteger> tokenIds, FeeTier tier) {
+        BatchTransfer helper = contractHandleRegistry.get(BatchTransfer.class, helperAddress, credentials, BatchTransfer::load);
+        return execute(operation, credentials, helperAddress, recipients.size(), tier,
+            (from, to) -> helper.transferERC721(token, recipients.subList(from, to), tokenIds.subList(from, to)).encodeFunctionCall());
+    }
+
+    /**
+     * 按Gas估算分片，连续广播全部分片后统一等待收据
+     */
+    private List<ChunkResult> execute(String operation, Credentials credentials, String contractAddress, int size,
+                                      FeeTier tier, ChunkEncoder encoder) {
+        List<ChunkResult> results = new ArrayList<>();
+        if (size == 0) {
+            return results;
+        }
+
+        int chunkSize = chunkSize(operation, credentials, contractAddress, size, encoder);
+        List<int[]> ranges = new ArrayList<>();
+        List<TransactionPipelineService.Submission> submissions = new ArrayList<>();
+        for (int from = 0; from < size; from += chunkSize) {
+            int to = Math.min(size, from + chunkSize);
+            ranges.add(new int[]{from, to});
+            try {
+                String data = encoder.encode(from, to);
+                BigInteger gas = estimateGas(operation, credentials, contractAddress, data);
+                BigInteger gasLimit = gas.multiply(BigInteger.valueOf(100L + gasMarginPercent)).divide(BigInteger.valueOf(100));
+                submissions.add(transactionPipelineService.submit(credentials, contractAddress, data, BigInteger.ZERO,
+                    gasLimit, tier));
+                results.add(null);
+            } catch (Exception e) {
+                log.warn("批量交易分片提交失败: {}, 区间: [{}, {}), 错误: {}", operation, from, to, e.getMessage());
+                submissions.add(null);
+                results.add(new ChunkResult(from, to, null, false, null, e.getMessage()));
+            }
+        }
+
+        for (int i = 0; i < ranges.size(); i++) {
+            if (results.get(i) == null) {
+                int[] range = ranges.get(i);
+                results.set(i, awaitChunk(operation, range[0], range[1], submissions.get(i)));
+            }
+        }
+
+        long succeeded = results.stream().filter(ChunkResult::isSuccess).count();
+        log.info("批量交易完成: {}, 条数: {}, 分片大小: {}, 交易数: {}, 成功交易数: {}",
+            operation, size, chunkSize, results.size(), succeeded);
+        return results;
+    }
+
+    private ChunkResult awaitChunk(String operation, int from, int to, TransactionPipelineService.Submission submission) {
+        try {
+            TransactionReceipt receipt = submission.getReceipt().get(receiptTimeoutMs, TimeUnit.MILLISECONDS);
+            if (receipt.isStatusOK()) {
+                return new ChunkResult(from, to, receipt.getTransactionHash(), true, receipt.getGasUsed(), null);
+            }
+            return new ChunkResult(from, to, receipt.getTransactionHash(), false, receipt.getGasUsed(), "交易执行失败");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ChunkResult(from, to, submission.getTxHash(), false, null, "等待交易收据被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.warn("批量交易分片失败: {}, 区间: [{}, {}), 错误: {}", operation, from, to, cause.getMessage());
+            return new ChunkResult(from, to, submission.getTxHash(), false, null, cause.getMessage());
+        } catch (Exception e) {
+            return new ChunkResult(from, to, submission.getTxHash(), false, null, "等待交易收据超时");
+        }
+    }
+
+    /**
+     * 探测分片的估算值包含交易基础开销，按条均摊后偏大，得到的分片大小偏保守
+     */
+    private int chunkSize(String operation, Credentials credentials, String contractAddress, int size, ChunkEncoder encoder) {
+        int probe = Math.min(size, Math.max(1, probeSize));
+        long perItem;
+        try {
+            BigInteger probeGas = estimateGas(operation, credentials, contractAddress, encoder.encode(0, probe));
+            perItem = Math.max(1, probeGas.longValue() / probe);
+        } catch (BlockchainException e) {
+            // 探测失败时使用最小分片，单个分片的失败不影响其他分片
+            log.warn("批量交易Gas探测失败，使用单条分片: {}, 错误: {}", operation, e.getMessage());
+            return 1;
+        }
+        long fit = maxGasPerTx * 100 / (100L + gasMarginPercent) / perItem;
+        return (int) Math.max(1, Math.min(maxItemsPerTx, fit));
+    }
+
+    private BigInteger estimateGas(String operation, Credentials credentials, String contractAddress, String data) {
+        if (web3j == null) {
+            throw new IllegalStateException("Web3j实例未初始化");
+        }
+        try {
+            EthEstimateGas response = web3j.ethEstimateGas(Transaction.createFunctionCallTransaction(
+                credentials.getAddress(), null, null, null, contractAddress, data)).send();
+            if (response.hasError()) {
+                throw new BlockchainException(BlockchainException.ErrorCodes.GAS_ESTIMATION_FAILED, operation,
+                    "Gas估算失败: " + response.getError().getMessage());
+            }
+            return response.getAmountUsed();
+        } catch (BlockchainException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BlockchainException(BlockchainException.ErrorCodes.NETWORK_ERROR, operation,
+                "Gas估算失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 授权类前置交易需上链后才能估算后续分片的Gas
+     */
+    private void awaitSetup(Credentials credentials, String contractAddress, String data, String operation,
+                            FeeTier tier) throws Exception {
+        BigInteger gas = estimateGas(operation, credentials, contractAddress, data);
+        BigInteger gasLimit = gas.multiply(BigInteger.valueOf(100L + gasMarginPercent)).divide(BigInteger.valueOf(100));
+        TransactionReceipt receipt = transactionPipelineService
+            .submit(credentials, contractAddress, data, BigInteger.ZERO, gasLimit, tier)
+            .getReceipt().get(receiptTimeoutMs, TimeUnit.MILLISECONDS);
+        if (!receipt.isStatusOK()) {
+            throw new BlockchainException(BlockchainException.ErrorCodes.TRANSACTION_FAILED, operation,
+                "授权交易执行失败，交易哈希: " + receipt.getTransactionHash());
+        }
+    }
+
+    private void checkHelper() {
+        if (!isHelperAvailable()) {
+            throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_NOT_AVAILABLE, "batchTransfer", "批量转账辅助合约未配置");
+        }
+    }
+
+    private static void checkLengths(List<String> recipients, List<BigInteger> values) {
+        if (recipients == null || values == null || recipients.size() != values.size()) {
+            throw new IllegalArgumentException("接收地址数量与数量列表不匹配");
+        }
+    }
+}
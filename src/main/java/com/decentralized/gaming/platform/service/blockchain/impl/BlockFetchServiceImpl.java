@@ -0,0 +1,232 @@
+package com.decentralized.gaming.platform.service.blockchain.impl;
+
+import com.decentralized.gaming.platform.exception.BlockchainException;
+import com.decentralized.gaming.platform.service.blockchain.BlockFetchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+/**
+ * 区块拉取服务实现类
+ * 将区间切分为固定大小的JSON-RPC批量请求，最多保持window个批次在途；
+ * 调用线程按批次顺序等待队首结果并回调，队首完成后才补充新的批次，
+ * 因此乱序返回的结果最多缓存window个批次
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+@Service
+public class BlockFetchServiceImpl implements BlockFetchService {
+
+    @Autowired(required = false)
+    private Web3j web3j;
+
+    @Value("${app.blockchain.fetcher.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.blockchain.fetcher.window:8}")
+    private int defaultWindow;
+
+    @Value("${app.blockchain.fetcher.max-window:128}")
+    private int maxWindow;
+
+    @Value("${app.blockchain.fetcher.timeout-seconds:60}")
+    private long timeoutSeconds;
+
+    private ExecutorService executorService;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        executorService = Executors.newFixedThreadPool(maxWindow, r -> {
+            Thread thread = new Thread(r, "block-fetcher-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("区块拉取服务初始化完成，批量大小: {}, 默认窗口: {}, 最大窗口: {}", batchSize, defaultWindow, maxWindow);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Override
+    public void fetchBlocks(long fromBlock, long toBlock, boolean fullTransactions, Predicate<EthBlock.Block> handler) {
+        fetchBlocks(fromBlock, toBlock, fullTransactions, defaultWindow, handler);
+    }
+
+    @Override
+    public void fetchBlocks(long fromBlock, long toBlock, boolean fullTransactions, int window,
+                            Predicate<EthBlock.Block> handler) {
+        if (toBlock < fromBlock) {
+            return;
+        }
+        checkAvailable("拉取区块");
+
+        pipeline(toBlock - fromBlock + 1,
+            index -> web3j.ethGetBlockByNumber(
+                DefaultBlockParameter.valueOf(BigInteger.valueOf(fromBlock + index)), fullTransactions),
+            batchSize,
+            window,
+            (EthBlock response) -> response.getBlock() != null && handler.test(response.getBlock()),
+            "拉取区块");
+    }
+
+    @Override
+    public List<TransactionReceipt> fetchReceipts(List<String> txHashes) {
+        return fetchReceipts(txHashes, batchSize);
+    }
+
+    @Override
+    public List<TransactionReceipt> fetchReceipts(List<String> txHashes, int receiptBatchSize) {
+        List<TransactionReceipt> receipts = new ArrayList<>(txHashes.size());
+        if (txHashes.isEmpty()) {
+            return receipts;
+        }
+        checkAvailable("拉取交易收据");
+
+        pipeline(txHashes.size(),
+            index -> web3j.ethGetTransactionReceipt(txHashes.get((int) index)),
+            Math.max(1, receiptBatchSize),
+            defaultWindow,
+            (EthGetTransactionReceipt response) -> {
+                receipts.add(response.getTransactionReceipt().orElse(null));
+                return true;
+            },
+            "拉取交易收据");
+        return receipts;
+    }
+
+    @Override
+    public int getDefaultWindow() {
+        return defaultWindow;
+    }
+
+    /**
+     * 流水线执行批量请求，按请求序号顺序回调
+     *
+     * @param total 请求总数
+     * @param requestFactory 按序号构造请求
+     * @param batchSize 每个批量请求包含的请求数
+     * @param window 在途批次数
+     * @param handler 响应处理函数，返回false时停止
+     * @param operationName 操作名称（用于日志和异常）
+     */
+    private <R extends Response<?>> void pipeline(long total, LongFunction<Request<?, R>> requestFactory, int batchSize,
+                                                  int window, Predicate<R> handler, String operationName) {
+        int effectiveWindow = Math.max(1, Math.min(window, maxWindow));
+        long batches = (total + batchSize - 1) / batchSize;
+        Deque<CompletableFuture<List<R>>> inFlight = new ArrayDeque<>(effectiveWindow);
+        long submitted = 0;
+
+        try {
+            for (long emitted = 0; emitted < batches; emitted++) {
+                while (submitted < batches && inFlight.size() < effectiveWindow) {
+                    long start = submitted * batchSize;
+                    long end = Math.min(start + batchSize, total);
+                    inFlight.addLast(submitBatch(start, end, requestFactory));
+                    submitted++;
+                }
+
+                List<R> responses = inFlight.removeFirst().get(timeoutSeconds, TimeUnit.SECONDS);
+                for (R response : responses) {
+                    if (!handler.test(response)) {
+                        return;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BlockchainException(BlockchainException.ErrorCodes.TIMEOUT, operationName, "批量请求被中断");
+        } catch (TimeoutException e) {
+            throw new BlockchainException(BlockchainException.ErrorCodes.TIMEOUT, operationName,
+                "批量请求超时(" + timeoutSeconds + "秒)", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new BlockchainException(BlockchainException.ErrorCodes.NETWORK_ERROR, operationName,
+                "批量请求失败: " + cause.getMessage(), cause);
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * 提交一个JSON-RPC批量请求，按请求ID将响应还原为请求顺序
+     */
+    private <R extends Response<?>> CompletableFuture<List<R>> submitBatch(long start, long end,
+                                                                           LongFunction<Request<?, R>> requestFactory) {
+        return CompletableFuture.supplyAsync(() -> {
+            BatchRequest batch = web3j.newBatch();
+            List<Request<?, R>> requests = new ArrayList<>((int) (end - start));
+            for (long index = start; index < end; index++) {
+                Request<?, R> request = requestFactory.apply(index);
+                requests.add(request);
+                batch.add(request);
+            }
+
+            try {
+                BatchResponse batchResponse = batch.send();
+                Map<Long, Response<?>> responsesById = new HashMap<>();
+                for (Response<?> response : batchResponse.getResponses()) {
+                    responsesById.put(response.getId(), response);
+                }
+
+                List<R> ordered = new ArrayList<>(requests.size());
+                for (Request<?, R> request : requests) {
+                    @SuppressWarnings("unchecked")
+                    R response = (R) responsesById.get(request.getId());
+                    if (response == null) {
+                        throw new IOException("批量响应缺少请求: " + request.getMethod() + "#" + request.getId());
+                    }
+                    if (response.hasError()) {
+                        throw new IOException(request.getMethod() + " 失败: " + response.getError().getMessage());
+                    }
+                    ordered.add(response);
+                }
+                return ordered;
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executorService);
+    }
+
+    private void checkAvailable(String operationName) {
+        if (web3j == null) {
+            throw new BlockchainException(BlockchainException.ErrorCodes.NETWORK_ERROR, operationName, "Web3j实例未初始化");
+        }
+    }
+}
@@ -4,17 +4,25 @@ import com.decentralized.gaming.platform.service.blockchain.BlockchainCacheServi
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
 
+import jakarta.annotation.PostConstruct;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 区块链缓存服务实现类
  * 提供区块链数据的本地缓存功能
+ * 收据、区块与NFT只读调用结果存放在 W-TinyLFU 缓存层，按估算字节数限制总权重；
+ * 条目记录所属区块与写入时的最新区块：所属区块已达到最终确认深度的条目不再失效，
+ * 其余条目在最新区块前进（或最新区块号缓存过期）后视为失效，链重组时按区块号清除
  *
  * @author DecentralizedGamingPlatform
  */
@@ -31,17 +39,40 @@ public class BlockchainCacheServiceImpl implements BlockchainCacheService {
     @Value("${app.blockchain.cache.block-number-ttl:10}")
     private long blockNumberTtl; // 区块号缓存10秒
 
+    @Value("${app.blockchain.cache.max-weight-bytes:67108864}")
+    private long maxWeightBytes;
+
+    @Value("${app.blockchain.cache.finality-depth:12}")
+    private long finalityDepth;
+
     private final ConcurrentHashMap<String, CacheEntry<BigDecimal>> balanceCache = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, CacheEntry<BigInteger>> gasPriceCache = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, CacheEntry<BigInteger>> blockNumberCache = new ConcurrentHashMap<>();
     
     private final ScheduledExecutorService cleanupScheduler = Executors.newSingleThreadScheduledExecutor();
 
+    private WeightedTinyLfuCache<String, ChainEntry> objectCache;
+
+    /**
+     * 已知的最新区块号，由 cacheBlockNumber 更新
+     */
+    private volatile long knownHead = -1;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong invalidationCount = new AtomicLong();
+
     public BlockchainCacheServiceImpl() {
         // 启动定期清理过期缓存的线程
         cleanupScheduler.scheduleAtFixedRate(this::cleanupExpiredEntries, 60, 60, TimeUnit.SECONDS);
     }
 
+    @PostConstruct
+    public void init() {
+        objectCache = new WeightedTinyLfuCache<>(maxWeightBytes, entry -> entry.weight);
+        log.info("区块链对象缓存初始化完成，最大权重: {} 字节, 最终确认深度: {}", maxWeightBytes, finalityDepth);
+    }
+
     /**
      * 缓存余额
      */
@@ -94,6 +125,11 @@ public class BlockchainCacheServiceImpl implements BlockchainCacheService {
     @Override
     public void cacheBlockNumber(BigInteger blockNumber) {
         blockNumberCache.put("current", new CacheEntry<>(blockNumber, System.currentTimeMillis() + blockNumberTtl * 1000));
+        long head = blockNumber.longValue();
+        if (head > knownHead) {
+            // 新区块到达：未最终确认的条目在下次读取时失效
+            knownHead = head;
+        }
         log.debug("缓存区块号: {}", blockNumber);
     }
 
@@ -110,6 +146,93 @@ public class BlockchainCacheServiceImpl implements BlockchainCacheService {
         return null;
     }
 
+    /**
+     * 缓存交易收据
+     */
+    @Override
+    public void cacheReceipt(TransactionReceipt receipt) {
+        if (receipt == null || receipt.getTransactionHash() == null || receipt.getBlockNumberRaw() == null) {
+            return;
+        }
+        int weight = 400;
+        if (receipt.getLogs() != null) {
+            for (Log eventLog : receipt.getLogs()) {
+                weight += 200 + length(eventLog.getData()) * 2 + (eventLog.getTopics() != null ? eventLog.getTopics().size() * 150 : 0);
+            }
+        }
+        putChainEntry(receiptKey(receipt.getTransactionHash()), receipt, receipt.getBlockNumber().longValue(), weight);
+    }
+
+    /**
+     * 获取缓存的交易收据
+     */
+    @Override
+    public TransactionReceipt getCachedReceipt(String transactionHash) {
+        return (TransactionReceipt) getChainEntry(receiptKey(transactionHash));
+    }
+
+    /**
+     * 缓存区块
+     */
+    @Override
+    public void cacheBlock(EthBlock.Block block, boolean fullTransactions) {
+        if (block == null || block.getNumberRaw() == null) {
+            return;
+        }
+        int transactions = block.getTransactions() != null ? block.getTransactions().size() : 0;
+        int weight = 800 + transactions * (fullTransactions ? 700 : 140);
+        putChainEntry(blockKey(block.getNumber().longValue(), fullTransactions), block, block.getNumber().longValue(), weight);
+    }
+
+    /**
+     * 获取缓存的区块
+     */
+    @Override
+    public EthBlock.Block getCachedBlock(long blockNumber, boolean fullTransactions) {
+        return (EthBlock.Block) getChainEntry(blockKey(blockNumber, fullTransactions));
+    }
+
+    /**
+     * 缓存NFT只读调用结果
+     */
+    @Override
+    public void cacheTokenCall(String contractAddress, String method, BigInteger tokenId, String value) {
+        if (contractAddress == null || value == null) {
+            return;
+        }
+        putChainEntry(tokenCallKey(contractAddress, method, tokenId), value, -1, 120 + length(value) * 2);
+    }
+
+    /**
+     * 获取缓存的NFT只读调用结果
+     */
+    @Override
+    public String getCachedTokenCall(String contractAddress, String method, BigInteger tokenId) {
+        if (contractAddress == null) {
+            return null;
+        }
+        return (String) getChainEntry(tokenCallKey(contractAddress, method, tokenId));
+    }
+
+    /**
+     * 判断区块是否已达到最终确认深度
+     */
+    @Override
+    public boolean isFinalized(long blockNumber) {
+        long head = knownHead;
+        return blockNumber >= 0 && head >= 0 && blockNumber <= head - finalityDepth;
+    }
+
+    /**
+     * 链重组时清除指定区块及之后的区块数据缓存，只读调用结果一并清除
+     */
+    @Override
+    public void invalidateFromBlock(long fromBlock) {
+        int removed = objectCache.removeIf((key, entry) -> entry.blockNumber < 0 || entry.blockNumber >= fromBlock);
+        invalidationCount.addAndGet(removed);
+        log.info("链重组，清除区块 {} 及之后的缓存条目 {} 个", fromBlock, removed);
+    }
+
     /**
      * 清除地址相关的缓存
      */
@@ -128,6 +251,7 @@ public class BlockchainCacheServiceImpl implements BlockchainCacheService {
         balanceCache.clear();
         gasPriceCache.clear();
         blockNumberCache.clear();
+        objectCache.clear();
         log.info("清除所有区块链缓存");
     }
 
@@ -139,7 +263,14 @@ public class BlockchainCacheServiceImpl implements BlockchainCacheService {
         return new CacheStats(
             balanceCache.size(),
             gasPriceCache.size(),
-            blockNumberCache.size()
+            blockNumberCache.size(),
+            objectCache.size(),
+            objectCache.weight(),
+            objectCache.maxWeight(),
+            hitCount.get(),
+            missCount.get(),
+            objectCache.evictionCount(),
+            invalidationCount.get()
         );
     }
 
@@ -150,10 +281,79 @@ public class BlockchainCacheServiceImpl implements BlockchainCacheService {
         balanceCache.entrySet().removeIf(entry -> entry.getValue().isExpired());
         gasPriceCache.entrySet().removeIf(entry -> entry.getValue().isExpired());
         blockNumberCache.entrySet().removeIf(entry -> entry.getValue().isExpired());
-        
+        if (objectCache != null) {
+            invalidationCount.addAndGet(objectCache.removeIf((key, entry) -> !isValid(entry)));
+        }
+
         log.debug("清理过期缓存条目完成");
     }
 
+    private void putChainEntry(String key, Object value, long blockNumber, int weight) {
+        long head = knownHead;
+        if (head < 0) {
+            // 未知最新区块时无法判断条目有效期，不缓存
+            return;
+        }
+        objectCache.put(key, new ChainEntry(value, blockNumber, head, weight));
+    }
+
+    private Object getChainEntry(String key) {
+        ChainEntry entry = objectCache.get(key);
+        if (entry != null && isValid(entry)) {
+            hitCount.incrementAndGet();
+            return entry.value;
+        }
+        if (entry != null) {
+            objectCache.remove(key);
+            invalidationCount.incrementAndGet();
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * 已最终确认的区块数据始终有效；其余条目只在写入时的最新区块仍是当前最新区块、且区块号缓存未过期时有效
+     */
+    private boolean isValid(ChainEntry entry) {
+        if (isFinalized(entry.blockNumber)) {
+            return true;
+        }
+        return entry.readHead == knownHead && getCachedBlockNumber() != null;
+    }
+
+    private static String receiptKey(String transactionHash) {
+        return "receipt:" + transactionHash.toLowerCase();
+    }
+
+    private static String blockKey(long blockNumber, boolean fullTransactions) {
+        return (fullTransactions ? "block-full:" : "block:") + blockNumber;
+    }
+
+    private static String tokenCallKey(String contractAddress, String method, BigInteger tokenId) {
+        return "call:" + contractAddress.toLowerCase() + ":" + method + ":" + tokenId;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    /**
+     * 对象缓存条目：所属区块号（-1表示与区块无关的只读调用）、写入时的最新区块号与估算字节数
+     */
+    private static final class ChainEntry {
+        private final Object value;
+        private final long blockNumber;
+        private final long readHead;
+        private final int weight;
+
+        private ChainEntry(Object value, long blockNumber, long readHead, int weight) {
+            this.value = value;
+            this.blockNumber = blockNumber;
+            this.readHead = readHead;
+            this.weight = weight;
+        }
+    }
+
     /**
      * 缓存条目
      */
@@ -6,8 +6,11 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigInteger;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -27,6 +30,17 @@ public class BlockchainMetricsServiceImpl implements BlockchainMetricsService {
     private final Map<String, AtomicLong> errorCounts = new ConcurrentHashMap<>();
     private final Map<String, Long> responseTimes = new ConcurrentHashMap<>();
     private final Map<String, Long> gasUsage = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> rpcLatencies = new ConcurrentHashMap<>();
+    private final Map<String, BreakerState> circuitBreakers = new ConcurrentHashMap<>();
+
+    /**
+     * 熔断器状态快照
+     */
+    private static final class BreakerState {
+        private volatile String state = "CLOSED";
+        private volatile LocalDateTime lastTransitionAt;
+        private final AtomicLong openCount = new AtomicLong();
+    }
 
     @Override
     public void recordApiRequest(String endpoint, boolean success) {
@@ -58,6 +72,44 @@ public class BlockchainMetricsServiceImpl implements BlockchainMetricsService {
         log.debug("记录Gas使用: {} - {}", operation, gasUsed);
     }
 
+    @Override
+    public void recordRpcLatency(String method, long latencyNanos, boolean success) {
+        rpcLatencies.computeIfAbsent(method, k -> new LatencyHistogram()).record(latencyNanos, success);
+    }
+
+    @Override
+    public Map<String, Map<String, Object>> getRpcLatencyHistograms() {
+        Map<String, Map<String, Object>> histograms = new TreeMap<>();
+        rpcLatencies.forEach((method, histogram) -> histograms.put(method, histogram.snapshot()));
+        return histograms;
+    }
+
+    @Override
+    public void recordCircuitBreakerTransition(String operation, String fromState, String toState) {
+        BreakerState breaker = circuitBreakers.computeIfAbsent(operation, k -> new BreakerState());
+        breaker.state = toState;
+        breaker.lastTransitionAt = LocalDateTime.now();
+        if ("OPEN".equals(toState)) {
+            breaker.openCount.incrementAndGet();
+            log.warn("熔断器打开: {} ({} -> {})", operation, fromState, toState);
+        } else {
+            log.info("熔断器状态变化: {} ({} -> {})", operation, fromState, toState);
+        }
+    }
+
+    @Override
+    public Map<String, Map<String, Object>> getCircuitBreakerStates() {
+        Map<String, Map<String, Object>> states = new TreeMap<>();
+        circuitBreakers.forEach((operation, breaker) -> {
+            Map<String, Object> state = new HashMap<>();
+            state.put("state", breaker.state);
+            state.put("openCount", breaker.openCount.get());
+            state.put("lastTransitionAt", breaker.lastTransitionAt);
+            states.put(operation, state);
+        });
+        return states;
+    }
+
     @Override
     public Map<String, Object> getMetrics() {
         Map<String, Object> metrics = new HashMap<>();
@@ -92,6 +144,14 @@ public class BlockchainMetricsServiceImpl implements BlockchainMetricsService {
             // 平均Gas使用量
             Map<String, Double> avgGasUsage = calculateAverageGasUsage();
             metrics.put("averageGasUsage", avgGasUsage);
+
+            // 节点RPC调用次数
+            Map<String, Long> rpcCalls = new TreeMap<>();
+            rpcLatencies.forEach((method, histogram) -> rpcCalls.put(method, histogram.count()));
+            metrics.put("rpcCalls", rpcCalls);
+
+            // 熔断器状态
+            metrics.put("circuitBreakers", getCircuitBreakerStates());
             
             metrics.put("timestamp", LocalDateTime.now());
             
@@ -151,6 +211,7 @@ public class BlockchainMetricsServiceImpl implements BlockchainMetricsService {
         errorCounts.clear();
         responseTimes.clear();
         gasUsage.clear();
+        rpcLatencies.clear();
         log.info("重置所有区块链指标");
     }
 
@@ -162,7 +223,15 @@ public class BlockchainMetricsServiceImpl implements BlockchainMetricsService {
         long errors = totalErrors.get();
         double errorRate = requests > 0 ? (double) errors / requests * 100 : 0;
         
-        health.put("status", errorRate < 10 ? "HEALTHY" : errorRate < 30 ? "WARNING" : "CRITICAL");
+        List<String> openBreakers = new ArrayList<>();
+        circuitBreakers.forEach((operation, breaker) -> {
+            if (!"CLOSED".equals(breaker.state)) {
+                openBreakers.add(operation);
+            }
+        });
+
+        health.put("status", errorRate < 10 && openBreakers.isEmpty() ? "HEALTHY" : errorRate < 30 ? "WARNING" : "CRITICAL");
+        health.put("openCircuitBreakers", openBreakers);
         health.put("errorRate", errorRate);
         health.put("totalRequests", requests);
         health.put("totalErrors", errors);
@@ -1,16 +1,32 @@
 package com.decentralized.gaming.platform.service.blockchain.impl;
 
 import com.decentralized.gaming.platform.exception.BlockchainException;
+import com.decentralized.gaming.platform.service.blockchain.BlockchainMetricsService;
 import com.decentralized.gaming.platform.service.blockchain.BlockchainRetryService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 
 /**
  * 区块链重试服务实现类
- * 提供区块链操作的重试机制和降级策略
+ * 提供区块链操作的异步重试机制：重试由定时器调度，退避期间不占用线程；
+ * 退避时间为 [0, min(最大延迟, 基础延迟*倍数^(n-1))] 内的随机值（full jitter），避免故障恢复时请求同时涌入；
+ * 错误按异常类型分类，只有网络错误与超时会重试并计入熔断器；每个操作名一个熔断器，打开期间直接失败
  *
  * @author DecentralizedGamingPlatform
  */
@@ -27,133 +43,163 @@ public class BlockchainRetryServiceImpl implements BlockchainRetryService {
     @Value("${app.blockchain.retry.backoff-multiplier:2}")
     private double backoffMultiplier;
 
-    /**
-     * 执行带重试的区块链操作
-     *
-     * @param operation 操作函数
-     * @param operationName 操作名称（用于日志）
-     * @return 操作结果
-     */
+    @Value("${app.blockchain.retry.max-delay-ms:10000}")
+    private long maxDelayMs;
+
+    @Value("${app.blockchain.retry.circuit-breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${app.blockchain.retry.circuit-breaker.open-duration-ms:30000}")
+    private long openDurationMs;
+
+    @Autowired
+    private BlockchainMetricsService metricsService;
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService retryTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "blockchain-retry-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    public void destroy() {
+        retryTimer.shutdownNow();
+    }
+
     @Override
-    public <T> T executeWithRetry(Supplier<T> operation, String operationName) {
-        Exception lastException = null;
-        
-        // 检查参数
+    public <T> CompletableFuture<T> executeWithRetryAsync(Supplier<CompletableFuture<T>> operation, String operationName) {
         if (operation == null) {
             throw new IllegalArgumentException("操作函数不能为空");
         }
-        
-        if (operationName == null || operationName.trim().isEmpty()) {
-            operationName = "未命名操作";
+        String name = normalize(operationName);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attemptAsync(operation, name, breaker(name), 1, result);
+        return result;
+    }
+
+    private <T> void attemptAsync(Supplier<CompletableFuture<T>> operation, String name, CircuitBreaker breaker,
+                                  int attempt, CompletableFuture<T> result) {
+        if (result.isDone()) {
+            // 调用方已取消
+            return;
+        }
+        if (!breaker.tryAcquire()) {
+            result.completeExceptionally(circuitOpen(name));
+            return;
+        }
+
+        CompletableFuture<T> call;
+        try {
+            call = operation.get();
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
         }
-        
-        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+
+        call.whenComplete((value, error) -> {
+            if (error == null) {
+                breaker.onSuccess();
+                result.complete(value);
+                return;
+            }
+            Throwable cause = unwrap(error);
+            boolean retryable = isRetryable(cause);
+            record(breaker, retryable);
+            if (!retryable || attempt >= maxAttempts) {
+                result.completeExceptionally(failure(name, cause, attempt, retryable));
+                return;
+            }
+            long delay = backoff(attempt);
+            log.warn("区块链操作失败: {}, 尝试次数: {}/{}, {}ms后重试, 错误: {}",
+                    name, attempt, maxAttempts, delay, cause.getMessage());
             try {
-                log.debug("执行区块链操作: {}, 尝试次数: {}/{}", operationName, attempt, maxAttempts);
-                T result = operation.get();
-                log.debug("区块链操作成功: {}, 尝试次数: {}", operationName, attempt);
-                return result;
-            } catch (Exception e) {
-                lastException = e;
-                log.warn("区块链操作失败: {}, 尝试次数: {}/{}, 错误: {}", 
-                        operationName, attempt, maxAttempts, e.getMessage());
-                
-                // 如果是空指针异常，可能与URL配置有关，直接抛出
-                if (e instanceof NullPointerException && e.getMessage() != null && 
-                    e.getMessage().contains("Parameter specified as non-null is null: method okhttp3.Request$Builder.url")) {
-                    log.error("检测到URL配置问题，可能是区块链节点URL未正确配置");
-                    throw new BlockchainException(
-                        BlockchainException.ErrorCodes.NETWORK_ERROR,
-                        operationName,
-                        "区块链节点URL配置错误，请检查配置",
-                        e
-                    );
-                }
-                
-                // 特别处理Web3j初始化相关的问题
-                if (e.getMessage() != null && 
-                    (e.getMessage().contains("Web3j实例未初始化") || 
-                     e.getMessage().contains("区块链节点URL配置错误"))) {
-                    log.error("检测到Web3j实例初始化问题");
-                    throw new BlockchainException(
-                        BlockchainException.ErrorCodes.NETWORK_ERROR,
-                        operationName,
-                        e.getMessage(),
-                        e
-                    );
-                }
-                
-                if (attempt < maxAttempts) {
-                    long delay = (long) (delayMs * Math.pow(backoffMultiplier, attempt - 1));
-                    try {
-                        Thread.sleep(delay);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new BlockchainException(
-                            BlockchainException.ErrorCodes.TIMEOUT,
-                            operationName,
-                            "重试被中断"
-                        );
-                    }
-                }
+                retryTimer.schedule(() -> attemptAsync(operation, name, breaker, attempt + 1, result),
+                    delay, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(failure(name, cause, attempt, true));
             }
+        });
+    }
+
+    /**
+     * 与节点可用性无关的失败不计入熔断器，同时结束半开状态的试探
+     */
+    private void record(CircuitBreaker breaker, boolean retryable) {
+        if (retryable) {
+            breaker.onFailure();
+        } else {
+            breaker.onSuccess();
         }
-        
-        log.error("区块链操作最终失败: {}, 已尝试 {} 次", operationName, maxAttempts, lastException);
-        throw new BlockchainException(
-            BlockchainException.ErrorCodes.NETWORK_ERROR,
-            operationName,
-            "区块链操作失败，已重试" + maxAttempts + "次",
-            lastException
-        );
     }
 
     /**
-     * 执行带重试的区块链操作（无返回值）
-     *
-     * @param operation 操作函数
-     * @param operationName 操作名称（用于日志）
+     * full jitter：在 [0, 上限] 内均匀取值
      */
-    @Override
-    public void executeWithRetry(Runnable operation, String operationName) {
-        executeWithRetry(() -> {
-            operation.run();
-            return null;
-        }, operationName);
+    private long backoff(int attempt) {
+        double ceiling = Math.min(maxDelayMs, delayMs * Math.pow(backoffMultiplier, attempt - 1));
+        return ThreadLocalRandom.current().nextLong((long) ceiling + 1);
     }
 
     /**
-     * 执行带降级策略的操作
-     *
-     * @param primaryOperation 主要操作
-     * @param fallbackOperation 降级操作
-     * @param operationName 操作名称
-     * @return 操作结果
+     * 沿异常链查找可识别的类型：只有网络IO与超时可重试；参数、状态与空指针等配置或调用错误不重试；
+     * BlockchainException 按错误码判断；合约回滚等无法识别的错误不重试，也不计入熔断器
      */
-    @Override
-    public <T> T executeWithFallback(Supplier<T> primaryOperation, 
-                                   Supplier<T> fallbackOperation, 
-                                   String operationName) {
-        try {
-            return executeWithRetry(primaryOperation, operationName);
-        } catch (BlockchainException e) {
-            log.warn("主要操作失败，尝试降级操作: {}", operationName);
-            try {
-                // 检查降级操作是否为空
-                if (fallbackOperation == null) {
-                    throw new RuntimeException("降级操作不能为空");
-                }
-                
-                return fallbackOperation.get();
-            } catch (Exception fallbackException) {
-                log.error("降级操作也失败: {}", operationName, fallbackException);
-                throw new BlockchainException(
-                    BlockchainException.ErrorCodes.NETWORK_ERROR,
-                    operationName,
-                    "主要操作和降级操作都失败",
-                    fallbackException
-                );
+    static boolean isRetryable(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof IOException || t instanceof TimeoutException) {
+                return true;
+            }
+            if (t instanceof BlockchainException blockchainException) {
+                String code = blockchainException.getErrorCode();
+                return BlockchainException.ErrorCodes.NETWORK_ERROR.equals(code)
+                    || BlockchainException.ErrorCodes.TIMEOUT.equals(code);
             }
+            if (t instanceof IllegalArgumentException || t instanceof IllegalStateException
+                    || t instanceof NullPointerException || t instanceof UnsupportedOperationException) {
+                return false;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
         }
+        return cause;
+    }
+
+    private BlockchainException failure(String name, Throwable cause, int attempts, boolean retryable) {
+        if (cause instanceof BlockchainException blockchainException) {
+            return blockchainException;
+        }
+        if (!retryable) {
+            // 不可重试的错误（合约回滚、参数错误等）不能标记为网络错误，否则外层会误判为节点故障
+            log.error("区块链操作失败且不可重试: {}, 错误: {}", name, cause.getMessage());
+            return new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, name,
+                cause.getMessage() != null ? cause.getMessage() : "区块链操作失败", cause);
+        }
+        log.error("区块链操作最终失败: {}, 已尝试 {} 次", name, attempts, cause);
+        return new BlockchainException(BlockchainException.ErrorCodes.NETWORK_ERROR, name,
+            "区块链操作失败，已重试" + attempts + "次", cause);
+    }
+
+    private BlockchainException circuitOpen(String name) {
+        return new BlockchainException(BlockchainException.ErrorCodes.CIRCUIT_OPEN, name,
+            "区块链操作熔断中，请稍后重试");
+    }
+
+    private CircuitBreaker breaker(String name) {
+        return breakers.computeIfAbsent(name, key -> new CircuitBreaker(key, failureThreshold, openDurationMs,
+            (operation, from, to) -> metricsService.recordCircuitBreakerTransition(operation, from.name(), to.name())));
+    }
+
+    private static String normalize(String operationName) {
+        return operationName == null || operationName.trim().isEmpty() ? "未命名操作" : operationName;
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,8 @@ import com.decentralized.gaming.platform.exception.BlockchainException;
 import com.decentralized.gaming.platform.service.blockchain.BlockchainService;
 import com.decentralized.gaming.platform.service.blockchain.BlockchainRetryService;
 import com.decentralized.gaming.platform.service.blockchain.BlockchainCacheService;
+import com.decentralized.gaming.platform.service.blockchain.HeadTrackerService;
+import com.decentralized.gaming.platform.service.blockchain.RequestCoalescingService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,7 +14,6 @@ import org.web3j.crypto.Keys;
 import org.web3j.crypto.Sign;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameterName;
-import org.web3j.protocol.core.methods.response.EthGetBalance;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.utils.Convert;
 import org.web3j.utils.Numeric;
@@ -20,6 +21,8 @@ import org.web3j.utils.Numeric;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * 区块链基础服务实现类
@@ -39,9 +42,24 @@ public class BlockchainServiceImpl implements BlockchainService {
     @Autowired
     private BlockchainCacheService cacheService;
 
+    @Autowired
+    private RequestCoalescingService coalescingService;
+
+    @Autowired
+    private HeadTrackerService headTrackerService;
+
     @Value("${app.blockchain.gas.price:20000000000}")
     private Long defaultGasPrice;
 
+    @Value("${app.blockchain.cache.balance-ttl:300}")
+    private long balanceTtl;
+
+    @Value("${app.blockchain.cache.gas-price-ttl:60}")
+    private long gasPriceTtl;
+
+    @Value("${app.blockchain.cache.block-number-ttl:10}")
+    private long blockNumberTtl;
+
     /**
      * 验证钱包地址签名
      *
@@ -90,33 +108,21 @@ public class BlockchainServiceImpl implements BlockchainService {
      */
     @Override
     public BigDecimal getBalance(String address) {
-        // 先尝试从缓存获取
-        BigDecimal cachedBalance = cacheService.getCachedBalance(address);
-        if (cachedBalance != null) {
-            return cachedBalance;
-        }
-
-        // 从区块链获取余额
-        return retryService.executeWithRetry(() -> {
-            try {
+        // 并发请求合并为一次RPC，热点地址在过期前后台刷新
+        return coalescingService.executeWithRefresh("eth_getBalance:" + address.toLowerCase(), balanceTtl * 1000,
+            () -> await(retryService.executeWithRetryAsync(() -> {
                 // 检查web3j实例是否为空
                 if (web3j == null) {
-                    throw new RuntimeException("Web3j实例未初始化");
+                    throw new IllegalStateException("Web3j实例未初始化");
                 }
-                
-                EthGetBalance ethGetBalance = web3j.ethGetBalance(address, DefaultBlockParameterName.LATEST).send();
-                BigInteger balance = ethGetBalance.getBalance();
-                BigDecimal ethBalance = Convert.fromWei(balance.toString(), Convert.Unit.ETHER);
-                
-                // 缓存结果
-                cacheService.cacheBalance(address, ethBalance);
-                
-                return ethBalance;
-            } catch (Exception e) {
-                log.error("获取余额失败: {}", e.getMessage());
-                throw new RuntimeException("获取余额失败", e);
-            }
-        }, "获取余额");
+                return web3j.ethGetBalance(address, DefaultBlockParameterName.LATEST).sendAsync()
+                    .thenApply(ethGetBalance -> {
+                        BigDecimal ethBalance = Convert.fromWei(ethGetBalance.getBalance().toString(), Convert.Unit.ETHER);
+                        // 缓存结果
+                        cacheService.cacheBalance(address, ethBalance);
+                        return ethBalance;
+                    });
+            }, "获取余额"), "获取余额失败"));
     }
 
     /**
@@ -131,13 +137,20 @@ public class BlockchainServiceImpl implements BlockchainService {
         try {
             // 检查web3j实例是否为空
             if (web3j == null) {
-                throw new RuntimeException("Web3j实例未初始化");
+                throw new IllegalStateException("Web3j实例未初始化");
             }
             
-            return web3j.ethGetTransactionReceipt(transactionHash)
+            TransactionReceipt cachedReceipt = cacheService.getCachedReceipt(transactionHash);
+            if (cachedReceipt != null) {
+                return cachedReceipt;
+            }
+
+            TransactionReceipt receipt = web3j.ethGetTransactionReceipt(transactionHash)
                     .send()
                     .getTransactionReceipt()
                     .orElse(null);
+            cacheService.cacheReceipt(receipt);
+            return receipt;
         } catch (Exception e) {
             log.error("等待交易确认失败: {}", e.getMessage());
             return null;
@@ -163,38 +176,27 @@ public class BlockchainServiceImpl implements BlockchainService {
      */
     @Override
     public BigInteger getCurrentBlockNumber() {
-        // 先尝试从缓存获取
-        BigInteger cachedBlockNumber = cacheService.getCachedBlockNumber();
-        if (cachedBlockNumber != null) {
-            return cachedBlockNumber;
+        // 优先读取跟踪服务发布的最新区块，无需RPC
+        HeadTrackerService.ChainHead head = headTrackerService.getLatestHead();
+        if (head != null) {
+            return BigInteger.valueOf(head.getNumber());
         }
-
-        // 从区块链获取区块号
-        return retryService.executeWithRetry(() -> {
-            try {
+        // 跟踪服务未就绪或已过期时，并发请求合并为一次RPC，过期前后台刷新
+        return coalescingService.executeWithRefresh("eth_blockNumber", blockNumberTtl * 1000,
+            () -> await(retryService.executeWithRetryAsync(() -> {
                 // 检查web3j实例是否为空
                 if (web3j == null) {
                     log.error("Web3j实例未初始化，可能是因为区块链节点URL配置错误");
-                    throw new RuntimeException("Web3j实例未初始化，可能是因为区块链节点URL配置错误");
-                }
-                
-                // 检查web3j服务是否正确初始化
-                if (web3j.ethBlockNumber() == null) {
-                    log.error("无法创建区块号请求，可能是因为区块链节点URL配置错误");
-                    throw new RuntimeException("无法创建区块号请求，可能是因为区块链节点URL配置错误");
+                    throw new IllegalStateException("Web3j实例未初始化，可能是因为区块链节点URL配置错误");
                 }
-                
-                BigInteger blockNumber = web3j.ethBlockNumber().send().getBlockNumber();
-                
-                // 缓存结果
-                cacheService.cacheBlockNumber(blockNumber);
-                
-                return blockNumber;
-            } catch (Exception e) {
-                log.error("获取当前区块号失败: {}", e.getMessage(), e);
-                throw new RuntimeException("获取当前区块号失败", e);
-            }
-        }, "获取当前区块号");
+                return web3j.ethBlockNumber().sendAsync()
+                    .thenApply(ethBlockNumber -> {
+                        BigInteger blockNumber = ethBlockNumber.getBlockNumber();
+                        // 缓存结果
+                        cacheService.cacheBlockNumber(blockNumber);
+                        return blockNumber;
+                    });
+            }, "获取当前区块号"), "获取当前区块号失败"));
     }
 
     /**
@@ -225,38 +227,44 @@ public class BlockchainServiceImpl implements BlockchainService {
      */
     @Override
     public BigInteger getGasPrice() {
-        // 先尝试从缓存获取
-        BigInteger cachedGasPrice = cacheService.getCachedGasPrice();
-        if (cachedGasPrice != null) {
-            return cachedGasPrice;
-        }
-
-        // 从区块链获取Gas价格，失败时使用默认值
-        return retryService.executeWithFallback(
-            () -> {
-                try {
+        // 并发请求合并为一次RPC，过期前后台刷新；失败时使用默认值（默认值不进入缓存）
+        try {
+            return coalescingService.executeWithRefresh("eth_gasPrice", gasPriceTtl * 1000,
+                () -> await(retryService.executeWithRetryAsync(() -> {
                     // 检查web3j实例是否为空
                     if (web3j == null) {
                         log.error("Web3j实例未初始化，可能是因为区块链节点URL配置错误");
-                        throw new RuntimeException("Web3j实例未初始化，可能是因为区块链节点URL配置错误");
+                        throw new IllegalStateException("Web3j实例未初始化，可能是因为区块链节点URL配置错误");
                     }
-                    
-                    BigInteger gasPrice = web3j.ethGasPrice().send().getGasPrice();
-                    
-                    // 缓存结果
-                    cacheService.cacheGasPrice(gasPrice);
-                    
-                    return gasPrice;
-                } catch (Exception e) {
-                    log.error("获取Gas价格失败: {}", e.getMessage());
-                    throw new RuntimeException("获取Gas价格失败", e);
-                }
-            },
-            () -> {
-                log.warn("使用默认Gas价格: {}", defaultGasPrice);
-                return BigInteger.valueOf(defaultGasPrice);
-            },
-            "获取Gas价格"
-        );
+                    return web3j.ethGasPrice().sendAsync()
+                        .thenApply(ethGasPrice -> {
+                            BigInteger gasPrice = ethGasPrice.getGasPrice();
+                            // 缓存结果
+                            cacheService.cacheGasPrice(gasPrice);
+                            return gasPrice;
+                        });
+                }, "获取Gas价格"), "获取Gas价格失败"));
+        } catch (BlockchainException e) {
+            log.warn("主要操作失败，使用默认Gas价格: {}", defaultGasPrice);
+            return BigInteger.valueOf(defaultGasPrice);
+        }
+    }
+
+    /**
+     * 等待异步重试结果。同步接口的调用线程仍会等到最终结果（包括重试退避时间），
+     * 退避本身由重试定时器调度；相同键的并发请求已由合并层收敛为一个等待者。
+     * 失败时还原重试服务给出的 BlockchainException
+     */
+    private <T> T await(CompletableFuture<T> future, String errorMessage) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("{}: {}", errorMessage, cause.getMessage());
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(errorMessage, cause);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,502 @@
+package com.decentralized.gaming.platform.service.blockchain.impl;
+
+import com.decentralized.gaming.platform.contracts.Multicall3;
+import com.decentralized.gaming.platform.exception.BlockchainException;
+import com.decentralized.gaming.platform.service.blockchain.BulkReadService;
+import com.decentralized.gaming.platform.service.blockchain.HeadTrackerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthCall;
+import org.web3j.protocol.core.methods.response.EthGetBalance;
+import org.web3j.utils.Numeric;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 批量只读调用服务实现类
+ * 批次按预估Gas贪心打包：每个调用的预估Gas乘以放大系数后累加，不超过 Gas上限 × gas-cap-utilization-percent；
+ * Gas上限未配置时取最新区块的 gasLimit（多数节点 eth_call 的默认上限不低于此值）。
+ * 聚合调用因Gas不足或执行超时失败时将批次对半拆分重试，并把放大系数翻倍，后续批次随之变小；
+ * 之后每个成功的批次将系数逐步回落，使批次大小收敛到节点实际能承受的范围
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+@Service
+public class BulkReadServiceImpl implements BulkReadService {
+
+    private static final long CALL_OVERHEAD_GAS = 5000;
+    private static final long DEFAULT_GAS_CAP = 30_000_000L;
+    private static final int MAX_GAS_SCALE_PERCENT = 1600;
+
+    @Autowired(required = false)
+    private Web3j web3j;
+
+    @Autowired
+    private HeadTrackerService headTrackerService;
+
+    @Value("${app.blockchain.contracts.multicall:}")
+    private String multicallAddress;
+
+    @Value("${app.blockchain.multicall.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.blockchain.multicall.gas-cap:0}")
+    private long configuredGasCap;
+
+    @Value("${app.blockchain.multicall.gas-cap-utilization-percent:80}")
+    private int gasCapUtilizationPercent;
+
+    @Value("${app.blockchain.multicall.gas-cap-refresh-ms:600000}")
+    private long gasCapRefreshMs;
+
+    @Value("${app.blockchain.multicall.call-gas:40000}")
+    private long callGas;
+
+    @Value("${app.blockchain.multicall.string-call-gas:200000}")
+    private long stringCallGas;
+
+    @Value("${app.blockchain.multicall.max-calls-per-chunk:500}")
+    private int maxCallsPerChunk;
+
+    @Value("${app.blockchain.multicall.rpc-batch-size:100}")
+    private int rpcBatchSize;
+
+    @Value("${app.blockchain.multicall.parallelism:4}")
+    private int parallelism;
+
+    @Value("${app.blockchain.multicall.timeout-seconds:30}")
+    private long timeoutSeconds;
+
+    private ExecutorService executorService;
+
+    private volatile long blockGasLimit;
+    private volatile long blockGasLimitUpdatedAt;
+
+    private final AtomicInteger gasScalePercent = new AtomicInteger(100);
+    private final AtomicLong totalCalls = new AtomicLong();
+    private final AtomicLong totalRequests = new AtomicLong();
+    private final AtomicLong chunkSplits = new AtomicLong();
+    private final AtomicLong failedCalls = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        executorService = Executors.newFixedThreadPool(Math.max(1, parallelism), r -> {
+            Thread thread = new Thread(r, "bulk-read-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("批量只读调用服务初始化完成，方式: {}, 每批最多调用数: {}, 并行度: {}",
+            useMulticall() ? "multicall(" + multicallAddress + ")" : "rpc-batch", maxCallsPerChunk, parallelism);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Override
+    public List<Object> read(List<ReadCall> calls) {
+        try {
+            return readAsync(calls).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<Object>> readAsync(List<ReadCall> calls) {
+        if (calls.isEmpty()) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        if (web3j == null) {
+            return CompletableFuture.failedFuture(new BlockchainException(BlockchainException.ErrorCodes.NETWORK_ERROR,
+                "批量只读调用", "Web3j实例未初始化"));
+        }
+        totalCalls.addAndGet(calls.size());
+
+        Object[] results = new Object[calls.size()];
+        DefaultBlockParameter block = pinnedBlock();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        if (useMulticall()) {
+            long gasCap = resolveGasCap();
+            for (List<Integer> chunk : partitionByGas(calls, gasCap)) {
+                futures.add(CompletableFuture.runAsync(
+                    () -> runAggregate(chunk, calls, results, block, gasCap), executorService));
+            }
+        } else {
+            int size = Math.max(1, rpcBatchSize);
+            for (int start = 0; start < calls.size(); start += size) {
+                List<Integer> chunk = range(start, Math.min(calls.size(), start + size));
+                futures.add(CompletableFuture.runAsync(
+                    () -> runRpcBatch(chunk, calls, results, block), executorService));
+            }
+        }
+
+        // 批次在线程池中执行，这里不阻塞等待，避免调用方在同一线程池中嵌套等待
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .orTimeout(timeoutSeconds, TimeUnit.SECONDS)
+            .handle((ignored, error) -> {
+                if (error == null) {
+                    return Arrays.asList(results);
+                }
+                futures.forEach(future -> future.cancel(true));
+                throw unwrap(error);
+            });
+    }
+
+    @Override
+    public Map<BigInteger, String> getOwners(String contractAddress, List<BigInteger> tokenIds) {
+        return zip(tokenIds, read(tokenIds.stream().map(id -> ReadCall.ownerOf(contractAddress, id)).toList()));
+    }
+
+    @Override
+    public Map<BigInteger, String> getTokenUris(String contractAddress, List<BigInteger> tokenIds) {
+        return zip(tokenIds, read(tokenIds.stream().map(id -> ReadCall.tokenUri(contractAddress, id)).toList()));
+    }
+
+    @Override
+    public Map<BigInteger, String> getApproved(String contractAddress, List<BigInteger> tokenIds) {
+        return zip(tokenIds, read(tokenIds.stream().map(id -> ReadCall.getApproved(contractAddress, id)).toList()));
+    }
+
+    @Override
+    public Map<String, BigInteger> getBalances(String contractAddress, List<String> owners) {
+        return zip(owners, read(owners.stream().map(owner -> ReadCall.balanceOf(contractAddress, owner)).toList()));
+    }
+
+    @Override
+    public Map<String, Boolean> getApprovalsForAll(String contractAddress, String owner, List<String> operators) {
+        return zip(operators, read(operators.stream()
+            .map(operator -> ReadCall.isApprovedForAll(contractAddress, owner, operator)).toList()));
+    }
+
+    @Override
+    public Map<String, BigInteger> getAllowances(String tokenAddress, String owner, List<String> spenders) {
+        return zip(spenders, read(spenders.stream()
+            .map(spender -> ReadCall.allowance(tokenAddress, owner, spender)).toList()));
+    }
+
+    @Override
+    public Map<String, BigInteger> getEthBalances(List<String> addresses) {
+        return zip(addresses, read(addresses.stream().map(ReadCall::ethBalance).toList()));
+    }
+
+    @Override
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        boolean multicall = useMulticall();
+        status.put("mode", multicall ? "multicall" : "rpc-batch");
+        status.put("multicallAddress", multicallAddress);
+        if (multicall) {
+            long gasCap = resolveGasCap();
+            status.put("gasCap", gasCap);
+            status.put("gasCapSource", configuredGasCap > 0 ? "config" : "block-gas-limit");
+            status.put("chunkGasBudget", gasCap * gasCapUtilizationPercent / 100);
+            status.put("gasScalePercent", gasScalePercent.get());
+            status.put("maxCallsPerChunk", maxCallsPerChunk);
+        } else {
+            status.put("rpcBatchSize", rpcBatchSize);
+        }
+        status.put("parallelism", parallelism);
+        status.put("totalCalls", totalCalls.get());
+        status.put("totalRequests", totalRequests.get());
+        status.put("chunkSplits", chunkSplits.get());
+        status.put("failedCalls", failedCalls.get());
+        return status;
+    }
+
+    // ==================== Multicall3 ====================
+
+    /**
+     * 按预估Gas贪心切分批次，返回每个批次包含的调用下标
+     */
+    private List<List<Integer>> partitionByGas(List<ReadCall> calls, long gasCap) {
+        long budget = gasCap * gasCapUtilizationPercent / 100;
+        int scale = gasScalePercent.get();
+        int maxCalls = Math.max(1, maxCallsPerChunk);
+
+        List<List<Integer>> chunks = new ArrayList<>();
+        List<Integer> current = new ArrayList<>();
+        long used = 0;
+        for (int i = 0; i < calls.size(); i++) {
+            long gas = (gasHint(calls.get(i)) + CALL_OVERHEAD_GAS) * scale / 100;
+            if (!current.isEmpty() && (used + gas > budget || current.size() >= maxCalls)) {
+                chunks.add(current);
+                current = new ArrayList<>();
+                used = 0;
+            }
+            current.add(i);
+            used += gas;
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    private void runAggregate(List<Integer> chunk, List<ReadCall> calls, Object[] results,
+                              DefaultBlockParameter block, long gasCap) {
+        List<Multicall3.Call3> call3s = new ArrayList<>(chunk.size());
+        for (int index : chunk) {
+            ReadCall call = calls.get(index);
+            String data = FunctionEncoder.encode(encodedFunction(call));
+            String target = call.isEthBalance() ? multicallAddress : call.getTarget();
+            call3s.add(new Multicall3.Call3(target, true, Numeric.hexStringToByteArray(data)));
+        }
+        Function aggregate = new Function(Multicall3.FUNC_AGGREGATE3,
+            Collections.<Type>singletonList(new DynamicArray<>(Multicall3.Call3.class, call3s)),
+            Collections.<TypeReference<?>>singletonList(new TypeReference<DynamicArray<Multicall3.Result>>() {}));
+
+        EthCall response;
+        try {
+            totalRequests.incrementAndGet();
+            response = web3j.ethCall(new Transaction(null, null, null, BigInteger.valueOf(gasCap),
+                multicallAddress, null, FunctionEncoder.encode(aggregate)), block).send();
+        } catch (IOException e) {
+            throw new CompletionException(new BlockchainException(BlockchainException.ErrorCodes.NETWORK_ERROR,
+                "批量只读调用", "聚合调用请求失败: " + e.getMessage(), e));
+        }
+
+        if (response.hasError() || response.isReverted()) {
+            String message = response.hasError() ? response.getError().getMessage() : response.getRevertReason();
+            if (!isResourceLimitError(message)) {
+                throw new CompletionException(new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED,
+                    "批量只读调用", "聚合调用失败: " + message));
+            }
+            if (chunk.size() == 1) {
+                failedCalls.incrementAndGet();
+                log.warn("单个只读调用超出节点限制，目标: {}, 错误: {}", calls.get(chunk.get(0)).getTarget(), message);
+                return;
+            }
+            chunkSplits.incrementAndGet();
+            int scale = gasScalePercent.updateAndGet(current -> Math.min(MAX_GAS_SCALE_PERCENT, current * 2));
+            log.debug("聚合调用超出节点限制，拆分批次: {} -> 2 × {}，Gas放大系数: {}%", chunk.size(), chunk.size() / 2, scale);
+            int middle = chunk.size() / 2;
+            runAggregate(chunk.subList(0, middle), calls, results, block, gasCap);
+            runAggregate(chunk.subList(middle, chunk.size()), calls, results, block, gasCap);
+            return;
+        }
+
+        List<Type> decoded = FunctionReturnDecoder.decode(response.getValue(), aggregate.getOutputParameters());
+        @SuppressWarnings("unchecked")
+        List<Multicall3.Result> returned = decoded.isEmpty()
+            ? Collections.emptyList()
+            : ((DynamicArray<Multicall3.Result>) decoded.get(0)).getValue();
+        for (int i = 0; i < chunk.size(); i++) {
+            Multicall3.Result result = i < returned.size() ? returned.get(i) : null;
+            results[chunk.get(i)] = result != null && result.success
+                ? decodeValue(calls.get(chunk.get(i)), Numeric.toHexString(result.returnData))
+                : null;
+            if (results[chunk.get(i)] == null) {
+                failedCalls.incrementAndGet();
+            }
+        }
+        gasScalePercent.updateAndGet(current -> Math.max(100, current - 10));
+    }
+
+    // ==================== JSON-RPC批量回退 ====================
+
+    private void runRpcBatch(List<Integer> chunk, List<ReadCall> calls, Object[] results, DefaultBlockParameter block) {
+        BatchRequest batch = web3j.newBatch();
+        List<Request<?, ? extends Response<?>>> requests = new ArrayList<>(chunk.size());
+        for (int index : chunk) {
+            ReadCall call = calls.get(index);
+            Request<?, ? extends Response<?>> request;
+            if (call.isEthBalance()) {
+                request = web3j.ethGetBalance(call.getAccount(), block);
+            } else {
+                request = web3j.ethCall(Transaction.createEthCallTransaction(null, call.getTarget(),
+                    FunctionEncoder.encode(call.getFunction())), block);
+            }
+            requests.add(request);
+            batch.add(request);
+        }
+
+        BatchResponse batchResponse;
+        try {
+            totalRequests.incrementAndGet();
+            batchResponse = batch.send();
+        } catch (IOException e) {
+            throw new CompletionException(new BlockchainException(BlockchainException.ErrorCodes.NETWORK_ERROR,
+                "批量只读调用", "批量请求失败: " + e.getMessage(), e));
+        }
+        Map<Long, Response<?>> responsesById = new HashMap<>();
+        for (Response<?> response : batchResponse.getResponses()) {
+            responsesById.put(response.getId(), response);
+        }
+
+        for (int i = 0; i < chunk.size(); i++) {
+            ReadCall call = calls.get(chunk.get(i));
+            Response<?> response = responsesById.get(requests.get(i).getId());
+            Object value = null;
+            if (response != null && !response.hasError()) {
+                if (response instanceof EthGetBalance balance) {
+                    value = balance.getBalance();
+                } else if (response instanceof EthCall ethCall && !ethCall.isReverted()) {
+                    value = decodeValue(call, ethCall.getValue());
+                }
+            }
+            results[chunk.get(i)] = value;
+            if (value == null) {
+                failedCalls.incrementAndGet();
+            }
+        }
+    }
+
+    // ==================== 辅助方法 ====================
+
+    private boolean useMulticall() {
+        return enabled && multicallAddress != null && !multicallAddress.isBlank();
+    }
+
+    /**
+     * ETH余额在聚合调用中通过 Multicall3.getEthBalance 读取
+     */
+    private Function encodedFunction(ReadCall call) {
+        if (!call.isEthBalance()) {
+            return call.getFunction();
+        }
+        return new Function(Multicall3.FUNC_GETETHBALANCE,
+            Collections.<Type>singletonList(new Address(160, call.getAccount())),
+            Collections.<TypeReference<?>>singletonList(new TypeReference<Uint256>() {}));
+    }
+
+    private long gasHint(ReadCall call) {
+        if (call.getGasHint() > 0) {
+            return call.getGasHint();
+        }
+        return call.getGasHint() < 0 ? stringCallGas : callGas;
+    }
+
+    private Object decodeValue(ReadCall call, String returnData) {
+        if (returnData == null || Numeric.cleanHexPrefix(returnData).isEmpty()) {
+            return null;
+        }
+        try {
+            List<Type> values = FunctionReturnDecoder.decode(returnData, encodedFunction(call).getOutputParameters());
+            return values.isEmpty() ? null : values.get(0).getValue();
+        } catch (RuntimeException e) {
+            log.debug("解码只读调用返回值失败，目标: {}, 错误: {}", call.getTarget(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 同一次查询的所有批次读取同一区块，避免批次之间跨区块导致结果不一致
+     */
+    private DefaultBlockParameter pinnedBlock() {
+        try {
+            long head = headTrackerService.getHeadNumber();
+            if (head > 0) {
+                return DefaultBlockParameter.valueOf(BigInteger.valueOf(head));
+            }
+        } catch (Exception e) {
+            log.debug("获取最新区块号失败，按latest读取: {}", e.getMessage());
+        }
+        return DefaultBlockParameterName.LATEST;
+    }
+
+    private long resolveGasCap() {
+        if (configuredGasCap > 0) {
+            return configuredGasCap;
+        }
+        long now = System.currentTimeMillis();
+        if (blockGasLimit <= 0 || now - blockGasLimitUpdatedAt > gasCapRefreshMs) {
+            try {
+                EthBlock.Block latest = web3j.ethGetBlockByNumber(DefaultBlockParameterName.LATEST, false).send().getBlock();
+                if (latest != null && latest.getGasLimit() != null) {
+                    blockGasLimit = latest.getGasLimit().longValue();
+                }
+            } catch (Exception e) {
+                log.warn("获取区块Gas上限失败: {}", e.getMessage());
+            }
+            blockGasLimitUpdatedAt = now;
+        }
+        return blockGasLimit > 0 ? blockGasLimit : DEFAULT_GAS_CAP;
+    }
+
+    private boolean isResourceLimitError(String message) {
+        if (message == null) {
+            return false;
+        }
+        String lower = message.toLowerCase();
+        return lower.contains("gas") || lower.contains("timeout") || lower.contains("too large");
+    }
+
+    /**
+     * 将批次异常还原为 BlockchainException，超时统一映射为 TIMEOUT
+     */
+    private BlockchainException unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof BlockchainException blockchainException) {
+            return blockchainException;
+        }
+        if (cause instanceof TimeoutException) {
+            return new BlockchainException(BlockchainException.ErrorCodes.TIMEOUT, "批量只读调用",
+                "批量读取超时(" + timeoutSeconds + "秒)", cause);
+        }
+        return new BlockchainException(BlockchainException.ErrorCodes.NETWORK_ERROR, "批量只读调用",
+            "批量读取失败: " + cause.getMessage(), cause);
+    }
+
+    private static List<Integer> range(int start, int end) {
+        List<Integer> indexes = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            indexes.add(i);
+        }
+        return indexes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Map<K, V> zip(List<K> keys, List<Object> values) {
+        Map<K, V> result = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            result.put(keys.get(i), (V) values.get(i));
+        }
+        return result;
+    }
+}
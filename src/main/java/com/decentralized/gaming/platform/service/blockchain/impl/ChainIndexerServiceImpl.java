@@ -0,0 +1,316 @@
+package com.decentralized.gaming.platform.service.blockchain.impl;
+
+import com.decentralized.gaming.platform.entity.ChainBlock;
+import com.decentralized.gaming.platform.entity.ChainTransaction;
+import com.decentralized.gaming.platform.entity.SyncCheckpoint;
+import com.decentralized.gaming.platform.mapper.ChainBlockMapper;
+import com.decentralized.gaming.platform.mapper.ChainEventMapper;
+import com.decentralized.gaming.platform.mapper.ChainTransactionMapper;
+import com.decentralized.gaming.platform.mapper.SyncCheckpointMapper;
+import com.decentralized.gaming.platform.service.blockchain.BlockFetchService;
+import com.decentralized.gaming.platform.service.blockchain.BlockchainCacheService;
+import com.decentralized.gaming.platform.service.blockchain.ChainIndexerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.Transaction;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 链上索引服务实现类
+ * 单线程按区块顺序摄取，每个区块与检查点在同一数据库事务中提交；
+ * 发现父哈希不匹配时回溯到共同祖先区块并回滚其后的索引数据与事件日志
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+@Service
+public class ChainIndexerServiceImpl implements ChainIndexerService {
+
+    static final String CHECKPOINT_NAME = "chain-indexer";
+
+    @Autowired(required = false)
+    private Web3j web3j;
+
+    @Autowired
+    private ChainBlockMapper chainBlockMapper;
+
+    @Autowired
+    private ChainTransactionMapper chainTransactionMapper;
+
+    @Autowired
+    private ChainEventMapper chainEventMapper;
+
+    @Autowired
+    private SyncCheckpointMapper checkpointMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BlockFetchService blockFetchService;
+
+    @Autowired
+    private BlockchainCacheService cacheService;
+
+    @Value("${app.blockchain.indexer.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.blockchain.indexer.start-block:0}")
+    private long startBlock;
+
+    @Value("${app.blockchain.indexer.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.blockchain.indexer.poll-interval-ms:2000}")
+    private long pollIntervalMs;
+
+    @Value("${app.blockchain.indexer.max-reorg-depth:64}")
+    private int maxReorgDepth;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "chain-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile ScheduledFuture<?> pollTask;
+    private volatile long indexedBlock = -1;
+    private volatile String indexedHash;
+    private volatile long headBlock = -1;
+    private volatile long reorgCount = 0;
+    private volatile String lastError;
+
+    @PostConstruct
+    public void init() {
+        if (enabled && web3j != null) {
+            start();
+        } else {
+            log.info("链上索引服务未启动: enabled={}, web3j可用={}", enabled, web3j != null);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        stop();
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (pollTask != null) {
+            log.warn("链上索引服务已在运行中");
+            return;
+        }
+        if (web3j == null) {
+            log.warn("Web3j不可用，无法启动链上索引服务");
+            return;
+        }
+        loadCheckpoint();
+        pollTask = scheduler.scheduleWithFixedDelay(this::poll, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("链上索引服务已启动，从区块 {} 继续索引", indexedBlock + 1);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (pollTask != null) {
+            pollTask.cancel(false);
+            pollTask = null;
+            log.info("链上索引服务已停止，已索引到区块 {}", indexedBlock);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return pollTask != null;
+    }
+
+    @Override
+    public long getIndexedBlockNumber() {
+        return indexedBlock;
+    }
+
+    @Override
+    public boolean isRangeIndexed(long fromBlock, long toBlock) {
+        return isRunning() && fromBlock >= startBlock && toBlock <= indexedBlock;
+    }
+
+    @Override
+    public Map<String, Object> getIndexerStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("running", isRunning());
+        status.put("startBlock", startBlock);
+        status.put("indexedBlock", indexedBlock);
+        status.put("headBlock", headBlock);
+        status.put("lag", headBlock >= 0 ? Math.max(0, headBlock - indexedBlock) : null);
+        status.put("reorgCount", reorgCount);
+        status.put("lastError", lastError);
+        status.put("timestamp", System.currentTimeMillis());
+        return status;
+    }
+
+    /**
+     * 从数据库恢复检查点
+     */
+    private void loadCheckpoint() {
+        SyncCheckpoint checkpoint = checkpointMapper.selectById(CHECKPOINT_NAME);
+        if (checkpoint != null && checkpoint.getBlockNumber() >= startBlock - 1) {
+            indexedBlock = checkpoint.getBlockNumber();
+            indexedHash = checkpoint.getBlockHash();
+        } else {
+            indexedBlock = startBlock - 1;
+            indexedHash = null;
+        }
+    }
+
+    /**
+     * 单次轮询：流水线拉取至多batchSize个新区块并按顺序摄取
+     */
+    private void poll() {
+        try {
+            headBlock = web3j.ethBlockNumber().send().getBlockNumber().longValue();
+            long target = Math.min(headBlock, indexedBlock + batchSize);
+
+            blockFetchService.fetchBlocks(indexedBlock + 1, target, true, block -> {
+                if (!isRunning()) {
+                    return false;
+                }
+                if (indexedHash != null && !indexedHash.equalsIgnoreCase(block.getParentHash())) {
+                    long number = block.getNumber().longValue();
+                    long ancestor = findCommonAncestor(number - 1);
+                    log.warn("检测到链重组: 区块 {} 父哈希不匹配，回滚到共同祖先区块 {}", number, ancestor);
+                    rollbackTo(ancestor);
+                    reorgCount++;
+                    return false;
+                }
+                persistBlock(block);
+                return true;
+            });
+            lastError = null;
+        } catch (Exception e) {
+            lastError = e.getMessage();
+            log.warn("链上索引轮询失败，已索引到区块 {}: {}", indexedBlock, e.getMessage());
+        }
+    }
+
+    /**
+     * 从指定区块向下查找本地索引与链上一致的最高区块
+     */
+    private long findCommonAncestor(long fromBlock) {
+        long floor = Math.max(startBlock - 1, fromBlock - maxReorgDepth);
+        for (long number = fromBlock; number > floor; number--) {
+            String storedHash = chainBlockMapper.selectHashByNumber(number);
+            if (storedHash == null) {
+                return number;
+            }
+            EthBlock.Block block = fetchBlock(number, false);
+            if (block != null && storedHash.equalsIgnoreCase(block.getHash())) {
+                return number;
+            }
+        }
+        log.error("链重组深度超过 {} 个区块，回滚到区块 {}", maxReorgDepth, floor);
+        return floor;
+    }
+
+    /**
+     * 回滚到指定区块，删除其后的所有索引数据并重置检查点
+     */
+    private void rollbackTo(long ancestor) {
+        String ancestorHash = ancestor >= startBlock ? chainBlockMapper.selectHashByNumber(ancestor) : null;
+        transactionTemplate.executeWithoutResult(status -> {
+            chainTransactionMapper.deleteAbove(ancestor);
+            chainEventMapper.deleteAbove(ancestor);
+            chainBlockMapper.deleteAbove(ancestor);
+            checkpointMapper.upsert(CHECKPOINT_NAME, ancestor, ancestorHash);
+        });
+        indexedBlock = ancestor;
+        indexedHash = ancestorHash;
+        cacheService.invalidateFromBlock(ancestor + 1);
+    }
+
+    /**
+     * 在同一事务中写入区块、交易与检查点
+     */
+    private void persistBlock(EthBlock.Block block) {
+        long number = block.getNumber().longValue();
+        long timestamp = block.getTimestamp().longValue();
+
+        ChainBlock chainBlock = new ChainBlock();
+        chainBlock.setBlockNumber(number);
+        chainBlock.setBlockHash(block.getHash());
+        chainBlock.setParentHash(block.getParentHash());
+        chainBlock.setBlockTimestamp(timestamp);
+        chainBlock.setTxCount(block.getTransactions().size());
+        chainBlock.setCreatedAt(LocalDateTime.now());
+
+        List<ChainTransaction> transactions = new ArrayList<>(block.getTransactions().size());
+        for (EthBlock.TransactionResult result : block.getTransactions()) {
+            if (result.get() instanceof Transaction tx) {
+                transactions.add(toChainTransaction(tx, timestamp));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            chainBlockMapper.insert(chainBlock);
+            if (!transactions.isEmpty()) {
+                chainTransactionMapper.insertBatch(transactions);
+            }
+            checkpointMapper.upsert(CHECKPOINT_NAME, number, block.getHash());
+        });
+        indexedBlock = number;
+        indexedHash = block.getHash();
+    }
+
+    private EthBlock.Block fetchBlock(long number, boolean fullTransactions) {
+        try {
+            return web3j.ethGetBlockByNumber(DefaultBlockParameter.valueOf(BigInteger.valueOf(number)), fullTransactions)
+                    .send()
+                    .getBlock();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ChainTransaction toChainTransaction(Transaction tx, long timestamp) {
+        ChainTransaction chainTx = new ChainTransaction();
+        chainTx.setTxHash(tx.getHash());
+        chainTx.setBlockNumber(tx.getBlockNumber().longValue());
+        chainTx.setBlockHash(tx.getBlockHash());
+        chainTx.setTxIndex(tx.getTransactionIndex().intValue());
+        chainTx.setFromAddress(lower(tx.getFrom()));
+        chainTx.setToAddress(lower(tx.getTo()));
+        chainTx.setContractAddress(lower(tx.getCreates()));
+        chainTx.setValue(tx.getValueRaw() != null ? new BigDecimal(tx.getValue()) : BigDecimal.ZERO);
+        chainTx.setGas(tx.getGasRaw() != null ? tx.getGas().longValue() : null);
+        chainTx.setGasPrice(tx.getGasPriceRaw() != null ? new BigDecimal(tx.getGasPrice()) : null);
+        chainTx.setNonce(tx.getNonceRaw() != null ? tx.getNonce().longValue() : null);
+        String input = tx.getInput();
+        chainTx.setMethodId(input != null && input.length() >= 10 ? input.substring(0, 10) : null);
+        chainTx.setBlockTimestamp(timestamp);
+        return chainTx;
+    }
+
+    private static String lower(String address) {
+        return address != null ? address.toLowerCase() : null;
+    }
+}
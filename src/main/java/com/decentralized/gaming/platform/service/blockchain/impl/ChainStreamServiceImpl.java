@@ -0,0 +1,654 @@
+package com.decentralized.gaming.platform.service.blockchain.impl;
+
+import com.decentralized.gaming.platform.contracts.AgentNFT;
+import com.decentralized.gaming.platform.contracts.GameNFT;
+import com.decentralized.gaming.platform.contracts.Marketplace;
+import com.decentralized.gaming.platform.contracts.PlatformToken;
+import com.decentralized.gaming.platform.contracts.Rewards;
+import com.decentralized.gaming.platform.service.blockchain.BlockFetchService;
+import com.decentralized.gaming.platform.service.blockchain.BlockchainService;
+import com.decentralized.gaming.platform.service.blockchain.ChainStreamService;
+import com.decentralized.gaming.platform.service.blockchain.HeadTrackerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.EventValues;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Event;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.tx.Contract;
+import org.web3j.utils.Numeric;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 链上数据推送服务实现类
+ * 所有连接共用一个新区块轮询任务，按主题索引查找目标连接后只编码一次消息；
+ * 每个连接一个有界发送缓冲区，由共享发送线程池排空，缓冲区满即视为慢速消费者并断开连接，
+ * 空闲连接不占用线程
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+@Service
+public class ChainStreamServiceImpl implements ChainStreamService {
+
+    private static final String TOPIC_HEADS = "heads";
+    private static final Set<String> TOPIC_TYPES = Set.of("address", "tx", "contract", "listing");
+
+    /**
+     * 单个连接每次最多连续发送的消息数，超过后让出发送线程
+     */
+    private static final int DRAIN_BATCH = 64;
+
+    private static final StreamMessage HEARTBEAT = new StreamMessage(null, null);
+
+    /**
+     * topic0 -> 已知事件定义（同一签名可能对应不同的索引参数个数，如ERC20与ERC721的Transfer）
+     */
+    private static final Map<String, List<Event>> KNOWN_EVENTS = new HashMap<>();
+
+    /**
+     * topic0 -> ABI类型为 address 的索引参数所在的topic位置（从1开始），只有这些位置会生成 address: 主题
+     */
+    private static final Map<String, Set<Integer>> ADDRESS_TOPIC_POSITIONS = new HashMap<>();
+
+    private static final Set<String> LISTING_TOPICS = Set.of(
+        EventEncoder.encode(Marketplace.ITEMLISTED_EVENT),
+        EventEncoder.encode(Marketplace.ITEMSOLD_EVENT),
+        EventEncoder.encode(Marketplace.ITEMCANCELLED_EVENT));
+
+    static {
+        for (Event event : List.of(
+                PlatformToken.TRANSFER_EVENT, PlatformToken.APPROVAL_EVENT,
+                GameNFT.TRANSFER_EVENT, GameNFT.APPROVAL_EVENT, GameNFT.APPROVALFORALL_EVENT, GameNFT.GAMECREATED_EVENT,
+                AgentNFT.AGENTCREATED_EVENT,
+                Marketplace.ITEMLISTED_EVENT, Marketplace.ITEMSOLD_EVENT, Marketplace.ITEMCANCELLED_EVENT,
+                Rewards.REWARDISSUED_EVENT)) {
+            String topic0 = EventEncoder.encode(event);
+            KNOWN_EVENTS.computeIfAbsent(topic0, key -> new ArrayList<>()).add(event);
+            List<TypeReference<Type>> indexed = event.getIndexedParameters();
+            for (int i = 0; i < indexed.size(); i++) {
+                if (Address.class.equals(indexed.get(i).getType())) {
+                    ADDRESS_TOPIC_POSITIONS.computeIfAbsent(topic0, key -> new HashSet<>()).add(i + 1);
+                }
+            }
+        }
+    }
+
+    @Autowired
+    private BlockchainService blockchainService;
+
+    @Autowired
+    private BlockFetchService blockFetchService;
+
+    @Autowired
+    private HeadTrackerService headTrackerService;
+
+    private final HeadTrackerService.HeadListener headListener = this::onHeadChanged;
+
+    @Value("${app.blockchain.stream.max-connections:20000}")
+    private int maxConnections;
+
+    @Value("${app.blockchain.stream.send-buffer-size:256}")
+    private int sendBufferSize;
+
+    @Value("${app.blockchain.stream.sender-threads:8}")
+    private int senderThreads;
+
+    @Value("${app.blockchain.stream.head-poll-interval-ms:1000}")
+    private long headPollIntervalMs;
+
+    @Value("${app.blockchain.stream.heartbeat-interval-ms:15000}")
+    private long heartbeatIntervalMs;
+
+    @Value("${app.blockchain.stream.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${app.blockchain.stream.confirmation-target:12}")
+    private int confirmationTarget;
+
+    /**
+     * 推送连接的发送端，SSE连接与测试桩共用
+     */
+    public interface StreamSink {
+
+        /**
+         * 发送一条消息
+         *
+         * @param event 事件名，为空表示心跳
+         * @param data 消息内容
+         */
+        void send(String event, Object data) throws IOException;
+
+        /**
+         * 关闭连接
+         */
+        void close();
+    }
+
+    private record StreamMessage(String event, Object data) {
+    }
+
+    /**
+     * 推送连接：有界发送缓冲区 + 同一时刻至多一个排空任务，保证连接内消息有序
+     */
+    private static final class StreamConnection {
+        private final long id;
+        private final Set<String> topics;
+        private final StreamSink sink;
+        private final BlockingQueue<StreamMessage> queue;
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        private volatile boolean closed;
+
+        private StreamConnection(long id, Set<String> topics, StreamSink sink, int capacity) {
+            this.id = id;
+            this.topics = topics;
+            this.sink = sink;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    /**
+     * 被订阅的交易：收据所在区块与最近一次推送的确认数
+     */
+    private static final class TrackedTransaction {
+        private volatile long receiptBlock = -1;
+        private volatile long confirmations = -1;
+    }
+
+    private final Map<Long, StreamConnection> connections = new ConcurrentHashMap<>();
+
+    /**
+     * 主题 -> 订阅该主题的连接
+     */
+    private final Map<String, Set<StreamConnection>> topicIndex = new ConcurrentHashMap<>();
+
+    /**
+     * 小写交易哈希 -> 跟踪状态，达到目标确认数后移除
+     */
+    private final Map<String, TrackedTransaction> trackedTransactions = new ConcurrentHashMap<>();
+
+    /**
+     * 已占用的连接名额，注册前先以CAS预留，保证并发注册时不超过上限
+     */
+    private final AtomicInteger connectionSlots = new AtomicInteger();
+
+    private final AtomicLong connectionIds = new AtomicLong();
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicBoolean newlyTracked = new AtomicBoolean(false);
+    private volatile long headBlock = -1;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "chain-stream-head");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ExecutorService senderPool;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        senderPool = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread thread = new Thread(r, "chain-stream-sender-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::pollHead, headPollIntervalMs, headPollIntervalMs, TimeUnit.MILLISECONDS);
+        headTrackerService.addListener(headListener);
+        scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("链上数据推送服务初始化完成，最大连接数: {}, 发送缓冲区: {}, 发送线程: {}",
+            maxConnections, sendBufferSize, senderThreads);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        headTrackerService.removeListener(headListener);
+        scheduler.shutdownNow();
+        for (Long connectionId : new ArrayList<>(connections.keySet())) {
+            close(connectionId);
+        }
+        if (senderPool != null) {
+            senderPool.shutdownNow();
+        }
+    }
+
+    @Override
+    public SseEmitter subscribe(Set<String> topics) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        long connectionId = open(topics, new StreamSink() {
+            @Override
+            public void send(String event, Object data) throws IOException {
+                if (event == null) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+                }
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(() -> close(connectionId));
+        emitter.onTimeout(() -> close(connectionId));
+        emitter.onError(e -> close(connectionId));
+        return emitter;
+    }
+
+    /**
+     * 注册推送连接
+     *
+     * @param topics 订阅主题
+     * @param sink 发送端
+     * @return 连接ID
+     */
+    public long open(Set<String> topics, StreamSink sink) {
+        Set<String> normalized = normalizeTopics(topics);
+        int slots;
+        do {
+            slots = connectionSlots.get();
+            if (slots >= maxConnections) {
+                throw new IllegalStateException("推送连接数已达上限: " + maxConnections);
+            }
+        } while (!connectionSlots.compareAndSet(slots, slots + 1));
+
+        StreamConnection connection = new StreamConnection(connectionIds.incrementAndGet(), normalized, sink, sendBufferSize);
+        connections.put(connection.id, connection);
+        for (String topic : normalized) {
+            topicIndex.compute(topic, (key, subscribers) -> {
+                Set<StreamConnection> result = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+                result.add(connection);
+                return result;
+            });
+            if (topic.startsWith("tx:")) {
+                trackedTransactions.putIfAbsent(topic.substring(3), new TrackedTransaction());
+                newlyTracked.set(true);
+            }
+        }
+
+        Map<String, Object> connected = new HashMap<>();
+        connected.put("connectionId", connection.id);
+        connected.put("topics", normalized);
+        connected.put("headBlock", headBlock);
+        enqueue(connection, new StreamMessage("connected", connected));
+        return connection.id;
+    }
+
+    /**
+     * 关闭推送连接并从主题索引中移除
+     *
+     * @param connectionId 连接ID
+     */
+    public void close(long connectionId) {
+        StreamConnection connection = connections.remove(connectionId);
+        if (connection == null) {
+            return;
+        }
+        connectionSlots.decrementAndGet();
+        connection.closed = true;
+        connection.queue.clear();
+        for (String topic : connection.topics) {
+            topicIndex.computeIfPresent(topic, (key, subscribers) -> {
+                subscribers.remove(connection);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+            if (topic.startsWith("tx:") && !topicIndex.containsKey(topic)) {
+                trackedTransactions.remove(topic.substring(3));
+            }
+        }
+        try {
+            connection.sink.close();
+        } catch (Exception e) {
+            log.debug("关闭推送连接 {} 失败: {}", connectionId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void publishEvent(Log eventLog) {
+        if (topicIndex.isEmpty() || eventLog.getTopics() == null || eventLog.getTopics().isEmpty()) {
+            return;
+        }
+
+        Set<StreamConnection> targets = new HashSet<>();
+        for (String key : eventTopics(eventLog)) {
+            Set<StreamConnection> subscribers = topicIndex.get(key);
+            if (subscribers != null) {
+                targets.addAll(subscribers);
+            }
+        }
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        StreamMessage message = new StreamMessage(eventLog.isRemoved() ? "eventRemoved" : "event", toEventPayload(eventLog));
+        for (StreamConnection connection : targets) {
+            enqueue(connection, message);
+        }
+    }
+
+    @Override
+    public synchronized void onNewHead(long blockNumber) {
+        if (blockNumber <= headBlock) {
+            return;
+        }
+        headBlock = blockNumber;
+
+        Set<StreamConnection> subscribers = topicIndex.get(TOPIC_HEADS);
+        if (subscribers != null) {
+            Map<String, Object> head = new HashMap<>();
+            head.put("blockNumber", blockNumber);
+            head.put("timestamp", System.currentTimeMillis());
+            StreamMessage message = new StreamMessage("head", head);
+            for (StreamConnection connection : subscribers) {
+                enqueue(connection, message);
+            }
+        }
+
+        newlyTracked.set(false);
+        refreshTransactions(blockNumber);
+    }
+
+    @Override
+    public Map<String, Object> getStreamStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("connections", connections.size());
+        status.put("maxConnections", maxConnections);
+        status.put("topics", topicIndex.size());
+        status.put("trackedTransactions", trackedTransactions.size());
+        status.put("headBlock", headBlock);
+        status.put("sendBufferSize", sendBufferSize);
+        status.put("sent", sentCount.get());
+        status.put("droppedSlowConsumers", droppedCount.get());
+        status.put("timestamp", System.currentTimeMillis());
+        return status;
+    }
+
+    /**
+     * 新区块由跟踪服务推送，转到本服务的调度线程处理，避免阻塞跟踪线程
+     */
+    private void onHeadChanged(HeadTrackerService.ChainHead head) {
+        if (!connections.isEmpty()) {
+            scheduler.execute(() -> onNewHead(head.getNumber()));
+        }
+    }
+
+    /**
+     * 兜底轮询：新区块通常由跟踪服务推送，这里读取跟踪服务发布的区块号，补发遗漏的区块并刷新新加入跟踪的交易
+     */
+    private void pollHead() {
+        try {
+            if (connections.isEmpty()) {
+                return;
+            }
+            long head = blockchainService.getCurrentBlockNumber().longValue();
+            if (head > headBlock) {
+                onNewHead(head);
+            } else if (newlyTracked.getAndSet(false)) {
+                refreshNewlyTracked(head);
+            }
+        } catch (Exception e) {
+            log.warn("推送服务获取最新区块失败: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void refreshNewlyTracked(long head) {
+        refreshTransactions(head);
+    }
+
+    /**
+     * 批量拉取未出块交易的收据，并推送确认数变化；达到目标确认数后停止跟踪
+     */
+    private void refreshTransactions(long head) {
+        if (trackedTransactions.isEmpty()) {
+            return;
+        }
+
+        List<String> pending = new ArrayList<>();
+        trackedTransactions.forEach((txHash, tracked) -> {
+            if (tracked.receiptBlock < 0) {
+                pending.add(txHash);
+            }
+        });
+        if (!pending.isEmpty()) {
+            List<TransactionReceipt> receipts = blockFetchService.fetchReceipts(pending);
+            for (int i = 0; i < pending.size(); i++) {
+                TransactionReceipt receipt = receipts.get(i);
+                TrackedTransaction tracked = trackedTransactions.get(pending.get(i));
+                if (receipt != null && receipt.getBlockNumber() != null && tracked != null) {
+                    tracked.receiptBlock = receipt.getBlockNumber().longValue();
+                    publishToTopic("tx:" + pending.get(i), new StreamMessage("receipt", toReceiptPayload(receipt)));
+                }
+            }
+        }
+
+        trackedTransactions.forEach((txHash, tracked) -> {
+            if (tracked.receiptBlock < 0) {
+                return;
+            }
+            long confirmations = Math.max(0, head - tracked.receiptBlock + 1);
+            if (confirmations == tracked.confirmations) {
+                return;
+            }
+            tracked.confirmations = confirmations;
+
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("txHash", txHash);
+            payload.put("blockNumber", tracked.receiptBlock);
+            payload.put("confirmations", confirmations);
+            payload.put("requiredConfirmations", confirmationTarget);
+            payload.put("confirmed", confirmations >= confirmationTarget);
+            publishToTopic("tx:" + txHash, new StreamMessage("confirmations", payload));
+            if (confirmations >= confirmationTarget) {
+                trackedTransactions.remove(txHash);
+            }
+        });
+    }
+
+    private void heartbeat() {
+        for (StreamConnection connection : connections.values()) {
+            enqueue(connection, HEARTBEAT);
+        }
+    }
+
+    private void publishToTopic(String topic, StreamMessage message) {
+        Set<StreamConnection> subscribers = topicIndex.get(topic);
+        if (subscribers != null) {
+            for (StreamConnection connection : subscribers) {
+                enqueue(connection, message);
+            }
+        }
+    }
+
+    /**
+     * 写入连接的发送缓冲区；缓冲区满说明消费者跟不上，直接断开而不是阻塞发布线程
+     */
+    private void enqueue(StreamConnection connection, StreamMessage message) {
+        if (connection.closed) {
+            return;
+        }
+        if (!connection.queue.offer(message)) {
+            droppedCount.incrementAndGet();
+            log.info("推送连接 {} 发送缓冲区已满，断开慢速消费者", connection.id);
+            close(connection.id);
+            return;
+        }
+        scheduleDrain(connection);
+    }
+
+    private void scheduleDrain(StreamConnection connection) {
+        if (connection.draining.compareAndSet(false, true)) {
+            senderPool.execute(() -> drain(connection));
+        }
+    }
+
+    /**
+     * 排空连接的发送缓冲区，每次至多发送DRAIN_BATCH条消息后让出线程
+     */
+    private void drain(StreamConnection connection) {
+        try {
+            StreamMessage message;
+            int sent = 0;
+            while (sent < DRAIN_BATCH && !connection.closed && (message = connection.queue.poll()) != null) {
+                connection.sink.send(message.event(), message.data());
+                sentCount.incrementAndGet();
+                sent++;
+            }
+        } catch (Exception e) {
+            log.debug("推送连接 {} 发送失败，关闭连接: {}", connection.id, e.getMessage());
+            close(connection.id);
+        } finally {
+            connection.draining.set(false);
+            if (!connection.closed && !connection.queue.isEmpty()) {
+                scheduleDrain(connection);
+            }
+        }
+    }
+
+    /**
+     * 规范化订阅主题：类型:值，值统一小写
+     */
+    private Set<String> normalizeTopics(Set<String> topics) {
+        Set<String> normalized = new HashSet<>();
+        if (topics != null) {
+            for (String topic : topics) {
+                if (topic == null || topic.isBlank()) {
+                    continue;
+                }
+                String trimmed = topic.trim().toLowerCase();
+                if (TOPIC_HEADS.equals(trimmed)) {
+                    normalized.add(TOPIC_HEADS);
+                    continue;
+                }
+                int separator = trimmed.indexOf(':');
+                if (separator <= 0 || separator == trimmed.length() - 1
+                        || !TOPIC_TYPES.contains(trimmed.substring(0, separator))) {
+                    throw new IllegalArgumentException("无效的订阅主题: " + topic);
+                }
+                normalized.add(trimmed);
+            }
+        }
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("至少需要订阅一个主题");
+        }
+        return normalized;
+    }
+
+    /**
+     * 事件日志可匹配的主题：合约、交易、ABI类型为 address 的索引参数、市场挂单ID
+     */
+    private Set<String> eventTopics(Log eventLog) {
+        List<String> topics = eventLog.getTopics();
+        Set<String> keys = new HashSet<>();
+        keys.add("contract:" + eventLog.getAddress().toLowerCase());
+        if (eventLog.getTransactionHash() != null) {
+            keys.add("tx:" + eventLog.getTransactionHash().toLowerCase());
+        }
+        Set<Integer> addressPositions = topics.isEmpty()
+            ? Set.of() : ADDRESS_TOPIC_POSITIONS.getOrDefault(topics.get(0).toLowerCase(), Set.of());
+        for (int i : addressPositions) {
+            if (i >= topics.size()) {
+                continue;
+            }
+            String topic = Numeric.cleanHexPrefix(topics.get(i)).toLowerCase();
+            if (topic.length() == 64) {
+                keys.add("address:0x" + topic.substring(24));
+            }
+        }
+        if (topics.size() > 1 && LISTING_TOPICS.contains(topics.get(0).toLowerCase())) {
+            keys.add("listing:" + Numeric.toBigInt(topics.get(1)));
+        }
+        return keys;
+    }
+
+    private Map<String, Object> toEventPayload(Log eventLog) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("contractAddress", eventLog.getAddress());
+        payload.put("blockNumber", eventLog.getBlockNumber());
+        payload.put("logIndex", eventLog.getLogIndex());
+        payload.put("txHash", eventLog.getTransactionHash());
+        payload.put("blockHash", eventLog.getBlockHash());
+        payload.put("topics", eventLog.getTopics());
+        payload.put("data", eventLog.getData());
+
+        Event event = resolveEvent(eventLog.getTopics());
+        if (event != null) {
+            payload.put("event", event.getName());
+            try {
+                EventValues values = Contract.staticExtractEventParameters(event, eventLog);
+                if (values != null) {
+                    payload.put("indexedArgs", argValues(values.getIndexedValues()));
+                    payload.put("args", argValues(values.getNonIndexedValues()));
+                }
+            } catch (Exception e) {
+                log.debug("解码事件 {} 失败: {}", event.getName(), e.getMessage());
+            }
+        }
+        return payload;
+    }
+
+    private Event resolveEvent(List<String> topics) {
+        List<Event> candidates = KNOWN_EVENTS.get(topics.get(0).toLowerCase());
+        if (candidates == null) {
+            return null;
+        }
+        for (Event candidate : candidates) {
+            if (candidate.getIndexedParameters().size() == topics.size() - 1) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static List<String> argValues(List<Type> values) {
+        List<String> result = new ArrayList<>(values.size());
+        for (Type value : values) {
+            Object raw = value.getValue();
+            result.add(raw instanceof byte[] bytes ? Numeric.toHexString(bytes) : String.valueOf(raw));
+        }
+        return result;
+    }
+
+    private static Map<String, Object> toReceiptPayload(TransactionReceipt receipt) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("txHash", receipt.getTransactionHash());
+        payload.put("blockNumber", receipt.getBlockNumber());
+        payload.put("blockHash", receipt.getBlockHash());
+        payload.put("status", receipt.isStatusOK() ? "SUCCESS" : "FAILED");
+        payload.put("from", receipt.getFrom());
+        payload.put("to", receipt.getTo());
+        payload.put("contractAddress", receipt.getContractAddress());
+        payload.put("gasUsed", receipt.getGasUsedRaw() != null ? receipt.getGasUsed() : null);
+        payload.put("logCount", receipt.getLogs() != null ? receipt.getLogs().size() : 0);
+        return payload;
+    }
+}
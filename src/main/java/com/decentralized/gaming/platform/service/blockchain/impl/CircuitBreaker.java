@@ -0,0 +1,124 @@
+package com.decentralized.gaming.platform.service.blockchain.impl;
+
+/**
+ * 单个操作的熔断器
+ * CLOSED：正常放行，连续瞬时失败达到阈值后转为 OPEN；
+ * OPEN：直接拒绝，经过 openDurationMs 后放行一次试探请求并转为 HALF_OPEN；
+ * HALF_OPEN：只允许一个试探请求，成功则恢复 CLOSED，失败则重新 OPEN
+ *
+ * @author DecentralizedGamingPlatform
+ */
+final class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /**
+     * 状态变化回调
+     */
+    interface TransitionListener {
+        void onTransition(String name, State from, State to);
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final TransitionListener listener;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+    private long rejectedCount;
+
+    CircuitBreaker(String name, int failureThreshold, long openDurationMs, TransitionListener listener) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationMs = openDurationMs;
+        this.listener = listener;
+    }
+
+    /**
+     * 申请执行一次调用
+     *
+     * @return 是否放行
+     */
+    boolean tryAcquire() {
+        State from;
+        synchronized (this) {
+            switch (state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (System.currentTimeMillis() - openedAt < openDurationMs) {
+                        rejectedCount++;
+                        return false;
+                    }
+                    from = state;
+                    state = State.HALF_OPEN;
+                    trialInFlight = true;
+                    break;
+                default:
+                    if (trialInFlight) {
+                        rejectedCount++;
+                        return false;
+                    }
+                    trialInFlight = true;
+                    return true;
+            }
+        }
+        listener.onTransition(name, from, State.HALF_OPEN);
+        return true;
+    }
+
+    /**
+     * 调用成功，或失败原因与节点可用性无关
+     */
+    void onSuccess() {
+        State from;
+        synchronized (this) {
+            consecutiveFailures = 0;
+            trialInFlight = false;
+            if (state == State.CLOSED) {
+                return;
+            }
+            from = state;
+            state = State.CLOSED;
+        }
+        listener.onTransition(name, from, State.CLOSED);
+    }
+
+    /**
+     * 调用出现瞬时失败（网络错误、超时）
+     */
+    void onFailure() {
+        State from;
+        synchronized (this) {
+            consecutiveFailures++;
+            trialInFlight = false;
+            boolean trip = state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold);
+            if (!trip) {
+                return;
+            }
+            from = state;
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+        listener.onTransition(name, from, State.OPEN);
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    synchronized int consecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    synchronized long rejectedCount() {
+        return rejectedCount;
+    }
+
+    synchronized long remainingOpenMs() {
+        return state == State.OPEN ? Math.max(0, openDurationMs - (System.currentTimeMillis() - openedAt)) : 0;
+    }
+}
@@ -1,7 +1,9 @@
 package com.decentralized.gaming.platform.service.blockchain.impl;
 
 import com.decentralized.gaming.platform.service.blockchain.ContractAddressService;
+import com.decentralized.gaming.platform.service.blockchain.ContractHandleRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -22,6 +24,9 @@ public class ContractAddressServiceImpl implements ContractAddressService {
     // 内存中的合约地址缓存
     private final Map<String, ContractConfig> contractConfigs = new ConcurrentHashMap<>();
 
+    @Autowired
+    private ContractHandleRegistry contractHandleRegistry;
+
     // 从配置文件读取的默认合约地址
     @Value("${app.blockchain.contracts.platformToken:}")
     private String defaultPlatformTokenAddress;
@@ -80,6 +85,10 @@ public class ContractAddressServiceImpl implements ContractAddressService {
             if (config == null) {
                 config = new ContractConfig(contractType, contractAddress);
             } else {
+                // 地址变更后旧地址的合约句柄不再使用
+                if (!contractAddress.equalsIgnoreCase(config.getContractAddress())) {
+                    contractHandleRegistry.invalidateAddress(config.getContractAddress());
+                }
                 config.setContractAddress(contractAddress);
                 config.setDeployedAt(System.currentTimeMillis());
             }
@@ -156,6 +165,7 @@ public class ContractAddressServiceImpl implements ContractAddressService {
             ContractConfig config = contractConfigs.get(contractType);
             if (config != null) {
                 config.setActive(false);
+                contractHandleRegistry.invalidateAddress(config.getContractAddress());
                 log.info("合约地址已清除: type={}", contractType);
             }
             return true;
@@ -213,7 +223,11 @@ public class ContractAddressServiceImpl implements ContractAddressService {
             config.setNetworkName(networkUrl);
             config.setChainId(chainId);
             
-            contractConfigs.put(contractType, config);
+            ContractConfig previous = contractConfigs.put(contractType, config);
+            if (previous != null && previous.getContractAddress() != null
+                    && !previous.getContractAddress().equalsIgnoreCase(config.getContractAddress())) {
+                contractHandleRegistry.invalidateAddress(previous.getContractAddress());
+            }
             
             log.info("合约配置已更新: type={}", contractType);
             return true;
@@ -0,0 +1,124 @@
+package com.decentralized.gaming.platform.service.blockchain.impl;
+
+import com.decentralized.gaming.platform.service.blockchain.ContractHandleRegistry;
+import com.decentralized.gaming.platform.service.blockchain.TransactionPipelineService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.Web3j;
+import org.web3j.tx.Contract;
+import org.web3j.tx.gas.ContractGasProvider;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 合约句柄注册表实现类
+ * 按访问顺序的 LinkedHashMap 实现有界LRU；加载只做本地对象构造，不发起RPC，在锁外完成，重复加载时保留先放入的句柄
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+@Service
+public class ContractHandleRegistryImpl implements ContractHandleRegistry {
+
+    @Autowired(required = false)
+    private Web3j web3j;
+
+    @Autowired
+    private ContractGasProvider gasProvider;
+
+    @Autowired
+    private TransactionPipelineService transactionPipelineService;
+
+    @Value("${app.blockchain.contract-registry.max-size:1024}")
+    private int maxSize;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    private final LinkedHashMap<HandleKey, Contract> handles = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<HandleKey, Contract> eldest) {
+            if (size() > maxSize) {
+                evictionCount.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * 句柄键：合约地址与签名者地址统一为小写
+     */
+    private record HandleKey(Class<?> type, String contractAddress, String signer) {
+    }
+
+    @Override
+    public <T extends Contract> T get(Class<T> type, String contractAddress, Credentials credentials, ContractLoader<T> loader) {
+        HandleKey key = new HandleKey(type, contractAddress.toLowerCase(), credentials.getAddress().toLowerCase());
+        Contract handle;
+        synchronized (handles) {
+            handle = handles.get(key);
+        }
+        if (handle != null) {
+            hitCount.incrementAndGet();
+            return type.cast(handle);
+        }
+
+        missCount.incrementAndGet();
+        T loaded = loader.load(contractAddress, web3j, transactionPipelineService.getTransactionManager(credentials), gasProvider);
+        synchronized (handles) {
+            Contract existing = handles.putIfAbsent(key, loaded);
+            return existing != null ? type.cast(existing) : loaded;
+        }
+    }
+
+    @Override
+    public int invalidateAddress(String contractAddress) {
+        if (contractAddress == null) {
+            return 0;
+        }
+        String address = contractAddress.toLowerCase();
+        int removed = 0;
+        synchronized (handles) {
+            Iterator<HandleKey> iterator = handles.keySet().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().contractAddress().equals(address)) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+        }
+        if (removed > 0) {
+            log.info("合约地址已变更，移除合约句柄: {}, 数量: {}", contractAddress, removed);
+        }
+        return removed;
+    }
+
+    @Override
+    public void invalidateAll() {
+        synchronized (handles) {
+            handles.clear();
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (handles) {
+            stats.put("size", handles.size());
+        }
+        stats.put("maxSize", maxSize);
+        stats.put("hitCount", hitCount.get());
+        stats.put("missCount", missCount.get());
+        stats.put("evictionCount", evictionCount.get());
+        return stats;
+    }
+}
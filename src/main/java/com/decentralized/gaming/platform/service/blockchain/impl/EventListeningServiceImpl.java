@@ -1,31 +1,60 @@
 package com.decentralized.gaming.platform.service.blockchain.impl;
 
+import com.decentralized.gaming.platform.contracts.AgentNFT;
+import com.decentralized.gaming.platform.contracts.GameNFT;
+import com.decentralized.gaming.platform.contracts.Marketplace;
+import com.decentralized.gaming.platform.contracts.Rewards;
 import com.decentralized.gaming.platform.service.blockchain.BlockchainService;
+import com.decentralized.gaming.platform.service.blockchain.ChainStreamService;
+import com.decentralized.gaming.platform.service.blockchain.ContractConfigService;
 import com.decentralized.gaming.platform.service.blockchain.EventListeningService;
+import com.decentralized.gaming.platform.service.blockchain.EventStoreService;
+import com.decentralized.gaming.platform.service.blockchain.LogFetchService;
+import com.decentralized.gaming.platform.service.blockchain.SubscriptionDispatchService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.web3j.abi.EventEncoder;
 import org.web3j.protocol.Web3j;
-import org.web3j.protocol.core.DefaultBlockParameterName;
-import org.web3j.protocol.core.methods.request.EthFilter;
-import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.methods.response.EthBlock;
 import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.utils.Numeric;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 
 /**
  * 智能合约事件监听服务实现类
- * 监听区块链上的智能合约事件
+ * 所有合约共用一个日志轮询任务和一个 eth_getLogs 过滤条件，日志按 topic0 查表分发到各自的处理通道；
+ * 通道共享有界线程池，通道内按 (区块号, 日志序号) 顺序处理，通道队列满时轮询暂停形成背压。
+ * 轮询到最新区块，记录最近区块的哈希；链头哈希变化时回退到分叉点，已分发的日志以 removed=true 重新分发
  *
  * @author DecentralizedGamingPlatform
  */
@@ -33,24 +62,161 @@ import java.util.concurrent.Executors;
 @Service
 public class EventListeningServiceImpl implements EventListeningService {
 
+    private static final String TRANSFER_TOPIC = EventEncoder.encode(GameNFT.TRANSFER_EVENT);
+    private static final String APPROVAL_TOPIC = EventEncoder.encode(GameNFT.APPROVAL_EVENT);
+    private static final String GAME_CREATED_TOPIC = EventEncoder.encode(GameNFT.GAMECREATED_EVENT);
+    private static final String AGENT_CREATED_TOPIC = EventEncoder.encode(AgentNFT.AGENTCREATED_EVENT);
+    private static final String ITEM_LISTED_TOPIC = EventEncoder.encode(Marketplace.ITEMLISTED_EVENT);
+    private static final String ITEM_SOLD_TOPIC = EventEncoder.encode(Marketplace.ITEMSOLD_EVENT);
+    private static final String REWARD_ISSUED_TOPIC = EventEncoder.encode(Rewards.REWARDISSUED_EVENT);
+
+    /**
+     * 单个处理通道每次最多连续处理的事件数，超过后让出工作线程
+     */
+    private static final int DRAIN_BATCH = 256;
+
     @Autowired(required = false)
     private Web3j web3j;
 
     @Autowired
     private BlockchainService blockchainService;
 
+    @Autowired
+    private LogFetchService logFetchService;
+
+    @Autowired
+    private EventStoreService eventStoreService;
+
+    @Autowired
+    private ContractConfigService contractConfigService;
+
+    @Autowired
+    private SubscriptionDispatchService subscriptionDispatchService;
+
+    @Autowired
+    private ChainStreamService chainStreamService;
+
+    @Value("${app.blockchain.event-listener.poll-interval-ms:2000}")
+    private long pollIntervalMs;
+
+    @Value("${app.blockchain.event-listener.max-blocks-per-poll:2000}")
+    private long maxBlocksPerPoll;
+
+    @Value("${app.blockchain.event-listener.worker-threads:4}")
+    private int workerThreads;
+
+    @Value("${app.blockchain.event-listener.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.blockchain.event-listener.reorg-window:64}")
+    private int reorgWindow;
+
     private ExecutorService executorService;
     private volatile boolean isListening = false;
 
+    /**
+     * 日志轮询线程：所有合约共用一个 eth_getLogs 过滤条件
+     */
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "event-log-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 事件处理线程池，各处理通道共享
+     */
+    private ExecutorService dispatchPool;
+
+    /**
+     * topic0 -> 处理通道，初始化后只读
+     */
+    private final Map<String, HandlerLane> handlers = new LinkedHashMap<>();
+
+    /**
+     * 自定义合约事件处理通道
+     */
+    private HandlerLane customLane;
+
+    /**
+     * 监听中的合约：小写地址 -> 合约类型
+     */
+    private final Map<String, String> monitoredContracts = new ConcurrentHashMap<>();
+
+    /**
+     * 自定义监听：小写合约地址 -> 小写事件签名集合
+     */
+    private final Map<String, Set<String>> customSignatures = new ConcurrentHashMap<>();
+
+    private volatile ScheduledFuture<?> pollTask;
+    private volatile long polledBlock = -1;
+    private volatile long headBlock = -1;
+
+    /**
+     * 最近轮询过的区块：区块号 -> 区块哈希与已分发的日志，用于检测重组并撤回被移出主链的日志；仅轮询线程访问
+     */
+    private final NavigableMap<Long, PolledBlock> recentBlocks = new TreeMap<>();
+
+    private record PolledBlock(String hash, List<Log> logs) {
+    }
+
+    /**
+     * 待处理事件
+     */
+    private record DispatchItem(Log log, String context) {
+    }
+
+    /**
+     * 处理通道：有界队列 + 同一时刻至多一个排空任务，保证通道内按 (区块号, 日志序号) 顺序处理
+     */
+    private static final class HandlerLane {
+        private final String name;
+        private final BiConsumer<Log, String> handler;
+        private final BlockingQueue<DispatchItem> queue;
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        private final AtomicLong handledCount = new AtomicLong();
+        private final AtomicLong failedCount = new AtomicLong();
+        private volatile long lastHandledBlock = -1;
+
+        private HandlerLane(String name, BiConsumer<Log, String> handler, int capacity) {
+            this.name = name;
+            this.handler = handler;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
     @PostConstruct
     public void init() {
         executorService = Executors.newFixedThreadPool(5);
-        log.info("事件监听服务初始化完成");
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        dispatchPool = Executors.newFixedThreadPool(workerThreads, r -> {
+            Thread thread = new Thread(r, "event-dispatch-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        registerHandler(TRANSFER_TOPIC, "Transfer", this::handleTransferEvent);
+        registerHandler(APPROVAL_TOPIC, "Approval", this::handleApprovalEvent);
+        registerHandler(GAME_CREATED_TOPIC, "GameCreated", (eventLog, contractType) -> handleGameCreatedEvent(eventLog));
+        registerHandler(AGENT_CREATED_TOPIC, "AgentCreated", (eventLog, contractType) -> handleAgentCreatedEvent(eventLog));
+        registerHandler(ITEM_LISTED_TOPIC, "ItemListed", (eventLog, contractType) -> handleItemListedEvent(eventLog));
+        registerHandler(ITEM_SOLD_TOPIC, "ItemSold", (eventLog, contractType) -> handleItemSoldEvent(eventLog));
+        registerHandler(REWARD_ISSUED_TOPIC, "RewardIssued", (eventLog, contractType) -> handleRewardIssuedEvent(eventLog));
+        customLane = new HandlerLane("Custom",
+            (eventLog, eventSignature) -> handleCustomEventInternal(eventLog, eventLog.getAddress(), eventSignature),
+            queueCapacity);
+
+        log.info("事件监听服务初始化完成，处理线程: {}, 通道队列容量: {}", workerThreads, queueCapacity);
     }
 
     @PreDestroy
     public void destroy() {
         stopListening();
+        poller.shutdownNow();
+        if (dispatchPool != null) {
+            dispatchPool.shutdown();
+        }
         if (executorService != null) {
             executorService.shutdown();
         }
@@ -58,11 +224,15 @@ public class EventListeningServiceImpl implements EventListeningService {
     }
 
     @Override
-    public void startListening() {
+    public synchronized void startListening() {
         if (isListening) {
             log.warn("事件监听已在运行中");
             return;
         }
+        if (web3j == null) {
+            log.warn("Web3j不可用，无法开始监听智能合约事件");
+            return;
+        }
 
         isListening = true;
         log.info("开始监听智能合约事件...");
@@ -81,11 +251,19 @@ public class EventListeningServiceImpl implements EventListeningService {
         
         // 监听奖励事件
         listenToRewardsEvents();
+
+        // 所有合约共用一个轮询任务，从当前区块之后开始
+        polledBlock = -1;
+        pollTask = poller.scheduleWithFixedDelay(this::poll, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
     }
 
     @Override
-    public void stopListening() {
+    public synchronized void stopListening() {
         isListening = false;
+        if (pollTask != null) {
+            pollTask.cancel(false);
+            pollTask = null;
+        }
         log.info("停止监听智能合约事件");
     }
 
@@ -93,7 +271,6 @@ public class EventListeningServiceImpl implements EventListeningService {
     public boolean isListening() {
         return isListening;
     }
-
     @Override
     public List<Log> getHistoricalEvents(String fromBlock, String toBlock) {
         try {
@@ -107,28 +284,12 @@ public class EventListeningServiceImpl implements EventListeningService {
     }
 
     public CompletableFuture<List<Log>> getHistoricalEventsAsync(String contractAddress, String eventSignature, BigInteger fromBlock, BigInteger toBlock) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                EthFilter filter = new EthFilter(
-                    org.web3j.protocol.core.DefaultBlockParameter.valueOf(fromBlock),
-                    org.web3j.protocol.core.DefaultBlockParameter.valueOf(toBlock),
-                    contractAddress
-                );
-                filter.addSingleTopic(eventSignature);
-
-                EthLog ethLog = web3j.ethGetLogs(filter).send();
-                List<Log> logs = new java.util.ArrayList<>();
-                for (EthLog.LogResult<?> logResult : ethLog.getLogs()) {
-                    if (logResult instanceof Log) {
-                        logs.add((Log) logResult);
-                    }
-                }
-                return logs;
-            } catch (IOException e) {
-                log.error("获取历史事件失败", e);
-                throw new RuntimeException("获取历史事件失败", e);
-            }
-        }, executorService);
+        return CompletableFuture.supplyAsync(() -> logFetchService.fetchLogs(
+            addressList(contractAddress),
+            topicList(eventSignature),
+            fromBlock.longValue(),
+            toBlock.longValue()
+        ), executorService);
     }
 
     @Override
@@ -145,28 +306,14 @@ public class EventListeningServiceImpl implements EventListeningService {
 
     public CompletableFuture<List<Log>> getAddressHistoricalEventsAsync(String contractAddress, String address, BigInteger fromBlock, BigInteger toBlock) {
         return CompletableFuture.supplyAsync(() -> {
-            try {
-                EthFilter filter = new EthFilter(
-                    org.web3j.protocol.core.DefaultBlockParameter.valueOf(fromBlock),
-                    org.web3j.protocol.core.DefaultBlockParameter.valueOf(toBlock),
-                    contractAddress
-                );
-                // 添加地址作为主题过滤
-                // 注意：addOptionalTopic方法可能不存在，这里使用addSingleTopic作为替代
-                // filter.addOptionalTopic("0x000000000000000000000000" + address.substring(2).toLowerCase());
-
-                EthLog ethLog = web3j.ethGetLogs(filter).send();
-                List<Log> logs = new java.util.ArrayList<>();
-                for (EthLog.LogResult<?> logResult : ethLog.getLogs()) {
-                    if (logResult instanceof Log) {
-                        logs.add((Log) logResult);
-                    }
-                }
-                return logs;
-            } catch (IOException e) {
-                log.error("获取地址历史事件失败", e);
-                throw new RuntimeException("获取地址历史事件失败", e);
-            }
+            // 索引地址参数位于 topic1（from/owner）或 topic2（to/operator），两次查询后按 (区块号, 日志序号) 合并去重
+            String addressTopic = addressToTopic(address);
+            List<String> contracts = addressList(contractAddress);
+            List<Log> asFirst = logFetchService.fetchLogs(contracts,
+                Arrays.asList(null, List.of(addressTopic)), fromBlock.longValue(), toBlock.longValue());
+            List<Log> asSecond = logFetchService.fetchLogs(contracts,
+                Arrays.asList(null, null, List.of(addressTopic)), fromBlock.longValue(), toBlock.longValue());
+            return mergeOrdered(asFirst, asSecond);
         }, executorService);
     }
 
@@ -183,30 +330,50 @@ public class EventListeningServiceImpl implements EventListeningService {
     }
 
     public CompletableFuture<List<Log>> getMultiContractHistoricalEventsAsync(List<String> contractAddresses, String eventSignature, BigInteger fromBlock, BigInteger toBlock) {
-        return CompletableFuture.supplyAsync(() -> {
-            List<Log> allLogs = new java.util.ArrayList<>();
-            try {
-                for (String contractAddress : contractAddresses) {
-                    EthFilter filter = new EthFilter(
-                        org.web3j.protocol.core.DefaultBlockParameter.valueOf(fromBlock),
-                        org.web3j.protocol.core.DefaultBlockParameter.valueOf(toBlock),
-                        contractAddress
-                    );
-                    filter.addSingleTopic(eventSignature);
-
-                    EthLog ethLog = web3j.ethGetLogs(filter).send();
-                    for (EthLog.LogResult<?> logResult : ethLog.getLogs()) {
-                        if (logResult instanceof Log) {
-                            allLogs.add((Log) logResult);
-                        }
-                    }
+        // 使用地址数组构造单个过滤器，不再逐个合约查询
+        return CompletableFuture.supplyAsync(() -> logFetchService.fetchLogs(
+            contractAddresses,
+            topicList(eventSignature),
+            fromBlock.longValue(),
+            toBlock.longValue()
+        ), executorService);
+    }
+
+    private static List<String> addressList(String contractAddress) {
+        return contractAddress == null || contractAddress.isEmpty() ? List.of() : List.of(contractAddress);
+    }
+
+    private static List<List<String>> topicList(String eventSignature) {
+        return eventSignature == null || eventSignature.isEmpty() ? List.of() : List.of(List.of(eventSignature));
+    }
+
+    private static String addressToTopic(String address) {
+        return "0x000000000000000000000000" + Numeric.cleanHexPrefix(address).toLowerCase();
+    }
+
+    /**
+     * 合并两个已排序的日志列表，去除同一 (区块号, 日志序号) 的重复项
+     */
+    private static List<Log> mergeOrdered(List<Log> left, List<Log> right) {
+        List<Log> merged = new ArrayList<>(left.size() + right.size());
+        int i = 0;
+        int j = 0;
+        while (i < left.size() || j < right.size()) {
+            Log next;
+            if (j >= right.size()) {
+                next = left.get(i++);
+            } else if (i >= left.size()) {
+                next = right.get(j++);
+            } else {
+                int cmp = LogFetchServiceImpl.LOG_ORDER.compare(left.get(i), right.get(j));
+                if (cmp == 0) {
+                    j++;
                 }
-                return allLogs;
-            } catch (IOException e) {
-                log.error("获取多合约历史事件失败", e);
-                throw new RuntimeException("获取多合约历史事件失败", e);
+                next = cmp <= 0 ? left.get(i++) : right.get(j++);
             }
-        }, executorService);
+            merged.add(next);
+        }
+        return merged;
     }
 
     @Override
@@ -248,29 +415,11 @@ public class EventListeningServiceImpl implements EventListeningService {
 
     @Override
     public void startContractListening(String contractAddress, String eventSignature) {
-        executorService.submit(() -> {
-            try {
-                EthFilter filter = new EthFilter(
-                    DefaultBlockParameterName.LATEST,
-                    DefaultBlockParameterName.LATEST,
-                    contractAddress
-                );
-                filter.addSingleTopic(eventSignature);
-
-                web3j.ethLogFlowable(filter).subscribe(
-                    log -> {
-                        if (isListening) {
-                            handleCustomEvent(log, eventSignature);
-                        }
-                    },
-                    error -> log.error("监听合约事件失败: {}", contractAddress, error)
-                );
-                
-                log.info("开始监听合约事件: 合约地址={}, 事件签名={}", contractAddress, eventSignature);
-            } catch (Exception e) {
-                log.error("设置合约事件监听失败: {}", contractAddress, e);
-            }
-        });
+        customSignatures
+            .computeIfAbsent(contractAddress.toLowerCase(), key -> ConcurrentHashMap.newKeySet())
+            .add(eventSignature.toLowerCase());
+        log.info("开始监听合约事件: 合约地址={}, 事件签名={}{}", contractAddress, eventSignature,
+            isListening ? "" : "（事件监听启动后生效）");
     }
 
     @Override
@@ -280,10 +429,37 @@ public class EventListeningServiceImpl implements EventListeningService {
         status.put("timestamp", System.currentTimeMillis());
         status.put("executorServiceActive", !executorService.isShutdown());
         status.put("executorServiceTerminated", executorService.isTerminated());
-        
+        status.put("polledBlock", polledBlock);
+        status.put("headBlock", headBlock);
+        status.put("monitoredContracts", new HashMap<>(monitoredContracts));
+        status.put("customSubscriptions", customSignatures.size());
+
+        Map<String, Object> handlerStats = new LinkedHashMap<>();
+        for (HandlerLane lane : handlers.values()) {
+            handlerStats.put(lane.name, laneStats(lane));
+        }
+        handlerStats.put(customLane.name, laneStats(customLane));
+        status.put("handlers", handlerStats);
+
         return status;
     }
 
+    /**
+     * 处理通道统计：队列深度与落后链头的区块数
+     */
+    private Map<String, Object> laneStats(HandlerLane lane) {
+        DispatchItem oldest = lane.queue.peek();
+        long processedUpTo = oldest != null ? oldest.log().getBlockNumber().longValue() - 1 : polledBlock;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("queueDepth", lane.queue.size());
+        stats.put("lagBlocks", headBlock >= 0 && processedUpTo >= 0 ? Math.max(0, headBlock - processedUpTo) : null);
+        stats.put("lastHandledBlock", lane.lastHandledBlock);
+        stats.put("handled", lane.handledCount.get());
+        stats.put("failed", lane.failedCount.get());
+        return stats;
+    }
+
     @Override
     public void restartListening() {
         log.info("重启事件监听服务...");
@@ -298,46 +474,7 @@ public class EventListeningServiceImpl implements EventListeningService {
 
     @Override
     public void listenToPlatformTokenEvents() {
-        executorService.submit(() -> {
-            try {
-                // 监听Transfer事件
-                EthFilter transferFilter = new EthFilter(
-                    DefaultBlockParameterName.LATEST,
-                    DefaultBlockParameterName.LATEST,
-                    "0x" // 这里应该是PlatformToken合约地址
-                );
-                transferFilter.addSingleTopic("0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef"); // Transfer事件签名
-
-                web3j.ethLogFlowable(transferFilter).subscribe(
-                    log -> {
-                        if (isListening) {
-                            handleTransferEvent(log, "PlatformToken");
-                        }
-                    },
-                    error -> log.error("监听平台代币Transfer事件失败", error)
-                );
-
-                // 监听Approval事件
-                EthFilter approvalFilter = new EthFilter(
-                    DefaultBlockParameterName.LATEST,
-                    DefaultBlockParameterName.LATEST,
-                    "0x" // 这里应该是PlatformToken合约地址
-                );
-                approvalFilter.addSingleTopic("0x8c5be1e5ebec7d5bd14f71427d1e84f3dd0314c0f7b2291e5b200ac8c7c3b925"); // Approval事件签名
-
-                web3j.ethLogFlowable(approvalFilter).subscribe(
-                    log -> {
-                        if (isListening) {
-                            handleApprovalEvent(log, "PlatformToken");
-                        }
-                    },
-                    error -> log.error("监听平台代币Approval事件失败", error)
-                );
-
-            } catch (Exception e) {
-                log.error("设置平台代币事件监听失败", e);
-            }
-        });
+        monitorContract("platform-token", "PlatformToken");
     }
 
     /**
@@ -345,47 +482,7 @@ public class EventListeningServiceImpl implements EventListeningService {
      */
     @Override
     public void listenToGameNFTEvents() {
-        executorService.submit(() -> {
-            try {
-                // 监听Transfer事件
-                EthFilter transferFilter = new EthFilter(
-                    DefaultBlockParameterName.LATEST,
-                    DefaultBlockParameterName.LATEST,
-                    "0x" // 这里应该是GameNFT合约地址
-                );
-                transferFilter.addSingleTopic("0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef"); // Transfer事件签名
-
-                web3j.ethLogFlowable(transferFilter).subscribe(
-                    log -> {
-                        if (isListening) {
-                            handleTransferEvent(log, "GameNFT");
-                        }
-                    },
-                    error -> log.error("监听游戏NFT Transfer事件失败", error)
-                );
-
-                // 监听GameCreated事件
-                EthFilter gameCreatedFilter = new EthFilter(
-                    DefaultBlockParameterName.LATEST,
-                    DefaultBlockParameterName.LATEST,
-                    "0x" // 这里应该是GameNFT合约地址
-                );
-                // 这里需要根据实际的GameCreated事件签名来设置
-                // gameCreatedFilter.addSingleTopic("0x...");
-
-                web3j.ethLogFlowable(gameCreatedFilter).subscribe(
-                    log -> {
-                        if (isListening) {
-                            handleGameCreatedEvent(log);
-                        }
-                    },
-                    error -> log.error("监听游戏NFT GameCreated事件失败", error)
-                );
-
-            } catch (Exception e) {
-                log.error("设置游戏NFT事件监听失败", e);
-            }
-        });
+        monitorContract("game-nft", "GameNFT");
     }
 
     /**
@@ -393,47 +490,7 @@ public class EventListeningServiceImpl implements EventListeningService {
      */
     @Override
     public void listenToAgentNFTEvents() {
-        executorService.submit(() -> {
-            try {
-                // 监听Transfer事件
-                EthFilter transferFilter = new EthFilter(
-                    DefaultBlockParameterName.LATEST,
-                    DefaultBlockParameterName.LATEST,
-                    "0x" // 这里应该是AgentNFT合约地址
-                );
-                transferFilter.addSingleTopic("0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef"); // Transfer事件签名
-
-                web3j.ethLogFlowable(transferFilter).subscribe(
-                    log -> {
-                        if (isListening) {
-                            handleTransferEvent(log, "AgentNFT");
-                        }
-                    },
-                    error -> log.error("监听智能体NFT Transfer事件失败", error)
-                );
-
-                // 监听AgentCreated事件
-                EthFilter agentCreatedFilter = new EthFilter(
-                    DefaultBlockParameterName.LATEST,
-                    DefaultBlockParameterName.LATEST,
-                    "0x" // 这里应该是AgentNFT合约地址
-                );
-                // 这里需要根据实际的AgentCreated事件签名来设置
-                // agentCreatedFilter.addSingleTopic("0x...");
-
-                web3j.ethLogFlowable(agentCreatedFilter).subscribe(
-                    log -> {
-                        if (isListening) {
-                            handleAgentCreatedEvent(log);
-                        }
-                    },
-                    error -> log.error("监听智能体NFT AgentCreated事件失败", error)
-                );
-
-            } catch (Exception e) {
-                log.error("设置智能体NFT事件监听失败", e);
-            }
-        });
+        monitorContract("agent-nft", "AgentNFT");
     }
 
     /**
@@ -441,48 +498,7 @@ public class EventListeningServiceImpl implements EventListeningService {
      */
     @Override
     public void listenToMarketplaceEvents() {
-        executorService.submit(() -> {
-            try {
-                // 监听ItemListed事件
-                EthFilter itemListedFilter = new EthFilter(
-                    DefaultBlockParameterName.LATEST,
-                    DefaultBlockParameterName.LATEST,
-                    "0x" // 这里应该是Marketplace合约地址
-                );
-                // 这里需要根据实际的ItemListed事件签名来设置
-                // itemListedFilter.addSingleTopic("0x...");
-
-                web3j.ethLogFlowable(itemListedFilter).subscribe(
-                    log -> {
-                        if (isListening) {
-                            handleItemListedEvent(log);
-                        }
-                    },
-                    error -> log.error("监听市场ItemListed事件失败", error)
-                );
-
-                // 监听ItemSold事件
-                EthFilter itemSoldFilter = new EthFilter(
-                    DefaultBlockParameterName.LATEST,
-                    DefaultBlockParameterName.LATEST,
-                    "0x" // 这里应该是Marketplace合约地址
-                );
-                // 这里需要根据实际的ItemSold事件签名来设置
-                // itemSoldFilter.addSingleTopic("0x...");
-
-                web3j.ethLogFlowable(itemSoldFilter).subscribe(
-                    log -> {
-                        if (isListening) {
-                            handleItemSoldEvent(log);
-                        }
-                    },
-                    error -> log.error("监听市场ItemSold事件失败", error)
-                );
-
-            } catch (Exception e) {
-                log.error("设置市场事件监听失败", e);
-            }
-        });
+        monitorContract("marketplace", "Marketplace");
     }
 
     /**
@@ -490,32 +506,218 @@ public class EventListeningServiceImpl implements EventListeningService {
      */
     @Override
     public void listenToRewardsEvents() {
-        executorService.submit(() -> {
-            try {
-                // 监听RewardIssued事件
-                EthFilter rewardIssuedFilter = new EthFilter(
-                    DefaultBlockParameterName.LATEST,
-                    DefaultBlockParameterName.LATEST,
-                    "0x" // 这里应该是Rewards合约地址
-                );
-                // 这里需要根据实际的RewardIssued事件签名来设置
-                // rewardIssuedFilter.addSingleTopic("0x...");
-
-                web3j.ethLogFlowable(rewardIssuedFilter).subscribe(
-                    log -> {
-                        if (isListening) {
-                            handleRewardIssuedEvent(log);
-                        }
-                    },
-                    error -> log.error("监听奖励RewardIssued事件失败", error)
-                );
+        monitorContract("rewards", "Rewards");
+    }
 
-            } catch (Exception e) {
-                log.error("设置奖励事件监听失败", e);
+    /**
+     * 将合约地址加入共用的日志过滤条件
+     */
+    private void monitorContract(String contractName, String contractType) {
+        if (!contractConfigService.isContractDeployed(contractName)) {
+            log.warn("{}合约地址未配置，跳过事件监听", contractType);
+            return;
+        }
+        String address = contractConfigService.getContractAddress(contractName).toLowerCase();
+        monitoredContracts.put(address, contractType);
+        log.info("监听{}合约事件: {}", contractType, address);
+    }
+
+    private void registerHandler(String topic0, String name, BiConsumer<Log, String> handler) {
+        handlers.put(topic0, new HandlerLane(name, handler, queueCapacity));
+    }
+
+    /**
+     * 单次轮询：先检查链重组，再一次 eth_getLogs 拉取所有监听合约的新日志，按 (区块号, 日志序号) 顺序分发
+     */
+    private void poll() {
+        try {
+            long head = blockchainService.getCurrentBlockNumber().longValue();
+            headBlock = head;
+            if (polledBlock < 0) {
+                String headHash = blockHash(head);
+                if (headHash != null) {
+                    recentBlocks.clear();
+                    recentBlocks.put(head, new PolledBlock(headHash, new ArrayList<>()));
+                    polledBlock = head;
+                }
+                return;
             }
-        });
+            rewindReorgedBlocks();
+            if (head <= polledBlock) {
+                return;
+            }
+
+            long toBlock = Math.min(head, polledBlock + maxBlocksPerPoll);
+            Set<String> addresses = new HashSet<>(monitoredContracts.keySet());
+            addresses.addAll(customSignatures.keySet());
+            addresses.addAll(subscriptionDispatchService.getSubscribedContracts());
+            List<Log> logs = addresses.isEmpty() ? List.of()
+                : logFetchService.fetchLogs(new ArrayList<>(addresses), List.of(), polledBlock + 1, toBlock);
+
+            // 日志与区块头必须来自同一条链，拉取期间发生重组时本轮不推进，下次轮询重试
+            String tipHash = blockHash(toBlock);
+            if (tipHash == null || !isCanonical(logs, toBlock, tipHash, head)) {
+                return;
+            }
+
+            eventStoreService.storeAll(logs);
+            for (Log eventLog : logs) {
+                if (!isListening) {
+                    return;
+                }
+                dispatch(eventLog);
+                recentBlocks.computeIfAbsent(eventLog.getBlockNumber().longValue(),
+                    number -> new PolledBlock(eventLog.getBlockHash(), new ArrayList<>())).logs().add(eventLog);
+            }
+            recentBlocks.putIfAbsent(toBlock, new PolledBlock(tipHash, new ArrayList<>()));
+            recentBlocks.headMap(toBlock - reorgWindow, true).clear();
+            polledBlock = toBlock;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("轮询合约事件失败，已处理到区块 {}: {}", polledBlock, e.getMessage());
+        }
+    }
+
+    /**
+     * 检查本轮日志所在区块在重组窗口内的哈希与当前链一致
+     */
+    private boolean isCanonical(List<Log> logs, long toBlock, String tipHash, long head) throws IOException {
+        Map<Long, String> checked = new HashMap<>();
+        checked.put(toBlock, tipHash);
+        for (Log eventLog : logs) {
+            long blockNumber = eventLog.getBlockNumber().longValue();
+            if (blockNumber <= head - reorgWindow) {
+                continue;
+            }
+            String hash = checked.get(blockNumber);
+            if (hash == null) {
+                hash = blockHash(blockNumber);
+                checked.put(blockNumber, hash);
+            }
+            if (hash == null || !hash.equalsIgnoreCase(eventLog.getBlockHash())) {
+                log.info("区块 {} 在拉取日志期间发生重组，下次轮询重试", blockNumber);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 最近轮询的区块哈希与当前链不一致时回退到分叉点：被移出主链的日志按倒序以 removed=true 重新分发，
+     * 之后从分叉点的下一个区块重新拉取
+     */
+    private void rewindReorgedBlocks() throws IOException, InterruptedException {
+        Map.Entry<Long, PolledBlock> tip = recentBlocks.lastEntry();
+        if (tip == null || tip.getValue().hash().equalsIgnoreCase(blockHash(tip.getKey()))) {
+            return;
+        }
+
+        long tipBlock = tip.getKey();
+        long forkPoint = recentBlocks.firstKey() - 1;
+        List<Log> removed = new ArrayList<>();
+        while (!recentBlocks.isEmpty()) {
+            Map.Entry<Long, PolledBlock> entry = recentBlocks.lastEntry();
+            if (entry.getKey() != tipBlock && entry.getValue().hash().equalsIgnoreCase(blockHash(entry.getKey()))) {
+                forkPoint = entry.getKey();
+                break;
+            }
+            recentBlocks.pollLastEntry();
+            List<Log> logs = entry.getValue().logs();
+            for (int i = logs.size() - 1; i >= 0; i--) {
+                removed.add(logs.get(i));
+            }
+        }
+        if (recentBlocks.isEmpty()) {
+            log.warn("链重组深度超过窗口 {}，回退到区块 {}", reorgWindow, forkPoint);
+        }
+
+        List<Log> removedLogs = new ArrayList<>(removed.size());
+        for (Log eventLog : removed) {
+            removedLogs.add(asRemoved(eventLog));
+        }
+        log.warn("检测到链重组，回退到区块 {}，撤回 {} 条日志", forkPoint, removedLogs.size());
+        eventStoreService.storeAll(removedLogs);
+        for (Log eventLog : removedLogs) {
+            dispatch(eventLog);
+        }
+        polledBlock = forkPoint;
+    }
+
+    private String blockHash(long blockNumber) throws IOException {
+        EthBlock.Block block = web3j.ethGetBlockByNumber(
+            DefaultBlockParameter.valueOf(BigInteger.valueOf(blockNumber)), false).send().getBlock();
+        return block != null ? block.getHash() : null;
+    }
+
+    private static Log asRemoved(Log eventLog) {
+        return new Log(true, eventLog.getLogIndexRaw(), eventLog.getTransactionIndexRaw(),
+            eventLog.getTransactionHash(), eventLog.getBlockHash(), eventLog.getBlockNumberRaw(),
+            eventLog.getAddress(), eventLog.getData(), eventLog.getType(), eventLog.getTopics());
     }
 
+    /**
+     * 按 topic0 查表分发到处理通道；通道队列满时阻塞轮询线程形成背压。
+     * 用户订阅由订阅分发服务投递，订阅缓冲区满时回退到事件存储；推送连接缓冲区满时断开，两者都不阻塞轮询
+     */
+    private void dispatch(Log eventLog) throws InterruptedException {
+        if (eventLog.getTopics() == null || eventLog.getTopics().isEmpty()) {
+            return;
+        }
+        subscriptionDispatchService.publish(eventLog);
+        chainStreamService.publishEvent(eventLog);
+
+        String address = eventLog.getAddress().toLowerCase();
+        String topic0 = eventLog.getTopics().get(0).toLowerCase();
+
+        Set<String> signatures = customSignatures.get(address);
+        if (signatures != null && signatures.contains(topic0)) {
+            enqueue(customLane, new DispatchItem(eventLog, topic0));
+        }
+
+        String contractType = monitoredContracts.get(address);
+        HandlerLane lane = contractType != null ? handlers.get(topic0) : null;
+        if (lane != null) {
+            enqueue(lane, new DispatchItem(eventLog, contractType));
+        }
+    }
+
+    private void enqueue(HandlerLane lane, DispatchItem item) throws InterruptedException {
+        lane.queue.put(item);
+        scheduleDrain(lane);
+    }
+
+    private void scheduleDrain(HandlerLane lane) {
+        if (lane.draining.compareAndSet(false, true)) {
+            dispatchPool.execute(() -> drain(lane));
+        }
+    }
+
+    /**
+     * 排空处理通道，每次至多处理DRAIN_BATCH个事件后让出线程
+     */
+    private void drain(HandlerLane lane) {
+        try {
+            DispatchItem item;
+            int handled = 0;
+            while (handled < DRAIN_BATCH && (item = lane.queue.poll()) != null) {
+                try {
+                    lane.handler.accept(item.log(), item.context());
+                    lane.handledCount.incrementAndGet();
+                } catch (Exception e) {
+                    lane.failedCount.incrementAndGet();
+                    log.error("{}事件处理失败: 交易哈希={}", lane.name, item.log().getTransactionHash(), e);
+                }
+                lane.lastHandledBlock = item.log().getBlockNumber().longValue();
+                handled++;
+            }
+        } finally {
+            lane.draining.set(false);
+            if (!lane.queue.isEmpty()) {
+                scheduleDrain(lane);
+            }
+        }
+    }
     @Override
     public void handleTransferEvent(Log eventLog) {
         handleTransferEvent(eventLog, "Unknown");
@@ -529,8 +731,7 @@ public class EventListeningServiceImpl implements EventListeningService {
             log.info("检测到{} Transfer事件: 交易哈希={}, 区块号={}", 
                 contractType, eventLog.getTransactionHash(), eventLog.getBlockNumber());
             
-            // 这里可以添加具体的业务逻辑
-            // 例如：更新数据库、发送通知等
+            // 业务表由事件投影服务按区块统一更新
             
         } catch (Exception e) {
             log.error("处理{} Transfer事件失败", contractType, e);
@@ -550,7 +751,7 @@ public class EventListeningServiceImpl implements EventListeningService {
             log.info("检测到{} Approval事件: 交易哈希={}, 区块号={}", 
                 contractType, eventLog.getTransactionHash(), eventLog.getBlockNumber());
             
-            // 这里可以添加具体的业务逻辑
+            // 业务表由事件投影服务按区块统一更新
             
         } catch (Exception e) {
             log.error("处理{} Approval事件失败", contractType, e);
@@ -563,7 +764,7 @@ public class EventListeningServiceImpl implements EventListeningService {
             log.info("检测到游戏创建事件: 交易哈希={}, 区块号={}", 
                 eventLog.getTransactionHash(), eventLog.getBlockNumber());
             
-            // 这里可以添加具体的业务逻辑
+            // 业务表由事件投影服务按区块统一更新
             // 例如：更新游戏数据库、发送通知等
             
         } catch (Exception e) {
@@ -577,7 +778,7 @@ public class EventListeningServiceImpl implements EventListeningService {
             log.info("检测到智能体创建事件: 交易哈希={}, 区块号={}", 
                 eventLog.getTransactionHash(), eventLog.getBlockNumber());
             
-            // 这里可以添加具体的业务逻辑
+            // 业务表由事件投影服务按区块统一更新
             // 例如：更新智能体数据库、发送通知等
             
         } catch (Exception e) {
@@ -591,7 +792,7 @@ public class EventListeningServiceImpl implements EventListeningService {
             log.info("检测到物品上架事件: 交易哈希={}, 区块号={}", 
                 eventLog.getTransactionHash(), eventLog.getBlockNumber());
             
-            // 这里可以添加具体的业务逻辑
+            // 业务表由事件投影服务按区块统一更新
             // 例如：更新市场数据库、发送通知等
             
         } catch (Exception e) {
@@ -605,7 +806,7 @@ public class EventListeningServiceImpl implements EventListeningService {
             log.info("检测到物品售出事件: 交易哈希={}, 区块号={}", 
                 eventLog.getTransactionHash(), eventLog.getBlockNumber());
             
-            // 这里可以添加具体的业务逻辑
+            // 业务表由事件投影服务按区块统一更新
             // 例如：更新市场数据库、发送通知等
             
         } catch (Exception e) {
@@ -619,7 +820,7 @@ public class EventListeningServiceImpl implements EventListeningService {
             log.info("检测到奖励发放事件: 交易哈希={}, 区块号={}", 
                 eventLog.getTransactionHash(), eventLog.getBlockNumber());
             
-            // 这里可以添加具体的业务逻辑
+            // 业务表由事件投影服务按区块统一更新
             // 例如：更新奖励数据库、发送通知等
             
         } catch (Exception e) {
@@ -640,7 +841,7 @@ public class EventListeningServiceImpl implements EventListeningService {
             log.info("检测到自定义事件: 合约地址={}, 事件签名={}, 交易哈希={}, 区块号={}", 
                 contractAddress, eventSignature, eventLog.getTransactionHash(), eventLog.getBlockNumber());
             
-            // 这里可以添加具体的业务逻辑
+            // 业务表由事件投影服务按区块统一更新
             // 例如：根据合约地址和事件签名进行不同的处理
             
         } catch (Exception e) {
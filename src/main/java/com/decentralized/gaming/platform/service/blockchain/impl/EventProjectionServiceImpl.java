@@ -0,0 +1,583 @@
+package com.decentralized.gaming.platform.service.blockchain.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.decentralized.gaming.platform.contracts.AgentNFT;
+import com.decentralized.gaming.platform.contracts.GameNFT;
+import com.decentralized.gaming.platform.contracts.Marketplace;
+import com.decentralized.gaming.platform.contracts.Rewards;
+import com.decentralized.gaming.platform.entity.MarketplaceItem;
+import com.decentralized.gaming.platform.entity.SyncCheckpoint;
+import com.decentralized.gaming.platform.entity.User;
+import com.decentralized.gaming.platform.entity.UserAsset;
+import com.decentralized.gaming.platform.mapper.AgentMapper;
+import com.decentralized.gaming.platform.mapper.GameItemMapper;
+import com.decentralized.gaming.platform.mapper.GameMapper;
+import com.decentralized.gaming.platform.mapper.MarketplaceItemMapper;
+import com.decentralized.gaming.platform.mapper.NftOwnershipMapper;
+import com.decentralized.gaming.platform.mapper.SyncCheckpointMapper;
+import com.decentralized.gaming.platform.mapper.TransactionMapper;
+import com.decentralized.gaming.platform.mapper.UserAssetMapper;
+import com.decentralized.gaming.platform.mapper.UserMapper;
+import com.decentralized.gaming.platform.service.AssetService.AssetChangedEvent;
+import com.decentralized.gaming.platform.service.blockchain.BlockchainService;
+import com.decentralized.gaming.platform.service.blockchain.ContractConfigService;
+import com.decentralized.gaming.platform.service.blockchain.EventProjectionService;
+import com.decentralized.gaming.platform.service.blockchain.EventStoreService;
+import com.decentralized.gaming.platform.service.blockchain.LogFetchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.web3j.abi.EventEncoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.BaseEventResponse;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.utils.Convert;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 事件投影服务实现类
+ * 按区块顺序拉取已确认的合约日志，使用生成的合约包装类解码后写入 nft_ownership、user_assets、
+ * marketplace_items 与 transactions；每个区块的写入与检查点在同一数据库事务中提交。
+ * 所有写入均为按链上标识的幂等upsert，因此重启后从检查点重放是安全的
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+@Service
+public class EventProjectionServiceImpl implements EventProjectionService {
+
+    static final String CHECKPOINT_NAME = "event-projection";
+
+    private static final String ZERO_ADDRESS = "0x0000000000000000000000000000000000000000";
+    private static final String CURRENCY = "PLATFORM_TOKEN";
+
+    private static final String GAME_NFT = "game-nft";
+    private static final String AGENT_NFT = "agent-nft";
+    private static final String MARKETPLACE = "marketplace";
+    private static final String REWARDS = "rewards";
+
+    private static final String TRANSFER_TOPIC = EventEncoder.encode(GameNFT.TRANSFER_EVENT);
+    private static final String GAME_CREATED_TOPIC = EventEncoder.encode(GameNFT.GAMECREATED_EVENT);
+    private static final String AGENT_CREATED_TOPIC = EventEncoder.encode(AgentNFT.AGENTCREATED_EVENT);
+    private static final String ITEM_LISTED_TOPIC = EventEncoder.encode(Marketplace.ITEMLISTED_EVENT);
+    private static final String ITEM_SOLD_TOPIC = EventEncoder.encode(Marketplace.ITEMSOLD_EVENT);
+    private static final String ITEM_CANCELLED_TOPIC = EventEncoder.encode(Marketplace.ITEMCANCELLED_EVENT);
+    private static final String REWARD_ISSUED_TOPIC = EventEncoder.encode(Rewards.REWARDISSUED_EVENT);
+
+    @Autowired(required = false)
+    private Web3j web3j;
+
+    @Autowired
+    private BlockchainService blockchainService;
+
+    @Autowired
+    private LogFetchService logFetchService;
+
+    @Autowired
+    private EventStoreService eventStoreService;
+
+    @Autowired
+    private ContractConfigService contractConfigService;
+
+    @Autowired
+    private NftOwnershipMapper nftOwnershipMapper;
+
+    @Autowired
+    private UserAssetMapper userAssetMapper;
+
+    @Autowired
+    private MarketplaceItemMapper marketplaceItemMapper;
+
+    @Autowired
+    private TransactionMapper transactionMapper;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private GameMapper gameMapper;
+
+    @Autowired
+    private AgentMapper agentMapper;
+
+    @Autowired
+    private GameItemMapper gameItemMapper;
+
+    @Autowired
+    private SyncCheckpointMapper checkpointMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.blockchain.projection.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.blockchain.projection.start-block:0}")
+    private long startBlock;
+
+    @Value("${app.blockchain.projection.block-batch-size:2000}")
+    private long blockBatchSize;
+
+    @Value("${app.blockchain.projection.confirmations:3}")
+    private long confirmations;
+
+    @Value("${app.blockchain.projection.poll-interval-ms:3000}")
+    private long pollIntervalMs;
+
+    @Value("${app.blockchain.projection.max-serving-lag:32}")
+    private long maxServingLag;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "event-projection");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile ScheduledFuture<?> pollTask;
+    private volatile long projectedBlock = -1;
+    private volatile long headBlock = -1;
+    private volatile long appliedEvents = 0;
+    private volatile long skippedEvents = 0;
+    private volatile String lastError;
+
+    /**
+     * 已解码的日志
+     */
+    private record DecodedEvent(String contractType, String contractAddress, Log log, BaseEventResponse event) {
+    }
+
+    @PostConstruct
+    public void init() {
+        if (enabled && web3j != null) {
+            start();
+        } else {
+            log.info("事件投影服务未启动: enabled={}, web3j可用={}", enabled, web3j != null);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        stop();
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (pollTask != null) {
+            log.warn("事件投影服务已在运行中");
+            return;
+        }
+        SyncCheckpoint checkpoint = checkpointMapper.selectById(CHECKPOINT_NAME);
+        projectedBlock = checkpoint != null && checkpoint.getBlockNumber() >= startBlock - 1
+                ? checkpoint.getBlockNumber()
+                : startBlock - 1;
+        pollTask = scheduler.scheduleWithFixedDelay(this::poll, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("事件投影服务已启动，从区块 {} 继续投影", projectedBlock + 1);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (pollTask != null) {
+            pollTask.cancel(false);
+            pollTask = null;
+            log.info("事件投影服务已停止，已投影到区块 {}", projectedBlock);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return pollTask != null;
+    }
+
+    @Override
+    public long getProjectedBlockNumber() {
+        return projectedBlock;
+    }
+
+    @Override
+    public String getProjectedOwner(String contractAddress, BigInteger tokenId) {
+        if (!isServing() || contractAddress == null || contractAddress.isEmpty()) {
+            return null;
+        }
+        return nftOwnershipMapper.selectOwner(contractAddress.toLowerCase(), tokenId.toString());
+    }
+
+    @Override
+    public Long getProjectedBalance(String contractAddress, String ownerAddress) {
+        if (!isServing() || contractAddress == null || contractAddress.isEmpty()) {
+            return null;
+        }
+        return nftOwnershipMapper.countByOwner(contractAddress.toLowerCase(), ownerAddress.toLowerCase());
+    }
+
+    @Override
+    public Map<String, Object> getProjectionStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("running", isRunning());
+        status.put("serving", isServing());
+        status.put("startBlock", startBlock);
+        status.put("projectedBlock", projectedBlock);
+        status.put("headBlock", headBlock);
+        status.put("lag", headBlock >= 0 ? Math.max(0, headBlock - projectedBlock) : null);
+        status.put("appliedEvents", appliedEvents);
+        status.put("skippedEvents", skippedEvents);
+        status.put("lastError", lastError);
+        status.put("timestamp", System.currentTimeMillis());
+        return status;
+    }
+
+    /**
+     * 投影已运行且落后链头不超过阈值时才用于替代链上查询
+     */
+    private boolean isServing() {
+        return isRunning() && lastError == null && headBlock >= 0 && headBlock - projectedBlock <= maxServingLag;
+    }
+
+    /**
+     * 单次轮询：拉取至多blockBatchSize个已确认区块的日志并逐块投影
+     */
+    private void poll() {
+        try {
+            headBlock = blockchainService.getCurrentBlockNumber().longValue();
+            long target = Math.min(headBlock - confirmations, projectedBlock + blockBatchSize);
+            if (target <= projectedBlock) {
+                return;
+            }
+
+            Map<String, String> contracts = resolveContracts();
+            if (contracts.isEmpty()) {
+                lastError = "没有已部署的合约地址";
+                return;
+            }
+
+            List<Log> logs = logFetchService.fetchLogs(new ArrayList<>(contracts.keySet()), List.of(),
+                    projectedBlock + 1, target);
+            eventStoreService.storeAll(logs);
+
+            int start = 0;
+            while (start < logs.size()) {
+                long blockNumber = logs.get(start).getBlockNumber().longValue();
+                int end = start;
+                while (end < logs.size() && logs.get(end).getBlockNumber().longValue() == blockNumber) {
+                    end++;
+                }
+                applyBlock(blockNumber, logs.subList(start, end), contracts);
+                start = end;
+            }
+
+            // 区间内其余区块没有相关事件，直接推进检查点
+            if (projectedBlock < target) {
+                checkpointMapper.upsert(CHECKPOINT_NAME, target, null);
+                projectedBlock = target;
+            }
+            lastError = null;
+        } catch (Exception e) {
+            lastError = e.getMessage();
+            log.warn("事件投影轮询失败，已投影到区块 {}: {}", projectedBlock, e.getMessage());
+        }
+    }
+
+    /**
+     * 在同一事务中投影一个区块的全部事件并更新检查点
+     */
+    private void applyBlock(long blockNumber, List<Log> logs, Map<String, String> contracts) {
+        List<DecodedEvent> events = new ArrayList<>(logs.size());
+        for (Log eventLog : logs) {
+            String contractAddress = eventLog.getAddress().toLowerCase();
+            BaseEventResponse event = decode(contracts.get(contractAddress), eventLog);
+            if (event != null) {
+                events.add(new DecodedEvent(contracts.get(contractAddress), contractAddress, eventLog, event));
+            }
+        }
+        skippedEvents += logs.size() - events.size();
+
+        Map<String, Long> userIds = resolveUsers(events);
+        Set<String> saleTxHashes = new HashSet<>();
+        for (DecodedEvent decoded : events) {
+            if (decoded.event() instanceof Marketplace.ItemSoldEventResponse) {
+                saleTxHashes.add(decoded.log().getTransactionHash());
+            }
+        }
+
+        String blockHash = logs.get(0).getBlockHash();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (DecodedEvent decoded : events) {
+                apply(decoded, userIds, saleTxHashes, contracts);
+            }
+            checkpointMapper.upsert(CHECKPOINT_NAME, blockNumber, blockHash);
+        });
+        projectedBlock = blockNumber;
+        appliedEvents += events.size();
+        publishAssetChanges(events, userIds);
+    }
+
+    /**
+     * 使用合约包装类解码日志，不关心的事件返回null
+     */
+    private BaseEventResponse decode(String contractType, Log eventLog) {
+        if (contractType == null || eventLog.getTopics() == null || eventLog.getTopics().isEmpty()) {
+            return null;
+        }
+        String topic0 = eventLog.getTopics().get(0).toLowerCase();
+        switch (contractType) {
+            case GAME_NFT:
+                if (TRANSFER_TOPIC.equals(topic0)) {
+                    return GameNFT.getTransferEventFromLog(eventLog);
+                } else if (GAME_CREATED_TOPIC.equals(topic0)) {
+                    return GameNFT.getGameCreatedEventFromLog(eventLog);
+                }
+                return null;
+            case AGENT_NFT:
+                if (TRANSFER_TOPIC.equals(topic0)) {
+                    return AgentNFT.getTransferEventFromLog(eventLog);
+                } else if (AGENT_CREATED_TOPIC.equals(topic0)) {
+                    return AgentNFT.getAgentCreatedEventFromLog(eventLog);
+                }
+                return null;
+            case MARKETPLACE:
+                if (ITEM_LISTED_TOPIC.equals(topic0)) {
+                    return Marketplace.getItemListedEventFromLog(eventLog);
+                } else if (ITEM_SOLD_TOPIC.equals(topic0)) {
+                    return Marketplace.getItemSoldEventFromLog(eventLog);
+                } else if (ITEM_CANCELLED_TOPIC.equals(topic0)) {
+                    return Marketplace.getItemCancelledEventFromLog(eventLog);
+                }
+                return null;
+            case REWARDS:
+                if (REWARD_ISSUED_TOPIC.equals(topic0)) {
+                    return Rewards.getRewardIssuedEventFromLog(eventLog);
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    private void apply(DecodedEvent decoded, Map<String, Long> userIds, Set<String> saleTxHashes,
+                       Map<String, String> contracts) {
+        Log eventLog = decoded.log();
+        BaseEventResponse event = decoded.event();
+
+        if (event instanceof GameNFT.TransferEventResponse e) {
+            applyTransfer(decoded.contractAddress(), UserAsset.AssetType.GAME, e.from, e.to, e.tokenId,
+                    eventLog, userIds, saleTxHashes);
+        } else if (event instanceof AgentNFT.TransferEventResponse e) {
+            applyTransfer(decoded.contractAddress(), UserAsset.AssetType.AGENT, e.from, e.to, e.tokenId,
+                    eventLog, userIds, saleTxHashes);
+        } else if (event instanceof GameNFT.GameCreatedEventResponse e) {
+            applyCreated(decoded.contractAddress(), UserAsset.AssetType.GAME, e.creator, e.tokenId, userIds);
+        } else if (event instanceof AgentNFT.AgentCreatedEventResponse e) {
+            applyCreated(decoded.contractAddress(), UserAsset.AssetType.AGENT, e.creator, e.tokenId, userIds);
+        } else if (event instanceof Marketplace.ItemListedEventResponse e) {
+            applyListed(e, userIds, contracts);
+        } else if (event instanceof Marketplace.ItemSoldEventResponse e) {
+            marketplaceItemMapper.updateStatusByListingId(e.listingId.longValue(), MarketplaceItem.ItemStatus.SOLD);
+            Long buyerId = userIds.get(lower(e.buyer));
+            if (buyerId != null) {
+                transactionMapper.insertSaleByListingId(e.listingId.longValue(), buyerId, toTokenAmount(e.price),
+                        eventLog.getTransactionHash());
+            }
+        } else if (event instanceof Marketplace.ItemCancelledEventResponse e) {
+            marketplaceItemMapper.updateStatusByListingId(e.listingId.longValue(), MarketplaceItem.ItemStatus.CANCELLED);
+        } else if (event instanceof Rewards.RewardIssuedEventResponse e) {
+            // 奖励代币余额由PlatformToken的Transfer事件体现，这里仅记录
+            log.debug("奖励发放事件: to={}, amount={}, reason={}", e.to, e.amount, e.reason);
+        }
+    }
+
+    /**
+     * NFT转移：更新持有者投影；接收方为平台用户时写入其资产，否则移除资产记录
+     */
+    private void applyTransfer(String contractAddress, UserAsset.AssetType assetType, String from, String to,
+                               BigInteger tokenId, Log eventLog, Map<String, Long> userIds, Set<String> saleTxHashes) {
+        String token = tokenId.toString();
+        String owner = lower(to);
+        if (ZERO_ADDRESS.equals(owner)) {
+            nftOwnershipMapper.deleteByToken(contractAddress, token);
+            userAssetMapper.deleteByToken(contractAddress, token);
+            return;
+        }
+        nftOwnershipMapper.upsert(contractAddress, token, owner,
+                eventLog.getBlockNumber().longValue(), eventLog.getLogIndex().intValue());
+
+        Long userId = userIds.get(owner);
+        Long assetId = userId != null ? resolveAssetId(assetType, contractAddress, token) : null;
+        if (assetId == null) {
+            // 接收方不是平台用户，或该NFT未关联平台内的游戏/智能体
+            userAssetMapper.deleteByToken(contractAddress, token);
+            return;
+        }
+        UserAsset.AcquisitionType acquisitionType;
+        if (ZERO_ADDRESS.equals(lower(from))) {
+            acquisitionType = UserAsset.AcquisitionType.CREATED;
+        } else if (saleTxHashes.contains(eventLog.getTransactionHash())) {
+            acquisitionType = UserAsset.AcquisitionType.PURCHASED;
+        } else {
+            acquisitionType = UserAsset.AcquisitionType.TRANSFERRED;
+        }
+        userAssetMapper.upsertByToken(userId, assetType, assetId, contractAddress, token, acquisitionType);
+    }
+
+    private void applyCreated(String contractAddress, UserAsset.AssetType assetType, String creator,
+                              BigInteger tokenId, Map<String, Long> userIds) {
+        Long userId = userIds.get(lower(creator));
+        if (userId == null) {
+            return;
+        }
+        String token = tokenId.toString();
+        Long assetId = resolveAssetId(assetType, contractAddress, token);
+        if (assetId == null) {
+            skippedEvents++;
+            log.debug("NFT {}#{} 未关联平台资产，跳过", contractAddress, token);
+            return;
+        }
+        userAssetMapper.upsertByToken(userId, assetType, assetId, contractAddress, token,
+                UserAsset.AcquisitionType.CREATED);
+    }
+
+    /**
+     * 按 (合约地址, Token ID) 解析资产主键：游戏与智能体取 games / agents 表ID，游戏道具取 game_items 表ID
+     */
+    private Long resolveAssetId(UserAsset.AssetType assetType, String contractAddress, String tokenId) {
+        switch (assetType) {
+            case GAME:
+                return gameMapper.selectIdByNftToken(contractAddress, tokenId);
+            case AGENT:
+                return agentMapper.selectIdByNftToken(contractAddress, tokenId);
+            default:
+                return gameItemMapper.selectIdByToken(contractAddress, tokenId);
+        }
+    }
+
+    private void applyListed(Marketplace.ItemListedEventResponse e, Map<String, Long> userIds,
+                             Map<String, String> contracts) {
+        Long sellerId = userIds.get(lower(e.seller));
+        if (sellerId == null) {
+            log.debug("挂单 {} 的卖家 {} 不是平台用户，跳过", e.listingId, e.seller);
+            return;
+        }
+        String tokenContract = lower(e.tokenContract);
+        String contractType = contracts.get(tokenContract);
+        MarketplaceItem.ItemType itemType = GAME_NFT.equals(contractType) ? MarketplaceItem.ItemType.GAME
+                : AGENT_NFT.equals(contractType) ? MarketplaceItem.ItemType.AGENT
+                : MarketplaceItem.ItemType.GAME_ITEM;
+        String token = e.tokenId.toString();
+        Long itemId = userAssetMapper.selectAssetIdByToken(tokenContract, token);
+        if (itemId == null) {
+            itemId = resolveAssetId(UserAsset.AssetType.valueOf(itemType.name()), tokenContract, token);
+        }
+        if (itemId == null) {
+            skippedEvents++;
+            log.debug("挂单 {} 的NFT {}#{} 未关联平台资产，跳过", e.listingId, tokenContract, token);
+            return;
+        }
+
+        marketplaceItemMapper.upsertListing(e.listingId.longValue(), sellerId, itemType,
+                itemId, toTokenAmount(e.price), CURRENCY);
+    }
+
+    /**
+     * 一次查询解析本区块涉及的所有钱包地址对应的用户ID
+     */
+    private Map<String, Long> resolveUsers(List<DecodedEvent> events) {
+        Set<String> addresses = new HashSet<>();
+        for (DecodedEvent decoded : events) {
+            BaseEventResponse event = decoded.event();
+            if (event instanceof GameNFT.TransferEventResponse e) {
+                addresses.add(lower(e.from));
+                addresses.add(lower(e.to));
+            } else if (event instanceof AgentNFT.TransferEventResponse e) {
+                addresses.add(lower(e.from));
+                addresses.add(lower(e.to));
+            } else if (event instanceof GameNFT.GameCreatedEventResponse e) {
+                addresses.add(lower(e.creator));
+            } else if (event instanceof AgentNFT.AgentCreatedEventResponse e) {
+                addresses.add(lower(e.creator));
+            } else if (event instanceof Marketplace.ItemListedEventResponse e) {
+                addresses.add(lower(e.seller));
+            } else if (event instanceof Marketplace.ItemSoldEventResponse e) {
+                addresses.add(lower(e.buyer));
+            }
+        }
+        addresses.remove(null);
+        addresses.remove(ZERO_ADDRESS);
+
+        Map<String, Long> userIds = new HashMap<>();
+        if (addresses.isEmpty()) {
+            return userIds;
+        }
+        List<User> users = userMapper.selectList(new LambdaQueryWrapper<User>()
+                .select(User::getId, User::getWalletAddress)
+                .in(User::getWalletAddress, addresses));
+        for (User user : users) {
+            userIds.put(user.getWalletAddress().toLowerCase(), user.getId());
+        }
+        return userIds;
+    }
+
+    /**
+     * 区块投影提交后通知资产发生变化的平台用户（NFT转出方、接收方与创建者）
+     */
+    private void publishAssetChanges(List<DecodedEvent> events, Map<String, Long> userIds) {
+        Set<Long> changed = new HashSet<>();
+        for (DecodedEvent decoded : events) {
+            BaseEventResponse event = decoded.event();
+            if (event instanceof GameNFT.TransferEventResponse e) {
+                changed.add(userIds.get(lower(e.from)));
+                changed.add(userIds.get(lower(e.to)));
+            } else if (event instanceof AgentNFT.TransferEventResponse e) {
+                changed.add(userIds.get(lower(e.from)));
+                changed.add(userIds.get(lower(e.to)));
+            } else if (event instanceof GameNFT.GameCreatedEventResponse e) {
+                changed.add(userIds.get(lower(e.creator)));
+            } else if (event instanceof AgentNFT.AgentCreatedEventResponse e) {
+                changed.add(userIds.get(lower(e.creator)));
+            }
+        }
+        changed.remove(null);
+        for (Long userId : changed) {
+            eventPublisher.publishEvent(new AssetChangedEvent(userId));
+        }
+    }
+
+    /**
+     * 已部署合约的小写地址到合约类型的映射
+     */
+    private Map<String, String> resolveContracts() {
+        Map<String, String> contracts = new HashMap<>();
+        for (String contractType : new String[]{GAME_NFT, AGENT_NFT, MARKETPLACE, REWARDS}) {
+            if (contractConfigService.isContractDeployed(contractType)) {
+                contracts.put(contractConfigService.getContractAddress(contractType).toLowerCase(), contractType);
+            }
+        }
+        return contracts;
+    }
+
+    private static BigDecimal toTokenAmount(BigInteger wei) {
+        return Convert.fromWei(new BigDecimal(wei), Convert.Unit.ETHER);
+    }
+
+    private static String lower(String address) {
+        return address != null ? address.toLowerCase() : null;
+    }
+}
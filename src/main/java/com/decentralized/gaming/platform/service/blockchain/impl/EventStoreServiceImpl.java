@@ -0,0 +1,204 @@
+package com.decentralized.gaming.platform.service.blockchain.impl;
+
+import com.decentralized.gaming.platform.common.CursorPageResult;
+import com.decentralized.gaming.platform.entity.ChainEvent;
+import com.decentralized.gaming.platform.mapper.ChainEventMapper;
+import com.decentralized.gaming.platform.service.blockchain.EventStoreService;
+import com.decentralized.gaming.platform.service.blockchain.LogFetchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.utils.Numeric;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 事件存储服务实现类
+ * 日志以 (区块号, 日志序号) 为主键写入 chain_events，重复写入会覆盖同一位置，因此回填可安全重跑
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+@Service
+public class EventStoreServiceImpl implements EventStoreService {
+
+    private static final String ADDRESS_TOPIC_PREFIX = "0x000000000000000000000000";
+
+    @Autowired
+    private ChainEventMapper chainEventMapper;
+
+    @Autowired
+    private LogFetchService logFetchService;
+
+    @Value("${app.blockchain.event-store.write-batch-size:500}")
+    private int writeBatchSize;
+
+    @Value("${app.blockchain.event-store.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Override
+    public void store(Log eventLog) {
+        try {
+            if (eventLog.isRemoved()) {
+                chainEventMapper.deleteRemoved(eventLog.getBlockNumber().longValue(),
+                    eventLog.getLogIndex().intValue(), eventLog.getBlockHash());
+                return;
+            }
+            chainEventMapper.upsertBatch(List.of(toChainEvent(eventLog)));
+        } catch (Exception e) {
+            log.error("保存事件日志失败: 交易哈希={}, 日志序号={}", eventLog.getTransactionHash(), eventLog.getLogIndexRaw(), e);
+        }
+    }
+
+    @Override
+    public int storeAll(List<Log> eventLogs) {
+        int stored = 0;
+        List<ChainEvent> batch = new ArrayList<>(Math.min(eventLogs.size(), writeBatchSize));
+        for (Log eventLog : eventLogs) {
+            if (eventLog.isRemoved()) {
+                store(eventLog);
+                continue;
+            }
+            batch.add(toChainEvent(eventLog));
+            if (batch.size() >= writeBatchSize) {
+                chainEventMapper.upsertBatch(batch);
+                stored += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            chainEventMapper.upsertBatch(batch);
+            stored += batch.size();
+        }
+        return stored;
+    }
+
+    @Override
+    public long backfill(List<String> contractAddresses, long fromBlock, long toBlock) {
+        long start = System.currentTimeMillis();
+        long[] stored = {0};
+        List<ChainEvent> batch = new ArrayList<>(writeBatchSize);
+
+        logFetchService.fetchLogs(contractAddresses, List.of(), fromBlock, toBlock, eventLog -> {
+            batch.add(toChainEvent(eventLog));
+            if (batch.size() >= writeBatchSize) {
+                chainEventMapper.upsertBatch(batch);
+                stored[0] += batch.size();
+                batch.clear();
+            }
+            return true;
+        });
+        if (!batch.isEmpty()) {
+            chainEventMapper.upsertBatch(batch);
+            stored[0] += batch.size();
+        }
+
+        log.info("事件回填完成: 区块 [{}, {}], 合约数: {}, 写入日志: {}, 耗时: {}ms",
+            fromBlock, toBlock, contractAddresses.size(), stored[0], System.currentTimeMillis() - start);
+        return stored[0];
+    }
+
+    @Override
+    public CursorPageResult<ChainEvent> getAddressEvents(String address, String contractAddress, long fromBlock,
+                                                         String cursor, int limit) {
+        int pageSize = pageSize(limit);
+        long[] position = parseCursor(cursor);
+        List<ChainEvent> events = chainEventMapper.selectByAddressTopic(
+            ADDRESS_TOPIC_PREFIX + Numeric.cleanHexPrefix(address).toLowerCase(),
+            lower(contractAddress), fromBlock, position[0], (int) position[1], pageSize);
+        return toPage(events, pageSize);
+    }
+
+    @Override
+    public CursorPageResult<ChainEvent> searchEvents(String contractAddress, List<String> topics, long fromBlock,
+                                                     long toBlock, String cursor, int limit) {
+        int pageSize = pageSize(limit);
+        long[] position = parseCursor(cursor);
+
+        List<String> topicFilters = new ArrayList<>(4);
+        if (topics != null) {
+            for (int i = 0; i < Math.min(4, topics.size()); i++) {
+                topicFilters.add(lower(topics.get(i)));
+            }
+        }
+
+        List<ChainEvent> events = chainEventMapper.search(lower(contractAddress), topicFilters, fromBlock, toBlock,
+            position[0], (int) position[1], pageSize);
+        return toPage(events, pageSize);
+    }
+
+    @Override
+    public List<Map<String, Object>> countEvents(String contractAddress, long fromBlock) {
+        List<Map<String, Object>> rows = chainEventMapper.countByContractAndTopic(lower(contractAddress), fromBlock);
+        List<Map<String, Object>> counts = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            Map<String, Object> count = new HashMap<>();
+            count.put("contractAddress", row.get("contract_address"));
+            count.put("topic0", row.get("topic0"));
+            count.put("eventCount", ((Number) row.get("event_count")).longValue());
+            counts.add(count);
+        }
+        return counts;
+    }
+
+    private int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
+
+    /**
+     * 解析游标 "区块号:日志序号"，为空时返回最大位置
+     */
+    private long[] parseCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return new long[]{Long.MAX_VALUE, Integer.MAX_VALUE};
+        }
+        int separator = cursor.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("无效的游标: " + cursor);
+        }
+        return new long[]{
+            Long.parseLong(cursor.substring(0, separator)),
+            Integer.parseInt(cursor.substring(separator + 1))
+        };
+    }
+
+    private CursorPageResult<ChainEvent> toPage(List<ChainEvent> events, int pageSize) {
+        String nextCursor = null;
+        if (events.size() == pageSize) {
+            ChainEvent last = events.get(events.size() - 1);
+            nextCursor = last.getBlockNumber() + ":" + last.getLogIndex();
+        }
+        return CursorPageResult.of(events, nextCursor, events.size());
+    }
+
+    static ChainEvent toChainEvent(Log eventLog) {
+        ChainEvent event = new ChainEvent();
+        event.setBlockNumber(eventLog.getBlockNumber().longValue());
+        event.setLogIndex(eventLog.getLogIndex().intValue());
+        event.setBlockHash(eventLog.getBlockHash());
+        event.setTxHash(eventLog.getTransactionHash());
+        event.setTxIndex(eventLog.getTransactionIndexRaw() != null ? eventLog.getTransactionIndex().intValue() : null);
+        event.setContractAddress(lower(eventLog.getAddress()));
+
+        List<String> topics = eventLog.getTopics();
+        event.setTopic0(topic(topics, 0));
+        event.setTopic1(topic(topics, 1));
+        event.setTopic2(topic(topics, 2));
+        event.setTopic3(topic(topics, 3));
+        event.setData(eventLog.getData());
+        return event;
+    }
+
+    private static String topic(List<String> topics, int index) {
+        return topics != null && topics.size() > index ? lower(topics.get(index)) : null;
+    }
+
+    private static String lower(String value) {
+        return value != null && !value.isEmpty() ? value.toLowerCase() : null;
+    }
+}
@@ -5,6 +5,7 @@ import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.decentralized.gaming.platform.entity.EventSubscription;
 import com.decentralized.gaming.platform.mapper.EventSubscriptionMapper;
 import com.decentralized.gaming.platform.service.blockchain.EventSubscriptionService;
+import com.decentralized.gaming.platform.service.blockchain.SubscriptionDispatchService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -27,6 +28,9 @@ public class EventSubscriptionServiceImpl implements EventSubscriptionService {
     @Autowired
     private EventSubscriptionMapper subscriptionMapper;
 
+    @Autowired
+    private SubscriptionDispatchService subscriptionDispatchService;
+
     @Override
     @Transactional
     public String createSubscription(String contractType, String contractAddress, String eventType, String eventSignature) {
@@ -49,6 +53,7 @@ public class EventSubscriptionServiceImpl implements EventSubscriptionService {
             // 保存到数据库
             int result = subscriptionMapper.insert(subscription);
             if (result > 0) {
+                subscriptionDispatchService.register(subscription);
                 log.info("创建事件订阅成功，订阅ID: {}, 合约类型: {}, 事件类型: {}", 
                         subscriptionId, contractType, eventType);
                 return subscriptionId;
@@ -73,6 +78,7 @@ public class EventSubscriptionServiceImpl implements EventSubscriptionService {
 
             int result = subscriptionMapper.update(null, updateWrapper);
             if (result > 0) {
+                subscriptionDispatchService.unregister(subscriptionId);
                 log.info("取消事件订阅成功，订阅ID: {}", subscriptionId);
                 return true;
             } else {
@@ -96,6 +102,7 @@ public class EventSubscriptionServiceImpl implements EventSubscriptionService {
 
             int result = subscriptionMapper.update(null, updateWrapper);
             if (result > 0) {
+                subscriptionDispatchService.pause(subscriptionId);
                 log.info("暂停事件订阅成功，订阅ID: {}", subscriptionId);
                 return true;
             } else {
@@ -119,6 +126,7 @@ public class EventSubscriptionServiceImpl implements EventSubscriptionService {
 
             int result = subscriptionMapper.update(null, updateWrapper);
             if (result > 0) {
+                subscriptionDispatchService.resume(subscriptionId);
                 log.info("恢复事件订阅成功，订阅ID: {}", subscriptionId);
                 return true;
             } else {
@@ -183,6 +191,14 @@ public class EventSubscriptionServiceImpl implements EventSubscriptionService {
                         .set(EventSubscription::getUpdatedAt, LocalDateTime.now());
 
             int result = subscriptionMapper.update(null, updateWrapper);
+            if (result > 0) {
+                switch (status) {
+                    case "ACTIVE" -> subscriptionDispatchService.resume(subscriptionId);
+                    case "PAUSED" -> subscriptionDispatchService.pause(subscriptionId);
+                    case "CANCELLED" -> subscriptionDispatchService.unregister(subscriptionId);
+                    default -> log.warn("未知的订阅状态: {}，订阅ID: {}", status, subscriptionId);
+                }
+            }
             return result > 0;
         } catch (Exception e) {
             log.error("更新订阅状态异常，订阅ID: {}, 状态: {}", subscriptionId, status, e);
@@ -191,20 +207,8 @@ public class EventSubscriptionServiceImpl implements EventSubscriptionService {
     }
 
     @Override
-    @Transactional
     public boolean updateEventCount(String subscriptionId) {
-        try {
-            LambdaUpdateWrapper<EventSubscription> updateWrapper = new LambdaUpdateWrapper<>();
-            updateWrapper.eq(EventSubscription::getSubscriptionId, subscriptionId)
-                        .setSql("event_count = event_count + 1")
-                        .set(EventSubscription::getLastEventTime, LocalDateTime.now())
-                        .set(EventSubscription::getUpdatedAt, LocalDateTime.now());
-
-            int result = subscriptionMapper.update(null, updateWrapper);
-            return result > 0;
-        } catch (Exception e) {
-            log.error("更新事件计数异常，订阅ID: {}", subscriptionId, e);
-            return false;
-        }
+        // 计数在内存中合并，由分发服务定期批量写库
+        return subscriptionDispatchService.recordEvents(subscriptionId, 1);
     }
 }
@@ -0,0 +1,371 @@
+package com.decentralized.gaming.platform.service.blockchain.impl;
+
+import com.decentralized.gaming.platform.exception.BlockchainException;
+import com.decentralized.gaming.platform.service.blockchain.FeeOracleService;
+import com.decentralized.gaming.platform.service.blockchain.HeadTrackerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthEstimateGas;
+import org.web3j.protocol.core.methods.response.EthFeeHistory;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 手续费预言机服务实现类
+ * 新区块到达时增量拉取 eth_feeHistory，只请求窗口中缺少的区块；各档位小费取窗口内非空区块对应分位数的中位数，
+ * maxFeePerGas = 下一区块基础费用 × base-fee-multiplier + 小费，可容忍基础费用在若干区块内持续上涨。
+ * Gas估算缓存只在调用数据长度相同时复用，数组参数长度不同的批量调用不会共用估算值；交易实际按消耗计费，安全系数不增加费用
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+@Service
+public class FeeOracleServiceImpl implements FeeOracleService {
+
+    @Autowired(required = false)
+    private Web3j web3j;
+
+    @Autowired
+    private HeadTrackerService headTrackerService;
+
+    @Value("${app.blockchain.fee-oracle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.blockchain.fee-oracle.window-blocks:20}")
+    private int windowBlocks;
+
+    @Value("${app.blockchain.fee-oracle.refresh-interval-ms:5000}")
+    private long refreshIntervalMs;
+
+    @Value("${app.blockchain.fee-oracle.reward-percentiles:10,50,90}")
+    private double[] rewardPercentiles;
+
+    @Value("${app.blockchain.fee-oracle.base-fee-multiplier:2}")
+    private long baseFeeMultiplier;
+
+    @Value("${app.blockchain.fee-oracle.min-priority-fee-wei:1000000000}")
+    private long minPriorityFeeWei;
+
+    @Value("${app.blockchain.fee-oracle.legacy-slow-percent:90}")
+    private int legacySlowPercent;
+
+    @Value("${app.blockchain.fee-oracle.legacy-fast-percent:125}")
+    private int legacyFastPercent;
+
+    @Value("${app.blockchain.fee-oracle.estimate-multiplier-percent:150}")
+    private int estimateMultiplierPercent;
+
+    @Value("${app.blockchain.fee-oracle.estimate-ttl-ms:300000}")
+    private long estimateTtlMs;
+
+    @Value("${app.blockchain.fee-oracle.estimate-max-entries:4096}")
+    private int estimateMaxEntries;
+
+    @Value("${app.blockchain.gasPrice:20000000000}")
+    private long fallbackGasPrice;
+
+    /**
+     * 区块号 -> 样本，只保留最近 window-blocks 个区块
+     */
+    private final TreeMap<Long, Sample> samples = new TreeMap<>();
+    private long newestBlock = -1;
+    private BigInteger nextBaseFee;
+
+    /**
+     * 按档位顺序排列的最新报价，刷新时整体替换
+     */
+    private volatile FeeQuote[] quotes;
+    private volatile Boolean eip1559Supported;
+    private volatile long refreshedAt;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicLong refreshCount = new AtomicLong();
+    private final AtomicLong estimateHits = new AtomicLong();
+    private final AtomicLong estimateMisses = new AtomicLong();
+
+    private final LinkedHashMap<String, Estimate> estimates = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Estimate> eldest) {
+            return size() > estimateMaxEntries;
+        }
+    };
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "fee-oracle");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final HeadTrackerService.HeadListener headListener = head -> executor.execute(this::refresh);
+
+    /**
+     * 单个区块的基础费用、Gas使用率与各分位数小费
+     */
+    private record Sample(BigInteger baseFee, double gasUsedRatio, List<BigInteger> rewards) {
+    }
+
+    private record Estimate(BigInteger gas, long estimatedAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            log.info("手续费预言机已禁用，使用配置的固定Gas价格: {}", fallbackGasPrice);
+            return;
+        }
+        if (rewardPercentiles.length != FeeTier.values().length) {
+            throw new IllegalStateException("reward-percentiles 需要配置 " + FeeTier.values().length + " 个分位数");
+        }
+        headTrackerService.addListener(headListener);
+        // 最新区块跟踪停用时按固定间隔刷新；没有新区块时不发起请求
+        executor.scheduleWithFixedDelay(this::refresh, 0, refreshIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("手续费预言机初始化完成，窗口: {}个区块, 小费分位数: {}", windowBlocks, Arrays.toString(rewardPercentiles));
+    }
+
+    @PreDestroy
+    public void destroy() {
+        headTrackerService.removeListener(headListener);
+        executor.shutdownNow();
+    }
+
+    @Override
+    public FeeQuote getFee(FeeTier tier) {
+        FeeQuote[] current = quotes;
+        if (enabled && web3j != null && (current == null || System.currentTimeMillis() - refreshedAt > refreshIntervalMs * 3)) {
+            refresh();
+            current = quotes;
+        }
+        if (current == null) {
+            return FeeQuote.legacy(tier, BigInteger.valueOf(fallbackGasPrice));
+        }
+        return current[tier.ordinal()];
+    }
+
+    @Override
+    public BigInteger estimateGasLimit(String from, String to, String data, BigInteger value) {
+        String key = estimateKey(to, data);
+        Estimate cached;
+        synchronized (estimates) {
+            cached = estimates.get(key);
+        }
+        if (cached != null && System.currentTimeMillis() - cached.estimatedAt() < estimateTtlMs) {
+            estimateHits.incrementAndGet();
+            return withMargin(cached.gas());
+        }
+
+        estimateMisses.incrementAndGet();
+        if (web3j == null) {
+            throw new IllegalStateException("Web3j实例未初始化");
+        }
+        try {
+            EthEstimateGas response = web3j.ethEstimateGas(
+                Transaction.createFunctionCallTransaction(from, null, null, null, to, value, data)).send();
+            if (response.hasError()) {
+                throw new BlockchainException(BlockchainException.ErrorCodes.GAS_ESTIMATION_FAILED, "estimateGas",
+                    "Gas估算失败: " + response.getError().getMessage());
+            }
+            BigInteger gas = response.getAmountUsed();
+            synchronized (estimates) {
+                estimates.put(key, new Estimate(gas, System.currentTimeMillis()));
+            }
+            return withMargin(gas);
+        } catch (IOException e) {
+            throw new BlockchainException(BlockchainException.ErrorCodes.NETWORK_ERROR, "estimateGas",
+                "Gas估算失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void invalidateEstimate(String to, String data) {
+        synchronized (estimates) {
+            if (estimates.remove(estimateKey(to, data)) != null) {
+                log.info("交易Gas不足，移除估算缓存: {}", estimateKey(to, data));
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("enabled", enabled);
+        status.put("eip1559Supported", eip1559Supported);
+        status.put("refreshedAt", refreshedAt);
+        status.put("refreshCount", refreshCount.get());
+        synchronized (samples) {
+            status.put("windowSize", samples.size());
+            status.put("newestBlock", newestBlock);
+            status.put("nextBaseFee", nextBaseFee);
+            if (!samples.isEmpty()) {
+                List<BigInteger> baseFees = new ArrayList<>();
+                samples.values().forEach(sample -> baseFees.add(sample.baseFee()));
+                Collections.sort(baseFees);
+                Map<String, Object> baseFeePercentiles = new HashMap<>();
+                baseFeePercentiles.put("p10", percentile(baseFees, 10));
+                baseFeePercentiles.put("p50", percentile(baseFees, 50));
+                baseFeePercentiles.put("p90", percentile(baseFees, 90));
+                status.put("baseFeePercentiles", baseFeePercentiles);
+            }
+        }
+        Map<String, Object> tiers = new HashMap<>();
+        for (FeeTier tier : FeeTier.values()) {
+            FeeQuote quote = getFee(tier);
+            Map<String, Object> fee = new HashMap<>();
+            fee.put("eip1559", quote.isEip1559());
+            fee.put("gasPrice", quote.getGasPrice());
+            fee.put("maxFeePerGas", quote.getMaxFeePerGas());
+            fee.put("maxPriorityFeePerGas", quote.getMaxPriorityFeePerGas());
+            tiers.put(tier.name(), fee);
+        }
+        status.put("tiers", tiers);
+        synchronized (estimates) {
+            status.put("estimateCacheSize", estimates.size());
+        }
+        status.put("estimateHits", estimateHits.get());
+        status.put("estimateMisses", estimateMisses.get());
+        return status;
+    }
+
+    private void refresh() {
+        if (!enabled || web3j == null || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (Boolean.FALSE.equals(eip1559Supported)) {
+                refreshLegacy();
+                return;
+            }
+
+            long head = headTrackerService.getHeadNumber();
+            long missing;
+            synchronized (samples) {
+                missing = newestBlock < 0 ? windowBlocks : head - newestBlock;
+            }
+            if (missing <= 0 && quotes != null) {
+                refreshedAt = System.currentTimeMillis();
+                return;
+            }
+            int blockCount = (int) Math.max(1, Math.min(windowBlocks, missing));
+            List<Double> percentiles = new ArrayList<>();
+            for (double percentile : rewardPercentiles) {
+                percentiles.add(percentile);
+            }
+
+            EthFeeHistory response = web3j.ethFeeHistory(blockCount,
+                DefaultBlockParameter.valueOf(BigInteger.valueOf(head)), percentiles).send();
+            EthFeeHistory.FeeHistory history = response.hasError() ? null : response.getFeeHistory();
+            if (history == null || history.getBaseFeePerGas() == null || history.getBaseFeePerGas().isEmpty()
+                    || history.getBaseFeePerGas().get(0) == null || history.getBaseFeePerGas().get(0).signum() == 0) {
+                log.info("节点不支持 eth_feeHistory 或未启用 EIP-1559，改用 eth_gasPrice");
+                eip1559Supported = false;
+                refreshLegacy();
+                return;
+            }
+
+            List<BigInteger> baseFees = history.getBaseFeePerGas();
+            List<Double> ratios = history.getGasUsedRatio();
+            List<List<BigInteger>> rewards = history.getReward();
+            long oldest = history.getOldestBlock().longValue();
+            synchronized (samples) {
+                for (int i = 0; i < ratios.size(); i++) {
+                    List<BigInteger> blockRewards = rewards != null && i < rewards.size() ? rewards.get(i) : List.of();
+                    samples.put(oldest + i, new Sample(baseFees.get(i), ratios.get(i), blockRewards));
+                }
+                while (samples.size() > windowBlocks) {
+                    samples.pollFirstEntry();
+                }
+                newestBlock = Math.max(newestBlock, oldest + ratios.size() - 1);
+                // baseFeePerGas 比区块数多一项，最后一项为下一区块的基础费用
+                nextBaseFee = baseFees.get(baseFees.size() - 1);
+                quotes = computeQuotes();
+            }
+            eip1559Supported = true;
+            refreshedAt = System.currentTimeMillis();
+            refreshCount.incrementAndGet();
+        } catch (Exception e) {
+            log.warn("刷新手续费数据失败: {}", e.getMessage());
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private void refreshLegacy() throws IOException {
+        BigInteger gasPrice = web3j.ethGasPrice().send().getGasPrice();
+        quotes = new FeeQuote[]{
+            FeeQuote.legacy(FeeTier.SLOW, scale(gasPrice, legacySlowPercent)),
+            FeeQuote.legacy(FeeTier.STANDARD, gasPrice),
+            FeeQuote.legacy(FeeTier.FAST, scale(gasPrice, legacyFastPercent))
+        };
+        refreshedAt = System.currentTimeMillis();
+        refreshCount.incrementAndGet();
+    }
+
+    /**
+     * 空区块的小费分位数为0，不参与计算；窗口内都是空区块时使用最低小费
+     */
+    private FeeQuote[] computeQuotes() {
+        BigInteger minPriorityFee = BigInteger.valueOf(minPriorityFeeWei);
+        FeeQuote[] result = new FeeQuote[FeeTier.values().length];
+        for (FeeTier tier : FeeTier.values()) {
+            List<BigInteger> tips = new ArrayList<>();
+            for (Sample sample : samples.values()) {
+                if (sample.gasUsedRatio() > 0 && sample.rewards().size() > tier.ordinal()) {
+                    tips.add(sample.rewards().get(tier.ordinal()));
+                }
+            }
+            Collections.sort(tips);
+            BigInteger priority = tips.isEmpty() ? minPriorityFee : percentile(tips, 50).max(minPriorityFee);
+            BigInteger maxFee = nextBaseFee.multiply(BigInteger.valueOf(baseFeeMultiplier)).add(priority);
+            result[tier.ordinal()] = new FeeQuote(tier, true, nextBaseFee, priority, maxFee, nextBaseFee.add(priority));
+        }
+        return result;
+    }
+
+    private BigInteger withMargin(BigInteger gas) {
+        return gas.multiply(BigInteger.valueOf(estimateMultiplierPercent)).divide(BigInteger.valueOf(100));
+    }
+
+    private static BigInteger scale(BigInteger value, int percent) {
+        return value.multiply(BigInteger.valueOf(percent)).divide(BigInteger.valueOf(100));
+    }
+
+    /**
+     * 已排序列表的分位数（最近秩法）
+     */
+    private static BigInteger percentile(List<BigInteger> sorted, int percent) {
+        int index = (int) Math.ceil(percent / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, index)));
+    }
+
+    /**
+     * 估算缓存键：合约地址、函数选择器、调用数据长度
+     */
+    private static String estimateKey(String to, String data) {
+        String contract = to != null ? to.toLowerCase() : "create";
+        if (data == null) {
+            return contract + ":0x:0";
+        }
+        String selector = data.length() >= 10 ? data.substring(0, 10).toLowerCase() : data.toLowerCase();
+        return contract + ":" + selector + ":" + data.length();
+    }
+}
@@ -2,17 +2,22 @@ package com.decentralized.gaming.platform.service.blockchain.impl;
 
 import com.decentralized.gaming.platform.contracts.GameNFT;
 import com.decentralized.gaming.platform.exception.BlockchainException;
+import com.decentralized.gaming.platform.service.blockchain.BlockchainCacheService;
 import com.decentralized.gaming.platform.service.blockchain.BlockchainService;
+import com.decentralized.gaming.platform.service.blockchain.ContractHandleRegistry;
 import com.decentralized.gaming.platform.service.blockchain.GameNFTService;
+import com.decentralized.gaming.platform.service.blockchain.RequestCoalescingService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.web3j.crypto.Credentials;
+import org.web3j.protocol.core.RemoteFunctionCall;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.tx.gas.ContractGasProvider;
 
 import java.math.BigInteger;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * 游戏NFT服务实现类
@@ -33,13 +38,22 @@ public class GameNFTServiceImpl implements GameNFTService {
     @Autowired
     private ContractGasProvider gasProvider;
 
+    @Autowired
+    private ContractHandleRegistry contractHandleRegistry;
+
+    @Autowired
+    private BlockchainCacheService cacheService;
+
     @Autowired
     private org.web3j.protocol.Web3j web3j;
 
+    @Autowired
+    private RequestCoalescingService coalescingService;
+
     @Override
     public String getName() {
         try {
-            return gameNftContract.name().send();
+            return call(gameNftContract.name(), "name");
         } catch (Exception e) {
             log.error("获取NFT名称失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "getName", "获取NFT名称失败", e);
@@ -49,7 +63,7 @@ public class GameNFTServiceImpl implements GameNFTService {
     @Override
     public String getSymbol() {
         try {
-            return gameNftContract.symbol().send();
+            return call(gameNftContract.symbol(), "symbol");
         } catch (Exception e) {
             log.error("获取NFT符号失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "getSymbol", "获取NFT符号失败", e);
@@ -59,7 +73,13 @@ public class GameNFTServiceImpl implements GameNFTService {
     @Override
     public String getOwnerOf(BigInteger tokenId) {
         try {
-            return gameNftContract.ownerOf(tokenId).send();
+            String contractAddress = gameNftContract.getContractAddress();
+            String owner = cacheService.getCachedTokenCall(contractAddress, "ownerOf", tokenId);
+            if (owner == null) {
+                owner = call(gameNftContract.ownerOf(tokenId), "ownerOf", tokenId);
+                cacheService.cacheTokenCall(contractAddress, "ownerOf", tokenId, owner);
+            }
+            return owner;
         } catch (Exception e) {
             log.error("获取NFT拥有者失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "getOwner", "获取NFT拥有者失败", e);
@@ -69,7 +89,7 @@ public class GameNFTServiceImpl implements GameNFTService {
     @Override
     public BigInteger getBalanceOf(String address) {
         try {
-            return gameNftContract.balanceOf(address).send();
+            return call(gameNftContract.balanceOf(address), "balanceOf", address);
         } catch (Exception e) {
             log.error("获取账户NFT余额失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "balanceOf", "获取账户NFT余额失败", e);
@@ -79,7 +99,13 @@ public class GameNFTServiceImpl implements GameNFTService {
     @Override
     public String getTokenURI(BigInteger tokenId) {
         try {
-            return gameNftContract.tokenURI(tokenId).send();
+            String contractAddress = gameNftContract.getContractAddress();
+            String tokenURI = cacheService.getCachedTokenCall(contractAddress, "tokenURI", tokenId);
+            if (tokenURI == null) {
+                tokenURI = call(gameNftContract.tokenURI(tokenId), "tokenURI", tokenId);
+                cacheService.cacheTokenCall(contractAddress, "tokenURI", tokenId, tokenURI);
+            }
+            return tokenURI;
         } catch (Exception e) {
             log.error("获取代币URI失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "tokenURI", "获取代币URI失败", e);
@@ -89,7 +115,7 @@ public class GameNFTServiceImpl implements GameNFTService {
     @Override
     public String getApproved(BigInteger tokenId) {
         try {
-            return gameNftContract.getApproved(tokenId).send();
+            return call(gameNftContract.getApproved(tokenId), "getApproved", tokenId);
         } catch (Exception e) {
             log.error("获取授权地址失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "getApproved", "获取授权地址失败", e);
@@ -99,7 +125,7 @@ public class GameNFTServiceImpl implements GameNFTService {
     @Override
     public boolean isApprovedForAll(String owner, String operator) {
         try {
-            return gameNftContract.isApprovedForAll(owner, operator).send();
+            return call(gameNftContract.isApprovedForAll(owner, operator), "isApprovedForAll", owner, operator);
         } catch (Exception e) {
             log.error("检查授权状态失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "isApprovedForAll", "检查授权状态失败", e);
@@ -110,12 +136,7 @@ public class GameNFTServiceImpl implements GameNFTService {
     public TransactionReceipt createGame(Credentials credentials, String gameName, String gameDescription, 
                                        String gameImageUrl, String gameUrl, BigInteger creationFee) {
         try {
-            GameNFT contract = GameNFT.load(
-                gameNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            GameNFT contract = contractHandleRegistry.get(GameNFT.class, gameNftContract.getContractAddress(), credentials, GameNFT::load);
             
             TransactionReceipt receipt = contract.createGame(
                 gameName, gameDescription, gameImageUrl, gameUrl
@@ -133,12 +154,7 @@ public class GameNFTServiceImpl implements GameNFTService {
     @Override
     public TransactionReceipt approve(Credentials credentials, String to, BigInteger tokenId) {
         try {
-            GameNFT contract = GameNFT.load(
-                gameNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            GameNFT contract = contractHandleRegistry.get(GameNFT.class, gameNftContract.getContractAddress(), credentials, GameNFT::load);
             
             TransactionReceipt receipt = contract.approve(to, tokenId).send();
             log.info("授权NFT成功: 代币ID: {}, 被授权者: {}, 交易哈希: {}", 
@@ -153,12 +169,7 @@ public class GameNFTServiceImpl implements GameNFTService {
     @Override
     public TransactionReceipt setApprovalForAll(Credentials credentials, String operator, boolean approved) {
         try {
-            GameNFT contract = GameNFT.load(
-                gameNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            GameNFT contract = contractHandleRegistry.get(GameNFT.class, gameNftContract.getContractAddress(), credentials, GameNFT::load);
             
             TransactionReceipt receipt = contract.setApprovalForAll(operator, approved).send();
             log.info("设置操作者授权成功: 操作者: {}, 授权状态: {}, 交易哈希: {}", 
@@ -173,12 +184,7 @@ public class GameNFTServiceImpl implements GameNFTService {
     @Override
     public TransactionReceipt transferFrom(Credentials credentials, String from, String to, BigInteger tokenId) {
         try {
-            GameNFT contract = GameNFT.load(
-                gameNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            GameNFT contract = contractHandleRegistry.get(GameNFT.class, gameNftContract.getContractAddress(), credentials, GameNFT::load);
             
             TransactionReceipt receipt = contract.transferFrom(from, to, tokenId).send();
             log.info("转移NFT成功: 代币ID: {}, {} -> {}, 交易哈希: {}", 
@@ -194,12 +200,7 @@ public class GameNFTServiceImpl implements GameNFTService {
     public TransactionReceipt safeTransferFrom(Credentials credentials, String from, String to, 
                                              BigInteger tokenId, byte[] data) {
         try {
-            GameNFT contract = GameNFT.load(
-                gameNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            GameNFT contract = contractHandleRegistry.get(GameNFT.class, gameNftContract.getContractAddress(), credentials, GameNFT::load);
             
             TransactionReceipt receipt = contract.safeTransferFrom(from, to, tokenId, data).send();
             log.info("安全转移NFT成功: 代币ID: {}, {} -> {}, 交易哈希: {}", 
@@ -214,12 +215,7 @@ public class GameNFTServiceImpl implements GameNFTService {
     @Override
     public TransactionReceipt adminMint(Credentials credentials, String to, String title, String description, String codeHash, String tokenURI) {
         try {
-            GameNFT contract = GameNFT.load(
-                gameNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            GameNFT contract = contractHandleRegistry.get(GameNFT.class, gameNftContract.getContractAddress(), credentials, GameNFT::load);
             
             TransactionReceipt receipt = contract.adminMint(to, title, description, codeHash, tokenURI).send();
             log.info("管理员铸造NFT成功: 接收者: {}, 交易哈希: {}", 
@@ -234,12 +230,7 @@ public class GameNFTServiceImpl implements GameNFTService {
     @Override
     public TransactionReceipt setCreationFee(Credentials credentials, BigInteger newCreationFee) {
         try {
-            GameNFT contract = GameNFT.load(
-                gameNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            GameNFT contract = contractHandleRegistry.get(GameNFT.class, gameNftContract.getContractAddress(), credentials, GameNFT::load);
             
             TransactionReceipt receipt = contract.setCreationFee(newCreationFee).send();
             log.info("设置创建费用成功: 新费用: {}, 交易哈希: {}", 
@@ -254,12 +245,7 @@ public class GameNFTServiceImpl implements GameNFTService {
     @Override
     public TransactionReceipt setFeeRecipient(Credentials credentials, String newFeeRecipient) {
         try {
-            GameNFT contract = GameNFT.load(
-                gameNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            GameNFT contract = contractHandleRegistry.get(GameNFT.class, gameNftContract.getContractAddress(), credentials, GameNFT::load);
             
             TransactionReceipt receipt = contract.setFeeRecipient(newFeeRecipient).send();
             log.info("设置费用接收者成功: 新接收者: {}, 交易哈希: {}", 
@@ -274,12 +260,7 @@ public class GameNFTServiceImpl implements GameNFTService {
     @Override
     public TransactionReceipt setPlatformToken(Credentials credentials, String newPlatformToken) {
         try {
-            GameNFT contract = GameNFT.load(
-                gameNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            GameNFT contract = contractHandleRegistry.get(GameNFT.class, gameNftContract.getContractAddress(), credentials, GameNFT::load);
             
             TransactionReceipt receipt = contract.setPlatformToken(newPlatformToken).send();
             log.info("设置平台代币成功: 新代币地址: {}, 交易哈希: {}", 
@@ -294,12 +275,7 @@ public class GameNFTServiceImpl implements GameNFTService {
     @Override
     public TransactionReceipt transferOwnership(Credentials credentials, String newOwner) {
         try {
-            GameNFT contract = GameNFT.load(
-                gameNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            GameNFT contract = contractHandleRegistry.get(GameNFT.class, gameNftContract.getContractAddress(), credentials, GameNFT::load);
             
             TransactionReceipt receipt = contract.transferOwnership(newOwner).send();
             log.info("转移所有权成功: {} -> {}, 交易哈希: {}", 
@@ -314,12 +290,7 @@ public class GameNFTServiceImpl implements GameNFTService {
     @Override
     public TransactionReceipt renounceOwnership(Credentials credentials) {
         try {
-            GameNFT contract = GameNFT.load(
-                gameNftContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            GameNFT contract = contractHandleRegistry.get(GameNFT.class, gameNftContract.getContractAddress(), credentials, GameNFT::load);
             
             TransactionReceipt receipt = contract.renounceOwnership().send();
             log.info("放弃所有权成功: 操作者: {}, 交易哈希: {}", 
@@ -334,7 +305,7 @@ public class GameNFTServiceImpl implements GameNFTService {
     @Override
     public String getOwner() {
         try {
-            return gameNftContract.owner().send();
+            return call(gameNftContract.owner(), "owner");
         } catch (Exception e) {
             log.error("获取合约拥有者失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "owner", "获取合约拥有者失败", e);
@@ -344,7 +315,7 @@ public class GameNFTServiceImpl implements GameNFTService {
     @Override
     public BigInteger getCreationFee() {
         try {
-            return gameNftContract.creationFee().send();
+            return call(gameNftContract.creationFee(), "creationFee");
         } catch (Exception e) {
             log.error("获取创建费用失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "creationFee", "获取创建费用失败", e);
@@ -354,7 +325,7 @@ public class GameNFTServiceImpl implements GameNFTService {
     @Override
     public String getFeeRecipient() {
         try {
-            return gameNftContract.feeRecipient().send();
+            return call(gameNftContract.feeRecipient(), "feeRecipient");
         } catch (Exception e) {
             log.error("获取费用接收者失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "feeRecipient", "获取费用接收者失败", e);
@@ -364,7 +335,7 @@ public class GameNFTServiceImpl implements GameNFTService {
     @Override
     public String getPlatformToken() {
         try {
-            return gameNftContract.platformToken().send();
+            return call(gameNftContract.platformToken(), "platformToken");
         } catch (Exception e) {
             log.error("获取平台代币地址失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "platformToken", "获取平台代币地址失败", e);
@@ -398,4 +369,21 @@ public class GameNFTServiceImpl implements GameNFTService {
     public TransactionReceipt waitForTransactionReceipt(String transactionHash, int maxWaitTime) {
         return blockchainService.waitForTransactionReceipt(transactionHash, maxWaitTime);
     }
+
+    /**
+     * 只读合约调用：按 合约地址:方法:参数 合并并发的相同调用
+     */
+    private <T> T call(RemoteFunctionCall<T> function, String method, Object... params) {
+        StringBuilder key = new StringBuilder(gameNftContract.getContractAddress().toLowerCase()).append(':').append(method);
+        for (Object param : params) {
+            key.append(':').append(String.valueOf(param).toLowerCase());
+        }
+        return coalescingService.execute(key.toString(), () -> {
+            try {
+                return function.send();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
 }
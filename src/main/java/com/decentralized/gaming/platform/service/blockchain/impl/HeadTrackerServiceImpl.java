@@ -0,0 +1,245 @@
+package com.decentralized.gaming.platform.service.blockchain.impl;
+
+import com.decentralized.gaming.platform.exception.BlockchainException;
+import com.decentralized.gaming.platform.service.blockchain.BlockchainCacheService;
+import com.decentralized.gaming.platform.service.blockchain.HeadTrackerService;
+import io.reactivex.disposables.Disposable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.websocket.WebSocketService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 最新区块跟踪服务实现类
+ * 单个后台线程拉取最新区块并发布到 AtomicReference，读取方不加锁也不发RPC；
+ * 配置了 ws-url 时订阅 newHeads，收到通知后立即拉取，轮询退化为低频兜底；订阅出错时恢复正常轮询
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+@Service
+public class HeadTrackerServiceImpl implements HeadTrackerService {
+
+    @Autowired(required = false)
+    private Web3j web3j;
+
+    @Autowired
+    private BlockchainCacheService cacheService;
+
+    @Value("${app.blockchain.head-tracker.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.blockchain.head-tracker.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${app.blockchain.head-tracker.ws-url:}")
+    private String wsUrl;
+
+    @Value("${app.blockchain.head-tracker.ws-fallback-poll-interval-ms:15000}")
+    private long wsFallbackPollIntervalMs;
+
+    @Value("${app.blockchain.head-tracker.stale-after-ms:30000}")
+    private long staleAfterMs;
+
+    private final AtomicReference<ChainHead> head = new AtomicReference<>();
+    private final List<HeadListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong pollCount = new AtomicLong();
+    private final AtomicLong pollFailureCount = new AtomicLong();
+    private final AtomicLong notificationCount = new AtomicLong();
+    private final AtomicLong headChangeCount = new AtomicLong();
+    private volatile long lastPollAt;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "chain-head-tracker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile WebSocketService webSocketService;
+    private volatile Disposable subscription;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled || web3j == null) {
+            log.info("最新区块跟踪未启用");
+            return;
+        }
+        if (wsUrl != null && !wsUrl.isBlank()) {
+            scheduler.execute(this::subscribeNewHeads);
+        }
+        scheduler.scheduleWithFixedDelay(this::tick, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("最新区块跟踪服务初始化完成，轮询间隔: {}ms, WebSocket: {}", pollIntervalMs,
+            wsUrl != null && !wsUrl.isBlank() ? wsUrl : "未配置");
+    }
+
+    @PreDestroy
+    public void destroy() {
+        closeSubscription();
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public ChainHead getLatestHead() {
+        ChainHead current = head.get();
+        if (current == null || System.currentTimeMillis() - current.getReceivedAt() > staleAfterMs) {
+            return null;
+        }
+        return current;
+    }
+
+    @Override
+    public long getHeadNumber() {
+        ChainHead current = head.get();
+        if (current == null) {
+            poll();
+            current = head.get();
+            if (current == null) {
+                throw new BlockchainException(BlockchainException.ErrorCodes.NETWORK_ERROR, "getHeadNumber", "无法获取最新区块");
+            }
+        }
+        return current.getNumber();
+    }
+
+    @Override
+    public void addListener(HeadListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(HeadListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public Map<String, Object> getStatus() {
+        ChainHead current = head.get();
+        Map<String, Object> status = new HashMap<>();
+        status.put("enabled", enabled && web3j != null);
+        status.put("source", subscription != null ? "websocket" : "polling");
+        status.put("pollIntervalMs", pollIntervalMs);
+        status.put("pollCount", pollCount.get());
+        status.put("pollFailureCount", pollFailureCount.get());
+        status.put("notificationCount", notificationCount.get());
+        status.put("headChangeCount", headChangeCount.get());
+        status.put("listenerCount", listeners.size());
+        if (current != null) {
+            status.put("blockNumber", current.getNumber());
+            status.put("blockHash", current.getHash());
+            status.put("timestamp", current.getTimestamp());
+            status.put("baseFeePerGas", current.getBaseFeePerGas() != null ? current.getBaseFeePerGas().toString() : null);
+            status.put("ageMs", System.currentTimeMillis() - current.getReceivedAt());
+            status.put("stale", getLatestHead() == null);
+        }
+        return status;
+    }
+
+    private void tick() {
+        // 有WebSocket订阅时仅做低频兜底轮询
+        if (subscription != null && System.currentTimeMillis() - lastPollAt < wsFallbackPollIntervalMs) {
+            return;
+        }
+        poll();
+    }
+
+    private synchronized void poll() {
+        if (web3j == null) {
+            return;
+        }
+        lastPollAt = System.currentTimeMillis();
+        pollCount.incrementAndGet();
+        try {
+            EthBlock.Block block = web3j.ethGetBlockByNumber(DefaultBlockParameterName.LATEST, false).send().getBlock();
+            if (block == null || block.getNumberRaw() == null) {
+                pollFailureCount.incrementAndGet();
+                return;
+            }
+            BigInteger baseFee = block.getBaseFeePerGasRaw() != null ? block.getBaseFeePerGas() : null;
+            ChainHead latest = new ChainHead(block.getNumber().longValue(), block.getHash(), block.getParentHash(),
+                block.getTimestamp().longValue(), baseFee, System.currentTimeMillis());
+            publish(latest);
+        } catch (Exception e) {
+            pollFailureCount.incrementAndGet();
+            log.warn("获取最新区块失败: {}", e.getMessage());
+        }
+    }
+
+    private void publish(ChainHead latest) {
+        ChainHead previous = head.get();
+        if (previous != null && latest.getNumber() < previous.getNumber()) {
+            // 负载均衡后的节点可能短暂落后，保留较新的区块
+            return;
+        }
+        // 区块未变化也更新接收时间，保持区块号缓存新鲜
+        head.set(latest);
+        cacheService.cacheBlockNumber(BigInteger.valueOf(latest.getNumber()));
+        if (previous != null && previous.getNumber() == latest.getNumber()
+                && Objects.equals(previous.getHash(), latest.getHash())) {
+            return;
+        }
+        headChangeCount.incrementAndGet();
+        for (HeadListener listener : listeners) {
+            try {
+                listener.onNewHead(latest);
+            } catch (Exception e) {
+                log.error("新区块监听器执行失败: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void subscribeNewHeads() {
+        try {
+            WebSocketService service = new WebSocketService(wsUrl, false);
+            service.connect();
+            webSocketService = service;
+            subscription = Web3j.build(service).newHeadsNotifications().subscribe(
+                notification -> {
+                    notificationCount.incrementAndGet();
+                    scheduler.execute(this::poll);
+                },
+                error -> {
+                    log.warn("newHeads 订阅中断，恢复轮询: {}", error.getMessage());
+                    closeSubscription();
+                });
+            log.info("已订阅 newHeads: {}", wsUrl);
+        } catch (Exception e) {
+            log.warn("newHeads 订阅失败，使用轮询: {}", e.getMessage());
+            closeSubscription();
+        }
+    }
+
+    private void closeSubscription() {
+        Disposable current = subscription;
+        subscription = null;
+        if (current != null) {
+            current.dispose();
+        }
+        WebSocketService service = webSocketService;
+        webSocketService = null;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (Exception e) {
+                log.debug("关闭WebSocket连接失败: {}", e.getMessage());
+            }
+        }
+    }
+}
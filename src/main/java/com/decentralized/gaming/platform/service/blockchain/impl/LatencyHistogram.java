@@ -0,0 +1,92 @@
+package com.decentralized.gaming.platform.service.blockchain.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 固定桶边界的延迟直方图
+ * 记录只做一次桶定位与原子累加，分位数按桶上界估算，适合高频RPC调用的常驻统计
+ *
+ * @author DecentralizedGamingPlatform
+ */
+final class LatencyHistogram {
+
+    /**
+     * 桶上界（毫秒），最后一个桶收纳超过最大边界的样本
+     */
+    private static final long[] BOUNDS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000};
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_MS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void record(long latencyNanos, boolean success) {
+        long micros = Math.max(0, latencyNanos / 1000);
+        long millis = micros / 1000;
+        int index = 0;
+        while (index < BOUNDS_MS.length && millis >= BOUNDS_MS[index]) {
+            index++;
+        }
+        buckets[index].increment();
+        count.increment();
+        totalMicros.add(micros);
+        if (!success) {
+            failureCount.increment();
+        }
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    Map<String, Object> snapshot() {
+        long[] counts = new long[buckets.length];
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", total);
+        snapshot.put("failureCount", failureCount.sum());
+        snapshot.put("avgMs", total > 0 ? totalMicros.sum() / 1000.0 / total : 0.0);
+        snapshot.put("maxMs", maxMicros.get() / 1000.0);
+        snapshot.put("p50Ms", percentile(counts, total, 0.50));
+        snapshot.put("p95Ms", percentile(counts, total, 0.95));
+        snapshot.put("p99Ms", percentile(counts, total, 0.99));
+
+        Map<String, Long> bucketCounts = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            bucketCounts.put(i < BOUNDS_MS.length ? "le_" + BOUNDS_MS[i] : "gt_" + BOUNDS_MS[BOUNDS_MS.length - 1], counts[i]);
+        }
+        snapshot.put("buckets", bucketCounts);
+        return snapshot;
+    }
+
+    long count() {
+        return count.sum();
+    }
+
+    private long percentile(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i < BOUNDS_MS.length ? BOUNDS_MS[i] : maxMicros.get() / 1000;
+            }
+        }
+        return maxMicros.get() / 1000;
+    }
+}
@@ -0,0 +1,234 @@
+package com.decentralized.gaming.platform.service.blockchain.impl;
+
+import com.decentralized.gaming.platform.exception.BlockchainException;
+import com.decentralized.gaming.platform.service.blockchain.LogFetchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * 日志拉取服务实现类
+ * 分片大小自适应：节点返回结果过多或超时时二分当前分片，结果较少时扩大后续分片；
+ * 分片在有界线程池上并行拉取，调用线程按分片顺序回调，保证全局 (区块号, 日志序号) 有序
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+@Service
+public class LogFetchServiceImpl implements LogFetchService {
+
+    static final Comparator<Log> LOG_ORDER = Comparator
+            .comparing(Log::getBlockNumber)
+            .thenComparing(Log::getLogIndex);
+
+    @Autowired(required = false)
+    private Web3j web3j;
+
+    @Value("${app.blockchain.log-fetcher.initial-chunk-size:2000}")
+    private long initialChunkSize;
+
+    @Value("${app.blockchain.log-fetcher.max-chunk-size:100000}")
+    private long maxChunkSize;
+
+    @Value("${app.blockchain.log-fetcher.target-results:5000}")
+    private int targetResults;
+
+    @Value("${app.blockchain.log-fetcher.parallelism:4}")
+    private int parallelism;
+
+    @Value("${app.blockchain.log-fetcher.timeout-seconds:120}")
+    private long timeoutSeconds;
+
+    private ExecutorService executorService;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        executorService = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "log-fetcher-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("日志拉取服务初始化完成，初始分片: {}, 最大分片: {}, 并行度: {}", initialChunkSize, maxChunkSize, parallelism);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Override
+    public List<Log> fetchLogs(List<String> addresses, List<List<String>> topics, long fromBlock, long toBlock) {
+        List<Log> logs = new ArrayList<>();
+        fetchLogs(addresses, topics, fromBlock, toBlock, logs::add);
+        return logs;
+    }
+
+    @Override
+    public void fetchLogs(List<String> addresses, List<List<String>> topics, long fromBlock, long toBlock,
+                          Predicate<Log> handler) {
+        if (toBlock < fromBlock) {
+            return;
+        }
+        if (web3j == null) {
+            throw new BlockchainException(BlockchainException.ErrorCodes.NETWORK_ERROR, "拉取日志", "Web3j实例未初始化");
+        }
+
+        AtomicLong chunkSize = new AtomicLong(Math.max(1, initialChunkSize));
+        Deque<CompletableFuture<List<Log>>> inFlight = new ArrayDeque<>(parallelism);
+        long nextFrom = fromBlock;
+
+        try {
+            while (nextFrom <= toBlock || !inFlight.isEmpty()) {
+                while (nextFrom <= toBlock && inFlight.size() < parallelism) {
+                    long chunkFrom = nextFrom;
+                    long chunkTo = Math.min(toBlock, chunkFrom + chunkSize.get() - 1);
+                    inFlight.addLast(CompletableFuture.supplyAsync(
+                        () -> fetchRange(addresses, topics, chunkFrom, chunkTo, chunkSize), executorService));
+                    nextFrom = chunkTo + 1;
+                }
+
+                List<Log> logs = inFlight.removeFirst().get(timeoutSeconds, TimeUnit.SECONDS);
+                for (Log eventLog : logs) {
+                    if (!handler.test(eventLog)) {
+                        return;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BlockchainException(BlockchainException.ErrorCodes.TIMEOUT, "拉取日志", "拉取日志被中断");
+        } catch (TimeoutException e) {
+            throw new BlockchainException(BlockchainException.ErrorCodes.TIMEOUT, "拉取日志",
+                "拉取日志超时(" + timeoutSeconds + "秒)", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new BlockchainException(BlockchainException.ErrorCodes.NETWORK_ERROR, "拉取日志",
+                "拉取日志失败: " + cause.getMessage(), cause);
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * 拉取单个分片；节点拒绝或超时时二分后递归拉取，并按结果量调整后续分片大小
+     */
+    private List<Log> fetchRange(List<String> addresses, List<List<String>> topics, long from, long to,
+                                 AtomicLong chunkSize) {
+        long span = to - from + 1;
+        try {
+            EthLog ethLog = web3j.ethGetLogs(buildFilter(addresses, topics, from, to)).send();
+            if (ethLog.hasError()) {
+                if (span > 1 && isTooManyResults(ethLog.getError())) {
+                    return bisect(addresses, topics, from, to, chunkSize);
+                }
+                throw new IOException("eth_getLogs 失败: " + ethLog.getError().getMessage());
+            }
+
+            List<Log> logs = new ArrayList<>(ethLog.getLogs().size());
+            for (EthLog.LogResult<?> logResult : ethLog.getLogs()) {
+                if (logResult instanceof Log) {
+                    logs.add((Log) logResult);
+                }
+            }
+            logs.sort(LOG_ORDER);
+
+            if (logs.size() < targetResults / 4) {
+                chunkSize.accumulateAndGet(span * 2, (current, grown) -> Math.min(maxChunkSize, Math.max(current, grown)));
+            } else if (logs.size() > targetResults) {
+                chunkSize.accumulateAndGet(Math.max(1, span / 2), Math::min);
+            }
+            return logs;
+        } catch (InterruptedIOException e) {
+            // 包含 SocketTimeoutException，视为区间过大
+            if (span > 1) {
+                return bisect(addresses, topics, from, to, chunkSize);
+            }
+            throw new UncheckedIOException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Log> bisect(List<String> addresses, List<List<String>> topics, long from, long to,
+                             AtomicLong chunkSize) {
+        long mid = from + (to - from) / 2;
+        chunkSize.accumulateAndGet(Math.max(1, mid - from + 1), Math::min);
+        log.debug("日志分片 [{}, {}] 结果过多，二分为 [{}, {}] 和 [{}, {}]", from, to, from, mid, mid + 1, to);
+
+        List<Log> logs = new ArrayList<>(fetchRange(addresses, topics, from, mid, chunkSize));
+        logs.addAll(fetchRange(addresses, topics, mid + 1, to, chunkSize));
+        return logs;
+    }
+
+    private EthFilter buildFilter(List<String> addresses, List<List<String>> topics, long from, long to) {
+        EthFilter filter = new EthFilter(
+            DefaultBlockParameter.valueOf(BigInteger.valueOf(from)),
+            DefaultBlockParameter.valueOf(BigInteger.valueOf(to)),
+            addresses != null ? addresses : List.of()
+        );
+
+        if (topics != null) {
+            int last = topics.size() - 1;
+            while (last >= 0 && (topics.get(last) == null || topics.get(last).isEmpty())) {
+                last--;
+            }
+            for (int i = 0; i <= last; i++) {
+                List<String> position = topics.get(i);
+                if (position == null || position.isEmpty()) {
+                    filter.addNullTopic();
+                } else if (position.size() == 1) {
+                    filter.addSingleTopic(position.get(0));
+                } else {
+                    filter.addOptionalTopics(position.toArray(new String[0]));
+                }
+            }
+        }
+        return filter;
+    }
+
+    /**
+     * 判断节点错误是否为结果数量或响应大小超限
+     */
+    private boolean isTooManyResults(Response.Error error) {
+        if (error.getCode() == -32005) {
+            return true;
+        }
+        String message = error.getMessage() != null ? error.getMessage().toLowerCase() : "";
+        return message.contains("more than")
+            || message.contains("too many")
+            || message.contains("limit exceeded")
+            || message.contains("response size")
+            || message.contains("block range");
+    }
+}
@@ -3,6 +3,7 @@ package com.decentralized.gaming.platform.service.blockchain.impl;
 import com.decentralized.gaming.platform.contracts.Marketplace;
 import com.decentralized.gaming.platform.exception.BlockchainException;
 import com.decentralized.gaming.platform.service.blockchain.BlockchainService;
+import com.decentralized.gaming.platform.service.blockchain.ContractHandleRegistry;
 import com.decentralized.gaming.platform.service.blockchain.MarketplaceService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,6 +35,9 @@ public class MarketplaceServiceImpl implements MarketplaceService {
     @Autowired
     private ContractGasProvider gasProvider;
 
+    @Autowired
+    private ContractHandleRegistry contractHandleRegistry;
+
     @Autowired(required = false)
     private org.web3j.protocol.Web3j web3j;
 
@@ -90,12 +94,7 @@ public class MarketplaceServiceImpl implements MarketplaceService {
     @Override
     public TransactionReceipt listERC721(Credentials credentials, String nftContract, BigInteger tokenId, BigInteger price) {
         try {
-            Marketplace contract = Marketplace.load(
-                marketplaceContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            Marketplace contract = contractHandleRegistry.get(Marketplace.class, marketplaceContract.getContractAddress(), credentials, Marketplace::load);
             
             TransactionReceipt receipt = contract.listERC721(nftContract, tokenId, price).send();
             log.info("上架ERC721 NFT成功: 合约地址: {}, 代币ID: {}, 价格: {}, 交易哈希: {}", 
@@ -111,12 +110,7 @@ public class MarketplaceServiceImpl implements MarketplaceService {
     public TransactionReceipt listERC1155(Credentials credentials, String nftContract, BigInteger tokenId, 
                                         BigInteger quantity, BigInteger price) {
         try {
-            Marketplace contract = Marketplace.load(
-                marketplaceContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            Marketplace contract = contractHandleRegistry.get(Marketplace.class, marketplaceContract.getContractAddress(), credentials, Marketplace::load);
             
             TransactionReceipt receipt = contract.listERC1155(nftContract, tokenId, quantity, price).send();
             log.info("上架ERC1155 NFT成功: 合约地址: {}, 代币ID: {}, 数量: {}, 价格: {}, 交易哈希: {}", 
@@ -131,12 +125,7 @@ public class MarketplaceServiceImpl implements MarketplaceService {
     @Override
     public TransactionReceipt buy(Credentials credentials, BigInteger listingId) {
         try {
-            Marketplace contract = Marketplace.load(
-                marketplaceContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            Marketplace contract = contractHandleRegistry.get(Marketplace.class, marketplaceContract.getContractAddress(), credentials, Marketplace::load);
             
             TransactionReceipt receipt = contract.buy(listingId).send();
             log.info("购买NFT成功: 上架ID: {}, 购买者: {}, 交易哈希: {}", 
@@ -151,12 +140,7 @@ public class MarketplaceServiceImpl implements MarketplaceService {
     @Override
     public TransactionReceipt cancelListing(Credentials credentials, BigInteger listingId) {
         try {
-            Marketplace contract = Marketplace.load(
-                marketplaceContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            Marketplace contract = contractHandleRegistry.get(Marketplace.class, marketplaceContract.getContractAddress(), credentials, Marketplace::load);
             
             TransactionReceipt receipt = contract.cancelListing(listingId).send();
             log.info("取消上架成功: 上架ID: {}, 操作者: {}, 交易哈希: {}", 
@@ -171,12 +155,7 @@ public class MarketplaceServiceImpl implements MarketplaceService {
     @Override
     public TransactionReceipt setFeeBasisPoints(Credentials credentials, BigInteger newFeeBasisPoints) {
         try {
-            Marketplace contract = Marketplace.load(
-                marketplaceContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            Marketplace contract = contractHandleRegistry.get(Marketplace.class, marketplaceContract.getContractAddress(), credentials, Marketplace::load);
             
             TransactionReceipt receipt = contract.setFeeBasisPoints(newFeeBasisPoints).send();
             log.info("设置费用基点成功: 新费用基点: {}, 交易哈希: {}", 
@@ -191,12 +170,7 @@ public class MarketplaceServiceImpl implements MarketplaceService {
     @Override
     public TransactionReceipt setFeeRecipient(Credentials credentials, String newFeeRecipient) {
         try {
-            Marketplace contract = Marketplace.load(
-                marketplaceContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            Marketplace contract = contractHandleRegistry.get(Marketplace.class, marketplaceContract.getContractAddress(), credentials, Marketplace::load);
             
             TransactionReceipt receipt = contract.setFeeRecipient(newFeeRecipient).send();
             log.info("设置费用接收者成功: 新接收者: {}, 交易哈希: {}", 
@@ -211,12 +185,7 @@ public class MarketplaceServiceImpl implements MarketplaceService {
     @Override
     public TransactionReceipt setPlatformToken(Credentials credentials, String newPlatformToken) {
         try {
-            Marketplace contract = Marketplace.load(
-                marketplaceContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            Marketplace contract = contractHandleRegistry.get(Marketplace.class, marketplaceContract.getContractAddress(), credentials, Marketplace::load);
             
             TransactionReceipt receipt = contract.setPlatformToken(newPlatformToken).send();
             log.info("设置平台代币成功: 新代币地址: {}, 交易哈希: {}", 
@@ -231,12 +200,7 @@ public class MarketplaceServiceImpl implements MarketplaceService {
     @Override
     public TransactionReceipt transferOwnership(Credentials credentials, String newOwner) {
         try {
-            Marketplace contract = Marketplace.load(
-                marketplaceContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            Marketplace contract = contractHandleRegistry.get(Marketplace.class, marketplaceContract.getContractAddress(), credentials, Marketplace::load);
             
             TransactionReceipt receipt = contract.transferOwnership(newOwner).send();
             log.info("转移所有权成功: {} -> {}, 交易哈希: {}", 
@@ -251,12 +215,7 @@ public class MarketplaceServiceImpl implements MarketplaceService {
     @Override
     public TransactionReceipt renounceOwnership(Credentials credentials) {
         try {
-            Marketplace contract = Marketplace.load(
-                marketplaceContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            Marketplace contract = contractHandleRegistry.get(Marketplace.class, marketplaceContract.getContractAddress(), credentials, Marketplace::load);
             
             TransactionReceipt receipt = contract.renounceOwnership().send();
             log.info("放弃所有权成功: 操作者: {}, 交易哈希: {}", 
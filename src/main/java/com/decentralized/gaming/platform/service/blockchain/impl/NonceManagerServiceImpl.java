@@ -0,0 +1,124 @@
+package com.decentralized.gaming.platform.service.blockchain.impl;
+
+import com.decentralized.gaming.platform.exception.BlockchainException;
+import com.decentralized.gaming.platform.service.blockchain.NonceManagerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 交易nonce管理服务实现类
+ * 每个签名地址一个计数器；节点上的 pending 交易数是权威值：本地计数失效后重新同步，
+ * 由于排队中（存在缺口）的交易不计入 pending 数，同步后下一个nonce正好落在缺口上
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+@Service
+public class NonceManagerServiceImpl implements NonceManagerService {
+
+    @Autowired(required = false)
+    private Web3j web3j;
+
+    private final Map<String, SignerNonce> signers = new ConcurrentHashMap<>();
+
+    /**
+     * 单个签名地址的nonce计数
+     */
+    private static final class SignerNonce {
+        private BigInteger next;
+        private boolean synced;
+        private long syncCount;
+        private long allocatedCount;
+    }
+
+    @Override
+    public BigInteger allocate(String address) {
+        SignerNonce signer = signer(address);
+        synchronized (signer) {
+            if (!signer.synced) {
+                signer.next = fetchTransactionCount(address, DefaultBlockParameterName.PENDING);
+                signer.synced = true;
+                signer.syncCount++;
+                log.debug("同步nonce: {}, 下一个nonce: {}", address, signer.next);
+            }
+            BigInteger nonce = signer.next;
+            signer.next = nonce.add(BigInteger.ONE);
+            signer.allocatedCount++;
+            return nonce;
+        }
+    }
+
+    @Override
+    public void release(String address, BigInteger nonce) {
+        SignerNonce signer = signer(address);
+        synchronized (signer) {
+            if (signer.synced && signer.next.subtract(BigInteger.ONE).equals(nonce)) {
+                signer.next = nonce;
+            } else {
+                signer.synced = false;
+            }
+        }
+    }
+
+    @Override
+    public void invalidate(String address) {
+        SignerNonce signer = signer(address);
+        synchronized (signer) {
+            signer.synced = false;
+        }
+    }
+
+    @Override
+    public BigInteger getConfirmedNonce(String address) {
+        return fetchTransactionCount(address, DefaultBlockParameterName.LATEST);
+    }
+
+    @Override
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        signers.forEach((address, signer) -> {
+            synchronized (signer) {
+                Map<String, Object> state = new HashMap<>();
+                state.put("nextNonce", signer.next);
+                state.put("synced", signer.synced);
+                state.put("syncCount", signer.syncCount);
+                state.put("allocatedCount", signer.allocatedCount);
+                status.put(address, state);
+            }
+        });
+        return status;
+    }
+
+    private SignerNonce signer(String address) {
+        return signers.computeIfAbsent(address.toLowerCase(), key -> new SignerNonce());
+    }
+
+    private BigInteger fetchTransactionCount(String address, DefaultBlockParameter block) {
+        if (web3j == null) {
+            throw new IllegalStateException("Web3j实例未初始化");
+        }
+        try {
+            EthGetTransactionCount response = web3j.ethGetTransactionCount(address, block).send();
+            if (response.hasError()) {
+                throw new BlockchainException(BlockchainException.ErrorCodes.NETWORK_ERROR, "eth_getTransactionCount",
+                    "获取nonce失败: " + response.getError().getMessage());
+            }
+            return response.getTransactionCount();
+        } catch (BlockchainException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BlockchainException(BlockchainException.ErrorCodes.NETWORK_ERROR, "eth_getTransactionCount",
+                "获取nonce失败: " + e.getMessage(), e);
+        }
+    }
+}
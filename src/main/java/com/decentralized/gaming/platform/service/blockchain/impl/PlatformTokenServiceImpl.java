@@ -3,16 +3,21 @@ package com.decentralized.gaming.platform.service.blockchain.impl;
 import com.decentralized.gaming.platform.contracts.PlatformToken;
 import com.decentralized.gaming.platform.exception.BlockchainException;
 import com.decentralized.gaming.platform.service.blockchain.BlockchainService;
+import com.decentralized.gaming.platform.service.blockchain.ContractHandleRegistry;
 import com.decentralized.gaming.platform.service.blockchain.PlatformTokenService;
+import com.decentralized.gaming.platform.service.blockchain.RequestCoalescingService;
+import com.decentralized.gaming.platform.service.blockchain.TransactionPipelineService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.web3j.crypto.Credentials;
+import org.web3j.protocol.core.RemoteFunctionCall;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.tx.gas.ContractGasProvider;
 
 import java.math.BigInteger;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * 平台代币服务实现类
@@ -33,9 +38,23 @@ public class PlatformTokenServiceImpl implements PlatformTokenService {
     @Autowired
     private ContractGasProvider gasProvider;
 
+    @Autowired
+    private TransactionPipelineService transactionPipelineService;
+
+    @Autowired
+    private ContractHandleRegistry contractHandleRegistry;
+
     @Autowired
     private org.web3j.protocol.Web3j web3j;
 
+    @Autowired
+    private RequestCoalescingService coalescingService;
+
+    /**
+     * 代币精度在合约部署后不可变，首次读取后永久缓存
+     */
+    private volatile BigInteger decimals;
+
     /**
      * 检查合约是否可用
      */
@@ -57,7 +76,7 @@ public class PlatformTokenServiceImpl implements PlatformTokenService {
             return "Platform Token";
         }
         try {
-            return platformTokenContract.name().send();
+            return call(platformTokenContract.name(), "name");
         } catch (Exception e) {
             log.error("获取代币名称失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "name", "获取代币名称失败", e);
@@ -72,7 +91,7 @@ public class PlatformTokenServiceImpl implements PlatformTokenService {
     @Override
     public String getSymbol() {
         try {
-            return platformTokenContract.symbol().send();
+            return call(platformTokenContract.symbol(), "symbol");
         } catch (Exception e) {
             log.error("获取代币符号失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "symbol", "获取代币符号失败", e);
@@ -86,8 +105,14 @@ public class PlatformTokenServiceImpl implements PlatformTokenService {
      */
     @Override
     public BigInteger getDecimals() {
+        BigInteger cached = decimals;
+        if (cached != null) {
+            return cached;
+        }
         try {
-            return platformTokenContract.decimals().send();
+            cached = call(platformTokenContract.decimals(), "decimals");
+            decimals = cached;
+            return cached;
         } catch (Exception e) {
             log.error("获取代币精度失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "decimals", "获取代币精度失败", e);
@@ -102,7 +127,7 @@ public class PlatformTokenServiceImpl implements PlatformTokenService {
     @Override
     public BigInteger getTotalSupply() {
         try {
-            return platformTokenContract.totalSupply().send();
+            return call(platformTokenContract.totalSupply(), "totalSupply");
         } catch (Exception e) {
             log.error("获取代币总供应量失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "totalSupply", "获取代币总供应量失败", e);
@@ -118,7 +143,7 @@ public class PlatformTokenServiceImpl implements PlatformTokenService {
     @Override
     public BigInteger getBalance(String address) {
         try {
-            return platformTokenContract.balanceOf(address).send();
+            return call(platformTokenContract.balanceOf(address), "balanceOf", address);
         } catch (Exception e) {
             log.error("获取账户余额失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "balanceOf", "获取账户余额失败", e);
@@ -135,7 +160,7 @@ public class PlatformTokenServiceImpl implements PlatformTokenService {
     @Override
     public BigInteger getAllowance(String owner, String spender) {
         try {
-            return platformTokenContract.allowance(owner, spender).send();
+            return call(platformTokenContract.allowance(owner, spender), "allowance", owner, spender);
         } catch (Exception e) {
             log.error("获取授权额度失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "allowance", "获取授权额度失败", e);
@@ -153,12 +178,7 @@ public class PlatformTokenServiceImpl implements PlatformTokenService {
     @Override
     public TransactionReceipt transfer(Credentials credentials, String to, BigInteger amount) {
         try {
-            PlatformToken contract = PlatformToken.load(
-                platformTokenContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            PlatformToken contract = contractHandleRegistry.get(PlatformToken.class, platformTokenContract.getContractAddress(), credentials, PlatformToken::load);
             
             TransactionReceipt receipt = contract.transfer(to, amount).send();
             log.info("转账成功: {} -> {}, 金额: {}, 交易哈希: {}", 
@@ -181,12 +201,7 @@ public class PlatformTokenServiceImpl implements PlatformTokenService {
     @Override
     public TransactionReceipt approve(Credentials credentials, String spender, BigInteger amount) {
         try {
-            PlatformToken contract = PlatformToken.load(
-                platformTokenContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            PlatformToken contract = contractHandleRegistry.get(PlatformToken.class, platformTokenContract.getContractAddress(), credentials, PlatformToken::load);
             
             TransactionReceipt receipt = contract.approve(spender, amount).send();
             log.info("授权成功: {} -> {}, 金额: {}, 交易哈希: {}", 
@@ -210,12 +225,7 @@ public class PlatformTokenServiceImpl implements PlatformTokenService {
     @Override
     public TransactionReceipt transferFrom(Credentials credentials, String from, String to, BigInteger amount) {
         try {
-            PlatformToken contract = PlatformToken.load(
-                platformTokenContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            PlatformToken contract = contractHandleRegistry.get(PlatformToken.class, platformTokenContract.getContractAddress(), credentials, PlatformToken::load);
             
             TransactionReceipt receipt = contract.transferFrom(from, to, amount).send();
             log.info("代理转账成功: {} -> {}, 金额: {}, 交易哈希: {}", 
@@ -238,12 +248,7 @@ public class PlatformTokenServiceImpl implements PlatformTokenService {
     @Override
     public TransactionReceipt mint(Credentials credentials, String to, BigInteger amount) {
         try {
-            PlatformToken contract = PlatformToken.load(
-                platformTokenContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            PlatformToken contract = contractHandleRegistry.get(PlatformToken.class, platformTokenContract.getContractAddress(), credentials, PlatformToken::load);
             
             TransactionReceipt receipt = contract.mint(to, amount).send();
             log.info("铸造代币成功: 接收者: {}, 金额: {}, 交易哈希: {}", 
@@ -265,12 +270,7 @@ public class PlatformTokenServiceImpl implements PlatformTokenService {
     @Override
     public TransactionReceipt burn(Credentials credentials, BigInteger amount) {
         try {
-            PlatformToken contract = PlatformToken.load(
-                platformTokenContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            PlatformToken contract = contractHandleRegistry.get(PlatformToken.class, platformTokenContract.getContractAddress(), credentials, PlatformToken::load);
             
             TransactionReceipt receipt = contract.burn(amount).send();
             log.info("销毁代币成功: 金额: {}, 交易哈希: {}", 
@@ -293,12 +293,7 @@ public class PlatformTokenServiceImpl implements PlatformTokenService {
     @Override
     public TransactionReceipt adminBurn(Credentials credentials, String account, BigInteger amount) {
         try {
-            PlatformToken contract = PlatformToken.load(
-                platformTokenContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            PlatformToken contract = contractHandleRegistry.get(PlatformToken.class, platformTokenContract.getContractAddress(), credentials, PlatformToken::load);
             
             TransactionReceipt receipt = contract.adminBurn(account, amount).send();
             log.info("管理员销毁代币成功: 销毁者: {}, 金额: {}, 交易哈希: {}", 
@@ -320,12 +315,7 @@ public class PlatformTokenServiceImpl implements PlatformTokenService {
     @Override
     public TransactionReceipt transferOwnership(Credentials credentials, String newOwner) {
         try {
-            PlatformToken contract = PlatformToken.load(
-                platformTokenContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            PlatformToken contract = contractHandleRegistry.get(PlatformToken.class, platformTokenContract.getContractAddress(), credentials, PlatformToken::load);
             
             TransactionReceipt receipt = contract.transferOwnership(newOwner).send();
             log.info("转移所有权成功: {} -> {}, 交易哈希: {}", 
@@ -346,12 +336,7 @@ public class PlatformTokenServiceImpl implements PlatformTokenService {
     @Override
     public TransactionReceipt renounceOwnership(Credentials credentials) {
         try {
-            PlatformToken contract = PlatformToken.load(
-                platformTokenContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            PlatformToken contract = contractHandleRegistry.get(PlatformToken.class, platformTokenContract.getContractAddress(), credentials, PlatformToken::load);
             
             TransactionReceipt receipt = contract.renounceOwnership().send();
             log.info("放弃所有权成功: 操作者: {}, 交易哈希: {}", 
@@ -371,7 +356,7 @@ public class PlatformTokenServiceImpl implements PlatformTokenService {
     @Override
     public String getOwner() {
         try {
-            return platformTokenContract.owner().send();
+            return call(platformTokenContract.owner(), "owner");
         } catch (Exception e) {
             log.error("获取合约拥有者失败: {}", e.getMessage());
             throw new BlockchainException(BlockchainException.ErrorCodes.CONTRACT_CALL_FAILED, "owner", "获取合约拥有者失败", e);
@@ -388,7 +373,7 @@ public class PlatformTokenServiceImpl implements PlatformTokenService {
      */
     @Override
     public CompletableFuture<TransactionReceipt> transferAsync(Credentials credentials, String to, BigInteger amount) {
-        return CompletableFuture.supplyAsync(() -> transfer(credentials, to, amount));
+        return submitAsync(credentials, platformTokenContract.transfer(to, amount), "transfer");
     }
 
     /**
@@ -401,7 +386,30 @@ public class PlatformTokenServiceImpl implements PlatformTokenService {
      */
     @Override
     public CompletableFuture<TransactionReceipt> approveAsync(Credentials credentials, String spender, BigInteger amount) {
-        return CompletableFuture.supplyAsync(() -> approve(credentials, spender, amount));
+        return submitAsync(credentials, platformTokenContract.approve(spender, amount), "approve");
+    }
+
+    /**
+     * 经交易流水线广播后立即返回，收据由共享跟踪器交付，不占用线程等待
+     */
+    private CompletableFuture<TransactionReceipt> submitAsync(Credentials credentials,
+                                                              RemoteFunctionCall<TransactionReceipt> call,
+                                                              String operation) {
+        try {
+            checkContractAvailable();
+            TransactionPipelineService.Submission submission = transactionPipelineService.submit(credentials,
+                platformTokenContract.getContractAddress(), call.encodeFunctionCall(), BigInteger.ZERO, null);
+            return submission.getReceipt().thenApply(receipt -> {
+                if (!receipt.isStatusOK()) {
+                    throw new BlockchainException(BlockchainException.ErrorCodes.TRANSACTION_FAILED, operation,
+                        "交易执行失败，交易哈希: " + receipt.getTransactionHash());
+                }
+                return receipt;
+            });
+        } catch (Exception e) {
+            log.error("提交交易失败: {}, 错误: {}", operation, e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
     /**
@@ -426,4 +434,21 @@ public class PlatformTokenServiceImpl implements PlatformTokenService {
     public TransactionReceipt waitForTransactionReceipt(String transactionHash, int maxWaitTime) {
         return blockchainService.waitForTransactionReceipt(transactionHash, maxWaitTime);
     }
+
+    /**
+     * 只读合约调用：按 合约地址:方法:参数 合并并发的相同调用
+     */
+    private <T> T call(RemoteFunctionCall<T> function, String method, Object... params) {
+        StringBuilder key = new StringBuilder(platformTokenContract.getContractAddress().toLowerCase()).append(':').append(method);
+        for (Object param : params) {
+            key.append(':').append(String.valueOf(param).toLowerCase());
+        }
+        return coalescingService.execute(key.toString(), () -> {
+            try {
+                return function.send();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
 }
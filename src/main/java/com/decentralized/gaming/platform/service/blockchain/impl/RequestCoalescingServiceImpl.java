@@ -0,0 +1,224 @@
+package com.decentralized.gaming.platform.service.blockchain.impl;
+
+import com.decentralized.gaming.platform.exception.BlockchainException;
+import com.decentralized.gaming.platform.service.blockchain.RequestCoalescingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 请求合并服务实现类
+ * 在途请求按键登记为 CompletableFuture，第一个调用方在自己的线程上执行加载，并发的相同请求等待同一个 future；
+ * 带刷新的结果在年龄超过 有效期*refresh-ahead-ratio 后的首次访问时提交后台刷新，调用方仍立即拿到旧值，
+ * 因此热点键不会同时过期；不再被访问的键过期后由清理任务移除
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+@Service
+public class RequestCoalescingServiceImpl implements RequestCoalescingService {
+
+    @Value("${app.blockchain.coalescing.wait-timeout-ms:30000}")
+    private long waitTimeoutMs;
+
+    @Value("${app.blockchain.coalescing.refresh-ahead-ratio:0.8}")
+    private double refreshAheadRatio;
+
+    @Value("${app.blockchain.coalescing.refresh-threads:2}")
+    private int refreshThreads;
+
+    @Value("${app.blockchain.coalescing.max-entries:10000}")
+    private int maxEntries;
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, RefreshEntry> values = new ConcurrentHashMap<>();
+
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder refreshFailureCount = new LongAdder();
+
+    private final ScheduledExecutorService cleanupScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "rpc-coalescing-cleanup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ThreadPoolExecutor refreshExecutor;
+
+    /**
+     * 缓存结果：加载时间与有效期，refreshing 保证同一条目只提交一次后台刷新
+     */
+    private static final class RefreshEntry {
+        private final Object value;
+        private final long loadedAt;
+        private final long ttlMillis;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private RefreshEntry(Object value, long loadedAt, long ttlMillis) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+            this.ttlMillis = ttlMillis;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1000), r -> {
+                Thread thread = new Thread(r, "rpc-refresh-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        cleanupScheduler.scheduleAtFixedRate(this::cleanupExpiredEntries, 5, 5, TimeUnit.SECONDS);
+        log.info("请求合并服务初始化完成，提前刷新比例: {}, 刷新线程数: {}", refreshAheadRatio, refreshThreads);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        cleanupScheduler.shutdownNow();
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> loader) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalescedCount.increment();
+            return (T) await(key, existing);
+        }
+
+        loadCount.increment();
+        try {
+            T value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            if (!flight.isDone()) {
+                flight.completeExceptionally(new IllegalStateException("请求加载被中断: " + key));
+            }
+            inFlight.remove(key, flight);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T executeWithRefresh(String key, long ttlMillis, Supplier<T> loader) {
+        RefreshEntry entry = values.get(key);
+        if (entry != null) {
+            long age = System.currentTimeMillis() - entry.loadedAt;
+            if (age < entry.ttlMillis) {
+                if (age >= entry.ttlMillis * refreshAheadRatio && entry.refreshing.compareAndSet(false, true)) {
+                    submitRefresh(key, ttlMillis, loader, entry);
+                }
+                hitCount.increment();
+                return (T) entry.value;
+            }
+        }
+        return load(key, ttlMillis, loader);
+    }
+
+    @Override
+    public void invalidate(String key) {
+        values.remove(key);
+    }
+
+    @Override
+    public void invalidateAll() {
+        values.clear();
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("inFlight", inFlight.size());
+        stats.put("cachedEntries", values.size());
+        stats.put("loadCount", loadCount.sum());
+        stats.put("coalescedCount", coalescedCount.sum());
+        stats.put("hitCount", hitCount.sum());
+        stats.put("refreshCount", refreshCount.sum());
+        stats.put("refreshFailureCount", refreshFailureCount.sum());
+        stats.put("refreshQueueSize", refreshExecutor != null ? refreshExecutor.getQueue().size() : 0);
+        return stats;
+    }
+
+    private <T> T load(String key, long ttlMillis, Supplier<T> loader) {
+        return execute(key, () -> {
+            T value = loader.get();
+            if (value != null && (values.size() < maxEntries || values.containsKey(key))) {
+                values.put(key, new RefreshEntry(value, System.currentTimeMillis(), ttlMillis));
+            }
+            return value;
+        });
+    }
+
+    private <T> void submitRefresh(String key, long ttlMillis, Supplier<T> loader, RefreshEntry entry) {
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(key, ttlMillis, loader);
+                    refreshCount.increment();
+                } catch (Exception e) {
+                    refreshFailureCount.increment();
+                    log.debug("后台刷新失败，等待同步加载: {}, 错误: {}", key, e.getMessage());
+                } finally {
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    private Object await(String key, CompletableFuture<Object> flight) {
+        try {
+            return flight.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BlockchainException(BlockchainException.ErrorCodes.TIMEOUT, key, "等待合并请求被中断");
+        } catch (TimeoutException e) {
+            throw new BlockchainException(BlockchainException.ErrorCodes.TIMEOUT, key,
+                "等待合并请求超时(" + waitTimeoutMs + "毫秒)", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new BlockchainException(BlockchainException.ErrorCodes.NETWORK_ERROR, key,
+                "合并请求失败: " + cause.getMessage(), cause);
+        }
+    }
+
+    private void cleanupExpiredEntries() {
+        long now = System.currentTimeMillis();
+        values.entrySet().removeIf(entry -> now - entry.getValue().loadedAt >= entry.getValue().ttlMillis);
+    }
+}
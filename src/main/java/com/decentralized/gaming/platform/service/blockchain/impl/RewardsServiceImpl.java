@@ -3,6 +3,7 @@ package com.decentralized.gaming.platform.service.blockchain.impl;
 import com.decentralized.gaming.platform.contracts.Rewards;
 import com.decentralized.gaming.platform.exception.BlockchainException;
 import com.decentralized.gaming.platform.service.blockchain.BlockchainService;
+import com.decentralized.gaming.platform.service.blockchain.ContractHandleRegistry;
 import com.decentralized.gaming.platform.service.blockchain.RewardsService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,6 +35,9 @@ public class RewardsServiceImpl implements RewardsService {
     @Autowired
     private ContractGasProvider gasProvider;
 
+    @Autowired
+    private ContractHandleRegistry contractHandleRegistry;
+
     @Autowired(required = false)
     private org.web3j.protocol.Web3j web3j;
 
@@ -60,12 +64,7 @@ public class RewardsServiceImpl implements RewardsService {
     @Override
     public TransactionReceipt issueReward(Credentials credentials, String recipient, BigInteger amount) {
         try {
-            Rewards contract = Rewards.load(
-                rewardsContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            Rewards contract = contractHandleRegistry.get(Rewards.class, rewardsContract.getContractAddress(), credentials, Rewards::load);
             
             TransactionReceipt receipt = contract.issueReward(recipient, amount, "Platform reward").send();
             log.info("发放奖励成功: 接收者: {}, 金额: {}, 交易哈希: {}", 
@@ -80,12 +79,7 @@ public class RewardsServiceImpl implements RewardsService {
     @Override
     public TransactionReceipt batchIssue(Credentials credentials, List<String> recipients, List<BigInteger> amounts) {
         try {
-            Rewards contract = Rewards.load(
-                rewardsContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            Rewards contract = contractHandleRegistry.get(Rewards.class, rewardsContract.getContractAddress(), credentials, Rewards::load);
             
             TransactionReceipt receipt = contract.batchIssue(recipients, amounts, "Batch platform reward").send();
             log.info("批量发放奖励成功: 接收者数量: {}, 交易哈希: {}", 
@@ -100,12 +94,7 @@ public class RewardsServiceImpl implements RewardsService {
     @Override
     public TransactionReceipt transferOwnership(Credentials credentials, String newOwner) {
         try {
-            Rewards contract = Rewards.load(
-                rewardsContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            Rewards contract = contractHandleRegistry.get(Rewards.class, rewardsContract.getContractAddress(), credentials, Rewards::load);
             
             TransactionReceipt receipt = contract.transferOwnership(newOwner).send();
             log.info("转移所有权成功: {} -> {}, 交易哈希: {}", 
@@ -120,12 +109,7 @@ public class RewardsServiceImpl implements RewardsService {
     @Override
     public TransactionReceipt renounceOwnership(Credentials credentials) {
         try {
-            Rewards contract = Rewards.load(
-                rewardsContract.getContractAddress(),
-                web3j,
-                credentials,
-                gasProvider
-            );
+            Rewards contract = contractHandleRegistry.get(Rewards.class, rewardsContract.getContractAddress(), credentials, Rewards::load);
             
             TransactionReceipt receipt = contract.renounceOwnership().send();
             log.info("放弃所有权成功: 操作者: {}, 交易哈希: {}", 
@@ -0,0 +1,519 @@
+package com.decentralized.gaming.platform.service.blockchain.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.decentralized.gaming.platform.entity.ChainEvent;
+import com.decentralized.gaming.platform.entity.EventSubscription;
+import com.decentralized.gaming.platform.mapper.ChainEventMapper;
+import com.decentralized.gaming.platform.mapper.EventSubscriptionMapper;
+import com.decentralized.gaming.platform.service.blockchain.BlockchainService;
+import com.decentralized.gaming.platform.service.blockchain.SubscriptionDispatchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.web3j.protocol.core.methods.response.Log;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 订阅事件分发服务实现类
+ * 活跃订阅按 (合约地址, 事件签名) 建立内存索引，每条日志一次查表即可找到全部匹配订阅；
+ * 每个订阅一个有界环形缓冲区，缓冲区满时不阻塞分发线程，而是丢弃缓冲内容并转为从 chain_events 按投递位置补齐，
+ * 暂停恢复同样走补齐路径，因此投递位置不丢失；事件计数与投递位置在内存中合并后定期批量写库。
+ * 写库的是已确认位置：客户端显式确认或发起下一次拉取时，上一批事件才视为已送达，重启后从已确认位置重新投递
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+@Service
+public class SubscriptionDispatchServiceImpl implements SubscriptionDispatchService {
+
+    private static final String STATUS_ACTIVE = "ACTIVE";
+    private static final String STATUS_CANCELLED = "CANCELLED";
+
+    @Autowired
+    private EventSubscriptionMapper subscriptionMapper;
+
+    @Autowired
+    private ChainEventMapper chainEventMapper;
+
+    @Autowired
+    private BlockchainService blockchainService;
+
+    @Value("${app.blockchain.subscription-dispatch.buffer-size:1024}")
+    private int bufferSize;
+
+    @Value("${app.blockchain.subscription-dispatch.max-poll-size:1000}")
+    private int maxPollSize;
+
+    @Value("${app.blockchain.subscription-dispatch.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${app.blockchain.subscription-dispatch.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    /**
+     * 订阅ID -> 分发通道（不含已取消的订阅）
+     */
+    private final Map<String, SubscriptionChannel> channels = new ConcurrentHashMap<>();
+
+    /**
+     * "小写合约地址:小写事件签名" -> 活跃订阅通道，变更时整体重建后替换
+     */
+    private volatile Map<String, List<SubscriptionChannel>> index = Map.of();
+
+    /**
+     * 未取消订阅的小写合约地址，由事件轮询纳入日志过滤条件
+     */
+    private volatile Set<String> subscribedContracts = Set.of();
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "subscription-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 订阅分发通道：环形缓冲区与投递位置由通道自身的锁保护
+     */
+    private static final class SubscriptionChannel {
+        private final String subscriptionId;
+        private final String contractAddress;
+        private final String topic0;
+        private final int capacity;
+        private final Object pollLock = new Object();
+        private final AtomicLong pendingCount = new AtomicLong();
+        private final AtomicLong matchedCount = new AtomicLong();
+        private final AtomicLong deliveredCount = new AtomicLong();
+        private final AtomicLong overflowCount = new AtomicLong();
+        private volatile boolean active;
+        private volatile LocalDateTime lastEventTime;
+
+        private ChainEvent[] ring;
+        private long writeSeq;
+        private long readSeq;
+        private long generation;
+        private boolean catchingUp;
+        private long deliveredBlock = -1;
+        private int deliveredLogIndex = -1;
+        private long ackedBlock = -1;
+        private int ackedLogIndex = -1;
+        private boolean offsetDirty;
+
+        private SubscriptionChannel(String subscriptionId, String contractAddress, String topic0, int capacity) {
+            this.subscriptionId = subscriptionId;
+            this.contractAddress = contractAddress;
+            this.topic0 = topic0;
+            this.capacity = capacity;
+        }
+
+        /**
+         * 写入环形缓冲区；缓冲区满时丢弃已缓冲事件并转为补齐模式
+         */
+        private synchronized void offer(ChainEvent event) {
+            if (ring == null) {
+                ring = new ChainEvent[capacity];
+            }
+            if (writeSeq - readSeq == capacity) {
+                discardBuffered();
+                catchingUp = true;
+                overflowCount.incrementAndGet();
+            }
+            ring[(int) (writeSeq % capacity)] = event;
+            writeSeq++;
+        }
+
+        private void discardBuffered() {
+            if (ring != null) {
+                while (readSeq < writeSeq) {
+                    ring[(int) (readSeq++ % capacity)] = null;
+                }
+            }
+            readSeq = writeSeq;
+            generation++;
+        }
+
+        /**
+         * 从环形缓冲区取出投递位置之后的事件
+         */
+        private void drainTo(List<ChainEvent> events, int limit) {
+            while (readSeq < writeSeq && events.size() < limit) {
+                int slot = (int) (readSeq++ % capacity);
+                ChainEvent event = ring[slot];
+                ring[slot] = null;
+                acceptIfAfterOffset(event, events);
+            }
+        }
+
+        private void acceptIfAfterOffset(ChainEvent event, List<ChainEvent> events) {
+            long block = event.getBlockNumber();
+            int logIndex = event.getLogIndex();
+            if (block > deliveredBlock || (block == deliveredBlock && logIndex > deliveredLogIndex)) {
+                events.add(event);
+                deliveredBlock = block;
+                deliveredLogIndex = logIndex;
+                offsetDirty = true;
+            }
+        }
+
+        /**
+         * 推进已确认位置，不超过已投递位置
+         */
+        private boolean acknowledge(long block, int logIndex) {
+            boolean afterAcked = block > ackedBlock || (block == ackedBlock && logIndex > ackedLogIndex);
+            boolean withinDelivered = block < deliveredBlock || (block == deliveredBlock && logIndex <= deliveredLogIndex);
+            if (!afterAcked || !withinDelivered) {
+                return false;
+            }
+            ackedBlock = block;
+            ackedLogIndex = logIndex;
+            offsetDirty = true;
+            return true;
+        }
+
+        /**
+         * 取出待写库的计数增量与已确认位置
+         */
+        private synchronized EventSubscription takeDelta() {
+            long count = pendingCount.getAndSet(0);
+            if (count == 0 && !offsetDirty) {
+                return null;
+            }
+            EventSubscription delta = new EventSubscription();
+            delta.setSubscriptionId(subscriptionId);
+            delta.setEventCount(count);
+            delta.setLastEventTime(count > 0 ? lastEventTime : null);
+            if (offsetDirty) {
+                delta.setDeliveredBlock(ackedBlock);
+                delta.setDeliveredLogIndex(ackedLogIndex);
+                offsetDirty = false;
+            }
+            return delta;
+        }
+
+        private synchronized void restoreDelta(EventSubscription delta) {
+            pendingCount.addAndGet(delta.getEventCount());
+            if (delta.getDeliveredBlock() != null) {
+                offsetDirty = true;
+            }
+        }
+
+        private synchronized int bufferedCount() {
+            return (int) (writeSeq - readSeq);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            LambdaQueryWrapper<EventSubscription> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.ne(EventSubscription::getStatus, STATUS_CANCELLED);
+            for (EventSubscription subscription : subscriptionMapper.selectList(queryWrapper)) {
+                channels.put(subscription.getSubscriptionId(), newChannel(subscription));
+            }
+            rebuildIndex();
+        } catch (Exception e) {
+            log.warn("加载事件订阅失败，订阅分发从空索引开始: {}", e.getMessage());
+        }
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("订阅事件分发服务初始化完成，订阅数: {}, 缓冲区容量: {}, 计数写库间隔: {}ms",
+            channels.size(), bufferSize, flushIntervalMs);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        flusher.shutdownNow();
+        flush();
+    }
+
+    @Override
+    public void publish(Log eventLog) {
+        if (eventLog.isRemoved() || eventLog.getTopics() == null || eventLog.getTopics().isEmpty()) {
+            return;
+        }
+        List<SubscriptionChannel> matched = index.get(indexKey(eventLog.getAddress(), eventLog.getTopics().get(0)));
+        if (matched == null) {
+            return;
+        }
+
+        ChainEvent event = EventStoreServiceImpl.toChainEvent(eventLog);
+        LocalDateTime now = LocalDateTime.now();
+        for (SubscriptionChannel channel : matched) {
+            channel.offer(event);
+            channel.matchedCount.incrementAndGet();
+            channel.pendingCount.incrementAndGet();
+            channel.lastEventTime = now;
+        }
+    }
+
+    @Override
+    public void register(EventSubscription subscription) {
+        if (STATUS_CANCELLED.equals(subscription.getStatus())) {
+            unregister(subscription.getSubscriptionId());
+            return;
+        }
+        SubscriptionChannel channel = channels.computeIfAbsent(subscription.getSubscriptionId(),
+            id -> newChannel(subscription));
+        channel.active = STATUS_ACTIVE.equals(subscription.getStatus());
+        rebuildIndex();
+    }
+
+    @Override
+    public void pause(String subscriptionId) {
+        SubscriptionChannel channel = channels.get(subscriptionId);
+        if (channel == null) {
+            return;
+        }
+        channel.active = false;
+        rebuildIndex();
+        synchronized (channel) {
+            channel.discardBuffered();
+        }
+        log.info("订阅 {} 已暂停分发，投递位置保留在 {}:{}", subscriptionId, channel.deliveredBlock, channel.deliveredLogIndex);
+    }
+
+    @Override
+    public void resume(String subscriptionId) {
+        SubscriptionChannel channel = channels.get(subscriptionId);
+        if (channel == null) {
+            EventSubscription subscription = subscriptionMapper.selectById(subscriptionId);
+            if (subscription != null) {
+                register(subscription);
+            }
+            return;
+        }
+        synchronized (channel) {
+            // 暂停期间的事件从事件存储补齐
+            channel.discardBuffered();
+            channel.catchingUp = channel.deliveredBlock >= 0;
+        }
+        channel.active = true;
+        rebuildIndex();
+        log.info("订阅 {} 已恢复分发，从 {}:{} 之后继续投递", subscriptionId, channel.deliveredBlock, channel.deliveredLogIndex);
+    }
+
+    @Override
+    public void unregister(String subscriptionId) {
+        SubscriptionChannel channel = channels.remove(subscriptionId);
+        if (channel == null) {
+            return;
+        }
+        channel.active = false;
+        rebuildIndex();
+        EventSubscription delta = channel.takeDelta();
+        if (delta != null) {
+            writeDeltas(List.of(delta));
+        }
+    }
+
+    @Override
+    public List<ChainEvent> pollEvents(String subscriptionId, int maxEvents) {
+        SubscriptionChannel channel = channels.get(subscriptionId);
+        if (channel == null || !channel.active) {
+            return List.of();
+        }
+        int limit = Math.max(1, Math.min(maxEvents, maxPollSize));
+        List<ChainEvent> events = new ArrayList<>();
+
+        synchronized (channel.pollLock) {
+            long generation;
+            long afterBlock;
+            int afterLogIndex;
+            synchronized (channel) {
+                // 发起下一次拉取即确认上一批已送达
+                channel.acknowledge(channel.deliveredBlock, channel.deliveredLogIndex);
+                if (!channel.catchingUp) {
+                    channel.drainTo(events, limit);
+                    channel.deliveredCount.addAndGet(events.size());
+                    return events;
+                }
+                generation = channel.generation;
+                afterBlock = channel.deliveredBlock;
+                afterLogIndex = channel.deliveredLogIndex;
+            }
+
+            List<ChainEvent> stored = chainEventMapper.selectAfter(
+                channel.contractAddress, channel.topic0, afterBlock, afterLogIndex, limit);
+            synchronized (channel) {
+                for (ChainEvent event : stored) {
+                    channel.acceptIfAfterOffset(event, events);
+                }
+                // 存储已读尽且读取期间缓冲区未溢出：之后的事件都在缓冲区中，切回缓冲区投递
+                if (stored.size() < limit && channel.generation == generation) {
+                    channel.catchingUp = false;
+                    channel.drainTo(events, limit);
+                }
+            }
+            channel.deliveredCount.addAndGet(events.size());
+        }
+        return events;
+    }
+
+    @Override
+    public boolean acknowledge(String subscriptionId, long blockNumber, int logIndex) {
+        SubscriptionChannel channel = channels.get(subscriptionId);
+        if (channel == null) {
+            return false;
+        }
+        synchronized (channel) {
+            return channel.acknowledge(blockNumber, logIndex);
+        }
+    }
+
+    @Override
+    public Set<String> getSubscribedContracts() {
+        return subscribedContracts;
+    }
+
+    @Override
+    public boolean recordEvents(String subscriptionId, long count) {
+        SubscriptionChannel channel = channels.get(subscriptionId);
+        if (channel == null) {
+            return false;
+        }
+        channel.pendingCount.addAndGet(count);
+        channel.lastEventTime = LocalDateTime.now();
+        return true;
+    }
+
+    @Override
+    public Map<String, Object> getDispatchStatus() {
+        long matched = 0;
+        long delivered = 0;
+        long overflows = 0;
+        long pending = 0;
+        int activeCount = 0;
+        List<Map<String, Object>> subscriptions = new ArrayList<>(channels.size());
+        for (SubscriptionChannel channel : channels.values()) {
+            matched += channel.matchedCount.get();
+            delivered += channel.deliveredCount.get();
+            overflows += channel.overflowCount.get();
+            pending += channel.pendingCount.get();
+            if (channel.active) {
+                activeCount++;
+            }
+
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("subscriptionId", channel.subscriptionId);
+            stats.put("active", channel.active);
+            synchronized (channel) {
+                stats.put("buffered", channel.bufferedCount());
+                stats.put("catchingUp", channel.catchingUp);
+                stats.put("deliveredOffset", channel.deliveredBlock + ":" + channel.deliveredLogIndex);
+                stats.put("ackedOffset", channel.ackedBlock + ":" + channel.ackedLogIndex);
+            }
+            stats.put("matched", channel.matchedCount.get());
+            stats.put("delivered", channel.deliveredCount.get());
+            stats.put("overflows", channel.overflowCount.get());
+            subscriptions.add(stats);
+        }
+
+        Map<String, Object> status = new HashMap<>();
+        status.put("subscriptions", channels.size());
+        status.put("activeSubscriptions", activeCount);
+        status.put("indexKeys", index.size());
+        status.put("bufferSize", bufferSize);
+        status.put("matched", matched);
+        status.put("delivered", delivered);
+        status.put("overflows", overflows);
+        status.put("pendingCountUpdates", pending);
+        status.put("details", subscriptions);
+        status.put("timestamp", System.currentTimeMillis());
+        return status;
+    }
+
+    private SubscriptionChannel newChannel(EventSubscription subscription) {
+        SubscriptionChannel channel = new SubscriptionChannel(
+            subscription.getSubscriptionId(),
+            subscription.getContractAddress().toLowerCase(),
+            subscription.getEventSignature().toLowerCase(),
+            Math.max(1, bufferSize));
+        channel.active = STATUS_ACTIVE.equals(subscription.getStatus());
+
+        if (subscription.getDeliveredBlock() != null) {
+            // 已有投递位置：先从事件存储补齐停机期间的事件
+            channel.deliveredBlock = subscription.getDeliveredBlock();
+            channel.deliveredLogIndex = subscription.getDeliveredLogIndex() != null ? subscription.getDeliveredLogIndex() : -1;
+            channel.ackedBlock = channel.deliveredBlock;
+            channel.ackedLogIndex = channel.deliveredLogIndex;
+            channel.catchingUp = true;
+        } else {
+            // 新订阅从当前区块开始投递
+            try {
+                channel.deliveredBlock = blockchainService.getCurrentBlockNumber().longValue();
+                channel.ackedBlock = channel.deliveredBlock;
+                channel.offsetDirty = true;
+            } catch (Exception e) {
+                log.debug("获取当前区块失败，订阅 {} 从首个匹配事件开始投递: {}", subscription.getSubscriptionId(), e.getMessage());
+            }
+        }
+        return channel;
+    }
+
+    private synchronized void rebuildIndex() {
+        Map<String, List<SubscriptionChannel>> rebuilt = new HashMap<>();
+        Set<String> contracts = new HashSet<>();
+        for (SubscriptionChannel channel : channels.values()) {
+            // 暂停的订阅恢复时从事件存储补齐，因此其合约同样需要持续拉取
+            contracts.add(channel.contractAddress);
+            if (channel.active) {
+                rebuilt.computeIfAbsent(channel.contractAddress + ":" + channel.topic0, key -> new ArrayList<>())
+                    .add(channel);
+            }
+        }
+        index = rebuilt;
+        subscribedContracts = Set.copyOf(contracts);
+    }
+
+    private static String indexKey(String contractAddress, String topic0) {
+        return contractAddress.toLowerCase() + ":" + topic0.toLowerCase();
+    }
+
+    /**
+     * 合并写库：所有订阅的计数增量与投递位置按批次各用一条UPDATE写入
+     */
+    private void flush() {
+        try {
+            List<EventSubscription> deltas = new ArrayList<>();
+            for (SubscriptionChannel channel : channels.values()) {
+                EventSubscription delta = channel.takeDelta();
+                if (delta != null) {
+                    deltas.add(delta);
+                }
+            }
+            int batch = Math.max(1, flushBatchSize);
+            for (int start = 0; start < deltas.size(); start += batch) {
+                writeDeltas(deltas.subList(start, Math.min(start + batch, deltas.size())));
+            }
+        } catch (Exception e) {
+            log.warn("订阅计数写库失败: {}", e.getMessage());
+        }
+    }
+
+    private void writeDeltas(List<EventSubscription> deltas) {
+        try {
+            subscriptionMapper.flushCounters(deltas);
+        } catch (Exception e) {
+            log.warn("订阅计数批量写入失败，{} 个订阅的增量将在下次重试: {}", deltas.size(), e.getMessage());
+            for (EventSubscription delta : deltas) {
+                SubscriptionChannel channel = channels.get(delta.getSubscriptionId());
+                if (channel != null) {
+                    channel.restoreDelta(delta);
+                }
+            }
+        }
+    }
+}
@@ -1,23 +1,28 @@
 package com.decentralized.gaming.platform.service.blockchain.impl;
 
+import com.decentralized.gaming.platform.common.PageResult;
+import com.decentralized.gaming.platform.entity.ChainTransaction;
+import com.decentralized.gaming.platform.mapper.ChainTransactionMapper;
+import com.decentralized.gaming.platform.service.blockchain.BlockFetchService;
 import com.decentralized.gaming.platform.service.blockchain.BlockchainService;
+import com.decentralized.gaming.platform.service.blockchain.ChainIndexerService;
 import com.decentralized.gaming.platform.service.blockchain.TransactionHistoryService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.web3j.protocol.Web3j;
-import org.web3j.protocol.core.DefaultBlockParameter;
-import org.web3j.protocol.core.DefaultBlockParameterName;
 import org.web3j.protocol.core.methods.response.EthBlock;
 import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.utils.Numeric;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * 交易历史服务实现类
- * 提供区块链交易历史查询功能
+ * 提供区块链交易历史查询功能，已索引的区块范围直接查询本地索引表
  *
  * @author DecentralizedGamingPlatform
  */
@@ -25,40 +30,43 @@ import java.util.List;
 @Service
 public class TransactionHistoryServiceImpl implements TransactionHistoryService {
 
-    @Autowired(required = false)
-    private Web3j web3j;
-
     @Autowired
     private BlockchainService blockchainService;
 
+    @Autowired
+    private ChainIndexerService chainIndexerService;
+
+    @Autowired
+    private ChainTransactionMapper chainTransactionMapper;
+
+    @Autowired
+    private BlockFetchService blockFetchService;
+
+    @Value("${app.blockchain.indexer.max-page-size:200}")
+    private int maxPageSize;
+
     @Override
     public List<Transaction> getAddressTransactionHistory(String address, long startBlock, long endBlock) {
+        if (chainIndexerService.isRangeIndexed(startBlock, endBlock)) {
+            return toWeb3jTransactions(chainTransactionMapper.selectByAddressInRange(
+                address.toLowerCase(), startBlock, endBlock));
+        }
+
         List<Transaction> transactions = new ArrayList<>();
         
         try {
-            // 遍历区块范围
-            for (long i = startBlock; i <= endBlock; i++) {
-                try {
-                    EthBlock ethBlock = web3j.ethGetBlockByNumber(
-                        DefaultBlockParameter.valueOf(BigInteger.valueOf(i)), 
-                        true
-                    ).send();
-                    
-                    if (ethBlock.getBlock() != null) {
-                        List<EthBlock.TransactionResult> txResults = ethBlock.getBlock().getTransactions();
-                        for (EthBlock.TransactionResult txResult : txResults) {
-                            Transaction tx = (Transaction) txResult.get();
-                            // 检查交易的发送者或接收者是否是目标地址
-                            if (tx.getFrom().equalsIgnoreCase(address) || 
-                                (tx.getTo() != null && tx.getTo().equalsIgnoreCase(address))) {
-                                transactions.add(tx);
-                            }
-                        }
+            // 流水线拉取区块范围
+            blockFetchService.fetchBlocks(startBlock, endBlock, true, block -> {
+                for (EthBlock.TransactionResult txResult : block.getTransactions()) {
+                    Transaction tx = (Transaction) txResult.get();
+                    // 检查交易的发送者或接收者是否是目标地址
+                    if (tx.getFrom().equalsIgnoreCase(address) || 
+                        (tx.getTo() != null && tx.getTo().equalsIgnoreCase(address))) {
+                        transactions.add(tx);
                     }
-                } catch (Exception e) {
-                    log.warn("获取区块 {} 失败: {}", i, e.getMessage());
                 }
-            }
+                return true;
+            });
             
             log.info("获取地址 {} 的交易历史，从区块 {} 到 {}, 共 {} 笔交易", 
                 address, startBlock, endBlock, transactions.size());
@@ -76,28 +84,17 @@ public class TransactionHistoryServiceImpl implements TransactionHistoryService
         
         try {
             BigInteger currentBlock = blockchainService.getCurrentBlockNumber();
-            BigInteger startBlock = currentBlock.subtract(BigInteger.valueOf(limit));
+            BigInteger startBlock = currentBlock.subtract(BigInteger.valueOf(limit)).max(BigInteger.ZERO);
             
-            for (long i = startBlock.longValue(); i <= currentBlock.longValue() && transactions.size() < limit; i++) {
-                try {
-                    EthBlock ethBlock = web3j.ethGetBlockByNumber(
-                        DefaultBlockParameter.valueOf(BigInteger.valueOf(i)), 
-                        true
-                    ).send();
-                    
-                    if (ethBlock.getBlock() != null) {
-                        List<EthBlock.TransactionResult> txResults = ethBlock.getBlock().getTransactions();
-                        for (EthBlock.TransactionResult txResult : txResults) {
-                            if (transactions.size() >= limit) {
-                                break;
-                            }
-                            transactions.add((Transaction) txResult.get());
-                        }
+            blockFetchService.fetchBlocks(startBlock.longValue(), currentBlock.longValue(), true, block -> {
+                for (EthBlock.TransactionResult txResult : block.getTransactions()) {
+                    if (transactions.size() >= limit) {
+                        break;
                     }
-                } catch (Exception e) {
-                    log.warn("获取区块 {} 失败: {}", i, e.getMessage());
+                    transactions.add((Transaction) txResult.get());
                 }
-            }
+                return transactions.size() < limit;
+            });
             
             log.info("获取最近 {} 笔交易", transactions.size());
             
@@ -110,31 +107,25 @@ public class TransactionHistoryServiceImpl implements TransactionHistoryService
 
     @Override
     public List<Transaction> getContractInteractionHistory(String contractAddress, long startBlock, long endBlock) {
+        if (chainIndexerService.isRangeIndexed(startBlock, endBlock)) {
+            return toWeb3jTransactions(chainTransactionMapper.selectByToAddressInRange(
+                contractAddress.toLowerCase(), startBlock, endBlock));
+        }
+
         List<Transaction> transactions = new ArrayList<>();
         
         try {
-            // 遍历区块范围
-            for (long i = startBlock; i <= endBlock; i++) {
-                try {
-                    EthBlock ethBlock = web3j.ethGetBlockByNumber(
-                        DefaultBlockParameter.valueOf(BigInteger.valueOf(i)), 
-                        true
-                    ).send();
-                    
-                    if (ethBlock.getBlock() != null) {
-                        List<EthBlock.TransactionResult> txResults = ethBlock.getBlock().getTransactions();
-                        for (EthBlock.TransactionResult txResult : txResults) {
-                            Transaction tx = (Transaction) txResult.get();
-                            // 检查交易的接收者是否是目标合约
-                            if (tx.getTo() != null && tx.getTo().equalsIgnoreCase(contractAddress)) {
-                                transactions.add(tx);
-                            }
-                        }
+            // 流水线拉取区块范围
+            blockFetchService.fetchBlocks(startBlock, endBlock, true, block -> {
+                for (EthBlock.TransactionResult txResult : block.getTransactions()) {
+                    Transaction tx = (Transaction) txResult.get();
+                    // 检查交易的接收者是否是目标合约
+                    if (tx.getTo() != null && tx.getTo().equalsIgnoreCase(contractAddress)) {
+                        transactions.add(tx);
                     }
-                } catch (Exception e) {
-                    log.warn("获取区块 {} 失败: {}", i, e.getMessage());
                 }
-            }
+                return true;
+            });
             
             log.info("获取合约 {} 的交互历史，从区块 {} 到 {}, 共 {} 笔交易", 
                 contractAddress, startBlock, endBlock, transactions.size());
@@ -166,4 +157,53 @@ public class TransactionHistoryServiceImpl implements TransactionHistoryService
         
         return transactions;
     }
-}
\ No newline at end of file
+
+    @Override
+    public PageResult<ChainTransaction> getIndexedAddressTransactions(String address, int page, int size) {
+        String key = address.toLowerCase();
+        int pageSize = pageSize(size);
+        long offset = (long) (Math.max(page, 1) - 1) * pageSize;
+        List<ChainTransaction> records = chainTransactionMapper.selectByAddress(key, offset, pageSize);
+        long total = chainTransactionMapper.countByAddress(key);
+        return PageResult.of(records, total, (long) Math.max(page, 1), (long) pageSize);
+    }
+
+    @Override
+    public List<ChainTransaction> getIndexedContractInteractions(String address, String contractAddress, int limit) {
+        return chainTransactionMapper.selectByAddressAndContract(
+            address.toLowerCase(), contractAddress.toLowerCase(), pageSize(limit));
+    }
+
+    private int pageSize(int size) {
+        return Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    /**
+     * 将索引记录还原为Web3j交易对象，保持原有接口返回类型
+     */
+    private List<Transaction> toWeb3jTransactions(List<ChainTransaction> records) {
+        return records.stream().map(record -> {
+            Transaction tx = new Transaction();
+            tx.setHash(record.getTxHash());
+            tx.setBlockHash(record.getBlockHash());
+            tx.setBlockNumber(Numeric.toHexStringWithPrefix(BigInteger.valueOf(record.getBlockNumber())));
+            tx.setTransactionIndex(Numeric.toHexStringWithPrefix(BigInteger.valueOf(record.getTxIndex())));
+            tx.setFrom(record.getFromAddress());
+            tx.setTo(record.getToAddress());
+            tx.setCreates(record.getContractAddress());
+            if (record.getValue() != null) {
+                tx.setValue(Numeric.toHexStringWithPrefix(record.getValue().toBigInteger()));
+            }
+            if (record.getGas() != null) {
+                tx.setGas(Numeric.toHexStringWithPrefix(BigInteger.valueOf(record.getGas())));
+            }
+            if (record.getGasPrice() != null) {
+                tx.setGasPrice(Numeric.toHexStringWithPrefix(record.getGasPrice().toBigInteger()));
+            }
+            if (record.getNonce() != null) {
+                tx.setNonce(Numeric.toHexStringWithPrefix(BigInteger.valueOf(record.getNonce())));
+            }
+            return tx;
+        }).collect(Collectors.toList());
+    }
+}
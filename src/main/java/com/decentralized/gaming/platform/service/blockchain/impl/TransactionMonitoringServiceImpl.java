@@ -1,22 +1,38 @@
 package com.decentralized.gaming.platform.service.blockchain.impl;
 
+import com.decentralized.gaming.platform.service.blockchain.BlockFetchService;
 import com.decentralized.gaming.platform.service.blockchain.BlockchainService;
 import com.decentralized.gaming.platform.service.blockchain.TransactionMonitoringService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.web3j.protocol.core.methods.response.EthBlock;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 
-import java.math.BigInteger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 交易监控服务实现类
- * 提供交易状态监控功能
+ * 所有被监控交易由一个按新区块驱动的跟踪任务统一处理：新区块的交易哈希与待确认集合做哈希查找，
+ * 只为命中的交易和新加入的交易批量拉取收据，因此每个区块的开销与监控数量无关；
+ * 同一交易可有多个等待者（回调或 CompletableFuture），各自指定确认数与超时；没有被监控交易时轮询任务被取消
  *
  * @author DecentralizedGamingPlatform
  */
@@ -24,182 +40,462 @@ import java.util.concurrent.TimeUnit;
 @Service
 public class TransactionMonitoringServiceImpl implements TransactionMonitoringService {
 
+    /**
+     * 已结束交易的最终状态最多保留条数
+     */
+    private static final int MAX_RECENT_RESULTS = 10000;
+
+    /**
+     * 状态详情中最多列出的交易数
+     */
+    private static final int MAX_STATUS_DETAILS = 1000;
+
     @Autowired
     private BlockchainService blockchainService;
 
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(10);
-    private final Map<String, MonitoringTask> monitoringTasks = new ConcurrentHashMap<>();
+    @Autowired
+    private BlockFetchService blockFetchService;
+
+    @Value("${app.blockchain.tx-monitor.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${app.blockchain.tx-monitor.default-confirmations:1}")
+    private int defaultConfirmations;
+
+    @Value("${app.blockchain.tx-monitor.timeout-seconds:300}")
+    private long timeoutSeconds;
+
+    @Value("${app.blockchain.tx-monitor.max-scan-blocks:64}")
+    private int maxScanBlocks;
+
+    @Value("${app.blockchain.tx-monitor.callback-threads:4}")
+    private int callbackThreads;
+
+    /**
+     * 小写交易哈希 -> 监控项
+     */
+    private final Map<String, Watch> watches = new ConcurrentHashMap<>();
+
+    /**
+     * 已结束交易的最终状态
+     */
+    private final Map<String, MonitoringStatus> recentResults = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MonitoringStatus> eldest) {
+                return size() > MAX_RECENT_RESULTS;
+            }
+        });
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "tx-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ExecutorService callbackExecutor;
+    private ScheduledFuture<?> pollTask;
+    private volatile long processedBlock = -1;
+
+    /**
+     * 监控项：同一交易的收据状态由跟踪线程更新，等待者共享
+     */
+    private static final class Watch {
+        private final String txHash;
+        private final long startTime = System.currentTimeMillis();
+        private final List<Waiter> waiters = new CopyOnWriteArrayList<>();
+        private volatile boolean receiptChecked;
+        private volatile long receiptBlock = -1;
+        private volatile String receiptBlockHash;
+        private volatile boolean successful;
+        private volatile long confirmations;
+
+        private Watch(String txHash) {
+            this.txHash = txHash;
+        }
+    }
+
+    /**
+     * 等待者：回调与 future 二选一
+     */
+    private static final class Waiter {
+        private final int requiredConfirmations;
+        private final long startTime = System.currentTimeMillis();
+        private final long deadline;
+        private final MonitoringCallback callback;
+        private final CompletableFuture<Map<String, Object>> future;
+
+        private Waiter(int requiredConfirmations, long timeoutMillis, MonitoringCallback callback,
+                       CompletableFuture<Map<String, Object>> future) {
+            this.requiredConfirmations = Math.max(1, requiredConfirmations);
+            this.deadline = startTime + timeoutMillis;
+            this.callback = callback;
+            this.future = future;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        callbackExecutor = Executors.newFixedThreadPool(callbackThreads, r -> {
+            Thread thread = new Thread(r, "tx-monitor-callback-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        shutdown();
+    }
 
     @Override
     public void startMonitoring(String txHash, MonitoringCallback callback) {
-        startMonitoring(txHash, 3, callback); // 默认3秒间隔
+        startMonitoring(txHash, defaultConfirmations, callback);
     }
 
-    public void startMonitoring(String txHash, int intervalSeconds, MonitoringCallback callback) {
-        if (monitoringTasks.containsKey(txHash)) {
-            log.warn("交易 {} 已在监控中", txHash);
-            return;
-        }
+    @Override
+    public void startMonitoring(String txHash, int requiredConfirmations, MonitoringCallback callback) {
+        addWaiter(txHash, new Waiter(requiredConfirmations, TimeUnit.SECONDS.toMillis(timeoutSeconds), callback, null));
+        log.debug("开始监控交易: {}, 需要确认数: {}", txHash, requiredConfirmations);
+    }
 
-        MonitoringTask task = new MonitoringTask(txHash, intervalSeconds, callback);
-        monitoringTasks.put(txHash, task);
-        
-        scheduler.scheduleAtFixedRate(task, 0, intervalSeconds, TimeUnit.SECONDS);
-        log.info("开始监控交易: {}, 监控间隔: {}秒", txHash, intervalSeconds);
+    @Override
+    public CompletableFuture<Map<String, Object>> awaitConfirmation(String txHash, int requiredConfirmations,
+                                                                     long timeoutMillis) {
+        CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+        Waiter waiter = new Waiter(requiredConfirmations, timeoutMillis, null, future);
+        String key = addWaiter(txHash, waiter);
+        // 调用方取消（如客户端断开）时移除等待者
+        future.whenComplete((result, e) -> {
+            if (future.isCancelled()) {
+                removeWaiter(key, waiter);
+            }
+        });
+        return future;
     }
 
     @Override
     public void stopMonitoring(String txHash) {
-        MonitoringTask task = monitoringTasks.remove(txHash);
-        if (task != null) {
-            task.stop();
+        Watch watch = watches.remove(txHash.toLowerCase());
+        if (watch != null) {
+            for (Waiter waiter : watch.waiters) {
+                if (waiter.future != null) {
+                    waiter.future.cancel(false);
+                }
+            }
             log.info("停止监控交易: {}", txHash);
         } else {
             log.warn("交易 {} 未在监控中", txHash);
         }
     }
 
+    private String addWaiter(String txHash, Waiter waiter) {
+        String key = txHash.toLowerCase();
+        watches.compute(key, (hash, existing) -> {
+            Watch watch = existing != null ? existing : new Watch(hash);
+            watch.waiters.add(waiter);
+            return watch;
+        });
+        recentResults.remove(key);
+        ensurePolling();
+        return key;
+    }
+
+    /**
+     * 移除等待者；最后一个等待者移除时监控项随之移除（与 addWaiter 在同一个 key 上原子执行）
+     */
+    private boolean removeWaiter(String txHash, Waiter waiter) {
+        boolean[] removed = new boolean[1];
+        watches.computeIfPresent(txHash, (hash, watch) -> {
+            removed[0] = watch.waiters.remove(waiter);
+            return watch.waiters.isEmpty() ? null : watch;
+        });
+        return removed[0];
+    }
+
     @Override
     public MonitoringStatus getMonitoringStatus(String txHash) {
-        MonitoringTask task = monitoringTasks.get(txHash);
-        if (task != null) {
-            return task.getStatusEnum();
-        } else {
+        String key = txHash.toLowerCase();
+        if (watches.containsKey(key)) {
             return MonitoringStatus.PENDING;
         }
+        MonitoringStatus result = recentResults.get(key);
+        return result != null ? result : MonitoringStatus.PENDING;
     }
 
     public Map<String, Object> getMonitoringStatusDetails(String txHash) {
-        MonitoringTask task = monitoringTasks.get(txHash);
-        if (task != null) {
-            return task.getStatus();
-        } else {
-            return Map.of("monitoring", false, "message", "交易未在监控中");
+        Watch watch = watches.get(txHash.toLowerCase());
+        if (watch != null) {
+            return watchDetails(watch);
         }
+        MonitoringStatus result = recentResults.get(txHash.toLowerCase());
+        if (result != null) {
+            return Map.of("monitoring", false, "txHash", txHash, "status", result.name());
+        }
+        return Map.of("monitoring", false, "message", "交易未在监控中");
     }
 
     @Override
     public Map<String, MonitoringStatus> getAllMonitoringStatus() {
-        Map<String, MonitoringStatus> status = new ConcurrentHashMap<>();
-        for (Map.Entry<String, MonitoringTask> entry : monitoringTasks.entrySet()) {
-            status.put(entry.getKey(), entry.getValue().getStatusEnum());
+        Map<String, MonitoringStatus> status = new HashMap<>(watches.size());
+        for (Watch watch : watches.values()) {
+            status.put(watch.txHash, MonitoringStatus.PENDING);
         }
         return status;
     }
 
     public Map<String, Object> getAllMonitoringStatusDetails() {
-        Map<String, Object> status = new ConcurrentHashMap<>();
-        status.put("totalTasks", monitoringTasks.size());
-        status.put("activeTasks", monitoringTasks.keySet());
-        
-        Map<String, Object> taskStatuses = new ConcurrentHashMap<>();
-        for (Map.Entry<String, MonitoringTask> entry : monitoringTasks.entrySet()) {
-            taskStatuses.put(entry.getKey(), entry.getValue().getStatus());
+        Map<String, Object> status = new HashMap<>();
+        status.put("totalTasks", watches.size());
+        status.put("processedBlock", processedBlock);
+        status.put("polling", isPolling());
+
+        Map<String, Object> taskStatuses = new HashMap<>();
+        for (Watch watch : watches.values()) {
+            if (taskStatuses.size() >= MAX_STATUS_DETAILS) {
+                break;
+            }
+            taskStatuses.put(watch.txHash, watchDetails(watch));
         }
         status.put("taskStatuses", taskStatuses);
-        
         return status;
     }
 
     @Override
     public void shutdown() {
-        scheduler.shutdown();
-        try {
-            if (!scheduler.awaitTermination(30, TimeUnit.SECONDS)) {
-                scheduler.shutdownNow();
+        synchronized (this) {
+            if (pollTask != null) {
+                pollTask.cancel(false);
+                pollTask = null;
+            }
+        }
+        scheduler.shutdownNow();
+        if (callbackExecutor != null) {
+            callbackExecutor.shutdown();
+            try {
+                if (!callbackExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                    callbackExecutor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                callbackExecutor.shutdownNow();
+                Thread.currentThread().interrupt();
             }
-        } catch (InterruptedException e) {
-            scheduler.shutdownNow();
-            Thread.currentThread().interrupt();
         }
         log.info("交易监控服务已关闭");
     }
 
+    private synchronized void ensurePolling() {
+        if (pollTask == null && !scheduler.isShutdown()) {
+            pollTask = scheduler.scheduleWithFixedDelay(this::tick, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
     /**
-     * 监控任务
+     * 没有被监控交易时取消轮询任务；与 startMonitoring 在同一把锁下检查，避免漏掉新加入的交易
      */
-    private class MonitoringTask implements Runnable {
-        private final String txHash;
-        private final int intervalSeconds;
-        private final MonitoringCallback callback;
-        private volatile boolean running = true;
-        private int checkCount = 0;
-        private long startTime = System.currentTimeMillis();
-        private volatile MonitoringStatus status = MonitoringStatus.PENDING;
-
-        public MonitoringTask(String txHash, int intervalSeconds, MonitoringCallback callback) {
-            this.txHash = txHash;
-            this.intervalSeconds = intervalSeconds;
-            this.callback = callback;
+    private synchronized boolean cancelPollingIfIdle() {
+        if (watches.isEmpty() && pollTask != null) {
+            pollTask.cancel(false);
+            pollTask = null;
+            processedBlock = -1;
+            return true;
         }
+        return false;
+    }
 
-        @Override
-        public void run() {
-            if (!running) {
+    private synchronized boolean isPolling() {
+        return pollTask != null;
+    }
+
+    /**
+     * 单次跟踪：扫描新区块的交易哈希，批量拉取命中交易的收据，再按确认数与超时结算
+     */
+    private void tick() {
+        try {
+            if (cancelPollingIfIdle()) {
                 return;
             }
+            long head = blockchainService.getCurrentBlockNumber().longValue();
 
-            try {
-                checkCount++;
-                
-                // 检查交易状态
-                TransactionReceipt receipt = blockchainService.waitForTransactionReceipt(txHash, 5);
-                boolean isSuccessful = blockchainService.isTransactionSuccessful(txHash);
-                BigInteger currentBlockNumber = blockchainService.getCurrentBlockNumber();
-                
-                // 如果交易已确认，调用回调并停止监控
-                if (receipt != null && isSuccessful) {
-                    status = MonitoringStatus.CONFIRMED;
-                    if (callback != null) {
-                        callback.onConfirmed(txHash, receipt.getBlockNumber().longValue());
-                    }
-                    log.info("交易 {} 已确认，停止监控", txHash);
-                    stop();
-                    monitoringTasks.remove(txHash);
-                } else if (receipt != null && !isSuccessful) {
-                    status = MonitoringStatus.FAILED;
-                    if (callback != null) {
-                        callback.onFailed(txHash, "交易执行失败");
+            List<String> needReceipts = new ArrayList<>();
+            for (Watch watch : watches.values()) {
+                if (!watch.receiptChecked) {
+                    // 新加入的交易可能已经上链
+                    needReceipts.add(watch.txHash);
+                }
+            }
+            if (processedBlock >= 0 && head > processedBlock) {
+                if (head - processedBlock > maxScanBlocks) {
+                    // 落后太多时不逐块扫描，直接检查所有未上链交易
+                    for (Watch watch : watches.values()) {
+                        if (watch.receiptBlock < 0 && watch.receiptChecked) {
+                            needReceipts.add(watch.txHash);
+                        }
                     }
-                    stop();
-                    monitoringTasks.remove(txHash);
-                } else if (checkCount > 100) {
-                    // 超时检查
-                    status = MonitoringStatus.TIMEOUT;
-                    if (callback != null) {
-                        callback.onTimeout(txHash);
+                } else {
+                    scanBlocks(processedBlock + 1, head, needReceipts);
+                }
+            }
+            processedBlock = Math.max(processedBlock, head);
+
+            if (!needReceipts.isEmpty()) {
+                applyReceipts(needReceipts, blockFetchService.fetchReceipts(needReceipts));
+            }
+            settle(head);
+        } catch (Exception e) {
+            log.warn("交易监控跟踪失败，已处理到区块 {}: {}", processedBlock, e.getMessage());
+        }
+    }
+
+    /**
+     * 扫描区块交易哈希，收集命中待确认集合的交易
+     */
+    private void scanBlocks(long fromBlock, long toBlock, List<String> matched) {
+        blockFetchService.fetchBlocks(fromBlock, toBlock, false, block -> {
+            for (EthBlock.TransactionResult result : block.getTransactions()) {
+                if (result.get() instanceof String hash) {
+                    Watch watch = watches.get(hash.toLowerCase());
+                    if (watch != null && watch.receiptBlock < 0 && watch.receiptChecked) {
+                        matched.add(watch.txHash);
                     }
-                    stop();
-                    monitoringTasks.remove(txHash);
                 }
+            }
+            return true;
+        });
+    }
 
-            } catch (Exception e) {
-                log.error("监控交易 {} 时出错", txHash, e);
-                status = MonitoringStatus.FAILED;
-                if (callback != null) {
-                    callback.onFailed(txHash, e.getMessage());
+    private void applyReceipts(List<String> txHashes, List<TransactionReceipt> receipts) {
+        for (int i = 0; i < txHashes.size(); i++) {
+            Watch watch = watches.get(txHashes.get(i));
+            if (watch == null) {
+                continue;
+            }
+            watch.receiptChecked = true;
+            TransactionReceipt receipt = receipts.get(i);
+            if (receipt != null && receipt.getBlockNumber() != null) {
+                watch.receiptBlock = receipt.getBlockNumber().longValue();
+                watch.receiptBlockHash = receipt.getBlockHash();
+                watch.successful = receipt.isStatusOK();
+            } else {
+                watch.receiptBlock = -1;
+                watch.receiptBlockHash = null;
+            }
+        }
+    }
+
+    /**
+     * 结算：失败交易立即结束；成功交易达到确认数时重新核对收据所在区块（防止分叉）后结束；到期未确认的等待者超时
+     */
+    private void settle(long head) {
+        long now = System.currentTimeMillis();
+        List<Watch> toVerify = new ArrayList<>();
+        for (Watch watch : watches.values()) {
+            boolean mined = watch.receiptBlock >= 0;
+            if (mined) {
+                watch.confirmations = Math.max(0, head - watch.receiptBlock + 1);
+            }
+            boolean verify = false;
+            for (Waiter waiter : watch.waiters) {
+                if (mined && !watch.successful) {
+                    complete(watch, waiter, MonitoringStatus.FAILED, head);
+                } else if (mined && watch.confirmations >= waiter.requiredConfirmations) {
+                    if (waiter.requiredConfirmations > 1) {
+                        verify = true;
+                    } else {
+                        complete(watch, waiter, MonitoringStatus.CONFIRMED, head);
+                    }
+                } else if (now > waiter.deadline) {
+                    complete(watch, waiter, MonitoringStatus.TIMEOUT, head);
                 }
             }
+            if (verify) {
+                toVerify.add(watch);
+            }
         }
 
-        public void stop() {
-            running = false;
+        if (toVerify.isEmpty()) {
+            return;
+        }
+        List<String> txHashes = new ArrayList<>(toVerify.size());
+        for (Watch watch : toVerify) {
+            txHashes.add(watch.txHash);
         }
+        List<TransactionReceipt> receipts = blockFetchService.fetchReceipts(txHashes);
+        for (int i = 0; i < toVerify.size(); i++) {
+            Watch watch = toVerify.get(i);
+            TransactionReceipt receipt = receipts.get(i);
+            if (receipt != null && receipt.getBlockHash() != null
+                    && receipt.getBlockHash().equalsIgnoreCase(watch.receiptBlockHash)) {
+                for (Waiter waiter : watch.waiters) {
+                    if (watch.confirmations >= waiter.requiredConfirmations) {
+                        complete(watch, waiter, MonitoringStatus.CONFIRMED, head);
+                    }
+                }
+            } else {
+                log.info("交易 {} 所在区块已被分叉替换，重新等待确认", watch.txHash);
+                applyReceipts(List.of(watch.txHash), Collections.singletonList(receipt));
+            }
+        }
+    }
 
-        public MonitoringStatus getStatusEnum() {
-            return status;
+    /**
+     * 结束一个等待者：回调与 future 都在回调线程池上执行，不占用跟踪线程
+     */
+    private void complete(Watch watch, Waiter waiter, MonitoringStatus status, long head) {
+        if (!removeWaiter(watch.txHash, waiter)) {
+            return;
         }
+        recentResults.put(watch.txHash, status);
+        Map<String, Object> result = waitResult(watch, waiter, status, head);
+        callbackExecutor.execute(() -> {
+            try {
+                if (waiter.future != null) {
+                    waiter.future.complete(result);
+                }
+                if (waiter.callback != null) {
+                    switch (status) {
+                        case CONFIRMED -> waiter.callback.onConfirmed(watch.txHash, watch.receiptBlock);
+                        case FAILED -> waiter.callback.onFailed(watch.txHash, "交易执行失败");
+                        case TIMEOUT -> waiter.callback.onTimeout(watch.txHash);
+                        default -> {
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                log.error("交易 {} 监控回调执行失败", watch.txHash, e);
+            }
+        });
+    }
 
-        public Map<String, Object> getStatus() {
-            return Map.of(
-                "monitoring", running,
-                "txHash", txHash,
-                "intervalSeconds", intervalSeconds,
-                "checkCount", checkCount,
-                "runningTime", System.currentTimeMillis() - startTime,
-                "startTime", startTime,
-                "status", status.name()
-            );
+    private Map<String, Object> waitResult(Watch watch, Waiter waiter, MonitoringStatus status, long head) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("txHash", watch.txHash);
+        result.put("blockNumber", watch.receiptBlock >= 0 ? watch.receiptBlock : null);
+        result.put("currentBlockNumber", head);
+        result.put("confirmations", watch.receiptBlock >= 0 ? watch.confirmations : 0);
+        result.put("targetConfirmations", waiter.requiredConfirmations);
+        result.put("isConfirmed", status == MonitoringStatus.CONFIRMED);
+        result.put("monitoringStatus", status.name());
+        result.put("waitTime", System.currentTimeMillis() - waiter.startTime);
+        switch (status) {
+            case CONFIRMED -> result.put("status", "交易已确认");
+            case FAILED -> result.put("status", "交易执行失败");
+            default -> result.put("status", "等待超时");
         }
+        return result;
+    }
+
+    private Map<String, Object> watchDetails(Watch watch) {
+        Map<String, Object> details = new HashMap<>();
+        details.put("monitoring", true);
+        details.put("txHash", watch.txHash);
+        details.put("waiters", watch.waiters.size());
+        details.put("confirmations", watch.confirmations);
+        details.put("receiptBlock", watch.receiptBlock);
+        details.put("runningTime", System.currentTimeMillis() - watch.startTime);
+        details.put("startTime", watch.startTime);
+        details.put("status", MonitoringStatus.PENDING.name());
+        return details;
     }
 }
@@ -0,0 +1,520 @@
+package com.decentralized.gaming.platform.service.blockchain.impl;
+
+import com.decentralized.gaming.platform.exception.BlockchainException;
+import com.decentralized.gaming.platform.service.blockchain.FeeOracleService;
+import com.decentralized.gaming.platform.service.blockchain.FeeOracleService.FeeQuote;
+import com.decentralized.gaming.platform.service.blockchain.FeeOracleService.FeeTier;
+import com.decentralized.gaming.platform.service.blockchain.NonceManagerService;
+import com.decentralized.gaming.platform.service.blockchain.TransactionMonitoringService;
+import com.decentralized.gaming.platform.service.blockchain.TransactionPipelineService;
+import com.decentralized.gaming.platform.service.blockchain.TransactionReceiptService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.TransactionEncoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.tx.RawTransactionManager;
+import org.web3j.tx.TransactionManager;
+import org.web3j.tx.response.TransactionReceiptProcessor;
+import org.web3j.utils.Numeric;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 交易提交流水线服务实现类
+ * 同一签名者的分配nonce、签名、广播在签名者锁内顺序执行（每笔只需一次RPC），广播后立即释放锁，收据交给交易跟踪器；
+ * 后台巡检按签名者查询已上链nonce：最低的待确认交易超过 stuck-after-ms 未上链时按 gas-bump-percent 提价重发同一nonce，
+ * 已上链nonce与最低待确认nonce之间没有交易（广播丢失）时发送0值自转账填补缺口
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+@Service
+public class TransactionPipelineServiceImpl implements TransactionPipelineService {
+
+    private static final BigInteger TRANSFER_GAS_LIMIT = BigInteger.valueOf(21_000);
+
+    /**
+     * 单轮巡检最多填补的缺口数
+     */
+    private static final int MAX_GAP_FILLS = 16;
+
+    @Autowired(required = false)
+    private Web3j web3j;
+
+    @Autowired
+    private NonceManagerService nonceManagerService;
+
+    @Autowired
+    private TransactionMonitoringService transactionMonitoringService;
+
+    @Autowired
+    private TransactionReceiptService transactionReceiptService;
+
+    @Autowired
+    private FeeOracleService feeOracleService;
+
+    @Value("${app.blockchain.gasLimit:300000}")
+    private BigInteger defaultGasLimit;
+
+    @Value("${app.blockchain.chainId:31337}")
+    private long chainId;
+
+    @Value("${app.blockchain.tx-pipeline.receipt-timeout-ms:600000}")
+    private long receiptTimeoutMs;
+
+    @Value("${app.blockchain.tx-pipeline.stuck-after-ms:60000}")
+    private long stuckAfterMs;
+
+    @Value("${app.blockchain.tx-pipeline.gas-bump-percent:15}")
+    private int gasBumpPercent;
+
+    @Value("${app.blockchain.tx-pipeline.max-replacements:3}")
+    private int maxReplacements;
+
+    @Value("${app.blockchain.tx-pipeline.watchdog-interval-ms:5000}")
+    private long watchdogIntervalMs;
+
+    private final Map<String, Signer> signers = new ConcurrentHashMap<>();
+    private final Map<String, PendingTx> byHash = new ConcurrentHashMap<>();
+
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong replacementCount = new AtomicLong();
+    private final AtomicLong gapFillCount = new AtomicLong();
+
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "tx-pipeline-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 签名者：凭证、按nonce排序的已广播交易；已结束（含超时）的交易保留到确认nonce越过它为止，避免被当作缺口填补
+     */
+    private final class Signer {
+        private final Credentials credentials;
+        private final String address;
+        private final ConcurrentSkipListMap<BigInteger, PendingTx> pending = new ConcurrentSkipListMap<>();
+        private final TransactionManager transactionManager;
+
+        private Signer(Credentials credentials) {
+            this.credentials = credentials;
+            this.address = credentials.getAddress().toLowerCase();
+            this.transactionManager = new PipelinedTransactionManager(this);
+        }
+    }
+
+    /**
+     * 待确认交易：保留原始参数用于提价替换；替换后的所有哈希都被跟踪，任意一个上链即交付收据
+     */
+    private static final class PendingTx {
+        private final BigInteger nonce;
+        private final String to;
+        private final String data;
+        private final BigInteger value;
+        private final BigInteger gasLimit;
+        private final long firstSentAt = System.currentTimeMillis();
+        private final List<String> hashes = new CopyOnWriteArrayList<>();
+        private final List<CompletableFuture<?>> waits = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<TransactionReceipt> receipt = new CompletableFuture<>();
+        private volatile FeeQuote fee;
+        private volatile long lastSentAt = System.currentTimeMillis();
+        private volatile int replacements;
+
+        private PendingTx(BigInteger nonce, String to, String data, BigInteger value, BigInteger gasLimit, FeeQuote fee) {
+            this.nonce = nonce;
+            this.to = to;
+            this.data = data;
+            this.value = value;
+            this.gasLimit = gasLimit;
+            this.fee = fee;
+        }
+    }
+
+    /**
+     * 使用本地nonce并经流水线广播的交易管理器；send() 的收据等待交给共享跟踪器
+     */
+    private final class PipelinedTransactionManager extends RawTransactionManager {
+        private final Signer signer;
+
+        private PipelinedTransactionManager(Signer signer) {
+            super(web3j, signer.credentials, chainId, new TrackerReceiptProcessor());
+            this.signer = signer;
+        }
+
+        @Override
+        public EthSendTransaction sendTransaction(BigInteger gasPrice, BigInteger gasLimit, String to, String data,
+                                                  BigInteger value, boolean constructor) throws IOException {
+            return send(signer, FeeQuote.legacy(FeeTier.STANDARD, gasPrice), resolveGasLimit(signer, to, data, value, gasLimit),
+                to, data, value);
+        }
+
+        @Override
+        public EthSendTransaction sendEIP1559Transaction(long chainId, BigInteger maxPriorityFeePerGas, BigInteger maxFeePerGas,
+                                                         BigInteger gasLimit, String to, String data, BigInteger value,
+                                                         boolean constructor) throws IOException {
+            return send(signer, FeeQuote.eip1559(FeeTier.STANDARD, maxPriorityFeePerGas, maxFeePerGas),
+                resolveGasLimit(signer, to, data, value, gasLimit), to, data, value);
+        }
+
+        @Override
+        protected BigInteger getNonce() {
+            return nonceManagerService.allocate(signer.address);
+        }
+    }
+
+    /**
+     * 通过共享跟踪器等待收据，替代逐笔轮询
+     */
+    private final class TrackerReceiptProcessor extends TransactionReceiptProcessor {
+
+        private TrackerReceiptProcessor() {
+            super(web3j);
+        }
+
+        @Override
+        public TransactionReceipt waitForTransactionReceipt(String transactionHash) throws IOException, TransactionException {
+            try {
+                return awaitReceipt(transactionHash).get(receiptTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TransactionException("等待交易收据被中断: " + transactionHash);
+            } catch (TimeoutException e) {
+                throw new TransactionException("等待交易收据超时: " + transactionHash);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                throw new TransactionException("等待交易收据失败: " + cause.getMessage());
+            }
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        watchdog.scheduleWithFixedDelay(this::inspect, watchdogIntervalMs, watchdogIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("交易提交流水线初始化完成，卡住判定: {}ms, 提价比例: {}%, 最多替换: {}次",
+            stuckAfterMs, gasBumpPercent, maxReplacements);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        watchdog.shutdownNow();
+    }
+
+    @Override
+    public TransactionManager getTransactionManager(Credentials credentials) {
+        return signer(credentials).transactionManager;
+    }
+
+    @Override
+    public Submission submit(Credentials credentials, String to, String data, BigInteger value, BigInteger gasLimit) {
+        return submit(credentials, to, data, value, gasLimit, FeeTier.STANDARD);
+    }
+
+    @Override
+    public Submission submit(Credentials credentials, String to, String data, BigInteger value, BigInteger gasLimit,
+                             FeeTier tier) {
+        Signer signer = signer(credentials);
+        BigInteger amount = value != null ? value : BigInteger.ZERO;
+        try {
+            BigInteger limit = gasLimit != null ? gasLimit : resolveGasLimit(signer, to, data, amount, null);
+            EthSendTransaction response = send(signer, feeOracleService.getFee(tier), limit, to, data, amount);
+            if (response.hasError()) {
+                throw new BlockchainException(BlockchainException.ErrorCodes.TRANSACTION_FAILED, "submit",
+                    "交易被节点拒绝: " + response.getError().getMessage());
+            }
+            PendingTx tx = byHash.get(response.getTransactionHash().toLowerCase());
+            CompletableFuture<TransactionReceipt> receipt = tx != null ? tx.receipt : awaitReceipt(response.getTransactionHash());
+            return new Submission(response.getTransactionHash(), tx != null ? tx.nonce : null, receipt);
+        } catch (IOException e) {
+            throw new BlockchainException(BlockchainException.ErrorCodes.NETWORK_ERROR, "submit",
+                "广播交易失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransactionReceipt> awaitReceipt(String txHash) {
+        PendingTx tx = byHash.get(txHash.toLowerCase());
+        if (tx != null) {
+            return tx.receipt;
+        }
+        CompletableFuture<TransactionReceipt> receipt = new CompletableFuture<>();
+        transactionMonitoringService.awaitConfirmation(txHash, 1, receiptTimeoutMs).whenComplete((result, error) -> {
+            if (error != null) {
+                receipt.completeExceptionally(error);
+            } else if ("TIMEOUT".equals(result.get("monitoringStatus"))) {
+                receipt.completeExceptionally(new TimeoutException("等待交易收据超时: " + txHash));
+            } else {
+                deliver(txHash, receipt);
+            }
+        });
+        return receipt;
+    }
+
+    @Override
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        Map<String, Object> signerStatus = new HashMap<>();
+        signers.forEach((address, signer) -> {
+            Map<String, Object> state = new HashMap<>();
+            state.put("pendingCount", signer.pending.values().stream().filter(tx -> !tx.receipt.isDone()).count());
+            state.put("trackedNonceCount", signer.pending.size());
+            if (!signer.pending.isEmpty()) {
+                state.put("lowestPendingNonce", signer.pending.firstKey());
+                state.put("highestPendingNonce", signer.pending.lastKey());
+            }
+            signerStatus.put(address, state);
+        });
+        status.put("signers", signerStatus);
+        status.put("nonces", nonceManagerService.getStatus());
+        status.put("submittedCount", submittedCount.get());
+        status.put("rejectedCount", rejectedCount.get());
+        status.put("replacementCount", replacementCount.get());
+        status.put("gapFillCount", gapFillCount.get());
+        return status;
+    }
+
+    /**
+     * 分配nonce、签名并广播；nonce过低说明本地计数落后（其他进程使用了同一私钥），重新同步后再试一次
+     */
+    private EthSendTransaction send(Signer signer, FeeQuote fee, BigInteger gasLimit, String to, String data,
+                                    BigInteger value) throws IOException {
+        synchronized (signer) {
+            for (int attempt = 1; ; attempt++) {
+                BigInteger nonce = nonceManagerService.allocate(signer.address);
+                String signed = sign(signer, rawTransaction(nonce, fee, gasLimit, to, value, data));
+                EthSendTransaction response;
+                try {
+                    response = web3j.ethSendRawTransaction(signed).send();
+                } catch (IOException e) {
+                    // 节点是否收到未知：重新同步，未收到时下一笔交易会复用该nonce
+                    nonceManagerService.invalidate(signer.address);
+                    throw e;
+                }
+
+                if (response.hasError()) {
+                    String message = response.getError().getMessage();
+                    if (isAlreadyKnown(message)) {
+                        response.setError(null);
+                        response.setResult(Hash.sha3(signed));
+                    } else if (isNonceConflict(message) && attempt < 2) {
+                        nonceManagerService.invalidate(signer.address);
+                        continue;
+                    } else {
+                        nonceManagerService.release(signer.address, nonce);
+                        rejectedCount.incrementAndGet();
+                        log.warn("交易被节点拒绝: {}, nonce: {}, 错误: {}", signer.address, nonce, message);
+                        return response;
+                    }
+                }
+
+                PendingTx tx = new PendingTx(nonce, to, data, value, gasLimit, fee);
+                signer.pending.put(nonce, tx);
+                tx.receipt.whenComplete((receipt, error) -> {
+                    forget(tx);
+                    if (receipt != null && !receipt.isStatusOK() && receipt.getGasUsed() != null
+                            && receipt.getGasUsed().compareTo(tx.gasLimit) >= 0) {
+                        // Gas耗尽导致的失败，下次重新估算
+                        feeOracleService.invalidateEstimate(tx.to, tx.data);
+                    }
+                });
+                track(tx, response.getTransactionHash());
+                submittedCount.incrementAndGet();
+                log.debug("交易已广播: {}, nonce: {}, 交易哈希: {}", signer.address, nonce, response.getTransactionHash());
+                return response;
+            }
+        }
+    }
+
+    private void track(PendingTx tx, String txHash) {
+        tx.hashes.add(txHash);
+        byHash.put(txHash.toLowerCase(), tx);
+        CompletableFuture<Map<String, Object>> wait = transactionMonitoringService.awaitConfirmation(txHash, 1, receiptTimeoutMs);
+        tx.waits.add(wait);
+        wait.thenAccept(result -> {
+            // 单个哈希等待超时不结束交易，可能已被替换交易取代；整体超时由巡检处理
+            if (!"TIMEOUT".equals(result.get("monitoringStatus"))) {
+                deliver(txHash, tx.receipt);
+            }
+        });
+    }
+
+    private void deliver(String txHash, CompletableFuture<TransactionReceipt> receipt) {
+        try {
+            TransactionReceipt found = transactionReceiptService.getReceipts(List.of(txHash)).get(txHash.toLowerCase());
+            if (found != null) {
+                receipt.complete(found);
+            } else {
+                receipt.completeExceptionally(new IllegalStateException("交易已上链但收据不可用: " + txHash));
+            }
+        } catch (Exception e) {
+            receipt.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * 停止跟踪交易哈希；nonce仍留在 pending 中，由巡检在确认nonce越过后移除
+     */
+    private void forget(PendingTx tx) {
+        for (String hash : tx.hashes) {
+            byHash.remove(hash.toLowerCase(), tx);
+        }
+        for (CompletableFuture<?> wait : tx.waits) {
+            wait.cancel(false);
+        }
+    }
+
+    /**
+     * 巡检：整体超时、卡住交易提价替换、nonce缺口填补
+     */
+    private void inspect() {
+        for (Signer signer : signers.values()) {
+            if (signer.pending.isEmpty()) {
+                continue;
+            }
+            try {
+                inspect(signer);
+            } catch (Exception e) {
+                log.warn("交易流水线巡检失败: {}, 错误: {}", signer.address, e.getMessage());
+            }
+        }
+    }
+
+    private void inspect(Signer signer) throws IOException {
+        long now = System.currentTimeMillis();
+        for (PendingTx tx : signer.pending.values()) {
+            if (!tx.receipt.isDone() && now - tx.firstSentAt > receiptTimeoutMs) {
+                // 超时只结束等待，交易可能仍在交易池中，nonce保留不填补
+                tx.receipt.completeExceptionally(new TimeoutException("等待交易收据超时: " + tx.hashes));
+            }
+        }
+
+        BigInteger confirmed = nonceManagerService.getConfirmedNonce(signer.address);
+        signer.pending.headMap(confirmed).values().removeIf(tx -> tx.receipt.isDone());
+        Map.Entry<BigInteger, PendingTx> lowest = signer.pending.ceilingEntry(confirmed);
+        if (lowest == null || now - lowest.getValue().lastSentAt < stuckAfterMs) {
+            return;
+        }
+
+        synchronized (signer) {
+            int filled = 0;
+            for (BigInteger nonce = confirmed; nonce.compareTo(lowest.getKey()) < 0 && filled < MAX_GAP_FILLS;
+                 nonce = nonce.add(BigInteger.ONE)) {
+                // 只填补本进程从未广播过的nonce
+                if (!signer.pending.containsKey(nonce)) {
+                    fillGap(signer, nonce);
+                    filled++;
+                }
+            }
+            PendingTx stuck = lowest.getValue();
+            if (lowest.getKey().equals(confirmed) && stuck.replacements < maxReplacements && !stuck.receipt.isDone()) {
+                replace(signer, stuck);
+            }
+        }
+    }
+
+    /**
+     * 以相同nonce、更高费用重发卡住的交易；EIP-1559 交易同时提高 maxFeePerGas 与 maxPriorityFeePerGas
+     */
+    private void replace(Signer signer, PendingTx tx) throws IOException {
+        FeeQuote fee = tx.fee.bump(gasBumpPercent, feeOracleService.getFee(tx.fee.getTier()));
+        RawTransaction rawTransaction = rawTransaction(tx.nonce, fee, tx.gasLimit, tx.to, tx.value, tx.data);
+        EthSendTransaction response = web3j.ethSendRawTransaction(sign(signer, rawTransaction)).send();
+        if (response.hasError()) {
+            // nonce过低说明原交易已上链，收据由跟踪器交付
+            log.warn("替换交易被拒绝: {}, nonce: {}, 错误: {}", signer.address, tx.nonce, response.getError().getMessage());
+            tx.lastSentAt = System.currentTimeMillis();
+            return;
+        }
+        tx.fee = fee;
+        tx.replacements++;
+        tx.lastSentAt = System.currentTimeMillis();
+        track(tx, response.getTransactionHash());
+        replacementCount.incrementAndGet();
+        log.info("交易长时间未上链，已提价替换: {}, nonce: {}, Gas价格: {}, 新交易哈希: {}",
+            signer.address, tx.nonce, fee.getGasPrice(), response.getTransactionHash());
+    }
+
+    /**
+     * 用0值自转账占用丢失的nonce（本进程未广播过，如广播结果未知后被其他交易跳过），使后续排队交易可以上链
+     */
+    private void fillGap(Signer signer, BigInteger nonce) throws IOException {
+        RawTransaction rawTransaction = rawTransaction(nonce, feeOracleService.getFee(FeeTier.FAST), TRANSFER_GAS_LIMIT,
+            signer.credentials.getAddress(), BigInteger.ZERO, "");
+        EthSendTransaction response = web3j.ethSendRawTransaction(sign(signer, rawTransaction)).send();
+        if (response.hasError()) {
+            log.warn("填补nonce缺口失败: {}, nonce: {}, 错误: {}", signer.address, nonce, response.getError().getMessage());
+            return;
+        }
+        gapFillCount.incrementAndGet();
+        log.info("已填补nonce缺口: {}, nonce: {}, 交易哈希: {}", signer.address, nonce, response.getTransactionHash());
+    }
+
+    private RawTransaction rawTransaction(BigInteger nonce, FeeQuote fee, BigInteger gasLimit, String to, BigInteger value,
+                                          String data) {
+        if (fee.isEip1559()) {
+            return RawTransaction.createTransaction(chainId, nonce, gasLimit, to, value, data,
+                fee.getMaxPriorityFeePerGas(), fee.getMaxFeePerGas());
+        }
+        return RawTransaction.createTransaction(nonce, fee.getGasPrice(), gasLimit, to, value, data);
+    }
+
+    /**
+     * 按调用数据估算Gas上限；节点不可达时使用调用方给出的上限，估算失败（交易会回滚）时不再发送
+     */
+    private BigInteger resolveGasLimit(Signer signer, String to, String data, BigInteger value, BigInteger fallback) {
+        try {
+            return feeOracleService.estimateGasLimit(signer.credentials.getAddress(), to, data, value);
+        } catch (BlockchainException e) {
+            if (BlockchainException.ErrorCodes.NETWORK_ERROR.equals(e.getErrorCode())) {
+                log.warn("Gas估算失败，使用默认上限: {}, 错误: {}", signer.address, e.getMessage());
+                return fallback != null ? fallback : defaultGasLimit;
+            }
+            throw e;
+        }
+    }
+
+    private String sign(Signer signer, RawTransaction rawTransaction) {
+        return Numeric.toHexString(TransactionEncoder.signMessage(rawTransaction, chainId, signer.credentials));
+    }
+
+    private Signer signer(Credentials credentials) {
+        if (web3j == null) {
+            throw new IllegalStateException("Web3j实例未初始化");
+        }
+        return signers.computeIfAbsent(credentials.getAddress().toLowerCase(), key -> new Signer(credentials));
+    }
+
+    private static boolean isAlreadyKnown(String message) {
+        String lower = message != null ? message.toLowerCase() : "";
+        return lower.contains("already known") || lower.contains("known transaction");
+    }
+
+    private static boolean isNonceConflict(String message) {
+        String lower = message != null ? message.toLowerCase() : "";
+        return lower.contains("nonce too low") || lower.contains("replacement transaction underpriced");
+    }
+}
@@ -0,0 +1,123 @@
+package com.decentralized.gaming.platform.service.blockchain.impl;
+
+import com.decentralized.gaming.platform.service.blockchain.BlockFetchService;
+import com.decentralized.gaming.platform.service.blockchain.BlockchainCacheService;
+import com.decentralized.gaming.platform.service.blockchain.BlockchainService;
+import com.decentralized.gaming.platform.service.blockchain.TransactionReceiptService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 交易收据服务实现类
+ * 输入哈希先统一小写去重，命中缓存的直接返回，其余按配置的批量大小打包为JSON-RPC批量请求并行拉取；
+ * 收据写入 BlockchainCacheService 的对象缓存层，已最终确认的收据长期有效，未确认收据只在当前最新区块内有效
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+@Service
+public class TransactionReceiptServiceImpl implements TransactionReceiptService {
+
+    @Autowired
+    private BlockFetchService blockFetchService;
+
+    @Autowired
+    private BlockchainService blockchainService;
+
+    @Autowired
+    private BlockchainCacheService cacheService;
+
+    @Value("${app.blockchain.receipt.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.blockchain.receipt.max-batch-hashes:1000}")
+    private int maxBatchHashes;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong fetchedCount = new AtomicLong();
+
+    @Override
+    public Map<String, TransactionReceipt> getReceipts(Collection<String> txHashes) {
+        Set<String> uniqueHashes = new LinkedHashSet<>(txHashes.size() * 2);
+        for (String txHash : txHashes) {
+            if (txHash != null && !txHash.isBlank()) {
+                uniqueHashes.add(txHash.trim().toLowerCase());
+            }
+        }
+        if (uniqueHashes.size() > maxBatchHashes) {
+            throw new IllegalArgumentException("单次最多查询 " + maxBatchHashes + " 个交易，实际: " + uniqueHashes.size());
+        }
+        refreshHead();
+
+        Map<String, TransactionReceipt> receipts = new HashMap<>(uniqueHashes.size() * 2);
+        List<String> misses = new ArrayList<>();
+        for (String txHash : uniqueHashes) {
+            TransactionReceipt receipt = cacheService.getCachedReceipt(txHash);
+            if (receipt != null) {
+                receipts.put(txHash, receipt);
+            } else {
+                misses.add(txHash);
+            }
+        }
+        hitCount.addAndGet(receipts.size());
+        missCount.addAndGet(misses.size());
+        if (misses.isEmpty()) {
+            return receipts;
+        }
+
+        List<TransactionReceipt> fetched = blockFetchService.fetchReceipts(misses, batchSize);
+        fetchedCount.addAndGet(misses.size());
+        for (int i = 0; i < misses.size(); i++) {
+            TransactionReceipt receipt = fetched.get(i);
+            if (receipt != null) {
+                receipts.put(misses.get(i), receipt);
+                cacheService.cacheReceipt(receipt);
+            }
+        }
+        log.debug("批量查询交易收据: 请求 {} 个，去重后 {} 个，缓存命中 {} 个",
+            txHashes.size(), uniqueHashes.size(), uniqueHashes.size() - misses.size());
+        return receipts;
+    }
+
+    @Override
+    public boolean isFinalized(TransactionReceipt receipt) {
+        return receipt != null && receipt.getBlockNumberRaw() != null
+            && cacheService.isFinalized(receipt.getBlockNumber().longValue());
+    }
+
+    @Override
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("batchSize", batchSize);
+        stats.put("maxBatchHashes", maxBatchHashes);
+        stats.put("hitCount", hitCount.get());
+        stats.put("missCount", missCount.get());
+        stats.put("fetchedCount", fetchedCount.get());
+        stats.put("cache", cacheService.getCacheStats());
+        return stats;
+    }
+
+    /**
+     * 刷新最新区块号，缓存层据此判断收据是否已最终确认、未确认收据是否仍然有效
+     */
+    private void refreshHead() {
+        try {
+            blockchainService.getCurrentBlockNumber();
+        } catch (Exception e) {
+            log.warn("获取最新区块号失败: {}", e.getMessage());
+        }
+    }
+}
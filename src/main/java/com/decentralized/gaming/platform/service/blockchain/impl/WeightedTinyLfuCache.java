@@ -0,0 +1,277 @@
+package com.decentralized.gaming.platform.service.blockchain.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * 按权重限制容量的 W-TinyLFU 缓存
+ * 新条目先进入占总权重1%的LRU窗口区；被挤出窗口时与主区试用段最久未访问的条目比较访问频率（Count-Min Sketch估计），
+ * 频率更高者留下。主区分为试用段与受保护段（80%），试用段条目再次命中后晋升到受保护段。
+ * 所有操作在同一把锁下执行，适合读多写少、条目较大的链上数据
+ *
+ * @author DecentralizedGamingPlatform
+ */
+final class WeightedTinyLfuCache<K, V> {
+
+    private final long maxWeight;
+    private final long windowMaxWeight;
+    private final long protectedMaxWeight;
+    private final ToIntFunction<V> weigher;
+    private final FrequencySketch sketch;
+
+    private final LinkedHashMap<K, Node<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Node<V>> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Node<V>> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long windowWeight;
+    private long probationWeight;
+    private long protectedWeight;
+    private long evictionCount;
+    private long rejectedCount;
+
+    private static final class Node<V> {
+        private final V value;
+        private final int weight;
+
+        private Node(V value, int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    WeightedTinyLfuCache(long maxWeight, ToIntFunction<V> weigher) {
+        this.maxWeight = Math.max(1, maxWeight);
+        this.windowMaxWeight = Math.max(1, this.maxWeight / 100);
+        this.protectedMaxWeight = (this.maxWeight - windowMaxWeight) * 8 / 10;
+        this.weigher = weigher;
+        this.sketch = new FrequencySketch(this.maxWeight);
+    }
+
+    synchronized V get(K key) {
+        sketch.increment(key);
+        Node<V> node = window.get(key);
+        if (node != null) {
+            return node.value;
+        }
+        node = protectedSegment.get(key);
+        if (node != null) {
+            return node.value;
+        }
+        node = probation.remove(key);
+        if (node != null) {
+            probationWeight -= node.weight;
+            protectedSegment.put(key, node);
+            protectedWeight += node.weight;
+            demoteProtected();
+            return node.value;
+        }
+        return null;
+    }
+
+    synchronized void put(K key, V value) {
+        remove(key);
+        int weight = Math.max(1, weigher.applyAsInt(value));
+        if (weight > maxWeight - windowMaxWeight) {
+            rejectedCount++;
+            return;
+        }
+        sketch.increment(key);
+        window.put(key, new Node<>(value, weight));
+        windowWeight += weight;
+        while (windowWeight > windowMaxWeight && !window.isEmpty()) {
+            Iterator<Map.Entry<K, Node<V>>> iterator = window.entrySet().iterator();
+            Map.Entry<K, Node<V>> eldest = iterator.next();
+            iterator.remove();
+            windowWeight -= eldest.getValue().weight;
+            admit(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    synchronized V remove(K key) {
+        Node<V> node = window.remove(key);
+        if (node != null) {
+            windowWeight -= node.weight;
+            return node.value;
+        }
+        node = probation.remove(key);
+        if (node != null) {
+            probationWeight -= node.weight;
+            return node.value;
+        }
+        node = protectedSegment.remove(key);
+        if (node != null) {
+            protectedWeight -= node.weight;
+            return node.value;
+        }
+        return null;
+    }
+
+    /**
+     * 移除满足条件的条目
+     *
+     * @return 移除的条目数
+     */
+    synchronized int removeIf(BiPredicate<K, V> predicate) {
+        int removed = 0;
+        removed += removeIf(window, predicate, 0);
+        removed += removeIf(probation, predicate, 1);
+        removed += removeIf(protectedSegment, predicate, 2);
+        return removed;
+    }
+
+    synchronized void clear() {
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+        windowWeight = 0;
+        probationWeight = 0;
+        protectedWeight = 0;
+    }
+
+    synchronized int size() {
+        return window.size() + probation.size() + protectedSegment.size();
+    }
+
+    synchronized long weight() {
+        return windowWeight + probationWeight + protectedWeight;
+    }
+
+    long maxWeight() {
+        return maxWeight;
+    }
+
+    synchronized long evictionCount() {
+        return evictionCount;
+    }
+
+    synchronized long rejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * 窗口区挤出的候选条目与主区淘汰对象比较频率，直到主区容纳得下或候选被淘汰
+     */
+    private void admit(K candidateKey, Node<V> candidate) {
+        long mainMaxWeight = maxWeight - windowMaxWeight;
+        int candidateFrequency = sketch.frequency(candidateKey);
+        while (probationWeight + protectedWeight + candidate.weight > mainMaxWeight) {
+            LinkedHashMap<K, Node<V>> segment = !probation.isEmpty() ? probation : protectedSegment;
+            Map.Entry<K, Node<V>> victim = segment.entrySet().iterator().next();
+            if (candidateFrequency <= sketch.frequency(victim.getKey())) {
+                evictionCount++;
+                return;
+            }
+            segment.remove(victim.getKey());
+            if (segment == probation) {
+                probationWeight -= victim.getValue().weight;
+            } else {
+                protectedWeight -= victim.getValue().weight;
+            }
+            evictionCount++;
+        }
+        probation.put(candidateKey, candidate);
+        probationWeight += candidate.weight;
+    }
+
+    private void demoteProtected() {
+        while (protectedWeight > protectedMaxWeight && !protectedSegment.isEmpty()) {
+            Iterator<Map.Entry<K, Node<V>>> iterator = protectedSegment.entrySet().iterator();
+            Map.Entry<K, Node<V>> eldest = iterator.next();
+            iterator.remove();
+            protectedWeight -= eldest.getValue().weight;
+            probation.put(eldest.getKey(), eldest.getValue());
+            probationWeight += eldest.getValue().weight;
+        }
+    }
+
+    private int removeIf(LinkedHashMap<K, Node<V>> segment, BiPredicate<K, V> predicate, int segmentIndex) {
+        int removed = 0;
+        Iterator<Map.Entry<K, Node<V>>> iterator = segment.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, Node<V>> entry = iterator.next();
+            if (predicate.test(entry.getKey(), entry.getValue().value)) {
+                iterator.remove();
+                int weight = entry.getValue().weight;
+                switch (segmentIndex) {
+                    case 0 -> windowWeight -= weight;
+                    case 1 -> probationWeight -= weight;
+                    default -> protectedWeight -= weight;
+                }
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Count-Min Sketch：4行4位计数器（以byte存储，上限15），累计采样数达到10倍宽度时全部减半以淡化历史频率
+     */
+    private static final class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final int MAX_COUNT = 15;
+        private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+        private final byte[][] table;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        private FrequencySketch(long maxWeight) {
+            // 平均条目按512字节估算宽度
+            long estimated = Math.max(1024, Math.min(1 << 20, maxWeight / 512));
+            int width = Integer.highestOneBit((int) estimated - 1) << 1;
+            this.table = new byte[DEPTH][width];
+            this.mask = width - 1;
+            this.sampleSize = width * 10;
+        }
+
+        private void increment(Object key) {
+            int hash = spread(key.hashCode());
+            boolean added = false;
+            for (int i = 0; i < DEPTH; i++) {
+                int index = indexOf(hash, i);
+                if (table[i][index] < MAX_COUNT) {
+                    table[i][index]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        private int frequency(Object key) {
+            int hash = spread(key.hashCode());
+            int frequency = MAX_COUNT;
+            for (int i = 0; i < DEPTH; i++) {
+                frequency = Math.min(frequency, table[i][indexOf(hash, i)]);
+            }
+            return frequency;
+        }
+
+        private void reset() {
+            for (byte[] row : table) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = (byte) (row[i] >>> 1);
+                }
+            }
+            additions /= 2;
+        }
+
+        private int indexOf(int hash, int row) {
+            int h = hash * SEEDS[row];
+            h ^= h >>> 16;
+            return h & mask;
+        }
+
+        private static int spread(int hash) {
+            hash ^= hash >>> 17;
+            hash *= 0xED5AD4BB;
+            hash ^= hash >>> 11;
+            return hash;
+        }
+    }
+}
@@ -15,6 +15,7 @@ import com.decentralized.gaming.platform.mapper.AgentMapper;
 import com.decentralized.gaming.platform.mapper.GameMapper;
 import com.decentralized.gaming.platform.mapper.UserMapper;
 import com.decentralized.gaming.platform.service.AgentService;
+import com.decentralized.gaming.platform.service.AgentStatisticsService;
 import com.decentralized.gaming.platform.service.AssetService;
 import com.decentralized.gaming.platform.entity.UserAsset;
 import com.decentralized.gaming.platform.vo.AgentVO;
@@ -24,6 +25,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -46,6 +48,8 @@ public class AgentServiceImpl implements AgentService {
     private final GameMapper gameMapper;
     private final UserMapper userMapper;
     private final AssetService assetService;
+    private final AgentStatisticsService agentStatisticsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public PageResult<AgentVO> getActiveAgents(int page, int size) {
@@ -198,6 +202,7 @@ public class AgentServiceImpl implements AgentService {
         agent.setUpdatedAt(LocalDateTime.now());
 
         agentMapper.insert(agent);
+        eventPublisher.publishEvent(new AgentStatisticsService.AgentCreatedEvent(agent.getAgentType(), agent.getStatus()));
 
         // 将智能体添加到创建者的资产表中
         try {
@@ -329,33 +334,15 @@ public class AgentServiceImpl implements AgentService {
         updateWrapper.eq(Agent::getId, agentId)
                     .setSql("usage_count = usage_count + 1");
         
-        agentMapper.update(null, updateWrapper);
+        if (agentMapper.update(null, updateWrapper) > 0) {
+            eventPublisher.publishEvent(new AgentStatisticsService.AgentUsedEvent(agentId));
+        }
     }
 
     @Override
     public AgentStatistics getAgentStatistics() {
-        // 查询总智能体数
-        LambdaQueryWrapper<Agent> totalWrapper = new LambdaQueryWrapper<>();
-        long totalAgents = agentMapper.selectCount(totalWrapper);
-
-        // 查询活跃智能体数
-        LambdaQueryWrapper<Agent> activeWrapper = new LambdaQueryWrapper<>();
-        activeWrapper.eq(Agent::getStatus, Agent.AgentStatus.ACTIVE);
-        long activeAgents = agentMapper.selectCount(activeWrapper);
-
-        // 查询游戏制作智能体数
-        LambdaQueryWrapper<Agent> gameMakerWrapper = new LambdaQueryWrapper<>();
-        gameMakerWrapper.eq(Agent::getAgentType, "GAME_MAKER")
-                       .eq(Agent::getStatus, Agent.AgentStatus.ACTIVE);
-        long gameMakerAgents = agentMapper.selectCount(gameMakerWrapper);
-
-        // 查询总使用次数
-        List<Agent> allAgents = agentMapper.selectList(null);
-        long totalUsageCount = allAgents.stream()
-                .mapToLong(agent -> agent.getUsageCount() != null ? agent.getUsageCount() : 0)
-                .sum();
-
-        return new AgentStatistics(totalAgents, activeAgents, gameMakerAgents, totalUsageCount);
+        // 读取增量维护的计数器，不扫描 agents 表
+        return agentStatisticsService.getStatistics();
     }
 
     /**
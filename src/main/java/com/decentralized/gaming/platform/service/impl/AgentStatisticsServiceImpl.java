@@ -0,0 +1,250 @@
+package com.decentralized.gaming.platform.service.impl;
+
+import com.decentralized.gaming.platform.entity.Agent;
+import com.decentralized.gaming.platform.entity.AgentStatistic;
+import com.decentralized.gaming.platform.mapper.AgentMapper;
+import com.decentralized.gaming.platform.mapper.AgentStatisticMapper;
+import com.decentralized.gaming.platform.service.AgentStatisticsService;
+import com.decentralized.gaming.platform.vo.AgentStatistics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 智能体统计服务实现类
+ * 计数值 = 已持久化计数 + 刷写中的增量 + 未刷写的本地增量。
+ * 刷写与对账都在单个后台线程执行：刷写以增量累加写入，多实例互不覆盖；
+ * 对账以 agents 表聚合结果覆盖计数器，对账期间并发产生的少量增量可能被重复计入，下个对账周期纠正
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AgentStatisticsServiceImpl implements AgentStatisticsService {
+
+    private static final String KEY_TOTAL = "total";
+    private static final String KEY_ACTIVE = "active";
+    private static final String KEY_USAGE = "usage";
+    private static final String KEY_ACTIVE_TYPE_PREFIX = "active_type:";
+    private static final String GAME_MAKER_TYPE = "GAME_MAKER";
+
+    private final AgentStatisticMapper agentStatisticMapper;
+    private final AgentMapper agentMapper;
+
+    @Value("${app.agent-stats.flush-interval-ms:5000}")
+    private long flushIntervalMs;
+
+    @Value("${app.agent-stats.reconcile-interval-ms:600000}")
+    private long reconcileIntervalMs;
+
+    /**
+     * 尚未刷写的本地增量
+     */
+    private final ConcurrentHashMap<String, LongAdder> pending = new ConcurrentHashMap<>();
+
+    private volatile Counters counters = new Counters(Map.of(), Map.of());
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "agent-stats");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 已持久化的计数与正在刷写的增量，整体替换以免读取时重复或遗漏
+     */
+    private record Counters(Map<String, Long> persisted, Map<String, Long> flushing) {
+    }
+
+    @PostConstruct
+    public void init() {
+        scheduler.execute(this::loadOrReconcile);
+        scheduler.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::reconcileSafely, reconcileIntervalMs, reconcileIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("智能体统计服务初始化完成，刷写间隔: {}ms, 对账间隔: {}ms", flushIntervalMs, reconcileIntervalMs);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        // 停机前刷写剩余增量
+        flushSafely();
+    }
+
+    @Override
+    public AgentStatistics getStatistics() {
+        Counters current = counters;
+        Map<String, Long> activeByType = new TreeMap<>();
+        collectTypes(current.persisted(), current, activeByType);
+        collectTypes(pending, current, activeByType);
+
+        AgentStatistics statistics = new AgentStatistics(
+                value(current, KEY_TOTAL),
+                value(current, KEY_ACTIVE),
+                activeByType.getOrDefault(GAME_MAKER_TYPE, 0L),
+                value(current, KEY_USAGE));
+        statistics.setActiveAgentsByType(activeByType);
+        return statistics;
+    }
+
+    /**
+     * 智能体创建后计数；事务回滚时不会计入
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAgentCreated(AgentCreatedEvent event) {
+        increment(KEY_TOTAL, 1);
+        if (event.status() == Agent.AgentStatus.ACTIVE) {
+            increment(KEY_ACTIVE, 1);
+            if (event.agentType() != null) {
+                increment(KEY_ACTIVE_TYPE_PREFIX + event.agentType(), 1);
+            }
+        }
+    }
+
+    /**
+     * 智能体使用后计数；事务回滚时不会计入
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAgentUsed(AgentUsedEvent event) {
+        increment(KEY_USAGE, 1);
+    }
+
+    private void increment(String key, long delta) {
+        pending.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+    }
+
+    private long value(Counters current, String key) {
+        long value = current.persisted().getOrDefault(key, 0L) + current.flushing().getOrDefault(key, 0L);
+        LongAdder adder = pending.get(key);
+        return adder != null ? value + adder.sum() : value;
+    }
+
+    private void collectTypes(Map<String, ?> source, Counters current, Map<String, Long> activeByType) {
+        for (String key : source.keySet()) {
+            if (key.startsWith(KEY_ACTIVE_TYPE_PREFIX)) {
+                activeByType.computeIfAbsent(key.substring(KEY_ACTIVE_TYPE_PREFIX.length()), type -> value(current, key));
+            }
+        }
+    }
+
+    private void loadOrReconcile() {
+        try {
+            Map<String, Long> persisted = loadPersisted();
+            if (persisted.isEmpty()) {
+                // 未执行初始化迁移或首次部署时以聚合结果建立计数器
+                reconcileSafely();
+            } else {
+                counters = new Counters(persisted, Map.of());
+                log.info("智能体统计计数器已加载: {}", persisted);
+            }
+        } catch (Exception e) {
+            log.error("加载智能体统计计数器失败", e);
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("刷写智能体统计计数器失败", e);
+        }
+    }
+
+    /**
+     * 取出本地增量累加写入数据库，随后重新加载持久化计数以合并其他实例的刷写
+     */
+    private void flush() {
+        Map<String, Long> drained = new HashMap<>();
+        pending.forEach((key, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                drained.put(key, delta);
+            }
+        });
+        Counters current = counters;
+        if (!drained.isEmpty()) {
+            counters = new Counters(current.persisted(), drained);
+            Map<String, Long> remaining = new HashMap<>(drained);
+            try {
+                for (Map.Entry<String, Long> entry : drained.entrySet()) {
+                    agentStatisticMapper.addDelta(entry.getKey(), entry.getValue());
+                    remaining.remove(entry.getKey());
+                }
+            } catch (RuntimeException e) {
+                // 未写入的增量放回本地，下次刷写重试
+                counters = new Counters(current.persisted(), Map.of());
+                remaining.forEach(this::increment);
+                throw e;
+            }
+        }
+        counters = new Counters(loadPersisted(), Map.of());
+    }
+
+    private void reconcileSafely() {
+        try {
+            flush();
+            long startedAt = System.currentTimeMillis();
+            Map<String, Long> aggregated = aggregate();
+
+            // 已不存在活跃智能体的类型清零，避免保留过期计数
+            for (String key : counters.persisted().keySet()) {
+                aggregated.putIfAbsent(key, 0L);
+            }
+            aggregated.forEach(agentStatisticMapper::overwrite);
+            counters = new Counters(aggregated, Map.of());
+            log.info("智能体统计对账完成，耗时: {}ms, 计数: {}", System.currentTimeMillis() - startedAt, aggregated);
+        } catch (Exception e) {
+            log.error("智能体统计对账失败", e);
+        }
+    }
+
+    private Map<String, Long> aggregate() {
+        Map<String, Long> aggregated = new HashMap<>();
+        aggregated.put(KEY_TOTAL, 0L);
+        aggregated.put(KEY_ACTIVE, 0L);
+        aggregated.put(KEY_USAGE, 0L);
+        List<Map<String, Object>> rows = agentMapper.aggregateStatistics();
+        for (Map<String, Object> row : rows) {
+            long count = ((Number) row.get("agent_count")).longValue();
+            long usage = ((Number) row.get("usage_total")).longValue();
+            aggregated.merge(KEY_TOTAL, count, Long::sum);
+            aggregated.merge(KEY_USAGE, usage, Long::sum);
+            if (Agent.AgentStatus.ACTIVE.name().equals(String.valueOf(row.get("status")))) {
+                aggregated.merge(KEY_ACTIVE, count, Long::sum);
+                aggregated.merge(KEY_ACTIVE_TYPE_PREFIX + row.get("agent_type"), count, Long::sum);
+            }
+        }
+        return aggregated;
+    }
+
+    private Map<String, Long> loadPersisted() {
+        Map<String, Long> persisted = new HashMap<>();
+        for (AgentStatistic statistic : agentStatisticMapper.selectList(null)) {
+            persisted.put(statistic.getStatKey(), statistic.getStatValue() != null ? statistic.getStatValue() : 0L);
+        }
+        return persisted;
+    }
+}
@@ -13,18 +13,35 @@ import com.decentralized.gaming.platform.vo.UserBalanceVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import com.decentralized.gaming.platform.service.blockchain.BlockchainService;
+import com.decentralized.gaming.platform.service.blockchain.BulkReadService;
+import com.decentralized.gaming.platform.service.blockchain.BulkReadService.ReadCall;
+import com.decentralized.gaming.platform.service.blockchain.ContractConfigService;
 import com.decentralized.gaming.platform.service.blockchain.PlatformTokenService;
+import org.web3j.utils.Convert;
 
 /**
  * 资产管理服务实现类
@@ -44,11 +61,89 @@ public class AssetServiceImpl implements AssetService {
     private final GameItemMapper gameItemMapper;
     private final BlockchainService blockchainService;
     private final PlatformTokenService platformTokenService;
+    private final BulkReadService bulkReadService;
+    private final ContractConfigService contractConfigService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.asset.dashboard-cache.ttl-ms:30000}")
+    private long dashboardCacheTtlMs;
+
+    @Value("${app.asset.dashboard-cache.max-entries:10000}")
+    private int dashboardCacheMaxEntries;
+
+    @Value("${app.asset.chain-balance-timeout-ms:5000}")
+    private long chainBalanceTimeoutMs;
+
+    /**
+     * 按用户缓存的面板快照（LRU）
+     */
+    private final Map<Long, DashboardSnapshot> dashboardCache = Collections.synchronizedMap(
+            new LinkedHashMap<Long, DashboardSnapshot>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, DashboardSnapshot> eldest) {
+                    return size() > dashboardCacheMaxEntries;
+                }
+            });
+
+    /**
+     * 资产变更序号，每次变更事件递增
+     */
+    private final AtomicLong changeSequence = new AtomicLong();
+
+    /**
+     * 按用户记录最近一次资产变更的序号（LRU），用于丢弃与该用户的变更并发构建的面板
+     */
+    private final Map<Long, Long> dashboardGenerations = Collections.synchronizedMap(
+            new LinkedHashMap<Long, Long>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                    return size() > dashboardCacheMaxEntries;
+                }
+            });
+
+    private record DashboardSnapshot(AssetDashboardVO dashboard, long createdAt) {
+    }
     
     @Override
     public AssetDashboardVO getAssetDashboard(Long userId) {
+        DashboardSnapshot snapshot = dashboardCache.get(userId);
+        if (snapshot != null && System.currentTimeMillis() - snapshot.createdAt() < dashboardCacheTtlMs) {
+            return snapshot.dashboard();
+        }
         log.info("获取用户资产管理面板，用户ID: {}", userId);
-        
+
+        // 构建期间若该用户有资产变更事件，本次结果不写入缓存
+        long sequence = changeSequence.get();
+        Long generation = dashboardGenerations.get(userId);
+        AssetDashboardVO dashboard = buildAssetDashboard(userId);
+        if (unchangedSince(userId, generation, sequence)) {
+            dashboardCache.put(userId, new DashboardSnapshot(dashboard, System.currentTimeMillis()));
+        }
+        return dashboard;
+    }
+
+    /**
+     * 资产或余额变更后使该用户的面板快照失效；事务内发布的事件在提交后处理，避免读到未提交的旧数据再次缓存
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        dashboardGenerations.put(event.userId(), changeSequence.incrementAndGet());
+        dashboardCache.remove(event.userId());
+    }
+
+    /**
+     * 构建开始时用户已有变更序号：序号未变即无新变更（被淘汰或重新写入都会改变读取结果）；
+     * 开始时没有记录：仍无记录且期间的全局变更数少于LRU容量，说明该用户的变更不可能写入后又被淘汰
+     */
+    private boolean unchangedSince(Long userId, Long generation, long sequence) {
+        Long current = dashboardGenerations.get(userId);
+        if (generation != null) {
+            return generation.equals(current);
+        }
+        return current == null && changeSequence.get() - sequence < dashboardCacheMaxEntries;
+    }
+
+    private AssetDashboardVO buildAssetDashboard(Long userId) {
         AssetDashboardVO dashboard = new AssetDashboardVO();
         
         // 获取用户信息
@@ -71,9 +166,23 @@ public class AssetServiceImpl implements AssetService {
         dashboard.setUserId(userId);
         dashboard.setUsername(user.getUsername());
         dashboard.setWalletAddress(user.getWalletAddress());
+
+        // 链上余额在批量读取线程池中执行，与下面的数据库查询并行
+        CompletableFuture<Map<String, BigDecimal>> chainBalances = readChainBalancesAsync(user.getWalletAddress());
+
+        // 获取资产统计（一次分组查询）
+        AssetStatistics stats = getAssetStatistics(userId);
+        dashboard.setGameCount(stats.getGameCount());
+        dashboard.setAgentCount(stats.getAgentCount());
+        dashboard.setItemCount(stats.getItemCount());
         
+        // 获取最近获得的资产（最近5个）
+        List<UserAssetVO> recentAssets = getRecentAssets(userId, 5);
+        dashboard.setRecentAssets(recentAssets);
+
         // 获取用户余额
-        List<UserBalanceVO> balances = getUserBalances(userId);
+        List<UserBalanceVO> balances = loadBalances(userId);
+        applyChainBalances(userId, balances, chainBalances);
         dashboard.setBalances(balances);
         
         // 计算总资产价值（这里简化处理，实际应该根据市场价格计算）
@@ -82,16 +191,6 @@ public class AssetServiceImpl implements AssetService {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         dashboard.setTotalAssetValue(totalValue);
         
-        // 获取资产统计
-        AssetStatistics stats = getAssetStatistics(userId);
-        dashboard.setGameCount(stats.getGameCount());
-        dashboard.setAgentCount(stats.getAgentCount());
-        dashboard.setItemCount(stats.getItemCount());
-        
-        // 获取最近获得的资产（最近5个）
-        List<UserAssetVO> recentAssets = getRecentAssets(userId, 5);
-        dashboard.setRecentAssets(recentAssets);
-        
         return dashboard;
     }
     
@@ -110,9 +209,7 @@ public class AssetServiceImpl implements AssetService {
         
         IPage<UserAsset> assetPage = userAssetMapper.selectPage(pageParam, queryWrapper);
         
-        List<UserAssetVO> assetVOs = assetPage.getRecords().stream()
-                .map(this::convertToUserAssetVO)
-                .collect(Collectors.toList());
+        List<UserAssetVO> assetVOs = convertToUserAssetVOs(assetPage.getRecords());
         
         return PageResult.of(assetVOs, assetPage.getTotal(), (long) page, (long) size);
     }
@@ -135,42 +232,12 @@ public class AssetServiceImpl implements AssetService {
     @Override
     public List<UserBalanceVO> getUserBalances(Long userId) {
         log.info("获取用户代币余额，用户ID: {}", userId);
-        
-        LambdaQueryWrapper<UserBalance> queryWrapper = new LambdaQueryWrapper<UserBalance>()
-                .eq(UserBalance::getUserId, userId)
-                .orderByDesc(UserBalance::getUpdatedAt);
-        
-        List<UserBalance> balances = userBalanceMapper.selectList(queryWrapper);
-        
-        List<UserBalanceVO> vos = balances.stream()
-                .map(this::convertToUserBalanceVO)
-                .collect(Collectors.toList());
-
-        // 覆盖为链上实时余额（ETH 和 平台代币）
-        try {
-            User user = userMapper.selectById(userId);
-            String walletAddress = user != null ? user.getWalletAddress() : null;
-            if (walletAddress != null && !walletAddress.isEmpty()) {
-                BigInteger decimals = null;
-                for (UserBalanceVO vo : vos) {
-                    if ("ETH".equalsIgnoreCase(vo.getTokenType())) {
-                        BigDecimal eth = blockchainService.getBalance(walletAddress);
-                        vo.setBalance(eth);
-                    } else if ("PLATFORM_TOKEN".equalsIgnoreCase(vo.getTokenType())) {
-                        if (decimals == null) {
-                            decimals = platformTokenService.getDecimals();
-                        }
-                        BigInteger raw = platformTokenService.getBalance(walletAddress);
-                        BigDecimal plt = new BigDecimal(raw)
-                                .divide(new BigDecimal(BigInteger.TEN.pow(decimals.intValue())), 6, RoundingMode.DOWN);
-                        vo.setBalance(plt);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            log.warn("获取链上实时余额失败，使用本地缓存余额，用户ID: {}, 错误: {}", userId, e.getMessage());
-        }
 
+        User user = userMapper.selectById(userId);
+        CompletableFuture<Map<String, BigDecimal>> chainBalances =
+                readChainBalancesAsync(user != null ? user.getWalletAddress() : null);
+        List<UserBalanceVO> vos = loadBalances(userId);
+        applyChainBalances(userId, vos, chainBalances);
         return vos;
     }
     
@@ -203,11 +270,11 @@ public class AssetServiceImpl implements AssetService {
                 if ("ETH".equalsIgnoreCase(tokenType)) {
                     vo.setBalance(blockchainService.getBalance(walletAddress));
                 } else if ("PLATFORM_TOKEN".equalsIgnoreCase(tokenType)) {
-                    BigInteger decimals = platformTokenService.getDecimals();
-                    BigInteger raw = platformTokenService.getBalance(walletAddress);
-                    BigDecimal plt = new BigDecimal(raw)
-                            .divide(new BigDecimal(BigInteger.TEN.pow(decimals.intValue())), 6, RoundingMode.DOWN);
-                    vo.setBalance(plt);
+                    BigDecimal plt = readChainBalancesAsync(walletAddress)
+                            .orTimeout(chainBalanceTimeoutMs, TimeUnit.MILLISECONDS).join().get("PLATFORM_TOKEN");
+                    if (plt != null) {
+                        vo.setBalance(plt);
+                    }
                 }
             }
         } catch (Exception e) {
@@ -236,16 +303,23 @@ public class AssetServiceImpl implements AssetService {
             return false;
         }
         
-        UserAsset userAsset = new UserAsset();
-        userAsset.setUserId(userId);
-        userAsset.setAssetType(assetType);
-        userAsset.setAssetId(assetId);
-        userAsset.setAcquisitionType(acquisitionType);
-        userAsset.setContractAddress(contractAddress);
-        userAsset.setTokenId(tokenId);
-        userAsset.setIsTradeable(true);
-        
-        int result = userAssetMapper.insert(userAsset);
+        int result;
+        if (contractAddress != null && tokenId != null) {
+            // 链上资产与事件投影共用 (合约地址, Token ID) 唯一键，投影可能已写入该Token
+            result = userAssetMapper.upsertByToken(userId, assetType, assetId, contractAddress.toLowerCase(), tokenId,
+                    acquisitionType);
+        } else {
+            UserAsset userAsset = new UserAsset();
+            userAsset.setUserId(userId);
+            userAsset.setAssetType(assetType);
+            userAsset.setAssetId(assetId);
+            userAsset.setAcquisitionType(acquisitionType);
+            userAsset.setContractAddress(contractAddress);
+            userAsset.setTokenId(tokenId);
+            userAsset.setIsTradeable(true);
+            result = userAssetMapper.insert(userAsset);
+        }
+        eventPublisher.publishEvent(new AssetChangedEvent(userId));
         return result > 0;
     }
     
@@ -260,6 +334,9 @@ public class AssetServiceImpl implements AssetService {
                 .eq(UserAsset::getAssetId, assetId);
         
         int result = userAssetMapper.delete(queryWrapper);
+        if (result > 0) {
+            eventPublisher.publishEvent(new AssetChangedEvent(userId));
+        }
         return result > 0;
     }
     
@@ -293,6 +370,7 @@ public class AssetServiceImpl implements AssetService {
         
         asset.setIsTradeable(isTradeable);
         int result = userAssetMapper.updateById(asset);
+        eventPublisher.publishEvent(new AssetChangedEvent(userId));
         return result > 0;
     }
     
@@ -300,42 +378,22 @@ public class AssetServiceImpl implements AssetService {
     public AssetStatistics getAssetStatistics(Long userId) {
         log.info("获取用户资产统计，用户ID: {}", userId);
         
+        int total = 0;
+        int tradeable = 0;
+        Map<String, Integer> countByType = new HashMap<>();
+        for (Map<String, Object> row : userAssetMapper.countByType(userId)) {
+            int count = ((Number) row.get("asset_count")).intValue();
+            countByType.put(String.valueOf(row.get("asset_type")), count);
+            total += count;
+            tradeable += ((Number) row.get("tradeable_count")).intValue();
+        }
+
         AssetStatistics stats = new AssetStatistics();
-        
-        // 统计总资产数
-        LambdaQueryWrapper<UserAsset> totalQuery = new LambdaQueryWrapper<UserAsset>()
-                .eq(UserAsset::getUserId, userId);
-        Long totalCount = userAssetMapper.selectCount(totalQuery);
-        stats.setTotalAssets(totalCount.intValue());
-        
-        // 统计游戏数量
-        LambdaQueryWrapper<UserAsset> gameQuery = new LambdaQueryWrapper<UserAsset>()
-                .eq(UserAsset::getUserId, userId)
-                .eq(UserAsset::getAssetType, UserAsset.AssetType.GAME);
-        Long gameCount = userAssetMapper.selectCount(gameQuery);
-        stats.setGameCount(gameCount.intValue());
-        
-        // 统计智能体数量
-        LambdaQueryWrapper<UserAsset> agentQuery = new LambdaQueryWrapper<UserAsset>()
-                .eq(UserAsset::getUserId, userId)
-                .eq(UserAsset::getAssetType, UserAsset.AssetType.AGENT);
-        Long agentCount = userAssetMapper.selectCount(agentQuery);
-        stats.setAgentCount(agentCount.intValue());
-        
-        // 统计道具数量
-        LambdaQueryWrapper<UserAsset> itemQuery = new LambdaQueryWrapper<UserAsset>()
-                .eq(UserAsset::getUserId, userId)
-                .eq(UserAsset::getAssetType, UserAsset.AssetType.GAME_ITEM);
-        Long itemCount = userAssetMapper.selectCount(itemQuery);
-        stats.setItemCount(itemCount.intValue());
-        
-        // 统计可交易资产数量
-        LambdaQueryWrapper<UserAsset> tradeableQuery = new LambdaQueryWrapper<UserAsset>()
-                .eq(UserAsset::getUserId, userId)
-                .eq(UserAsset::getIsTradeable, true);
-        Long tradeableCount = userAssetMapper.selectCount(tradeableQuery);
-        stats.setTradeableCount(tradeableCount.intValue());
-        
+        stats.setTotalAssets(total);
+        stats.setGameCount(countByType.getOrDefault(UserAsset.AssetType.GAME.name(), 0));
+        stats.setAgentCount(countByType.getOrDefault(UserAsset.AssetType.AGENT.name(), 0));
+        stats.setItemCount(countByType.getOrDefault(UserAsset.AssetType.GAME_ITEM.name(), 0));
+        stats.setTradeableCount(tradeable);
         return stats;
     }
     
@@ -343,64 +401,124 @@ public class AssetServiceImpl implements AssetService {
      * 获取最近获得的资产
      */
     private List<UserAssetVO> getRecentAssets(Long userId, int limit) {
-        Page<UserAsset> pageParam = new Page<>(1, limit);
+        // 只取前几条，不使用分页查询，避免额外的 COUNT 语句
         LambdaQueryWrapper<UserAsset> queryWrapper = new LambdaQueryWrapper<UserAsset>()
                 .eq(UserAsset::getUserId, userId)
-                .orderByDesc(UserAsset::getCreatedAt);
-        
-        IPage<UserAsset> assetPage = userAssetMapper.selectPage(pageParam, queryWrapper);
+                .orderByDesc(UserAsset::getCreatedAt)
+                .last("LIMIT " + limit);
         
-        return assetPage.getRecords().stream()
-                .map(this::convertToUserAssetVO)
-                .collect(Collectors.toList());
+        return convertToUserAssetVOs(userAssetMapper.selectList(queryWrapper));
     }
     
     /**
-     * 转换为UserAssetVO
+     * 批量转换为UserAssetVO，资产名称和描述按资产类型各用一次 IN 查询获取
      */
-    private UserAssetVO convertToUserAssetVO(UserAsset userAsset) {
-        UserAssetVO vo = new UserAssetVO();
-        BeanUtils.copyProperties(userAsset, vo);
-        
-        // 根据资产类型获取资产名称和描述
-        String assetName = "";
-        String assetDescription = "";
+    private List<UserAssetVO> convertToUserAssetVOs(List<UserAsset> userAssets) {
+        Map<UserAsset.AssetType, Set<Long>> idsByType = new EnumMap<>(UserAsset.AssetType.class);
+        for (UserAsset userAsset : userAssets) {
+            if (userAsset.getAssetType() != null && userAsset.getAssetId() != null) {
+                idsByType.computeIfAbsent(userAsset.getAssetType(), type -> new HashSet<>()).add(userAsset.getAssetId());
+            }
+        }
+
+        Map<UserAsset.AssetType, Map<Long, String[]>> infoByType = new EnumMap<>(UserAsset.AssetType.class);
+        idsByType.forEach((assetType, ids) -> {
+            Map<Long, String[]> info = new HashMap<>();
+            try {
+                switch (assetType) {
+                    case GAME:
+                        gameMapper.selectBatchIds(ids).forEach(game ->
+                                info.put(game.getId(), new String[]{game.getTitle(), game.getDescription()}));
+                        break;
+                    case AGENT:
+                        agentMapper.selectBatchIds(ids).forEach(agent ->
+                                info.put(agent.getId(), new String[]{agent.getName(), agent.getDescription()}));
+                        break;
+                    case GAME_ITEM:
+                        gameItemMapper.selectBatchIds(ids).forEach(item ->
+                                info.put(item.getId(), new String[]{item.getItemName(), item.getItemType()}));
+                        break;
+                }
+            } catch (Exception e) {
+                log.warn("获取资产信息失败，资产类型: {}, 资产数: {}, 错误: {}", assetType, ids.size(), e.getMessage());
+            }
+            infoByType.put(assetType, info);
+        });
+
+        List<UserAssetVO> vos = new ArrayList<>(userAssets.size());
+        for (UserAsset userAsset : userAssets) {
+            UserAssetVO vo = new UserAssetVO();
+            BeanUtils.copyProperties(userAsset, vo);
+            String[] info = infoByType.getOrDefault(userAsset.getAssetType(), Map.of()).get(userAsset.getAssetId());
+            vo.setAssetName(info != null && info[0] != null ? info[0] : "");
+            vo.setAssetDescription(info != null && info[1] != null ? info[1] : "");
+            vos.add(vo);
+        }
+        return vos;
+    }
+
+    /**
+     * 查询用户余额记录
+     */
+    private List<UserBalanceVO> loadBalances(Long userId) {
+        LambdaQueryWrapper<UserBalance> queryWrapper = new LambdaQueryWrapper<UserBalance>()
+                .eq(UserBalance::getUserId, userId)
+                .orderByDesc(UserBalance::getUpdatedAt);
         
+        return userBalanceMapper.selectList(queryWrapper).stream()
+                .map(this::convertToUserBalanceVO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 覆盖为链上实时余额（ETH 和 平台代币）；读取失败时保留本地缓存余额
+     */
+    private void applyChainBalances(Long userId, List<UserBalanceVO> vos,
+                                    CompletableFuture<Map<String, BigDecimal>> chainBalances) {
         try {
-            switch (userAsset.getAssetType()) {
-                case GAME:
-                    Game game = gameMapper.selectById(userAsset.getAssetId());
-                    if (game != null) {
-                        assetName = game.getTitle();
-                        assetDescription = game.getDescription();
-                    }
-                    break;
-                case AGENT:
-                    Agent agent = agentMapper.selectById(userAsset.getAssetId());
-                    if (agent != null) {
-                        assetName = agent.getName();
-                        assetDescription = agent.getDescription();
-                    }
-                    break;
-                case GAME_ITEM:
-                    GameItem item = gameItemMapper.selectById(userAsset.getAssetId());
-                    if (item != null) {
-                        assetName = item.getItemName();
-                        assetDescription = item.getItemType();
-                    }
-                    break;
+            Map<String, BigDecimal> balances = chainBalances.orTimeout(chainBalanceTimeoutMs, TimeUnit.MILLISECONDS).join();
+            for (UserBalanceVO vo : vos) {
+                BigDecimal chainBalance = vo.getTokenType() != null
+                        ? balances.get(vo.getTokenType().toUpperCase()) : null;
+                if (chainBalance != null) {
+                    vo.setBalance(chainBalance);
+                }
             }
         } catch (Exception e) {
-            log.warn("获取资产信息失败，资产类型: {}, 资产ID: {}, 错误: {}", 
-                    userAsset.getAssetType(), userAsset.getAssetId(), e.getMessage());
+            log.warn("获取链上实时余额失败，使用本地缓存余额，用户ID: {}, 错误: {}", userId, e.getMessage());
         }
-        
-        vo.setAssetName(assetName);
-        vo.setAssetDescription(assetDescription);
-        
-        return vo;
     }
-    
+
+    /**
+     * 异步读取钱包的链上余额（ETH 和 平台代币），两项合并为一次批量读取；代币精度永久缓存。
+     * 返回代币类型到余额的映射，读取失败的项不在结果中
+     */
+    private CompletableFuture<Map<String, BigDecimal>> readChainBalancesAsync(String walletAddress) {
+        if (walletAddress == null || walletAddress.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        String tokenAddress = contractConfigService.getContractAddress("platform-token");
+        boolean withToken = tokenAddress != null && !tokenAddress.isEmpty();
+
+        List<ReadCall> calls = new ArrayList<>(2);
+        calls.add(ReadCall.ethBalance(walletAddress));
+        if (withToken) {
+            calls.add(ReadCall.balanceOf(tokenAddress, walletAddress));
+        }
+        return bulkReadService.readAsync(calls).thenApply(values -> {
+            Map<String, BigDecimal> balances = new HashMap<>();
+            if (values.get(0) instanceof BigInteger wei) {
+                balances.put("ETH", Convert.fromWei(new BigDecimal(wei), Convert.Unit.ETHER));
+            }
+            if (withToken && values.get(1) instanceof BigInteger raw) {
+                BigInteger decimals = platformTokenService.getDecimals();
+                balances.put("PLATFORM_TOKEN", new BigDecimal(raw)
+                        .divide(new BigDecimal(BigInteger.TEN.pow(decimals.intValue())), 6, RoundingMode.DOWN));
+            }
+            return balances;
+        });
+    }
+
     /**
      * 转换为UserBalanceVO
      */
@@ -11,12 +11,14 @@ import com.decentralized.gaming.platform.entity.UserAsset;
 import com.decentralized.gaming.platform.mapper.MarketplaceItemMapper;
 import com.decentralized.gaming.platform.mapper.TransactionMapper;
 import com.decentralized.gaming.platform.mapper.UserAssetMapper;
+import com.decentralized.gaming.platform.service.AssetService.AssetChangedEvent;
 import com.decentralized.gaming.platform.service.MarketplaceAppService;
 import com.decentralized.gaming.platform.vo.MarketplaceItemVO;
 import com.decentralized.gaming.platform.vo.TransactionVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,6 +33,7 @@ public class MarketplaceAppServiceImpl implements MarketplaceAppService {
     private final MarketplaceItemMapper marketplaceItemMapper;
     private final TransactionMapper transactionMapper;
     private final UserAssetMapper userAssetMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public PageResult<MarketplaceItemVO> getMarketplaceItems(String itemType, int page, int size) {
@@ -92,6 +95,7 @@ public class MarketplaceAppServiceImpl implements MarketplaceAppService {
         // 上架后将资产标记为不可交易，避免同时在别处转移
         owned.setIsTradeable(false);
         userAssetMapper.updateById(owned);
+        eventPublisher.publishEvent(new AssetChangedEvent(sellerId));
 
         return toVO(item);
     }
@@ -207,6 +211,9 @@ public class MarketplaceAppServiceImpl implements MarketplaceAppService {
         ua.setAcquisitionType(UserAsset.AcquisitionType.PURCHASED);
         ua.setIsTradeable(true);
         userAssetMapper.insert(ua);
+
+        eventPublisher.publishEvent(new AssetChangedEvent(item.getSellerId()));
+        eventPublisher.publishEvent(new AssetChangedEvent(buyerId));
     }
 
     private MarketplaceItemVO toVO(MarketplaceItem item) {
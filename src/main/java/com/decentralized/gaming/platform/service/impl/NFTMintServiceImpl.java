@@ -3,6 +3,8 @@ package com.decentralized.gaming.platform.service.impl;
 import com.decentralized.gaming.platform.dto.AgentMintRequest;
 import com.decentralized.gaming.platform.dto.GameMintRequest;
 import com.decentralized.gaming.platform.dto.NFTMintResponse;
+import com.decentralized.gaming.platform.mapper.AgentMapper;
+import com.decentralized.gaming.platform.mapper.GameMapper;
 import com.decentralized.gaming.platform.service.NFTMetadataService;
 import com.decentralized.gaming.platform.service.NFTMintService;
 import com.decentralized.gaming.platform.service.blockchain.AgentNFTService;
@@ -35,6 +37,12 @@ public class NFTMintServiceImpl implements NFTMintService {
     @Autowired
     private NFTMetadataService metadataService;
 
+    @Autowired
+    private GameMapper gameMapper;
+
+    @Autowired
+    private AgentMapper agentMapper;
+
     @Override
     public NFTMintResponse mintAgentNFT(AgentMintRequest request) {
         try {
@@ -61,6 +69,7 @@ public class NFTMintServiceImpl implements NFTMintService {
             
             // 4. 提取Token ID
             BigInteger tokenId = extractTokenIdFromReceipt(receipt);
+            bindAgentToken(request.getAgentId(), receipt, tokenId);
             
             log.info("智能体NFT铸造成功，Token ID: {}, 交易哈希: {}", tokenId, receipt.getTransactionHash());
             
@@ -104,6 +113,7 @@ public class NFTMintServiceImpl implements NFTMintService {
             
             // 4. 提取Token ID
             BigInteger tokenId = extractTokenIdFromReceipt(receipt);
+            bindGameToken(request.getGameId(), receipt, tokenId);
             
             log.info("游戏NFT铸造成功，Token ID: {}, 交易哈希: {}", tokenId, receipt.getTransactionHash());
             
@@ -162,6 +172,7 @@ public class NFTMintServiceImpl implements NFTMintService {
             
             // 4. 提取Token ID
             BigInteger tokenId = extractTokenIdFromReceipt(receipt);
+            bindAgentToken(request.getAgentId(), receipt, tokenId);
             
             log.info("管理员铸造智能体NFT成功，Token ID: {}, 接收者: {}", tokenId, to);
             
@@ -204,6 +215,7 @@ public class NFTMintServiceImpl implements NFTMintService {
             
             // 4. 提取Token ID
             BigInteger tokenId = extractTokenIdFromReceipt(receipt);
+            bindGameToken(request.getGameId(), receipt, tokenId);
             
             log.info("管理员铸造游戏NFT成功，Token ID: {}, 接收者: {}", tokenId, to);
             
@@ -295,6 +307,24 @@ public class NFTMintServiceImpl implements NFTMintService {
         }
     }
 
+    /**
+     * 记录游戏对应的NFT，事件投影据此把链上转移映射到该游戏
+     */
+    private void bindGameToken(Long gameId, TransactionReceipt receipt, BigInteger tokenId) {
+        if (gameId != null && tokenId != null && receipt.getTo() != null) {
+            gameMapper.bindNftToken(gameId, receipt.getTo().toLowerCase(), tokenId.toString());
+        }
+    }
+
+    /**
+     * 记录智能体对应的NFT，事件投影据此把链上转移映射到该智能体
+     */
+    private void bindAgentToken(Long agentId, TransactionReceipt receipt, BigInteger tokenId) {
+        if (agentId != null && tokenId != null && receipt.getTo() != null) {
+            agentMapper.bindNftToken(agentId, receipt.getTo().toLowerCase(), tokenId.toString());
+        }
+    }
+
     /**
      * 从交易收据中提取Token ID
      */
@@ -10,11 +10,13 @@ import com.decentralized.gaming.platform.entity.RechargeRecord;
 import com.decentralized.gaming.platform.entity.UserBalance;
 import com.decentralized.gaming.platform.mapper.RechargeRecordMapper;
 import com.decentralized.gaming.platform.mapper.UserBalanceMapper;
+import com.decentralized.gaming.platform.service.AssetService.AssetChangedEvent;
 import com.decentralized.gaming.platform.service.PaymentService;
 import com.decentralized.gaming.platform.vo.RechargeRecordVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +32,7 @@ public class PaymentServiceImpl implements PaymentService {
 
     private final RechargeRecordMapper rechargeRecordMapper;
     private final UserBalanceMapper userBalanceMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -74,6 +77,7 @@ public class PaymentServiceImpl implements PaymentService {
         }
         balance.setBalance(balance.getBalance().add(record.getAmount()));
         userBalanceMapper.updateById(balance);
+        eventPublisher.publishEvent(new AssetChangedEvent(record.getUserId()));
         return true;
     }
 
@@ -2,6 +2,8 @@ package com.decentralized.gaming.platform.vo;
 
 import lombok.Data;
 
+import java.util.Map;
+
 /**
  * 智能体统计信息视图对象
  *
@@ -29,6 +31,11 @@ public class AgentStatistics {
      * 总使用次数
      */
     private long totalUsageCount;
+
+    /**
+     * 各类型活跃智能体数
+     */
+    private Map<String, Long> activeAgentsByType;
     
     public AgentStatistics() {}
     
@@ -0,0 +1,23 @@
+-- 智能体统计计数器：统计接口直接读取计数，不再扫描 agents 全表
+CREATE TABLE IF NOT EXISTS agent_statistics (
+    stat_key VARCHAR(100) PRIMARY KEY COMMENT '计数器名称: total / active / usage / active_type:<类型>',
+    stat_value BIGINT NOT NULL DEFAULT 0 COMMENT '计数值',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='智能体统计计数表';
+
+-- 以现有数据初始化计数器，之后由服务增量维护并定期对账
+INSERT INTO agent_statistics (stat_key, stat_value)
+SELECT 'total', COUNT(*) FROM agents
+ON DUPLICATE KEY UPDATE stat_value = VALUES(stat_value);
+
+INSERT INTO agent_statistics (stat_key, stat_value)
+SELECT 'active', COUNT(*) FROM agents WHERE status = 'ACTIVE'
+ON DUPLICATE KEY UPDATE stat_value = VALUES(stat_value);
+
+INSERT INTO agent_statistics (stat_key, stat_value)
+SELECT 'usage', COALESCE(SUM(usage_count), 0) FROM agents
+ON DUPLICATE KEY UPDATE stat_value = VALUES(stat_value);
+
+INSERT INTO agent_statistics (stat_key, stat_value)
+SELECT CONCAT('active_type:', agent_type), COUNT(*) FROM agents WHERE status = 'ACTIVE' GROUP BY agent_type
+ON DUPLICATE KEY UPDATE stat_value = VALUES(stat_value);
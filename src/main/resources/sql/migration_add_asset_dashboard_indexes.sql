@@ -0,0 +1,5 @@
+-- 资产面板按用户分组统计时只扫描覆盖索引，不回表
+ALTER TABLE user_assets ADD INDEX idx_user_type_tradeable (user_id, asset_type, is_tradeable);
+
+-- 最近获得的资产按 created_at 倒序取前几条，避免对用户全部资产排序
+ALTER TABLE user_assets ADD INDEX idx_user_created (user_id, created_at);
@@ -0,0 +1,3 @@
+-- 已广播交易的nonce：恢复时以主节点的已上链nonce判断交易是否已被（替换交易）占用，避免重复发送
+ALTER TABLE batch_operation_items
+    ADD COLUMN tx_nonce BIGINT NULL COMMENT '已广播交易的nonce' AFTER tx_hash;
@@ -0,0 +1,24 @@
+-- 批量操作工作项：每条转账/授权一行，由任务引擎用 SELECT ... FOR UPDATE SKIP LOCKED 领取
+CREATE TABLE IF NOT EXISTS batch_operation_items (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '工作项ID',
+    batch_id VARCHAR(64) NOT NULL COMMENT '批量操作ID',
+    item_index INT NOT NULL COMMENT '在批量操作中的序号',
+    operation_type VARCHAR(50) NOT NULL COMMENT '操作类型',
+    payload TEXT NOT NULL COMMENT '操作参数（JSON格式）',
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' COMMENT '状态：PENDING, RUNNING, SUCCEEDED, FAILED, CANCELLED',
+    attempts INT NOT NULL DEFAULT 0 COMMENT '已执行次数',
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '最早可执行时间',
+    locked_by VARCHAR(64) NULL COMMENT '领取的实例',
+    locked_until TIMESTAMP NULL COMMENT '租约到期时间，过期后可被重新领取',
+    tx_hash VARCHAR(66) NULL COMMENT '已广播的交易哈希，恢复时先查收据再决定是否重发',
+    error_message TEXT NULL COMMENT '错误信息',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    UNIQUE KEY uk_batch_item (batch_id, item_index),
+    INDEX idx_claim (operation_type, status, next_attempt_at),
+    INDEX idx_lease (status, locked_until)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='批量操作工作项表';
+
+-- 加密保存的签名私钥，服务重启后用于继续执行未完成的批量操作
+ALTER TABLE batch_operations
+    ADD COLUMN signer_secret TEXT NULL COMMENT '加密的签名私钥' AFTER operation_details;
@@ -0,0 +1,21 @@
+-- 创建链上事件日志表
+CREATE TABLE IF NOT EXISTS chain_events (
+    block_number BIGINT NOT NULL COMMENT '区块号',
+    log_index INT NOT NULL COMMENT '区块内日志序号',
+    block_hash VARCHAR(66) NOT NULL COMMENT '区块哈希',
+    tx_hash VARCHAR(66) NOT NULL COMMENT '交易哈希',
+    tx_index INT NULL COMMENT '区块内交易序号',
+    contract_address VARCHAR(42) NOT NULL COMMENT '合约地址(小写)',
+    topic0 VARCHAR(66) NULL COMMENT '事件签名哈希',
+    topic1 VARCHAR(66) NULL COMMENT '第一个索引参数(小写)',
+    topic2 VARCHAR(66) NULL COMMENT '第二个索引参数(小写)',
+    topic3 VARCHAR(66) NULL COMMENT '第三个索引参数(小写)',
+    data MEDIUMTEXT NULL COMMENT '非索引参数数据',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '写入时间',
+    PRIMARY KEY (block_number, log_index),
+    INDEX idx_contract_topic_block (contract_address, topic0, block_number),
+    INDEX idx_topic0_block (topic0, block_number),
+    INDEX idx_topic1_block (topic1, block_number, log_index),
+    INDEX idx_topic2_block (topic2, block_number, log_index),
+    INDEX idx_tx_hash (tx_hash)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='链上事件日志表';
@@ -0,0 +1,38 @@
+-- 创建链上区块索引表
+CREATE TABLE IF NOT EXISTS chain_blocks (
+    block_number BIGINT PRIMARY KEY COMMENT '区块号',
+    block_hash VARCHAR(66) NOT NULL COMMENT '区块哈希',
+    parent_hash VARCHAR(66) NOT NULL COMMENT '父区块哈希',
+    block_timestamp BIGINT NOT NULL COMMENT '区块时间戳(秒)',
+    tx_count INT DEFAULT 0 COMMENT '交易数量',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '索引时间',
+    INDEX idx_block_hash (block_hash)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='链上区块索引表';
+
+-- 创建链上交易索引表
+CREATE TABLE IF NOT EXISTS chain_transactions (
+    tx_hash VARCHAR(66) PRIMARY KEY COMMENT '交易哈希',
+    block_number BIGINT NOT NULL COMMENT '区块号',
+    block_hash VARCHAR(66) NOT NULL COMMENT '区块哈希',
+    tx_index INT NOT NULL COMMENT '区块内交易序号',
+    from_address VARCHAR(42) NOT NULL COMMENT '发送方地址(小写)',
+    to_address VARCHAR(42) NULL COMMENT '接收方地址(小写)，合约创建时为空',
+    contract_address VARCHAR(42) NULL COMMENT '新建合约地址(小写)',
+    value DECIMAL(65,0) DEFAULT 0 COMMENT '转账金额(wei)',
+    gas BIGINT NULL COMMENT 'Gas上限',
+    gas_price DECIMAL(65,0) NULL COMMENT 'Gas价格(wei)',
+    nonce BIGINT NULL COMMENT '发送方nonce',
+    method_id VARCHAR(10) NULL COMMENT '调用方法选择器',
+    block_timestamp BIGINT NOT NULL COMMENT '区块时间戳(秒)',
+    INDEX idx_from_to_block (from_address, to_address, block_number),
+    INDEX idx_to_block (to_address, block_number),
+    INDEX idx_block_number (block_number)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='链上交易索引表';
+
+-- 创建同步检查点表
+CREATE TABLE IF NOT EXISTS sync_checkpoints (
+    name VARCHAR(64) PRIMARY KEY COMMENT '检查点名称',
+    block_number BIGINT NOT NULL COMMENT '已处理的最高区块号',
+    block_hash VARCHAR(66) NULL COMMENT '已处理的最高区块哈希',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='同步检查点表';
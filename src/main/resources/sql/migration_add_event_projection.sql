@@ -0,0 +1,29 @@
+-- 创建NFT所有权投影表（由链上Transfer事件维护）
+CREATE TABLE IF NOT EXISTS nft_ownership (
+    contract_address VARCHAR(42) NOT NULL COMMENT 'NFT合约地址(小写)',
+    token_id VARCHAR(78) NOT NULL COMMENT 'NFT Token ID',
+    owner_address VARCHAR(42) NOT NULL COMMENT '持有者地址(小写)',
+    block_number BIGINT NOT NULL COMMENT '最后一次转移所在区块',
+    log_index INT NOT NULL COMMENT '最后一次转移的日志序号',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (contract_address, token_id),
+    INDEX idx_owner_contract (owner_address, contract_address)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='NFT所有权投影表';
+
+-- 用户资产按 (合约地址, Token ID) 唯一，便于事件投影幂等写入（链下资产两列为空，不受约束）
+-- 先清理同一Token的重复记录（保留最新一条），否则唯一键无法创建
+DELETE older FROM user_assets older
+    JOIN user_assets newer
+      ON newer.contract_address = older.contract_address
+     AND newer.token_id = older.token_id
+     AND newer.id > older.id;
+
+ALTER TABLE user_assets ADD UNIQUE KEY uk_contract_token (contract_address, token_id);
+
+-- 市场商品关联链上挂单ID
+ALTER TABLE marketplace_items
+    ADD COLUMN listing_id BIGINT NULL COMMENT '链上挂单ID' AFTER id,
+    ADD UNIQUE KEY uk_listing_id (listing_id);
+
+-- 同一交易哈希对同一商品只记录一次成交
+ALTER TABLE transactions ADD UNIQUE KEY uk_tx_hash_item (tx_hash, marketplace_item_id);
@@ -0,0 +1,8 @@
+-- 游戏与智能体关联链上NFT：事件投影按 (合约地址, Token ID) 解析 user_assets.asset_id 与 marketplace_items.item_id
+ALTER TABLE games
+    ADD COLUMN nft_token_id VARCHAR(78) NULL COMMENT '链上NFT Token ID' AFTER contract_address,
+    ADD UNIQUE KEY uk_contract_nft_token (contract_address, nft_token_id);
+
+ALTER TABLE agents
+    ADD COLUMN nft_token_id VARCHAR(78) NULL COMMENT '链上NFT Token ID' AFTER contract_address,
+    ADD UNIQUE KEY uk_contract_nft_token (contract_address, nft_token_id);
@@ -0,0 +1,7 @@
+-- 事件订阅投递位置：暂停、恢复或服务重启后从该位置继续投递
+ALTER TABLE event_subscriptions
+    ADD COLUMN delivered_block BIGINT NULL COMMENT '已投递到的区块号' AFTER event_count,
+    ADD COLUMN delivered_log_index INT NULL COMMENT '已投递到的日志序号' AFTER delivered_block;
+
+-- 按 (合约地址, 事件签名) 加载活跃订阅
+ALTER TABLE event_subscriptions ADD INDEX idx_status_contract_signature (status, contract_address, event_signature);
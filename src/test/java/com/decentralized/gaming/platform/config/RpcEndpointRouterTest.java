@@ -0,0 +1,229 @@
+package com.decentralized.gaming.platform.config;
+
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.protocol.Web3j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 多节点RPC路由测试
+ * 两个本地JSON-RPC桩服务分别模拟主节点与只读节点，验证按延迟选路、对冲读取、写请求固定主节点以及剔除与探测恢复
+ *
+ * @author DecentralizedGamingPlatform
+ */
+class RpcEndpointRouterTest {
+
+    private static final long PRIMARY_BLOCK = 100;
+    private static final long SECONDARY_BLOCK = 200;
+
+    private StubNode primary;
+    private StubNode secondary;
+    private RpcEndpointRouter router;
+    private Web3j web3j;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        primary = new StubNode(PRIMARY_BLOCK);
+        secondary = new StubNode(SECONDARY_BLOCK);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (router != null) {
+            router.close();
+        }
+        primary.stop();
+        secondary.stop();
+    }
+
+    @Test
+    void testReadsPreferFasterEndpoint() throws Exception {
+        primary.delayMs = 30;
+        BlockchainConfig.Router settings = settings();
+        settings.setHedgeEnabled(false);
+        start(settings);
+
+        for (int i = 0; i < 20; i++) {
+            web3j.ethBlockNumber().send();
+        }
+
+        assertTrue(secondary.count("eth_blockNumber") >= 15,
+            "读请求应主要发往延迟更低的节点, secondary=" + secondary.count("eth_blockNumber"));
+    }
+
+    @Test
+    void testSlowReadIsHedgedToSecondEndpoint() throws Exception {
+        primary.delayMs = 2_000;
+        start(settings());
+
+        long start = System.currentTimeMillis();
+        BigInteger blockNumber = web3j.ethBlockNumber().send().getBlockNumber();
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertEquals(BigInteger.valueOf(SECONDARY_BLOCK), blockNumber, "对冲请求应由次优节点返回");
+        assertTrue(elapsed < 1_000, "对冲读取不应等待慢节点, 耗时=" + elapsed + "ms");
+        assertEquals(1, primary.count("eth_blockNumber"));
+        assertEquals(1, secondary.count("eth_blockNumber"));
+    }
+
+    @Test
+    void testWritesArePinnedToPrimary() throws Exception {
+        primary.delayMs = 30;
+        start(settings());
+
+        // 先让只读节点得分更优
+        for (int i = 0; i < 5; i++) {
+            web3j.ethBlockNumber().send();
+        }
+        for (int i = 0; i < 5; i++) {
+            String txHash = web3j.ethSendRawTransaction("0x01").send().getTransactionHash();
+            assertNotNull(txHash);
+        }
+
+        assertEquals(5, primary.count("eth_sendRawTransaction"));
+        assertEquals(0, secondary.count("eth_sendRawTransaction"));
+    }
+
+    @Test
+    void testFailingEndpointIsEjectedAndProbedBack() throws Exception {
+        primary.failing = true;
+        // 只读节点稍慢，主节点得分在剔除前仍然更优
+        secondary.delayMs = 20;
+        BlockchainConfig.Router settings = settings();
+        settings.setHedgeEnabled(false);
+        settings.setEjectAfterFailures(2);
+        settings.setProbeIntervalMs(100);
+        start(settings);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(BigInteger.valueOf(SECONDARY_BLOCK), web3j.ethBlockNumber().send().getBlockNumber(),
+                "主节点失败时读请求应切换到其余节点");
+        }
+        assertEquals("EJECTED", state(0).get("state"));
+
+        primary.failing = false;
+        assertTrue(waitUntil(() -> "HEALTHY".equals(state(0).get("state")), 5_000), "主节点恢复后应被探测重新加入");
+    }
+
+    private BlockchainConfig.Router settings() {
+        BlockchainConfig.Router settings = new BlockchainConfig.Router();
+        settings.setHedgeMinDelayMs(50);
+        settings.setHedgeMaxDelayMs(200);
+        settings.setRequestTimeoutMs(5_000);
+        settings.setProbeIntervalMs(60_000);
+        return settings;
+    }
+
+    private void start(BlockchainConfig.Router settings) {
+        router = new RpcEndpointRouter(primary.url(), List.of(secondary.url()), new OkHttpClient(), settings);
+        web3j = Web3j.build(router);
+    }
+
+    private Map<String, Object> state(int index) {
+        return router.getEndpointStates().get(index);
+    }
+
+    private static boolean waitUntil(BooleanSupplier condition, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return condition.getAsBoolean();
+    }
+
+    /**
+     * 本地JSON-RPC桩节点：可设置响应延迟或返回HTTP 500，按方法名统计收到的请求
+     */
+    private static final class StubNode {
+        private static final Pattern METHOD_PATTERN = Pattern.compile("\"method\"\\s*:\\s*\"([^\"]+)\"");
+        private static final Pattern ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+        private final HttpServer server;
+        private final ExecutorService executor = Executors.newCachedThreadPool();
+        private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+        private final long blockNumber;
+        private volatile long delayMs;
+        private volatile boolean failing;
+
+        private StubNode(long blockNumber) throws IOException {
+            this.blockNumber = blockNumber;
+            this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/", exchange -> {
+                String body;
+                try (InputStream in = exchange.getRequestBody()) {
+                    body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                }
+                String method = find(METHOD_PATTERN, body, "unknown");
+                String id = find(ID_PATTERN, body, "1");
+                counts.computeIfAbsent(method, k -> new AtomicInteger()).incrementAndGet();
+                try {
+                    if (delayMs > 0) {
+                        Thread.sleep(delayMs);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (failing) {
+                    exchange.sendResponseHeaders(500, -1);
+                    exchange.close();
+                    return;
+                }
+                String result = switch (method) {
+                    case "eth_sendRawTransaction" -> "\"0x" + "ab".repeat(32) + "\"";
+                    default -> "\"0x" + Long.toHexString(this.blockNumber) + "\"";
+                };
+                byte[] response = ("{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"result\":" + result + "}")
+                    .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            });
+            server.setExecutor(executor);
+            server.start();
+        }
+
+        private String url() {
+            return "http://127.0.0.1:" + server.getAddress().getPort();
+        }
+
+        private int count(String method) {
+            AtomicInteger count = counts.get(method);
+            return count != null ? count.get() : 0;
+        }
+
+        private void stop() {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+
+        private static String find(Pattern pattern, String body, String defaultValue) {
+            Matcher matcher = pattern.matcher(body);
+            return matcher.find() ? matcher.group(1) : defaultValue;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.decentralized.gaming.platform.controller.blockchain;
+
+import com.decentralized.gaming.platform.common.Result;
+import com.decentralized.gaming.platform.service.blockchain.BlockFetchService;
+import com.decentralized.gaming.platform.service.blockchain.BlockchainService;
+import com.decentralized.gaming.platform.service.blockchain.impl.TransactionMonitoringServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 等待交易确认接口负载测试
+ * 5000个并发等待请求挂在同一个新区块驱动的监控任务上，验证线程数不随等待数增长，出块后全部完成
+ *
+ * @author DecentralizedGamingPlatform
+ */
+class TransactionWaitConfirmationLoadTest {
+
+    private static final int WAITERS = 5_000;
+    private static final int CALLBACK_THREADS = 4;
+
+    private final AtomicLong head = new AtomicLong(100);
+    private final SimulatedChain chain = new SimulatedChain();
+
+    private TransactionMonitoringServiceImpl monitoringService;
+    private TransactionStatusController controller;
+
+    @BeforeEach
+    void setUp() {
+        BlockchainService blockchainService = mock(BlockchainService.class);
+        when(blockchainService.getCurrentBlockNumber()).thenAnswer(invocation -> BigInteger.valueOf(head.get()));
+
+        monitoringService = new TransactionMonitoringServiceImpl();
+        ReflectionTestUtils.setField(monitoringService, "blockchainService", blockchainService);
+        ReflectionTestUtils.setField(monitoringService, "blockFetchService", chain);
+        ReflectionTestUtils.setField(monitoringService, "pollIntervalMs", 20L);
+        ReflectionTestUtils.setField(monitoringService, "defaultConfirmations", 1);
+        ReflectionTestUtils.setField(monitoringService, "timeoutSeconds", 300L);
+        ReflectionTestUtils.setField(monitoringService, "maxScanBlocks", 64);
+        ReflectionTestUtils.setField(monitoringService, "callbackThreads", CALLBACK_THREADS);
+        monitoringService.init();
+
+        controller = new TransactionStatusController();
+        ReflectionTestUtils.setField(controller, "transactionMonitoringService", monitoringService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitoringService.shutdown();
+    }
+
+    @Test
+    void testFiveThousandWaitersHoldNoThreads() throws InterruptedException {
+        int threadsBefore = Thread.activeCount();
+
+        List<DeferredResult<Result<Object>>> results = new ArrayList<>(WAITERS);
+        for (int i = 0; i < WAITERS; i++) {
+            results.add(controller.waitForTransactionConfirmation(txHash(i), 3, 300));
+        }
+        // 等待若干个跟踪周期，交易尚未上链，所有请求都应挂起
+        Thread.sleep(200);
+        int threadsWaiting = Thread.activeCount();
+        assertTrue(threadsWaiting - threadsBefore <= CALLBACK_THREADS + 1, "等待中的请求不应占用线程");
+        assertTrue(results.stream().noneMatch(DeferredResult::hasResult), "交易未上链时不应返回结果");
+
+        // 所有交易打包进区块101，再出两个块达到3个确认
+        List<String> minedHashes = new ArrayList<>(WAITERS);
+        for (int i = 0; i < WAITERS; i++) {
+            minedHashes.add(txHash(i));
+        }
+        chain.mine(101, minedHashes);
+        head.set(101);
+        Thread.sleep(100);
+        assertTrue(results.stream().noneMatch(DeferredResult::hasResult), "确认数不足时不应返回结果");
+        head.set(103);
+
+        awaitCondition(() -> results.stream().allMatch(DeferredResult::hasResult), "等待请求未全部完成");
+        assertTrue(Thread.activeCount() - threadsBefore <= CALLBACK_THREADS + 1, "完成通知不应额外创建线程");
+
+        for (DeferredResult<Result<Object>> deferredResult : results) {
+            @SuppressWarnings("unchecked")
+            Result<Object> result = (Result<Object>) deferredResult.getResult();
+            @SuppressWarnings("unchecked")
+            Map<String, Object> data = (Map<String, Object>) result.getData();
+            assertEquals(true, data.get("isConfirmed"));
+            assertEquals(3L, data.get("confirmations"));
+            assertEquals(101L, data.get("blockNumber"));
+        }
+        assertEquals(0, monitoringService.getAllMonitoringStatus().size());
+    }
+
+    @Test
+    void testWaiterTimesOutWithoutReceipt() throws InterruptedException {
+        DeferredResult<Result<Object>> deferredResult = controller.waitForTransactionConfirmation(txHash(1), 1, 1);
+
+        awaitCondition(deferredResult::hasResult, "等待请求未超时");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> data = (Map<String, Object>) ((Result<Object>) deferredResult.getResult()).getData();
+        assertEquals(false, data.get("isConfirmed"));
+        assertEquals("TIMEOUT", data.get("monitoringStatus"));
+    }
+
+    private static String txHash(int index) {
+        return String.format("0x%064x", index + 1);
+    }
+
+    private static void awaitCondition(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail(message);
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * 内存链：记录区块包含的交易哈希，按哈希返回收据
+     */
+    private static final class SimulatedChain implements BlockFetchService {
+        private final Map<Long, List<String>> blocks = new ConcurrentHashMap<>();
+        private final Map<String, TransactionReceipt> receipts = new ConcurrentHashMap<>();
+
+        private void mine(long blockNumber, List<String> txHashes) {
+            for (String txHash : txHashes) {
+                TransactionReceipt receipt = new TransactionReceipt();
+                receipt.setTransactionHash(txHash);
+                receipt.setBlockNumber("0x" + Long.toHexString(blockNumber));
+                receipt.setBlockHash(String.format("0x%064x", blockNumber));
+                receipt.setStatus("0x1");
+                receipts.put(txHash, receipt);
+            }
+            blocks.put(blockNumber, txHashes);
+        }
+
+        @Override
+        public void fetchBlocks(long fromBlock, long toBlock, boolean fullTransactions, Predicate<EthBlock.Block> handler) {
+            fetchBlocks(fromBlock, toBlock, fullTransactions, getDefaultWindow(), handler);
+        }
+
+        @Override
+        public void fetchBlocks(long fromBlock, long toBlock, boolean fullTransactions, int window,
+                                Predicate<EthBlock.Block> handler) {
+            for (long number = fromBlock; number <= toBlock; number++) {
+                List<EthBlock.TransactionResult> transactions = new ArrayList<>();
+                for (String txHash : blocks.getOrDefault(number, List.of())) {
+                    transactions.add(new EthBlock.TransactionHash(txHash));
+                }
+                EthBlock.Block block = new EthBlock.Block();
+                block.setNumber("0x" + Long.toHexString(number));
+                block.setHash(String.format("0x%064x", number));
+                block.setTransactions(transactions);
+                if (!handler.test(block)) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public List<TransactionReceipt> fetchReceipts(List<String> txHashes) {
+            return fetchReceipts(txHashes, getDefaultWindow());
+        }
+
+        @Override
+        public List<TransactionReceipt> fetchReceipts(List<String> txHashes, int batchSize) {
+            List<TransactionReceipt> result = new ArrayList<>(txHashes.size());
+            for (String txHash : txHashes) {
+                result.add(receipts.get(txHash));
+            }
+            return result;
+        }
+
+        @Override
+        public int getDefaultWindow() {
+            return 16;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.decentralized.gaming.platform.service.blockchain;
+
+import com.decentralized.gaming.platform.service.blockchain.impl.BlockFetchServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.http.HttpService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 区块拉取流水线基准测试
+ * 使用本地桩JSON-RPC节点（每个HTTP请求固定延迟）统计不同在途窗口下的吞吐量（区块/秒）与节点实际收到的并发请求数
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+class BlockFetchServiceBenchmarkTest {
+
+    private static final int BLOCK_COUNT = 2000;
+    private static final int BATCH_SIZE = 10;
+    private static final long NODE_LATENCY_MS = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HttpServer server;
+    private Web3j web3j;
+    private BlockFetchServiceImpl blockFetchService;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handleRpc);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        web3j = Web3j.build(new HttpService("http://127.0.0.1:" + server.getAddress().getPort()));
+        blockFetchService = new BlockFetchServiceImpl();
+        ReflectionTestUtils.setField(blockFetchService, "web3j", web3j);
+        ReflectionTestUtils.setField(blockFetchService, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(blockFetchService, "defaultWindow", 8);
+        ReflectionTestUtils.setField(blockFetchService, "maxWindow", 128);
+        ReflectionTestUtils.setField(blockFetchService, "timeoutSeconds", 30L);
+        blockFetchService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockFetchService.destroy();
+        web3j.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void testThroughputAndInFlightRequestsByWindow() {
+        Map<Integer, Double> blocksPerSecond = new HashMap<>();
+        for (int window : new int[]{1, 8, 32, 128}) {
+            peakInFlight.set(0);
+            requestCount.set(0);
+            AtomicLong expected = new AtomicLong(0);
+            long start = System.nanoTime();
+            blockFetchService.fetchBlocks(0, BLOCK_COUNT - 1, false, window, block -> {
+                // 结果必须按区块顺序回调
+                assertEquals(expected.getAndIncrement(), block.getNumber().longValue());
+                return true;
+            });
+            double rate = BLOCK_COUNT / ((System.nanoTime() - start) / 1_000_000_000.0);
+            blocksPerSecond.put(window, rate);
+            log.info("窗口: {}, 吞吐量: {} 区块/秒, 峰值在途请求: {}", window, String.format("%.0f", rate), peakInFlight.get());
+            assertEquals(BLOCK_COUNT, expected.get());
+            assertEquals(BLOCK_COUNT / BATCH_SIZE, requestCount.get(), "每批区块只应发送一个批量请求");
+            assertTrue(peakInFlight.get() <= window, "在途请求数不应超过窗口");
+            if (window == 1) {
+                assertEquals(1, peakInFlight.get());
+            } else {
+                assertTrue(peakInFlight.get() > 1, "窗口大于1时应并发发送请求");
+            }
+        }
+        // 桩节点每个请求固定延迟，只断言粗粒度的顺序，避免CI环境波动
+        assertTrue(blocksPerSecond.get(32) > blocksPerSecond.get(1), "窗口32的吞吐量应高于窗口1");
+    }
+
+    @Test
+    void testStopsWhenHandlerReturnsFalse() {
+        AtomicLong handled = new AtomicLong(0);
+        blockFetchService.fetchBlocks(0, BLOCK_COUNT - 1, false, 32, block -> handled.incrementAndGet() < 25);
+        assertEquals(25, handled.get());
+    }
+
+    /**
+     * 桩节点：支持单个或批量 eth_getBlockByNumber 请求
+     */
+    private void handleRpc(HttpExchange exchange) throws IOException {
+        JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        requestCount.incrementAndGet();
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(NODE_LATENCY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+
+        JsonNode response;
+        if (request.isArray()) {
+            ArrayNode responses = objectMapper.createArrayNode();
+            request.forEach(item -> responses.add(blockResponse(item)));
+            response = responses;
+        } else {
+            response = blockResponse(request);
+        }
+
+        byte[] body = objectMapper.writeValueAsBytes(response);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private ObjectNode blockResponse(JsonNode request) {
+        long number = new BigInteger(request.get("params").get(0).asText().substring(2), 16).longValue();
+        ObjectNode block = objectMapper.createObjectNode();
+        block.put("number", "0x" + Long.toHexString(number));
+        block.put("hash", String.format("0x%064x", number + 1));
+        block.put("parentHash", String.format("0x%064x", number));
+        block.put("timestamp", "0x" + Long.toHexString(1_700_000_000L + number * 12));
+        block.putArray("transactions");
+
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("jsonrpc", "2.0");
+        response.set("id", request.get("id"));
+        response.set("result", block);
+        return response;
+    }
+}
@@ -0,0 +1,183 @@
+package com.decentralized.gaming.platform.service.blockchain;
+
+import com.decentralized.gaming.platform.contracts.GameNFT;
+import com.decentralized.gaming.platform.service.blockchain.impl.ChainStreamServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.web3j.abi.EventEncoder;
+import org.web3j.protocol.core.methods.response.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 链上数据推送负载测试
+ * 单节点建立10000个空闲订阅连接，验证线程占用、新区块扇出、按地址投递以及慢速消费者断开
+ *
+ * @author DecentralizedGamingPlatform
+ */
+class ChainStreamServiceLoadTest {
+
+    private static final int IDLE_SUBSCRIBERS = 10_000;
+    private static final int SEND_BUFFER_SIZE = 16;
+    private static final int SENDER_THREADS = 4;
+    private static final String TRANSFER_TOPIC = EventEncoder.encode(GameNFT.TRANSFER_EVENT);
+
+    private ChainStreamServiceImpl streamService;
+    private final CountDownLatch slowGate = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        streamService = new ChainStreamServiceImpl();
+        ReflectionTestUtils.setField(streamService, "maxConnections", 20_000);
+        ReflectionTestUtils.setField(streamService, "sendBufferSize", SEND_BUFFER_SIZE);
+        ReflectionTestUtils.setField(streamService, "senderThreads", SENDER_THREADS);
+        // 测试中由用例直接驱动新区块，不启用轮询与心跳
+        ReflectionTestUtils.setField(streamService, "headPollIntervalMs", 3_600_000L);
+        ReflectionTestUtils.setField(streamService, "heartbeatIntervalMs", 3_600_000L);
+        ReflectionTestUtils.setField(streamService, "emitterTimeoutMs", 0L);
+        ReflectionTestUtils.setField(streamService, "confirmationTarget", 12);
+        ReflectionTestUtils.setField(streamService, "headTrackerService", mock(HeadTrackerService.class));
+        streamService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowGate.countDown();
+        streamService.destroy();
+    }
+
+    @Test
+    void testTenThousandIdleSubscribers() throws InterruptedException {
+        int threadsBefore = Thread.activeCount();
+
+        List<CountingSink> sinks = new ArrayList<>(IDLE_SUBSCRIBERS);
+        for (int i = 0; i < IDLE_SUBSCRIBERS; i++) {
+            CountingSink sink = new CountingSink(null);
+            sinks.add(sink);
+            streamService.open(Set.of(addressTopic(i), "heads"), sink);
+        }
+        awaitCondition(() -> sinks.stream().allMatch(sink -> sink.count("connected") == 1), "连接确认消息未全部送达");
+
+        int threadsAfter = Thread.activeCount();
+
+        Map<String, Object> status = streamService.getStreamStatus();
+        assertEquals(IDLE_SUBSCRIBERS, status.get("connections"));
+        assertEquals(IDLE_SUBSCRIBERS + 1, status.get("topics"));
+        assertTrue(threadsAfter - threadsBefore <= SENDER_THREADS + 2, "空闲连接不应占用线程");
+
+        // 一次新区块通知扇出到全部连接
+        streamService.onNewHead(100);
+        awaitCondition(() -> sinks.stream().allMatch(sink -> sink.count("head") == 1), "新区块通知未全部送达");
+
+        // 事件只推送给索引参数中出现的地址
+        streamService.publishEvent(transferLog(42, 43, 1));
+        awaitCondition(() -> sinks.get(42).count("event") == 1 && sinks.get(43).count("event") == 1, "事件未送达");
+        Thread.sleep(100);
+        assertEquals(2, sinks.stream().mapToInt(sink -> sink.count("event")).sum());
+        assertEquals(0L, streamService.getStreamStatus().get("droppedSlowConsumers"));
+    }
+
+    @Test
+    void testSlowConsumerIsDropped() throws InterruptedException {
+        CountingSink fast = new CountingSink(null);
+        CountingSink slow = new CountingSink(slowGate);
+        streamService.open(Set.of(addressTopic(1)), fast);
+        streamService.open(Set.of(addressTopic(1)), slow);
+
+        int published = 0;
+        while (!slow.closed && published < SEND_BUFFER_SIZE * 4) {
+            for (int i = 0; i < SEND_BUFFER_SIZE / 2; i++) {
+                streamService.publishEvent(transferLog(1, 2, published++));
+            }
+            int expected = published;
+            awaitCondition(() -> fast.count("event") == expected, "快速消费者未收到全部事件");
+        }
+
+        assertTrue(slow.closed, "慢速消费者应被断开");
+        assertFalse(fast.closed, "快速消费者不应受影响");
+        assertEquals(1, streamService.getStreamStatus().get("connections"));
+        assertEquals(1L, streamService.getStreamStatus().get("droppedSlowConsumers"));
+    }
+
+    private static String addressTopic(int index) {
+        return "address:" + address(index);
+    }
+
+    private static String address(int index) {
+        return String.format("0x%040x", index + 1);
+    }
+
+    private static Log transferLog(int from, int to, long tokenId) {
+        Log eventLog = new Log();
+        eventLog.setAddress("0x00000000000000000000000000000000000000aa");
+        eventLog.setTopics(List.of(
+            TRANSFER_TOPIC,
+            String.format("0x%064x", from + 1),
+            String.format("0x%064x", to + 1),
+            String.format("0x%064x", tokenId)));
+        eventLog.setData("0x");
+        eventLog.setBlockNumber("0x64");
+        eventLog.setLogIndex("0x" + Long.toHexString(tokenId));
+        eventLog.setTransactionHash(String.format("0x%064x", tokenId + 1000));
+        eventLog.setBlockHash(String.format("0x%064x", 100));
+        return eventLog;
+    }
+
+    private static void awaitCondition(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail(message);
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * 桩发送端：按事件名计数；设置闸门时在发送处阻塞，模拟不读取数据的客户端
+     */
+    private static final class CountingSink implements ChainStreamServiceImpl.StreamSink {
+        private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+        private final CountDownLatch gate;
+        private volatile boolean closed;
+
+        private CountingSink(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(String event, Object data) {
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            counts.computeIfAbsent(event != null ? event : "heartbeat", key -> new AtomicInteger()).incrementAndGet();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        private int count(String event) {
+            AtomicInteger count = counts.get(event);
+            return count != null ? count.get() : 0;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.decentralized.gaming.platform.service.blockchain;
+
+import com.decentralized.gaming.platform.contracts.GameNFT;
+import com.decentralized.gaming.platform.contracts.PlatformToken;
+import com.decentralized.gaming.platform.service.blockchain.impl.ContractHandleRegistryImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.http.HttpService;
+import org.web3j.tx.RawTransactionManager;
+import org.web3j.tx.gas.ContractGasProvider;
+import org.web3j.tx.gas.StaticGasProvider;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 合约句柄注册表基准测试
+ * 对比每次调用 Contract.load 与从注册表获取句柄的单次分配字节数与耗时，并验证LRU淘汰与地址失效
+ *
+ * @author DecentralizedGamingPlatform
+ */
+@Slf4j
+class ContractHandleRegistryBenchmarkTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+    private static final String GAME_NFT_ADDRESS = "0x5fbdb2315678afecb367f032d93f642f64180aa3";
+    private static final String TOKEN_ADDRESS = "0xe7f1725e7734ce288f8367e1bb143e90bb3f0512";
+
+    private final Credentials alice = Credentials.create("0x59c6995e998f97a5a0044966f0945389dc9e86dae88c7a8412f4603b6b78690d");
+    private final Credentials bob = Credentials.create("0x5de4111afa1a4b94908f83103eb1f1706367c2e68ca870fc3fb9a804cdab365a");
+
+    private Web3j web3j;
+    private ContractGasProvider gasProvider;
+    private ContractHandleRegistryImpl registry;
+
+    @BeforeEach
+    void setUp() {
+        // 加载合约不发起RPC，端口无需可达
+        web3j = Web3j.build(new HttpService("http://127.0.0.1:1"));
+        gasProvider = new StaticGasProvider(BigInteger.valueOf(20_000_000_000L), BigInteger.valueOf(6_721_975));
+
+        TransactionPipelineService pipeline = mock(TransactionPipelineService.class);
+        when(pipeline.getTransactionManager(any(Credentials.class)))
+            .thenAnswer(invocation -> new RawTransactionManager(web3j, invocation.<Credentials>getArgument(0), 31337));
+
+        registry = new ContractHandleRegistryImpl();
+        ReflectionTestUtils.setField(registry, "web3j", web3j);
+        ReflectionTestUtils.setField(registry, "gasProvider", gasProvider);
+        ReflectionTestUtils.setField(registry, "transactionPipelineService", pipeline);
+        ReflectionTestUtils.setField(registry, "maxSize", 1024);
+    }
+
+    @AfterEach
+    void tearDown() {
+        web3j.shutdown();
+    }
+
+    @Test
+    void testAllocationAndLatencyPerCall() {
+        RawTransactionManager transactionManager = new RawTransactionManager(web3j, alice, 31337);
+        Measurement load = measure(() -> GameNFT.load(GAME_NFT_ADDRESS, web3j, transactionManager, gasProvider));
+        Measurement cached = measure(() -> registry.get(GameNFT.class, GAME_NFT_ADDRESS, alice, GameNFT::load));
+        log.info("Contract.load: {} ns/op, {} B/op; 注册表: {} ns/op, {} B/op",
+            String.format("%.1f", load.nanosPerOp), String.format("%.1f", load.bytesPerOp),
+            String.format("%.1f", cached.nanosPerOp), String.format("%.1f", cached.bytesPerOp));
+
+        assertTrue(cached.nanosPerOp < load.nanosPerOp, "注册表命中时的耗时应低于每次加载");
+        if (load.bytesPerOp >= 0 && cached.bytesPerOp >= 0) {
+            assertTrue(cached.bytesPerOp < load.bytesPerOp, "注册表命中时的分配量应低于每次加载");
+        }
+        assertEquals(1L, registry.getStats().get("missCount"));
+    }
+
+    @Test
+    void testHandlesAreKeyedByTypeAddressAndSigner() {
+        GameNFT first = registry.get(GameNFT.class, GAME_NFT_ADDRESS, alice, GameNFT::load);
+        assertSame(first, registry.get(GameNFT.class, GAME_NFT_ADDRESS.toUpperCase().replace("0X", "0x"), alice, GameNFT::load));
+        assertNotSame(first, registry.get(GameNFT.class, GAME_NFT_ADDRESS, bob, GameNFT::load));
+        assertNotNull(registry.get(PlatformToken.class, TOKEN_ADDRESS, alice, PlatformToken::load));
+        assertEquals(3, registry.getStats().get("size"));
+    }
+
+    @Test
+    void testInvalidateAddressEvictsAllSigners() {
+        GameNFT before = registry.get(GameNFT.class, GAME_NFT_ADDRESS, alice, GameNFT::load);
+        registry.get(GameNFT.class, GAME_NFT_ADDRESS, bob, GameNFT::load);
+        registry.get(PlatformToken.class, TOKEN_ADDRESS, alice, PlatformToken::load);
+
+        assertEquals(2, registry.invalidateAddress(GAME_NFT_ADDRESS));
+        assertEquals(1, registry.getStats().get("size"));
+        assertNotSame(before, registry.get(GameNFT.class, GAME_NFT_ADDRESS, alice, GameNFT::load));
+    }
+
+    @Test
+    void testLeastRecentlyUsedHandleIsEvicted() {
+        ReflectionTestUtils.setField(registry, "maxSize", 2);
+        GameNFT aliceHandle = registry.get(GameNFT.class, GAME_NFT_ADDRESS, alice, GameNFT::load);
+        registry.get(GameNFT.class, GAME_NFT_ADDRESS, bob, GameNFT::load);
+        // 访问 alice 后，bob 成为最久未使用
+        registry.get(GameNFT.class, GAME_NFT_ADDRESS, alice, GameNFT::load);
+        registry.get(PlatformToken.class, TOKEN_ADDRESS, alice, PlatformToken::load);
+
+        assertEquals(2, registry.getStats().get("size"));
+        assertEquals(1L, registry.getStats().get("evictionCount"));
+        assertSame(aliceHandle, registry.get(GameNFT.class, GAME_NFT_ADDRESS, alice, GameNFT::load));
+    }
+
+    private Measurement measure(Supplier<Object> operation) {
+        Object sink = null;
+        for (int i = 0; i < WARMUP; i++) {
+            sink = operation.get();
+        }
+        long bytesBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = operation.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytesAfter = allocatedBytes();
+        assertNotNull(sink);
+        double bytesPerOp = bytesBefore < 0 ? -1 : (double) (bytesAfter - bytesBefore) / ITERATIONS;
+        return new Measurement((double) elapsed / ITERATIONS, bytesPerOp);
+    }
+
+    /**
+     * 当前线程累计分配字节数，JVM不支持时返回-1
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean
+                && threadMXBean.isThreadAllocatedMemorySupported()) {
+            return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private record Measurement(double nanosPerOp, double bytesPerOp) {
+    }
+}